@@ -0,0 +1,87 @@
+package com.example.delogica.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.delogica.models.Address;
+import com.example.delogica.models.Customer;
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderItem;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.models.Product;
+
+/**
+ * Grafos de entidades en memoria, con forma realista, usados por los benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static Customer customer(int addressCount) {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setFullName("Cliente Benchmark");
+        customer.setEmail("cliente.benchmark@delogica.example");
+        customer.setPhone("+34999999999");
+        customer.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        customer.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < addressCount; i++) {
+            Address address = new Address();
+            address.setId((long) i + 1);
+            address.setCustomer(customer);
+            address.setLine1("Calle Falsa " + (100 + i));
+            address.setCity("Madrid");
+            address.setPostalCode("28001");
+            address.setCountry("España");
+            address.setDefaultAddress(i == 0);
+            addresses.add(address);
+        }
+        customer.setAddresses(addresses);
+        return customer;
+    }
+
+    static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setSku("SKU-" + id);
+        product.setName("Producto " + id);
+        product.setDescription("Descripción del producto " + id);
+        product.setPrice(new BigDecimal("19.99").add(BigDecimal.valueOf(id)));
+        product.setStock(100);
+        product.setActive(true);
+        product.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        product.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        return product;
+    }
+
+    static Order order(int itemCount, int addressCount) {
+        Customer customer = customer(addressCount);
+        Order order = new Order();
+        order.setId(42L);
+        order.setCustomer(customer);
+        order.setShippingAddress(customer.getAddresses().get(0));
+        order.setOrderDate(LocalDateTime.of(2025, 6, 1, 12, 30));
+        order.setStatus(OrderStatus.CREATED);
+        order.setItems(items(order, itemCount));
+        order.setTotal(BigDecimal.ZERO);
+        return order;
+    }
+
+    static List<OrderItem> items(Order order, int itemCount) {
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Product product = product(i + 1);
+            OrderItem item = new OrderItem();
+            item.setId((long) i + 1);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1 + i % 5);
+            item.setUnitPrice(product.getPrice());
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.delogica.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.example.delogica.config.GlobalExceptionHandler;
+import com.example.delogica.config.errors.ErrorResponse;
+import com.example.delogica.config.exceptions.ResourceNotFoundException;
+import com.example.delogica.dtos.input.OrderCreateInputDTO;
+import com.example.delogica.models.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Construcción y serialización a JSON de las respuestas de error de {@link GlobalExceptionHandler}.
+ * El logger del handler está desactivado en el logback.xml del módulo para medir
+ * solo la construcción de la respuesta, no la E/S del appender.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+    private ResourceNotFoundException notFound;
+    private IllegalArgumentException business;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        request = new MockHttpServletRequest("POST", "/api/orders");
+        notFound = ResourceNotFoundException.forId(Product.class, 99L);
+        business = new IllegalArgumentException("Stock insuficiente para producto: Producto 1");
+
+        BeanPropertyBindingResult binding = new BeanPropertyBindingResult(new OrderCreateInputDTO(), "order");
+        binding.rejectValue("customerId", "NotNull", "El id del cliente es obligatorio");
+        binding.rejectValue("shippingAddressId", "NotNull", "La dirección de envío es obligatoria");
+        binding.rejectValue("items", "NotEmpty", "El pedido debe contener al menos un producto");
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", OrderCreateInputDTO.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, binding);
+    }
+
+    @SuppressWarnings("unused")
+    private void target(OrderCreateInputDTO input) {
+        // Solo sirve como MethodParameter para MethodArgumentNotValidException
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleNotFound(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> business400() {
+        return handler.handleBusiness400(business, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validation400() {
+        return handler.handleMethodArgumentNotValid(invalid, request);
+    }
+
+    @Benchmark
+    public byte[] notFoundRenderedToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleNotFound(notFound, request).getBody());
+    }
+
+    @Benchmark
+    public byte[] validation400RenderedToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleMethodArgumentNotValid(invalid, request).getBody());
+    }
+}
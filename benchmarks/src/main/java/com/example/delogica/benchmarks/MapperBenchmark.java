@@ -0,0 +1,89 @@
+package com.example.delogica.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.example.delogica.dtos.output.OrderItemOutputDTO;
+import com.example.delogica.dtos.output.OrderOutputDTO;
+import com.example.delogica.dtos.output.OrderSimpleOutputDTO;
+import com.example.delogica.mappers.AddressMapperImpl;
+import com.example.delogica.mappers.CustomerMapperImpl;
+import com.example.delogica.mappers.OrderItemMapper;
+import com.example.delogica.mappers.OrderItemMapperImpl;
+import com.example.delogica.mappers.OrderMapper;
+import com.example.delogica.mappers.OrderMapperImpl;
+import com.example.delogica.mappers.ProductMapperImpl;
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderItem;
+
+/**
+ * Mapeo entidad → DTO de pedidos y líneas (MapStruct), tal y como lo hacen los servicios.
+ * Los mappers se cablean en un contexto Spring mínimo porque las implementaciones
+ * generadas usan inyección por campo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    /** Líneas del pedido. */
+    @Param({ "1", "10", "50" })
+    public int items;
+
+    /** Direcciones del cliente (se serializan dentro de cada pedido). */
+    @Param({ "3" })
+    public int addresses;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderMapper orderMapper;
+    private OrderItemMapper orderItemMapper;
+    private Order order;
+    private OrderItem item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(OrderMapperImpl.class, OrderItemMapperImpl.class,
+                AddressMapperImpl.class, CustomerMapperImpl.class, ProductMapperImpl.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        orderItemMapper = context.getBean(OrderItemMapper.class);
+        order = Fixtures.order(items, addresses);
+        item = order.getItems().get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderOutputDTO orderToOutput() {
+        return orderMapper.toOutput(order);
+    }
+
+    @Benchmark
+    public OrderSimpleOutputDTO orderToSimpleOutput() {
+        return orderMapper.toSimpleOutput(order);
+    }
+
+    @Benchmark
+    public OrderItemOutputDTO orderItemToOutput() {
+        return orderItemMapper.toOutput(item);
+    }
+}
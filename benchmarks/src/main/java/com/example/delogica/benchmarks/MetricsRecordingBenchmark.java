@@ -0,0 +1,95 @@
+package com.example.delogica.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.delogica.config.metrics.ServiceTimingAspect;
+import com.example.delogica.services.impl.OrderServiceImpl;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Sobrecoste de {@link ServiceTimingAspect#time} en la ruta de éxito, sobre el registro
+ * Prometheus: se invoca el propio aspecto con un {@link ProceedingJoinPoint} mínimo cuyo
+ * <code>proceed()</code> no hace nada, de modo que el benchmark mide el código que se
+ * despliega (lecturas de reloj, timer cacheado por {@link Method} y registro en el histograma).
+ * Objetivo: &lt; 1 µs por llamada, también con varios hilos registrando en el mismo timer.
+ *
+ * <p>El join point es un proxy dinámico de JDK; su despacho añade unos pocos ns por llamada
+ * a la medida, igual que el de Spring AOP en la aplicación.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsRecordingBenchmark {
+
+    private ServiceTimingAspect aspect;
+    private ProceedingJoinPoint joinPoint;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        aspect = new ServiceTimingAspect(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        joinPoint = joinPoint(OrderServiceImpl.class.getMethod("getById", Long.class));
+    }
+
+    /**
+     * Join point de una llamada a <code>method</code> que termina sin error y sin resultado.
+     */
+    private static ProceedingJoinPoint joinPoint(Method method) {
+        MethodSignature signature = proxy(MethodSignature.class, (name, self) -> switch (name) {
+            case "getMethod" -> method;
+            case "getName" -> method.getName();
+            case "getDeclaringType" -> method.getDeclaringClass();
+            default -> throw new UnsupportedOperationException(name);
+        });
+        Object target = new Object() {};
+        return proxy(ProceedingJoinPoint.class, (name, self) -> switch (name) {
+            case "getSignature" -> signature;
+            case "getTarget", "getThis" -> target;
+            case "proceed" -> null;
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private interface Answer {
+        Object answer(String methodName, Object self);
+    }
+
+    private static <T> T proxy(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (self, m, args) -> answer.answer(m.getName(), self)));
+    }
+
+    /** Ruta de éxito del aspecto: dos lecturas de reloj, búsqueda del timer y registro. */
+    @Benchmark
+    public Object aspectSuccessPath() throws Throwable {
+        return aspect.time(joinPoint);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object aspectSuccessPathContended() throws Throwable {
+        return aspect.time(joinPoint);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.delogica.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderItem;
+import com.example.delogica.services.impl.OrderServiceImpl;
+
+/**
+ * Cálculo del total de un pedido ({@link OrderServiceImpl#calculateTotal}), la parte
+ * de {@code OrderServiceImpl.create} que no depende de la base de datos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int items;
+
+    private List<OrderItem> orderItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderItems = Fixtures.items(new Order(), items);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return OrderServiceImpl.calculateTotal(orderItems);
+    }
+}
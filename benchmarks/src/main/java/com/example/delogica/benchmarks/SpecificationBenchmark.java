@@ -0,0 +1,117 @@
+package com.example.delogica.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+
+import com.example.delogica.config.specifications.CustomerSpecifications;
+import com.example.delogica.config.specifications.OrderSpecifications;
+import com.example.delogica.config.specifications.ProductSpecifications;
+import com.example.delogica.config.uniqueness.UniqueKeyEntityListener;
+import com.example.delogica.models.Address;
+import com.example.delogica.models.Customer;
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderItem;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.models.Product;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Construcción de los predicados de búsqueda de los tres <code>*Specifications</code>,
+ * combinados como en los servicios, contra el {@link CriteriaBuilder} real de Hibernate.
+ * No se ejecuta SQL: se mide la composición de la Specification y su traducción a Criteria.
+ * <p>
+ * Los oyentes de entidad que la aplicación crea como beans se resuelven con un contexto de
+ * Spring mínimo, como lo haría la factoría de JPA de la aplicación.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 12, 31, 23, 59);
+
+    private GenericApplicationContext beans;
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder cb;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beans = new GenericApplicationContext();
+        beans.registerBean(UniqueKeyEntityListener.class);
+        beans.refresh();
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Customer.class)
+                .addAnnotatedClass(Address.class)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderItem.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:bench;MODE=MySQL")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none");
+        configuration.getProperties().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beans.getBeanFactory()));
+        sessionFactory = configuration.buildSessionFactory();
+        cb = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        beans.close();
+    }
+
+    @Benchmark
+    public Predicate orderAllFilters() {
+        Specification<Order> spec = OrderSpecifications.hasCustomerId(7L)
+                .and(OrderSpecifications.fromDate(FROM))
+                .and(OrderSpecifications.toDate(TO))
+                .and(OrderSpecifications.hasStatus(OrderStatus.PAID));
+        CriteriaQuery<Order> cq = cb.createQuery(Order.class);
+        Root<Order> root = cq.from(Order.class);
+        return spec.toPredicate(root, cq, cb);
+    }
+
+    @Benchmark
+    public Predicate customerEmailContains() {
+        Specification<Customer> spec = CustomerSpecifications.emailContains("Cliente@Delogica");
+        CriteriaQuery<Customer> cq = cb.createQuery(Customer.class);
+        Root<Customer> root = cq.from(Customer.class);
+        return spec.toPredicate(root, cq, cb);
+    }
+
+    @Benchmark
+    public Predicate productNameAndActive() {
+        Specification<Product> spec = ProductSpecifications.nameContains("Teclado")
+                .and(ProductSpecifications.hasActive(true));
+        CriteriaQuery<Product> cq = cb.createQuery(Product.class);
+        Root<Product> root = cq.from(Product.class);
+        return spec.toPredicate(root, cq, cb);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.delogica.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parser mínimo de argumentos <code>--clave=valor</code> para las herramientas de carga.
+ */
+final class CliArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    CliArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento no reconocido: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        String v = values.get(key);
+        return v == null ? defaultValue : Integer.parseInt(v.replace("_", ""));
+    }
+
+    long getLong(String key, long defaultValue) {
+        String v = values.get(key);
+        return v == null ? defaultValue : Long.parseLong(v.replace("_", ""));
+    }
+
+    double getDouble(String key, double defaultValue) {
+        String v = values.get(key);
+        return v == null ? defaultValue : Double.parseDouble(v);
+    }
+}
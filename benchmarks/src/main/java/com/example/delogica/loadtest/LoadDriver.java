@@ -0,0 +1,323 @@
+package com.example.delogica.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Driver de carga HTTP en Java puro (java.net.http) contra la API en ejecución.
+ * <p>
+ * Cada usuario virtual repite una mezcla ponderada de operaciones sobre
+ * <code>/api/orders</code>, <code>/api/products</code> y <code>/api/customers</code>.
+ * Los ids se eligen con una Zipf sobre los rangos descubiertos al arrancar, de modo que
+ * la carga reproduce el sesgo de los datos generados con {@link SyntheticDataGenerator}.
+ * Al terminar imprime throughput, errores y percentiles de latencia por operación (HdrHistogram).
+ * </p>
+ * Con <code>--rate</code> (peticiones/s totales) cada usuario sigue un calendario fijo y la
+ * latencia se mide desde el instante planificado, evitando la omisión coordinada; sin él
+ * el modelo es cerrado (cada usuario lanza la siguiente petición al recibir la respuesta).
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.delogica.loadtest.LoadDriver \
+ *     --base-url=http://localhost:8080 --users=32 --duration=60 --warmup=10 \
+ *     --mix=orders.search:30,orders.get:25,orders.create:10,products.search:15,products.get:15,customers.get:5
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX =
+            "orders.search:30,orders.get:25,orders.create:10,products.search:15,products.get:15,customers.get:5";
+    private static final String[] SEARCH_TERMS = { "teclado", "monitor", "cable", "silla", "webcam" };
+
+    private final HttpClient client;
+    private final ObjectMapper json = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration timeout;
+    private String authHeader;
+
+    private long maxCustomerId;
+    private long maxOrderId;
+    private long maxProductId;
+    private ZipfSampler customerZipf;
+    private ZipfSampler productZipf;
+    private ZipfSampler orderZipf;
+    /** Clientes (id, dirección por defecto) y productos activos usados para crear pedidos. */
+    private final List<long[]> orderingCustomers = new ArrayList<>();
+    private final List<Long> activeProducts = new ArrayList<>();
+
+    private LoadDriver(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        CliArgs cli = new CliArgs(args);
+        LoadDriver driver = new LoadDriver(cli.get("base-url", "http://localhost:8080"),
+                Duration.ofMillis(cli.getLong("timeout-ms", 10_000)));
+        driver.login(cli.get("username", "loadtest"));
+        driver.discover(cli.getDouble("skew", 1.1), cli.getInt("ordering-customers", 200));
+
+        List<Operation> mix = parseMix(cli.get("mix", DEFAULT_MIX));
+        driver.run(mix, cli.getInt("users", 16), cli.getInt("warmup", 10), cli.getInt("duration", 60),
+                cli.getDouble("rate", 0), cli.getLong("seed", 7L));
+    }
+
+    // ------------------------------
+    // Preparación
+    // ------------------------------
+
+    private void login(String username) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login fallido: HTTP " + response.statusCode());
+        }
+        authHeader = "Bearer " + json.readTree(response.body()).get("token").asText();
+    }
+
+    /** Descubre los rangos de ids y prepara los datos necesarios para crear pedidos. */
+    private void discover(double skew, int orderingCustomerCount) throws IOException, InterruptedException {
+        maxCustomerId = maxId("/api/customers?size=1&sort=id,desc");
+        maxOrderId = maxId("/api/orders?size=1&sort=id,desc");
+        maxProductId = maxId("/api/products?size=1&sort=id,desc");
+        if (maxCustomerId == 0 || maxProductId == 0) {
+            throw new IllegalStateException("No hay datos: ejecuta antes SyntheticDataGenerator");
+        }
+        customerZipf = new ZipfSampler((int) maxCustomerId, skew);
+        productZipf = new ZipfSampler((int) maxProductId, skew);
+        orderZipf = new ZipfSampler((int) Math.max(1, maxOrderId), skew);
+
+        for (JsonNode p : getJson("/api/products?active=true&size=200").get("content")) {
+            activeProducts.add(p.get("id").asLong());
+        }
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < orderingCustomerCount * 3 && orderingCustomers.size() < orderingCustomerCount; i++) {
+            long id = 1 + customerZipf.next(random);
+            HttpResponse<String> response = get("/api/customers/" + id);
+            if (response.statusCode() != 200) {
+                continue;
+            }
+            for (JsonNode a : json.readTree(response.body()).get("addresses")) {
+                if (a.path("defaultAddress").asBoolean(false)) {
+                    orderingCustomers.add(new long[] { id, a.get("id").asLong() });
+                    break;
+                }
+            }
+        }
+        System.out.printf("Datos: %,d clientes, %,d productos, %,d pedidos; %d clientes y %d productos para crear pedidos%n",
+                maxCustomerId, maxProductId, maxOrderId, orderingCustomers.size(), activeProducts.size());
+    }
+
+    private long maxId(String path) throws IOException, InterruptedException {
+        JsonNode content = getJson(path).get("content");
+        return content != null && content.size() > 0 ? content.get(0).get("id").asLong() : 0;
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = get(path);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " -> HTTP " + response.statusCode());
+        }
+        return json.readTree(response.body());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout)
+                .header("Authorization", authHeader).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // ------------------------------
+    // Ejecución
+    // ------------------------------
+
+    private void run(List<Operation> mix, int users, int warmupSeconds, int durationSeconds, double rate, long seed)
+            throws InterruptedException {
+        int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        Map<String, LongAdder> errors = new LinkedHashMap<>();
+        for (Operation op : mix) {
+            recorders.put(op.name(), new Recorder(3));
+            errors.put(op.name(), new LongAdder());
+        }
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long intervalNanos = rate > 0 ? (long) (1e9 * users / rate) : 0;
+        CountDownLatch done = new CountDownLatch(users);
+
+        System.out.printf("Ejecutando %d usuarios, %d s de calentamiento + %d s de medición%s%n",
+                users, warmupSeconds, durationSeconds, rate > 0 ? String.format(", %.0f peticiones/s", rate) : "");
+        for (int u = 0; u < users; u++) {
+            SplittableRandom random = new SplittableRandom(seed + u);
+            Thread worker = new Thread(() -> {
+                try {
+                    long intended = System.nanoTime();
+                    while (true) {
+                        long now = System.nanoTime();
+                        if (now >= end) {
+                            break;
+                        }
+                        if (intervalNanos > 0) {
+                            if (intended > now) {
+                                TimeUnit.NANOSECONDS.sleep(intended - now);
+                            }
+                        } else {
+                            intended = now;
+                        }
+                        Operation op = pick(mix, totalWeight, random);
+                        boolean ok = execute(op.name(), random);
+                        long latency = System.nanoTime() - intended;
+                        if (intended >= warmupEnd) {
+                            recorders.get(op.name()).recordValue(latency);
+                            if (!ok) {
+                                errors.get(op.name()).increment();
+                            }
+                        }
+                        intended += intervalNanos;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-user-" + u);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        report(recorders, errors, durationSeconds);
+    }
+
+    private static Operation pick(List<Operation> mix, int totalWeight, SplittableRandom random) {
+        int r = random.nextInt(totalWeight);
+        for (Operation op : mix) {
+            r -= op.weight();
+            if (r < 0) {
+                return op;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    /**
+     * @return {@code true} si la respuesta fue 2xx
+     */
+    private boolean execute(String operation, SplittableRandom random) {
+        try {
+            HttpRequest.Builder builder = switch (operation) {
+                case "orders.search" -> request("/api/orders?customerId=" + (1 + customerZipf.next(random)) + "&size=20");
+                case "orders.get" -> request("/api/orders/" + (1 + orderZipf.next(random)));
+                case "orders.create" -> createOrder(random);
+                case "products.search" -> request("/api/products?active=true&size=20&name="
+                        + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]);
+                case "products.get" -> request("/api/products/" + (1 + productZipf.next(random)));
+                case "customers.get" -> request("/api/customers/" + (1 + customerZipf.next(random)));
+                case "customers.search" -> request("/api/customers?size=20&email=cliente." + (1 + customerZipf.next(random)));
+                default -> throw new IllegalArgumentException("Operación desconocida: " + operation);
+            };
+            if (builder == null) {
+                return false;
+            }
+            HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout)
+                .header("Authorization", authHeader).GET();
+    }
+
+    private HttpRequest.Builder createOrder(SplittableRandom random) {
+        if (orderingCustomers.isEmpty() || activeProducts.isEmpty()) {
+            return null;
+        }
+        long[] customer = orderingCustomers.get(random.nextInt(orderingCustomers.size()));
+        StringBuilder body = new StringBuilder()
+                .append("{\"customerId\":").append(customer[0])
+                .append(",\"shippingAddressId\":").append(customer[1])
+                .append(",\"items\":[");
+        int lines = 1 + random.nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"productId\":").append(activeProducts.get(random.nextInt(activeProducts.size())))
+                    .append(",\"quantity\":").append(1 + random.nextInt(2)).append('}');
+        }
+        body.append("]}");
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders")).timeout(timeout)
+                .header("Authorization", authHeader)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+    }
+
+    // ------------------------------
+    // Informe
+    // ------------------------------
+
+    private static void report(Map<String, Recorder> recorders, Map<String, LongAdder> errors, int durationSeconds) {
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        System.out.printf("%n%-18s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operación", "peticiones", "errores", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Recorder> e : recorders.entrySet()) {
+            Histogram h = e.getValue().getIntervalHistogram();
+            long errorCount = errors.get(e.getKey()).sum();
+            total.add(h);
+            totalErrors += errorCount;
+            printRow(e.getKey(), h, errorCount, durationSeconds);
+        }
+        printRow("TOTAL", total, totalErrors, durationSeconds);
+    }
+
+    private static void printRow(String name, Histogram h, long errorCount, int durationSeconds) {
+        System.out.printf("%-18s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getTotalCount(), errorCount, (double) h.getTotalCount() / durationSeconds,
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static List<Operation> parseMix(String spec) {
+        List<Operation> mix = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            mix.add(new Operation(kv[0], Integer.parseInt(kv[1])));
+        }
+        return mix;
+    }
+
+    private record Operation(String name, int weight) {}
+}
@@ -0,0 +1,297 @@
+package com.example.delogica.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Generador reproducible de datos sintéticos para pruebas de carga.
+ * <p>
+ * Inserta clientes, direcciones, productos, pedidos y líneas mediante JDBC por lotes sobre
+ * un esquema ya creado (MySQL con <code>db/init/init.sql</code> o H2 creado por la aplicación
+ * con el perfil <code>loadtest</code>). La misma semilla genera siempre los mismos datos.
+ * </p>
+ * Sesgo realista:
+ * <ul>
+ * <li>Productos elegidos con una Zipf (<code>--product-skew</code>): pocos SKUs concentran la mayoría de líneas.</li>
+ * <li>Clientes elegidos con una Zipf (<code>--customer-skew</code>): unos pocos clientes "ballena" con muchos pedidos.</li>
+ * <li>Precios log-normales, 1-3 direcciones por cliente y estados 10% CREATED / 20% PAID / 60% SHIPPED / 10% CANCELLED.</li>
+ * </ul>
+ * Uso:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.delogica.loadtest.SyntheticDataGenerator \
+ *     --jdbc-url=jdbc:h2:file:./target/loadtest/shopdb;MODE=MySQL;AUTO_SERVER=TRUE;DATABASE_TO_UPPER=false \
+ *     --customers=100000 --products=10000 --orders=1000000 --seed=42
+ * </pre>
+ */
+public final class SyntheticDataGenerator {
+
+    private static final String[] CITIES = { "Madrid", "Barcelona", "Valencia", "Sevilla", "Bilbao", "Zaragoza", "Málaga" };
+    private static final String[] WORDS = { "Teclado", "Ratón", "Monitor", "Cable", "Auriculares", "Portátil", "Silla",
+            "Lámpara", "Altavoz", "Cargador", "Mochila", "Webcam" };
+
+    private final Connection connection;
+    private final SplittableRandom random;
+    private final int batchSize;
+    private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+    private SyntheticDataGenerator(Connection connection, long seed, int batchSize) {
+        this.connection = connection;
+        this.random = new SplittableRandom(seed);
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        CliArgs cli = new CliArgs(args);
+        String url = cli.get("jdbc-url",
+                "jdbc:h2:file:./target/loadtest/shopdb;MODE=MySQL;AUTO_SERVER=TRUE;DATABASE_TO_UPPER=false");
+        int customers = cli.getInt("customers", 10_000);
+        int products = cli.getInt("products", 1_000);
+        int orders = cli.getInt("orders", 100_000);
+
+        try (Connection connection = DriverManager.getConnection(url, cli.get("user", "sa"), cli.get("password", ""))) {
+            connection.setAutoCommit(false);
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(connection,
+                    cli.getLong("seed", 42L), cli.getInt("batch-size", 1_000));
+            generator.run(customers, products, orders,
+                    cli.getDouble("customer-skew", 1.1), cli.getDouble("product-skew", 1.2),
+                    cli.getInt("max-items", 5), cli.getInt("days", 365));
+        }
+    }
+
+    private void run(int customers, int products, int orders, double customerSkew, double productSkew,
+                     int maxItems, int days) throws SQLException {
+        long start = System.nanoTime();
+
+        long firstProductId = nextId("products");
+        long[] priceCents = insertProducts(firstProductId, products);
+        log("productos", products, start);
+
+        long t = System.nanoTime();
+        long firstCustomerId = nextId("customers");
+        long firstAddressId = nextId("addresses");
+        long[] customerFirstAddress = new long[customers];
+        byte[] customerAddressCount = new byte[customers];
+        int addresses = insertCustomers(firstCustomerId, firstAddressId, customers, customerFirstAddress, customerAddressCount);
+        log("clientes (" + addresses + " direcciones)", customers, t);
+
+        t = System.nanoTime();
+        int[] productByRank = permutation(products);
+        int[] customerByRank = permutation(customers);
+        int items = insertOrders(nextId("orders"), nextId("order_items"), orders, maxItems, days,
+                new ZipfSampler(customers, customerSkew), customerByRank, firstCustomerId,
+                customerFirstAddress, customerAddressCount,
+                new ZipfSampler(products, productSkew), productByRank, firstProductId, priceCents);
+        log("pedidos (" + items + " líneas)", orders, t);
+
+        restartIdentities();
+        System.out.printf("Total: %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private long[] insertProducts(long firstId, int count) throws SQLException {
+        long[] priceCents = new long[count];
+        String sql = "INSERT INTO products (id, sku, name, description, price, stock, active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                // Log-normal centrada en ~30 €
+                long cents = Math.max(99, Math.round(Math.exp(3.4 + 0.9 * random.nextGaussian()) * 100));
+                priceCents[i] = cents;
+                String word = WORDS[random.nextInt(WORDS.length)];
+                ps.setLong(1, id);
+                ps.setString(2, "SKU-LT-" + id);
+                ps.setString(3, word + " " + id);
+                ps.setString(4, "Producto sintético " + word.toLowerCase() + " " + id);
+                ps.setBigDecimal(5, BigDecimal.valueOf(cents, 2));
+                ps.setInt(6, 1_000_000);
+                ps.setBoolean(7, random.nextInt(20) != 0);
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+                ps.addBatch();
+                flushIfFull(ps, i + 1);
+            }
+            flush(ps);
+        }
+        return priceCents;
+    }
+
+    private int insertCustomers(long firstCustomerId, long firstAddressId, int count,
+                                long[] customerFirstAddress, byte[] customerAddressCount) throws SQLException {
+        String customerSql = "INSERT INTO customers (id, full_name, email, email_normalized, email_domain, phone, "
+                + "default_address_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String addressSql = "INSERT INTO addresses (id, customer_id, line1, line2, city, postal_code, country, is_default) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        long addressId = firstAddressId;
+        try (PreparedStatement cps = connection.prepareStatement(customerSql);
+             PreparedStatement aps = connection.prepareStatement(addressSql)) {
+            for (int i = 0; i < count; i++) {
+                long id = firstCustomerId + i;
+                cps.setLong(1, id);
+                cps.setString(2, "Cliente " + id);
+                // Los emails generados ya están en minúsculas: coinciden con su forma normalizada
+                String email = "cliente." + id + "@load.example";
+                cps.setString(3, email);
+                cps.setString(4, email);
+                cps.setString(5, "load.example");
+                cps.setString(6, "+34 6" + String.format("%08d", random.nextInt(100_000_000)));
+                // La primera dirección de cada cliente es su default
+                cps.setLong(7, addressId);
+                cps.setTimestamp(8, now);
+                cps.setTimestamp(9, now);
+                cps.addBatch();
+
+                int addressCount = 1 + random.nextInt(3);
+                customerFirstAddress[i] = addressId;
+                customerAddressCount[i] = (byte) addressCount;
+                for (int a = 0; a < addressCount; a++) {
+                    aps.setLong(1, addressId++);
+                    aps.setLong(2, id);
+                    aps.setString(3, "Calle " + (1 + random.nextInt(500)) + ", " + (1 + random.nextInt(200)));
+                    aps.setString(4, null);
+                    aps.setString(5, CITIES[random.nextInt(CITIES.length)]);
+                    aps.setString(6, String.format("%05d", 1000 + random.nextInt(51_000)));
+                    aps.setString(7, "España");
+                    aps.setBoolean(8, a == 0);
+                    aps.addBatch();
+                }
+                if ((i + 1) % batchSize == 0) {
+                    // Clientes antes que direcciones por la FK
+                    cps.executeBatch();
+                    aps.executeBatch();
+                    connection.commit();
+                }
+            }
+            cps.executeBatch();
+            aps.executeBatch();
+            connection.commit();
+        }
+        return (int) (addressId - firstAddressId);
+    }
+
+    private int insertOrders(long firstOrderId, long firstItemId, int count, int maxItems, int days,
+                             ZipfSampler customerZipf, int[] customerByRank, long firstCustomerId,
+                             long[] customerFirstAddress, byte[] customerAddressCount,
+                             ZipfSampler productZipf, int[] productByRank, long firstProductId,
+                             long[] priceCents) throws SQLException {
+        String orderSql = "INSERT INTO orders (id, customer_id, shipping_address_id, order_date, status, total) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?, ?)";
+        LocalDateTime origin = LocalDateTime.now().minusDays(days);
+        long windowSeconds = days * 86_400L;
+        long itemId = firstItemId;
+        try (PreparedStatement ops = connection.prepareStatement(orderSql);
+             PreparedStatement ips = connection.prepareStatement(itemSql)) {
+            for (int i = 0; i < count; i++) {
+                long orderId = firstOrderId + i;
+                int customer = customerByRank[customerZipf.next(random)];
+                long address = customerFirstAddress[customer] + random.nextInt(customerAddressCount[customer]);
+
+                int lines = 1 + random.nextInt(maxItems);
+                long totalCents = 0;
+                for (int l = 0; l < lines; l++) {
+                    int product = productByRank[productZipf.next(random)];
+                    int quantity = 1 + (random.nextInt(10) == 0 ? random.nextInt(10) : random.nextInt(2));
+                    totalCents += priceCents[product] * quantity;
+                    ips.setLong(1, itemId++);
+                    ips.setLong(2, orderId);
+                    ips.setLong(3, firstProductId + product);
+                    ips.setInt(4, quantity);
+                    ips.setBigDecimal(5, BigDecimal.valueOf(priceCents[product], 2));
+                    ips.addBatch();
+                }
+
+                ops.setLong(1, orderId);
+                ops.setLong(2, firstCustomerId + customer);
+                ops.setLong(3, address);
+                ops.setTimestamp(4, Timestamp.valueOf(origin.plusSeconds(random.nextLong(windowSeconds))));
+                ops.setString(5, status(random.nextInt(10)));
+                ops.setBigDecimal(6, BigDecimal.valueOf(totalCents, 2));
+                ops.addBatch();
+
+                if ((i + 1) % batchSize == 0) {
+                    ops.executeBatch();
+                    ips.executeBatch();
+                    connection.commit();
+                    if ((i + 1) % (batchSize * 100) == 0) {
+                        System.out.printf("  ... %,d pedidos%n", i + 1);
+                    }
+                }
+            }
+            ops.executeBatch();
+            ips.executeBatch();
+            connection.commit();
+        }
+        return (int) (itemId - firstItemId);
+    }
+
+    private static String status(int bucket) {
+        if (bucket == 0) return "CREATED";
+        if (bucket <= 2) return "PAID";
+        if (bucket <= 8) return "SHIPPED";
+        return "CANCELLED";
+    }
+
+    private void flushIfFull(PreparedStatement ps, int rows) throws SQLException {
+        if (rows % batchSize == 0) {
+            flush(ps);
+        }
+    }
+
+    private void flush(PreparedStatement ps) throws SQLException {
+        ps.executeBatch();
+        connection.commit();
+    }
+
+    /** Permutación reproducible: el rango de la Zipf no coincide con el orden de los ids. */
+    private int[] permutation(int n) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) {
+            p[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = p[i];
+            p[i] = p[j];
+            p[j] = tmp;
+        }
+        return p;
+    }
+
+    private long nextId(String table) throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * MySQL ajusta AUTO_INCREMENT al insertar ids explícitos; H2 no, así que se reinician
+     * las identidades para que la aplicación no colisione con los ids generados.
+     */
+    private void restartIdentities() throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().startsWith("H2")) {
+            return;
+        }
+        for (String table : new String[] { "customers", "addresses", "products", "orders", "order_items" }) {
+            long next = nextId(table);
+            try (Statement st = connection.createStatement()) {
+                st.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            }
+        }
+        connection.commit();
+    }
+
+    private static void log(String what, int rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%,d %s en %.1f s (%,.0f filas/s)%n", rows, what, seconds, rows / seconds);
+    }
+}
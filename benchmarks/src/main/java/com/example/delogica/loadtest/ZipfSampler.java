@@ -0,0 +1,42 @@
+package com.example.delogica.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Muestreador de una distribución de Zipf sobre los rangos <code>0..n-1</code>.
+ * <p>
+ * El rango 0 es el más frecuente: con exponente {@code s ≈ 1} unos pocos elementos
+ * concentran gran parte de las muestras (SKUs calientes, clientes "ballena").
+ * Precalcula la función de distribución acumulada (8 bytes por elemento) y cada
+ * muestra es una búsqueda binaria.
+ * </p>
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n debe ser > 0");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    /**
+     * @return rango muestreado en <code>[0, n)</code>
+     */
+    int next(SplittableRandom random) {
+        int idx = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = idx >= 0 ? idx : -idx - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+}
@@ -8,11 +8,18 @@ CREATE TABLE IF NOT EXISTS customers (
   id BIGINT PRIMARY KEY AUTO_INCREMENT,
   full_name VARCHAR(120) NOT NULL,
   email VARCHAR(160) NOT NULL UNIQUE,
+  email_normalized VARCHAR(160) NOT NULL,
+  email_domain VARCHAR(160) NOT NULL,
   phone VARCHAR(25),
+  default_address_id BIGINT NULL,
   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  revision BIGINT NOT NULL DEFAULT 0
 ) ENGINE=InnoDB;
 
+CREATE INDEX idx_customer_email_normalized ON customers(email_normalized);
+CREATE INDEX idx_customer_email_domain ON customers(email_domain, id);
+
 -- Tabla addresses
 CREATE TABLE IF NOT EXISTS addresses (
   id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -38,7 +45,8 @@ CREATE TABLE IF NOT EXISTS products (
   stock INT NOT NULL,
   active BOOLEAN NOT NULL DEFAULT TRUE,
   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  revision BIGINT NOT NULL DEFAULT 0
 ) ENGINE=InnoDB;
 
 CREATE INDEX idx_product_name ON products(name);
@@ -57,6 +65,7 @@ CREATE TABLE IF NOT EXISTS orders (
 
 CREATE INDEX idx_order_customer ON orders(customer_id);
 CREATE INDEX idx_order_date ON orders(order_date);
+CREATE INDEX idx_order_status_date ON orders(status, order_date);
 
 -- Tabla order_items
 CREATE TABLE IF NOT EXISTS order_items (
@@ -72,16 +81,92 @@ CREATE TABLE IF NOT EXISTS order_items (
 CREATE INDEX idx_orderitem_order ON order_items(order_id);
 CREATE INDEX idx_orderitem_product ON order_items(product_id);
 
+-- Modelo de lectura de pedidos: una fila por pedido con la respuesta ya renderizada en JSON
+CREATE TABLE IF NOT EXISTS order_view (
+  order_id BIGINT PRIMARY KEY,
+  customer_id BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  order_date TIMESTAMP NOT NULL,
+  total DECIMAL(12,2) NOT NULL,
+  payload LONGTEXT NOT NULL,
+  customer_payload LONGTEXT NULL,
+  updated_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_order_view_customer_date ON order_view(customer_id, order_date);
+CREATE INDEX idx_order_view_status_date ON order_view(status, order_date);
+
+-- Agregados diarios de ventas, mantenidos con cada pedido creado o cambio de estado
+CREATE TABLE IF NOT EXISTS sales_daily_status (
+  sales_date DATE NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  slot INT NOT NULL DEFAULT 0,
+  order_count BIGINT NOT NULL,
+  revenue DECIMAL(14,2) NOT NULL,
+  PRIMARY KEY (sales_date, status, slot)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS sales_daily_product (
+  sales_date DATE NOT NULL,
+  product_id BIGINT NOT NULL,
+  units BIGINT NOT NULL,
+  revenue DECIMAL(14,2) NOT NULL,
+  PRIMARY KEY (sales_date, product_id)
+) ENGINE=InnoDB;
+
+-- Estadísticas de pedidos por cliente, mantenidas con cada pedido creado o cancelado
+CREATE TABLE IF NOT EXISTS customer_stats (
+  customer_id BIGINT PRIMARY KEY,
+  order_count BIGINT NOT NULL,
+  lifetime_value DECIMAL(14,2) NOT NULL,
+  last_order_date TIMESTAMP NOT NULL,
+  CONSTRAINT fk_customer_stats_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_customer_stats_lifetime_value ON customer_stats(lifetime_value);
+
+-- Archivo de pedidos en estado final (SHIPPED/CANCELLED) movidos por el job de archivado
+CREATE TABLE IF NOT EXISTS orders_archive (
+  id BIGINT PRIMARY KEY,
+  customer_id BIGINT NOT NULL,
+  shipping_address_id BIGINT NOT NULL,
+  order_date TIMESTAMP NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  total DECIMAL(12,2) NOT NULL,
+  CONSTRAINT fk_order_archive_customer FOREIGN KEY (customer_id) REFERENCES customers(id),
+  CONSTRAINT fk_order_archive_address FOREIGN KEY (shipping_address_id) REFERENCES addresses(id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_order_archive_customer_date ON orders_archive(customer_id, order_date);
+CREATE INDEX idx_order_archive_date ON orders_archive(order_date);
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+  id BIGINT PRIMARY KEY,
+  order_id BIGINT NOT NULL,
+  product_id BIGINT NOT NULL,
+  quantity INT NOT NULL,
+  unit_price DECIMAL(12,2) NOT NULL,
+  CONSTRAINT fk_orderitem_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive(id) ON DELETE CASCADE,
+  CONSTRAINT fk_orderitem_archive_product FOREIGN KEY (product_id) REFERENCES products(id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_orderitem_archive_order ON order_items_archive(order_id);
+
 -- Datos de ejemplo
-INSERT INTO customers(full_name, email, phone) VALUES
-  ('John Doe', 'john.doe@example.com', '+34 600 111 222'),
-  ('Jane Smith', 'jane.smith@example.com', '+34 600 333 444');
+INSERT INTO customers(full_name, email, email_normalized, email_domain, phone) VALUES
+  ('John Doe', 'john.doe@example.com', 'john.doe@example.com', 'example.com', '+34 600 111 222'),
+  ('Jane Smith', 'jane.smith@example.com', 'jane.smith@example.com', 'example.com', '+34 600 333 444');
 
 INSERT INTO addresses(customer_id, line1, line2, city, postal_code, country, is_default) VALUES
   (1, 'Calle Mayor 1', NULL, 'Madrid', '28013', 'España', TRUE),
   (1, 'Avenida Prado 10', 'Piso 2B', 'Madrid', '28014', 'España', FALSE),
   (2, 'Gran Vía 123', NULL, 'Madrid', '28010', 'España', TRUE);
 
+-- El puntero de cada cliente apunta a su dirección marcada como default
+UPDATE customers c
+  JOIN addresses a ON a.customer_id = c.id AND a.is_default = TRUE
+   SET c.default_address_id = a.id;
+
 INSERT INTO products(sku, name, description, price, stock, active) VALUES
   ('P-100', 'Café Premium 250g', 'Mezcla arábica tostado medio', 7.50, 100, TRUE),
   ('P-200', 'Taza Cerámica', 'Taza 300ml apta para lavavajillas', 12.00, 50, TRUE),
@@ -156,7 +156,6 @@ public class GlobalExceptionHandler {
 
         // ===== 409 (conflictos)
         @ExceptionHandler({
-                        DataIntegrityViolationException.class,
                         EmailAlreadyInUseException.class,
                         SkuAlreadyInUseException.class
         })
@@ -171,6 +170,21 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
         }
 
+        // 409 - restricciones de la base de datos: el mensaje del driver (SQL, nombres de
+        // índices y valores) solo va al log
+        @ExceptionHandler(DataIntegrityViolationException.class)
+        public ResponseEntity<ErrorResponse> handleDataIntegrity(DataIntegrityViolationException ex,
+                        HttpServletRequest request) {
+                logger.warn("Violación de integridad en {}: {}", request.getRequestURI(),
+                                ex.getMostSpecificCause().getMessage());
+
+                ErrorResponse body = baseBuilder(HttpStatus.CONFLICT, ErrorCode.CONFLICT, request)
+                                .message("Conflicto con el estado actual del recurso o la base de datos")
+                                .build();
+
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+        }
+
         // ===== 500
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ErrorResponse> handleAll(Exception ex, HttpServletRequest request) {
@@ -1,19 +1,30 @@
 package com.example.delogica.config;
 
+import com.example.delogica.config.metrics.MetricsScrapeProperties;
 import com.example.delogica.security.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 
 /**
  * Configuración central de Spring Security.
  * Define las rutas públicas y protegidas, e integra el filtro JWT.
+ * Los endpoints de Actuator tienen su propia cadena: las métricas no aceptan tokens de usuario,
+ * sino la credencial del scraper.
  */
 @Configuration
 @EnableWebSecurity
@@ -25,10 +36,45 @@ public class SecurityConfig {
         this.jwtAuthFilter = jwtAuthFilter;
     }
 
+    /**
+     * Reglas de <code>/actuator/**</code>: <code>health</code> público y <code>prometheus</code>
+     * con autenticación básica del scraper. Los tokens JWT de usuario, que cualquiera puede
+     * obtener en <code>/api/auth/login</code> y caducan, no dan acceso a las métricas.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http, MetricsScrapeProperties scrape) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("METRICS")
+                        .anyRequest().denyAll())
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(scrapeAuthenticationManager(scrape))
+                .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
+
+    private static AuthenticationManager scrapeAuthenticationManager(MetricsScrapeProperties scrape) {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        // Sin contraseña configurada no hay usuario: el endpoint rechaza todas las peticiones
+        if (StringUtils.hasText(scrape.getPassword())) {
+            users.createUser(User.withUsername(scrape.getUsername())
+                    .password(scrape.getPassword())
+                    .roles("METRICS")
+                    .build());
+        }
+        return new ProviderManager(new DaoAuthenticationProvider(users));
+    }
+
     /**
      * Define las reglas de seguridad para la aplicación.
      */
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 // Desactiva CSRF (no se necesita en APIs REST stateless)
@@ -36,6 +82,8 @@ public class SecurityConfig {
 
                 // Configura qué rutas son públicas y cuáles requieren autenticación
                 .authorizeHttpRequests(auth -> auth
+                        // El despacho asíncrono (respuestas en streaming) ya se autorizó en la petición original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/swagger-ui/**",
@@ -45,6 +93,7 @@ public class SecurityConfig {
                                 "/api-docs/**",
                                 "/error")
                         .permitAll()
+                        // El resto requiere token
                         .anyRequest().authenticated() 
                 )
 
@@ -0,0 +1,62 @@
+package com.example.delogica.config.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch sobre claves <code>long</code>.
+ * <p>
+ * Con anchura <code>w = ⌈e/ε⌉</code> y profundidad <code>d = ⌈ln(1/δ)⌉</code>, la estimación
+ * de una clave nunca es menor que su frecuencia real y, con probabilidad al menos
+ * <code>1 - δ</code>, la supera como mucho en <code>ε·N</code> (N = suma de todas las
+ * cantidades añadidas). Admite restas (cancelaciones) mientras ninguna frecuencia real
+ * quede en negativo. Memoria fija: <code>w·d</code> contadores.
+ * </p>
+ * No es seguro para uso concurrente; lo sincroniza quien lo contiene.
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final long[][] counters;
+    private final long[] seeds;
+
+    public CountMinSketch(double epsilon, double delta) {
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new long[depth][width];
+        this.seeds = new long[depth];
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    public void add(long key, long count) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i][index(key, i)] += count;
+        }
+    }
+
+    public long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < counters.length; i++) {
+            min = Math.min(min, counters[i][index(key, i)]);
+        }
+        return Math.max(0, min);
+    }
+
+    public void clear() {
+        for (long[] row : counters) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    private int index(long key, int row) {
+        return (int) Long.remainderUnsigned(mix(key ^ seeds[row]), width);
+    }
+
+    /** Finalizador de SplitMix64: dispersa bien claves consecutivas como los IDs. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.delogica.config.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Claves más frecuentes en una ventana deslizante, con memoria acotada.
+ * <p>
+ * La ventana se divide en <code>buckets</code> intervalos; cada uno tiene su
+ * {@link CountMinSketch} y su {@link SpaceSaving}, y se reutiliza cuando sale de la ventana.
+ * Para consultar se unen los candidatos de los intervalos vigentes y se suman sus estimaciones.<br>
+ * Garantías sobre los N unidades de la ventana:<br>
+ * - Toda clave con más de <code>N/candidates</code> unidades aparece entre los candidatos
+ * (si no superase <code>N<sub>b</sub>/candidates</code> en ningún intervalo, no superaría
+ * <code>N/candidates</code> en total).<br>
+ * - La estimación nunca es menor que el valor real y, con probabilidad <code>1 - δ</code> por
+ * intervalo, lo supera como mucho en <code>ε·N</code>.<br>
+ * - La ventana avanza a saltos de un intervalo: cubre entre <code>window - bucket</code> y
+ * <code>window</code>.
+ * </p>
+ */
+public final class SlidingTopK {
+
+    /** Clave con su estimación. */
+    public record Entry(long key, long estimate) {}
+
+    /** Resultado de una consulta: claves ordenadas, total de la ventana y cota de error. */
+    public record Result(List<Entry> entries, long total, long errorBound, long windowStartMillis) {}
+
+    private static final class Bucket {
+        long start = Long.MIN_VALUE;
+        long total;
+        final CountMinSketch sketch;
+        final SpaceSaving candidates;
+
+        Bucket(double epsilon, double delta, int capacity) {
+            this.sketch = new CountMinSketch(epsilon, delta);
+            this.candidates = new SpaceSaving(capacity);
+        }
+
+        void reset(long newStart) {
+            start = newStart;
+            total = 0;
+            sketch.clear();
+            candidates.clear();
+        }
+    }
+
+    private final long bucketMillis;
+    private final double epsilon;
+    private final Bucket[] ring;
+
+    public SlidingTopK(long windowMillis, int buckets, double epsilon, double delta, int candidates) {
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        this.epsilon = epsilon;
+        this.ring = new Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            ring[i] = new Bucket(epsilon, delta, candidates);
+        }
+    }
+
+    /**
+     * Suma <code>count</code> unidades a la clave en el intervalo de <code>timeMillis</code>.
+     * Las restas (cancelaciones) se aplican al intervalo en que se sumaron; si ese intervalo
+     * ya salió de la ventana, se ignoran.
+     */
+    public synchronized void add(long key, long count, long timeMillis) {
+        long start = Math.floorDiv(timeMillis, bucketMillis) * bucketMillis;
+        Bucket bucket = ring[(int) Math.floorMod(Math.floorDiv(timeMillis, bucketMillis), (long) ring.length)];
+        if (bucket.start != start) {
+            if (count < 0 || start < bucket.start) {
+                return;
+            }
+            bucket.reset(start);
+        }
+        bucket.sketch.add(key, count);
+        bucket.total += count;
+        if (count > 0) {
+            bucket.candidates.add(key, count);
+        }
+    }
+
+    /**
+     * Las <code>k</code> claves con más unidades en la ventana que termina en <code>nowMillis</code>.
+     */
+    public synchronized Result top(int k, long nowMillis) {
+        long windowStart = (Math.floorDiv(nowMillis, bucketMillis) - ring.length + 1) * bucketMillis;
+        List<Bucket> live = new ArrayList<>(ring.length);
+        Set<Long> keys = new HashSet<>();
+        long total = 0;
+        for (Bucket bucket : ring) {
+            if (bucket.start >= windowStart && bucket.start <= nowMillis) {
+                live.add(bucket);
+                keys.addAll(bucket.candidates.keys());
+                total += bucket.total;
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(keys.size());
+        for (Long key : keys) {
+            long estimate = 0;
+            for (Bucket bucket : live) {
+                estimate += bucket.sketch.estimate(key);
+            }
+            if (estimate > 0) {
+                entries.add(new Entry(key, estimate));
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::estimate).reversed().thenComparingLong(Entry::key));
+        if (entries.size() > k) {
+            entries = new ArrayList<>(entries.subList(0, k));
+        }
+        return new Result(entries, Math.max(0, total), (long) Math.ceil(epsilon * Math.max(0, total)), windowStart);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.delogica.config.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conjunto de candidatos a más frecuentes con el algoritmo Space-Saving.
+ * <p>
+ * Con capacidad <code>m</code> garantiza que toda clave con frecuencia mayor que
+ * <code>N/m</code> está en el conjunto. Los contadores propios solo sirven para decidir a quién
+ * desplazar; la frecuencia se estima con {@link CountMinSketch}.
+ * </p>
+ * No es seguro para uso concurrente; lo sincroniza quien lo contiene.
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<Long, Long> counts;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    public void add(long key, long count) {
+        Long current = counts.get(key);
+        if (current != null) {
+            counts.put(key, current + count);
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(key, count);
+            return;
+        }
+        // Sustituye a la clave con menor contador heredando su cuenta
+        Long minKey = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+            if (entry.getValue() < min) {
+                min = entry.getValue();
+                minKey = entry.getKey();
+            }
+        }
+        counts.remove(minKey);
+        counts.put(key, min + count);
+    }
+
+    public Set<Long> keys() {
+        return counts.keySet();
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+}
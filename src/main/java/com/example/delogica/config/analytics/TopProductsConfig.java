@@ -0,0 +1,19 @@
+package com.example.delogica.config.analytics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del ranking en vivo de productos más vendidos.
+ */
+@Configuration
+@EnableConfigurationProperties(TopProductsProperties.class)
+public class TopProductsConfig {
+
+    @Bean
+    public SlidingTopK topProductsSketch(TopProductsProperties properties) {
+        return new SlidingTopK(properties.getWindow().toMillis(), properties.getBuckets(),
+                properties.getEpsilon(), properties.getDelta(), properties.getCandidates());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.delogica.config.analytics;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración del ranking en vivo de productos más vendidos
+ * (<code>GET /api/products/top</code>).
+ * <p>
+ * Memoria aproximada: <code>buckets · ⌈e/ε⌉ · ⌈ln(1/δ)⌉ · 8</code> bytes más
+ * <code>buckets · candidates</code> entradas; con los valores por defecto, ~1,3 MB.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.top-products")
+public class TopProductsProperties {
+
+    /** Duración de la ventana deslizante. */
+    private Duration window = Duration.ofHours(1);
+
+    /** Intervalos en que se divide la ventana (granularidad del deslizamiento). */
+    private int buckets = 12;
+
+    /** Error relativo ε: la estimación supera a la real como mucho en ε·N unidades. */
+    private double epsilon = 0.001;
+
+    /** Probabilidad δ de que una estimación supere esa cota. */
+    private double delta = 0.01;
+
+    /** Candidatos por intervalo: se garantiza todo producto con más de N/candidates unidades. */
+    private int candidates = 256;
+
+    /** Máximo de productos por consulta. */
+    private int maxLimit = 200;
+}
@@ -0,0 +1,14 @@
+package com.example.delogica.config.archive;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración del archivado de pedidos. El job periódico es {@link OrderArchiveJob}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OrderArchiveProperties.class)
+public class OrderArchiveConfig {
+}
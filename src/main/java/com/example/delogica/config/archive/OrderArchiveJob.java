@@ -0,0 +1,35 @@
+package com.example.delogica.config.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.delogica.services.OrderArchiveService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Job periódico que mueve al archivo los pedidos en estado final más antiguos que
+ * <code>orders.archive.older-than</code>.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "orders.archive", name = "enabled", havingValue = "true")
+public class OrderArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveJob.class);
+
+    private final OrderArchiveService orderArchiveService;
+
+    @Scheduled(initialDelayString = "${orders.archive.interval:PT1H}", fixedDelayString = "${orders.archive.interval:PT1H}")
+    public void run() {
+        try {
+            orderArchiveService.archive();
+        } catch (RuntimeException e) {
+            // Los lotes ya confirmados se mantienen; el siguiente ciclo continúa desde ahí
+            logger.error("Error archivando pedidos", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.delogica.config.archive;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración del archivado de pedidos (<code>orders_archive</code> y
+ * <code>order_items_archive</code>).
+ * <p>
+ * Los pedidos en estado final con más antigüedad que <code>older-than</code> se mueven
+ * por lotes de las tablas calientes al archivo. Las lecturas consultan el archivo solo
+ * si está activado, no está vacío y los filtros pueden alcanzar pedidos archivados; desactivarlo con
+ * pedidos ya archivados los deja fuera de las lecturas.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.archive")
+public class OrderArchiveProperties {
+
+    /** Activa el job de archivado y la consulta del archivo en lecturas. */
+    private boolean enabled = false;
+
+    /** Antigüedad mínima de un pedido en estado final para archivarlo. */
+    private Duration olderThan = Duration.ofDays(90);
+
+    /** Pedidos movidos por transacción. */
+    private int batchSize = 500;
+
+    /** Espera entre ejecuciones del job. */
+    private Duration interval = Duration.ofHours(1);
+}
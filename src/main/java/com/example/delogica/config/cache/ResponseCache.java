@@ -0,0 +1,154 @@
+package com.example.delogica.config.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché de respuestas de detalle ya serializadas a JSON.
+ * <p>
+ * Un acierto cuesta una consulta de revisión por clave primaria, una búsqueda en el mapa y la
+ * copia del buffer a la respuesta: no se cargan las asociaciones, ni se ejecuta MapStruct, ni se
+ * serializa con Jackson.<br>
+ * - Cada entrada guarda la revisión del recurso con la que se generó y solo se sirve si coincide
+ * con la actual. La revisión se lee de la base de datos, así que cubre los cambios hechos en
+ * otros nodos y los de datos embebidos (cliente, direcciones y productos de un pedido) que no
+ * invalidan la entrada por eventos.<br>
+ * - {@link ResponseCacheInvalidator} además descarta en el momento las entradas locales que
+ * cambian, para liberar memoria.<br>
+ * - Las entradas de pedidos en estado final caducan a los
+ * {@link ResponseCacheProperties#getImmutableTtl()} y las demás a los
+ * {@link ResponseCacheProperties#getMutableTtl()}; la caducidad solo limita lo que ocupan las
+ * entradas que dejan de pedirse.<br>
+ * La carga se hace dentro de {@link Cache#get}, así que una invalidación concurrente espera
+ * a que termine y la descarta, en lugar de dejar en caché una lectura anterior al cambio.
+ * Se publican métricas <code>cache.*</code> con <code>cache=responses</code>.
+ * </p>
+ */
+@Component
+public class ResponseCache {
+
+    public static final String HEADER = "X-Response-Cache";
+
+    /** Tipo de recurso cacheado; forma parte de la clave junto al ID. */
+    public enum Kind { ORDER, PRODUCT }
+
+    private record Key(Kind kind, Long id) {}
+
+    private record Entry(Object revision, byte[] json, byte[] gzip, boolean immutable) {
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private final ResponseCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Entry> cache;
+
+    public ResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        Duration mutableTtl = properties.getMutableTtl();
+        Duration immutableTtl = properties.getImmutableTtl();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .expireAfter(Expiry.creating((Key key, Entry entry) ->
+                        entry.immutable() ? immutableTtl : mutableTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responses");
+    }
+
+    /**
+     * Devuelve la respuesta cacheada o la genera con <code>loader</code> y la guarda.
+     *
+     * @param kind           tipo de recurso
+     * @param id             ID del recurso
+     * @param acceptEncoding cabecera <code>Accept-Encoding</code> de la petición (puede ser null)
+     * @param revision       obtiene la revisión actual del recurso; se compara con {@code equals}
+     * @param loader         obtiene el DTO; sus excepciones se propagan y no se cachea nada
+     * @param immutable      indica si el DTO ya no cambia de estado
+     * @return respuesta 200 con el JSON, comprimido si procede
+     */
+    public <T> ResponseEntity<byte[]> respond(Kind kind, Long id, String acceptEncoding,
+            Supplier<?> revision, Supplier<T> loader, Predicate<T> immutable) {
+        if (!properties.isEnabled()) {
+            return toResponse(render(null, loader, immutable), acceptEncoding, "BYPASS");
+        }
+        // La revisión se lee antes que el DTO: si el recurso cambia entre ambas lecturas, la
+        // entrada queda con una revisión anterior a su contenido y se regenera en la siguiente
+        Object current = revision.get();
+        Key key = new Key(kind, id);
+        boolean[] miss = { false };
+        Entry entry = cache.get(key, k -> {
+            miss[0] = true;
+            return render(current, loader, immutable);
+        });
+        if (!miss[0] && !Objects.equals(entry.revision(), current)) {
+            miss[0] = true;
+            entry = cache.asMap().compute(key, (k, cached) -> cached != null
+                    && Objects.equals(cached.revision(), current) ? cached : render(current, loader, immutable));
+        }
+        return toResponse(entry, acceptEncoding, miss[0] ? "MISS" : "HIT");
+    }
+
+    public void evict(Kind kind, Long id) {
+        cache.invalidate(new Key(kind, id));
+    }
+
+    private <T> Entry render(Object revision, Supplier<T> loader, Predicate<T> immutable) {
+        T body = loader.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+        byte[] gzip = properties.isGzip() && json.length >= properties.getGzipMinBytes() ? gzip(json) : null;
+        return new Entry(revision, json, gzip, immutable.test(body));
+    }
+
+    private ResponseEntity<byte[]> toResponse(Entry entry, String acceptEncoding, String cacheStatus) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HEADER, cacheStatus);
+        if (entry.gzip() != null) {
+            builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzip());
+            }
+        }
+        return builder.body(entry.json());
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
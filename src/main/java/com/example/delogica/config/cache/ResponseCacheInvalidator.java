@@ -0,0 +1,96 @@
+package com.example.delogica.config.cache;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.delogica.config.cache.ResponseCache.Kind;
+import com.example.delogica.events.CustomerAnonymizedEvent;
+import com.example.delogica.events.OrderCreatedEvent;
+import com.example.delogica.events.OrderSnapshot;
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.events.ProductChangedEvent;
+import com.example.delogica.models.OrderStatus;
+
+/**
+ * Invalida las entradas de {@link ResponseCache} afectadas por cada escritura de este nodo.
+ * <p>
+ * La caché ya no sirve una entrada cuya revisión cambió, también si el cambio se hizo en otro
+ * nodo; descartarlas aquí libera la memoria en cuanto cambian.<br>
+ * Se invalida en el momento (para que las lecturas posteriores dentro de la misma
+ * transacción no vean la versión anterior) y otra vez tras el commit (para descartar
+ * lo que otra petición haya cacheado leyendo datos aún sin confirmar el cambio).<br>
+ * Crear o cancelar un pedido cambia el stock de sus productos, así que también se
+ * invalida el detalle de esos productos. Anonimizar un cliente invalida el detalle de sus
+ * pedidos.
+ * </p>
+ */
+@Component
+public class ResponseCacheInvalidator {
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheInvalidator(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @EventListener
+    public void on(OrderCreatedEvent event) {
+        evictProducts(event.order());
+    }
+
+    @EventListener
+    public void on(OrderStatusChangedEvent event) {
+        evict(Kind.ORDER, event.order().id());
+        if (event.order().status() == OrderStatus.CANCELLED) {
+            evictProducts(event.order());
+        }
+    }
+
+    @EventListener
+    public void on(OrderStatusBulkChangedEvent event) {
+        Set<Long> products = new TreeSet<>();
+        for (OrderStatusChangedEvent change : event.changes()) {
+            evict(Kind.ORDER, change.order().id());
+            if (change.order().status() == OrderStatus.CANCELLED) {
+                change.order().lines().forEach(line -> products.add(line.productId()));
+            }
+        }
+        products.forEach(productId -> evict(Kind.PRODUCT, productId));
+    }
+
+    @EventListener
+    public void on(ProductChangedEvent event) {
+        evict(Kind.PRODUCT, event.productId());
+    }
+
+    @EventListener
+    public void on(CustomerAnonymizedEvent event) {
+        for (Long orderId : event.orderIds()) {
+            evict(Kind.ORDER, orderId);
+        }
+    }
+
+    private void evictProducts(OrderSnapshot order) {
+        for (OrderSnapshot.Line line : order.lines()) {
+            evict(Kind.PRODUCT, line.productId());
+        }
+    }
+
+    private void evict(Kind kind, Long id) {
+        responseCache.evict(kind, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responseCache.evict(kind, id);
+                }
+            });
+        }
+    }
+}
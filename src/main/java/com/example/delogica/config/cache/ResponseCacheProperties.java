@@ -0,0 +1,42 @@
+package com.example.delogica.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración de la caché de respuestas serializadas ({@link ResponseCache}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+
+    /** Activa la caché; si se desactiva, cada petición se renderiza de nuevo. */
+    private boolean enabled = true;
+
+    /** Tamaño máximo de la caché en bytes (suma de JSON y, si existe, su versión gzip). */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /**
+     * Vida máxima de las entradas mutables. Una entrada no se sirve si la revisión del recurso
+     * cambió: este límite solo acota la memoria que ocupan las que dejan de pedirse.
+     */
+    private Duration mutableTtl = Duration.ofMinutes(5);
+
+    /**
+     * Vida máxima de las entradas de pedidos en estado final, que cambian con menos frecuencia.
+     * Como las mutables, no se sirven si la revisión del pedido, su cliente o sus productos
+     * cambió.
+     */
+    private Duration immutableTtl = Duration.ofMinutes(30);
+
+    /** Guarda también el cuerpo comprimido y lo sirve a clientes que acepten gzip. */
+    private boolean gzip = false;
+
+    /** Tamaño mínimo del JSON a partir del cual se comprime. */
+    private int gzipMinBytes = 1024;
+}
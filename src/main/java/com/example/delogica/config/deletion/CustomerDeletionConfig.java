@@ -0,0 +1,13 @@
+package com.example.delogica.config.deletion;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del borrado asíncrono de clientes
+ * ({@link com.example.delogica.services.CustomerDeletionService}).
+ */
+@Configuration
+@EnableConfigurationProperties(CustomerDeletionProperties.class)
+public class CustomerDeletionConfig {
+}
@@ -0,0 +1,31 @@
+package com.example.delogica.config.deletion;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración del borrado asíncrono de clientes.
+ * <p>
+ * Un cliente sin pedidos se borra; con pedidos, activos o archivados, se anonimiza junto
+ * con las direcciones que esos pedidos usan y se borran las demás. Todo por tramos de
+ * <code>chunk-size</code> filas, cada uno en su propia transacción.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "customers.deletion")
+public class CustomerDeletionProperties {
+
+    /** Filas (direcciones o pedidos) tratadas por transacción. */
+    private int chunkSize = 500;
+
+    /** Borrados que se ejecutan a la vez. */
+    private int threads = 1;
+
+    /** Tiempo que se conserva el estado de un borrado terminado para consultarlo. */
+    private Duration retention = Duration.ofHours(1);
+}
@@ -0,0 +1,15 @@
+package com.example.delogica.config.expiration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración de la expiración de pedidos sin pagar. El job periódico es
+ * {@link OrderExpirationJob}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OrderExpirationProperties.class)
+public class OrderExpirationConfig {
+}
@@ -0,0 +1,35 @@
+package com.example.delogica.config.expiration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.delogica.services.OrderExpirationService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Job periódico que cancela los pedidos en CREATED más antiguos que
+ * <code>orders.expiration.ttl</code>.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "orders.expiration", name = "enabled", havingValue = "true")
+public class OrderExpirationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpirationJob.class);
+
+    private final OrderExpirationService orderExpirationService;
+
+    @Scheduled(initialDelayString = "${orders.expiration.interval:PT5M}", fixedDelayString = "${orders.expiration.interval:PT5M}")
+    public void run() {
+        try {
+            orderExpirationService.expire();
+        } catch (RuntimeException e) {
+            // Los lotes ya confirmados se mantienen; el siguiente ciclo continúa desde ahí
+            logger.error("Error expirando pedidos sin pagar", e);
+        }
+    }
+}
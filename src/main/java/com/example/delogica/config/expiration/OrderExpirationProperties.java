@@ -0,0 +1,37 @@
+package com.example.delogica.config.expiration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración de la expiración de pedidos sin pagar.
+ * <p>
+ * Los pedidos que siguen en CREATED pasado <code>ttl</code> se cancelan por lotes y
+ * devuelven su stock. Varios nodos pueden ejecutar el job a la vez: cada lote bloquea
+ * sus pedidos saltando los ya bloqueados por otro nodo.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.expiration")
+public class OrderExpirationProperties {
+
+    /** Activa el job de expiración. */
+    private boolean enabled = false;
+
+    /** Tiempo máximo que un pedido puede seguir en CREATED. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Pedidos cancelados por transacción. */
+    private int batchSize = 200;
+
+    /** Máximo de lotes por ejecución, para no acaparar conexiones tras una parada larga. */
+    private int maxBatchesPerRun = 50;
+
+    /** Espera entre ejecuciones del job. */
+    private Duration interval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,90 @@
+package com.example.delogica.config.logging;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * {@link TurboFilter} de Logback que muestrea los eventos INFO de los loggers indicados.
+ * <p>
+ * De cada {@code rate} eventos INFO de un logger muestreado solo se deja pasar uno
+ * (el primero, el {@code rate + 1}, ...). Los niveles WARN y ERROR nunca se muestrean,
+ * y DEBUG/TRACE siguen dependiendo del nivel configurado. Al ser un TurboFilter, los
+ * eventos descartados se rechazan antes de formatear el mensaje o crear el evento.
+ * </p>
+ * Configuración en <code>logback-spring.xml</code>:
+ * <pre>
+ * &lt;turboFilter class="com.example.delogica.config.logging.SamplingTurboFilter"&gt;
+ *     &lt;loggers&gt;com.example.delogica.controllers.OrderController,com.example.delogica.services.impl&lt;/loggers&gt;
+ *     &lt;rate&gt;10&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ * Cada entrada de <code>loggers</code> es un nombre de logger o un prefijo de paquete.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private Set<String> loggers = Set.of();
+    private int rate = 1;
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || rate <= 1 || level != Level.INFO || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (logger.getEffectiveLevel().levelInt > Level.INFO_INT) {
+            // Nivel ya desactivado: no consumir cuota (isInfoEnabled() volvería a invocar este filtro)
+            return FilterReply.NEUTRAL;
+        }
+        long n = counters.computeIfAbsent(logger.getName(), k -> new AtomicLong()).getAndIncrement();
+        return n % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSampled(String name) {
+        for (String prefix : loggers) {
+            if (name.equals(prefix) || name.startsWith(prefix + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param loggers nombres de logger o prefijos de paquete separados por comas
+     */
+    public void setLoggers(String loggers) {
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String name : loggers.split(",")) {
+            if (!name.isBlank()) {
+                parsed.add(name.trim());
+            }
+        }
+        this.loggers = Set.copyOf(parsed);
+    }
+
+    /**
+     * @param rate se deja pasar 1 de cada {@code rate} eventos INFO (1 desactiva el muestreo)
+     */
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+        if (rate < 1) {
+            addError("rate debe ser >= 1, recibido " + rate);
+            return;
+        }
+        super.start();
+    }
+}
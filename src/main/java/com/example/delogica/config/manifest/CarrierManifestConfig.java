@@ -0,0 +1,15 @@
+package com.example.delogica.config.manifest;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración de la ingesta de manifiestos de transportista. El job periódico es
+ * {@link CarrierManifestJob}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CarrierManifestProperties.class)
+public class CarrierManifestConfig {
+}
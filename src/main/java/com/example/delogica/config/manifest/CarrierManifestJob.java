@@ -0,0 +1,34 @@
+package com.example.delogica.config.manifest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.delogica.services.CarrierManifestService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Job periódico que procesa los manifiestos pendientes de <code>orders.manifest.inbox-dir</code>.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "orders.manifest", name = "enabled", havingValue = "true")
+public class CarrierManifestJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarrierManifestJob.class);
+
+    private final CarrierManifestService carrierManifestService;
+
+    @Scheduled(initialDelayString = "${orders.manifest.interval:PT1M}", fixedDelayString = "${orders.manifest.interval:PT1M}")
+    public void run() {
+        try {
+            carrierManifestService.ingestInbox();
+        } catch (RuntimeException e) {
+            // Los tramos ya confirmados se mantienen; reprocesar un manifiesto no cambia nada
+            logger.error("Error procesando manifiestos de transportista", e);
+        }
+    }
+}
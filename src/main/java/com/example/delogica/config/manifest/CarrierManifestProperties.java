@@ -0,0 +1,51 @@
+package com.example.delogica.config.manifest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración de la ingesta de manifiestos de transportista.
+ * <p>
+ * Cada fichero de <code>inbox-dir</code> que encaje con <code>file-pattern</code> lista los
+ * pedidos entregados al transportista; se pasan de PAID a SHIPPED por tramos y el fichero
+ * se mueve a <code>processed-dir</code> (o a <code>failed-dir</code> si no se pudo leer). Si falla
+ * la base de datos, el fichero se queda en <code>inbox-dir</code> y se reintenta en la siguiente revisión.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.manifest")
+public class CarrierManifestProperties {
+
+    /** Activa el job de ingesta. */
+    private boolean enabled = false;
+
+    /** Directorio donde el transportista deja los manifiestos. */
+    private Path inboxDir = Path.of("manifests/inbox");
+
+    /** Directorio al que se mueven los manifiestos procesados. */
+    private Path processedDir = Path.of("manifests/processed");
+
+    /** Directorio al que se mueven los manifiestos que no se pudieron procesar. */
+    private Path failedDir = Path.of("manifests/failed");
+
+    /** Patrón glob de los ficheros a procesar. */
+    private String filePattern = "*.{csv,txt}";
+
+    /** Ancho del ID en manifiestos de ancho fijo; 0 para manifiestos delimitados (CSV). */
+    private int idWidth = 0;
+
+    /** Pedidos actualizados por transacción. */
+    private int batchSize = 2000;
+
+    /** Cada cuánto se informa del progreso de un manifiesto. */
+    private Duration progressInterval = Duration.ofSeconds(10);
+
+    /** Espera entre revisiones del directorio de entrada. */
+    private Duration interval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,113 @@
+package com.example.delogica.config.manifest;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de <code>long</code> con direccionamiento abierto y sondeo lineal.
+ * <p>
+ * Guarda las claves en un único <code>long[]</code> (sin objetos <code>Long</code> ni nodos):
+ * medio millón de IDs ocupan unos 8 MB frente a los ~40 MB de un <code>HashSet&lt;Long&gt;</code>.
+ * El 0 se usa como hueco libre y se registra aparte. Se redimensiona al superar
+ * un factor de carga de 0,5.
+ * </p>
+ * No es seguro para uso concurrente.
+ */
+public final class LongHashSet {
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return <code>true</code> si la clave no estaba en el conjunto
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Copia las claves en un array nuevo ordenado de forma ascendente. */
+    public long[] toSortedArray() {
+        long[] sorted = new long[size];
+        int i = 0;
+        if (containsZero) {
+            sorted[i++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                sorted[i++] = key;
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        for (long key : old) {
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private int slot(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    /** Finalizador de SplitMix64: dispersa bien claves consecutivas como los IDs. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.delogica.config.manifest;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+
+/**
+ * Lector de manifiestos de transportista: un pedido por línea, con su ID en el primer campo.
+ * <p>
+ * - Delimitado (<code>idWidth = 0</code>): el ID termina en <code>,</code>, <code>;</code>,
+ * tabulador o espacio; el resto de la línea se ignora.<br>
+ * - Ancho fijo (<code>idWidth &gt; 0</code>): el ID ocupa las primeras <code>idWidth</code>
+ * columnas, con relleno de espacios o ceros a la izquierda.<br>
+ * - Se ignoran las líneas en blanco y una primera línea sin ID válido (cabecera); el resto
+ * de líneas sin un ID válido se cuentan como erróneas.
+ * </p>
+ * El fichero se proyecta en memoria por regiones de hasta {@value #REGION_SIZE} bytes y se
+ * recorre byte a byte acumulando el número, sin crear un <code>String</code> por línea.
+ * El estado del recorrido se conserva entre regiones, así que una línea puede quedar partida.
+ */
+public final class ManifestParser {
+
+    static final int REGION_SIZE = 1 << 30;
+
+    /** Un ID de 19 dígitos podría desbordar un <code>long</code>. */
+    private static final int MAX_DIGITS = 18;
+
+    private final int idWidth;
+
+    public ManifestParser(int idWidth) {
+        if (idWidth < 0 || idWidth > MAX_DIGITS) {
+            throw new IllegalArgumentException("Ancho de ID inválido: " + idWidth);
+        }
+        this.idWidth = idWidth;
+    }
+
+    /**
+     * Recuento de líneas leídas.
+     *
+     * @param records   líneas con un ID válido (incluidos duplicados)
+     * @param malformed líneas no vacías sin un ID válido
+     * @param bytes     tamaño del fichero
+     */
+    public record Stats(long records, long malformed, long bytes) {
+    }
+
+    /**
+     * Recorre el fichero y entrega cada ID al consumidor en el orden del fichero.
+     */
+    public Stats parse(Path file, LongConsumer consumer) throws IOException {
+        Scan scan = new Scan(consumer);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += REGION_SIZE) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(REGION_SIZE, size - position));
+                int limit = region.limit();
+                for (int i = 0; i < limit; i++) {
+                    scan.accept(region.get(i));
+                }
+            }
+            scan.endOfLine();
+            return new Stats(scan.records, scan.malformed, size);
+        }
+    }
+
+    /** Estado del recorrido de la línea actual. */
+    private final class Scan {
+
+        private final LongConsumer consumer;
+
+        private long records;
+        private long malformed;
+        private boolean firstLine = true;
+
+        private int column;
+        private long value;
+        private int digits;
+        private boolean fieldEnded;
+        private boolean padded;
+        private boolean invalid;
+        private boolean blank = true;
+
+        private Scan(LongConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        private void accept(byte b) {
+            if (b == '\n') {
+                endOfLine();
+                return;
+            }
+            if (b == '\r') {
+                return;
+            }
+            int col = column++;
+            if (fieldEnded || invalid) {
+                return;
+            }
+            if (idWidth > 0 && col >= idWidth) {
+                if (digits > 0) {
+                    fieldEnded = true;
+                } else if (b != ' ' && b != '\t') {
+                    // Registro con datos pero con el campo del ID vacío
+                    invalid();
+                }
+                return;
+            }
+            if (b >= '0' && b <= '9') {
+                if (padded || ++digits > MAX_DIGITS) {
+                    invalid();
+                    return;
+                }
+                blank = false;
+                value = value * 10 + (b - '0');
+            } else if (b == ' ' || b == '\t') {
+                // Relleno: antes del ID se ignora; después cierra el campo
+                if (digits > 0) {
+                    if (idWidth == 0) {
+                        fieldEnded = true;
+                    } else {
+                        padded = true;
+                    }
+                }
+            } else if (idWidth == 0 && (b == ',' || b == ';')) {
+                if (digits > 0) {
+                    fieldEnded = true;
+                } else {
+                    invalid();
+                }
+            } else {
+                invalid();
+            }
+        }
+
+        private void invalid() {
+            invalid = true;
+            blank = false;
+        }
+
+        private void endOfLine() {
+            if (!blank) {
+                if (!invalid) {
+                    records++;
+                    consumer.accept(value);
+                } else if (!firstLine) {
+                    malformed++;
+                }
+                firstLine = false;
+            }
+            column = 0;
+            value = 0;
+            digits = 0;
+            fieldEnded = false;
+            padded = false;
+            invalid = false;
+            blank = true;
+        }
+    }
+}
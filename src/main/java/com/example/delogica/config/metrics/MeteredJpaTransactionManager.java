@@ -0,0 +1,86 @@
+package com.example.delogica.config.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * {@link JpaTransactionManager} que mide la duración de cada transacción física
+ * (desde el <code>begin</code> hasta la limpieza posterior al commit/rollback).
+ * <p>
+ * Publica el timer <code>app.transaction.duration</code> con las etiquetas
+ * <code>read_only</code> y <code>outcome</code> (<code>commit</code> / <code>rollback</code>).
+ * Las transacciones que se unen a otra existente no se cuentan dos veces.
+ * </p>
+ */
+public class MeteredJpaTransactionManager extends JpaTransactionManager {
+
+    public static final String METRIC_NAME = "app.transaction.duration";
+
+    private final transient Map<Object, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    // [readOnly][committed]: solo hay cuatro combinaciones, se registran una vez
+    private final transient Timer[][] timers = new Timer[2][2];
+
+    public MeteredJpaTransactionManager(EntityManagerFactory emf, MeterRegistry registry) {
+        super(emf);
+        for (int readOnly = 0; readOnly < 2; readOnly++) {
+            for (int committed = 0; committed < 2; committed++) {
+                timers[readOnly][committed] = Timer.builder(METRIC_NAME)
+                        .description("Duración de las transacciones JPA")
+                        .tag("read_only", Boolean.toString(readOnly == 1))
+                        .tag("outcome", committed == 1 ? "commit" : "rollback")
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        inFlight.put(transaction, new InFlight(System.nanoTime(), definition.isReadOnly()));
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        InFlight tx = inFlight.get(status.getTransaction());
+        if (tx != null) {
+            tx.committed = true;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            InFlight tx = inFlight.remove(transaction);
+            if (tx != null) {
+                timers[tx.readOnly ? 1 : 0][tx.committed ? 1 : 0]
+                        .record(System.nanoTime() - tx.startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static final class InFlight {
+        private final long startNanos;
+        private final boolean readOnly;
+        private volatile boolean committed;
+
+        private InFlight(long startNanos, boolean readOnly) {
+            this.startNanos = startNanos;
+            this.readOnly = readOnly;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.delogica.config.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Configuración de métricas propias de la aplicación.
+ * <p>
+ * Las métricas HTTP (<code>http.server.requests</code>), de repositorios
+ * (<code>spring.data.repository.invocations</code>), del pool de conexiones
+ * (<code>hikaricp.*</code>) y de caché/estadísticas de Hibernate (<code>hibernate.*</code>)
+ * las registra Spring Boot; aquí se añade la duración de transacciones.
+ * Todo se expone en formato Prometheus en <code>/actuator/prometheus</code>, protegido con la
+ * credencial propia del scraper ({@link MetricsScrapeProperties}).
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties({ SqlBudgetProperties.class, MetricsScrapeProperties.class })
+public class MetricsConfig {
+
+    /**
+     * Registra {@link SqlStatementInspector} para contar sentencias SQL por petición.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+    }
+
+    /**
+     * Sustituye al {@link JpaTransactionManager} autoconfigurado por uno instrumentado.
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new MeteredJpaTransactionManager(entityManagerFactory, meterRegistry);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.delogica.config.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Credencial propia del scraper de Prometheus para <code>/actuator/prometheus</code>
+ * (autenticación básica), independiente de los tokens JWT de usuario.
+ * <p>
+ * Ejemplo:
+ * <pre>
+ * app.metrics.scrape.username=prometheus
+ * app.metrics.scrape.password={bcrypt}$2a$10$...
+ * </pre>
+ * La contraseña va en el formato de <code>DelegatingPasswordEncoder</code>
+ * (<code>{bcrypt}...</code>, <code>{noop}...</code>). Sin contraseña el endpoint rechaza todas
+ * las peticiones.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.metrics.scrape")
+public class MetricsScrapeProperties {
+
+    /** Usuario del scraper. */
+    private String username = "prometheus";
+
+    /** Contraseña codificada del scraper; vacía desactiva el acceso a las métricas. */
+    private String password = "";
+}
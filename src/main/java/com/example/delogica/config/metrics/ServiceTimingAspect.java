@@ -0,0 +1,65 @@
+package com.example.delogica.config.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aspecto que mide la latencia de cada método público de la capa de servicio.
+ * <p>
+ * Publica el timer <code>app.service.invocations</code> con histograma de percentiles
+ * (etiquetas <code>class</code>, <code>method</code> y <code>exception</code>).
+ * Los timers de la ruta sin error se cachean por {@link Method} para que el registro
+ * sea una lectura de mapa y una escritura en el histograma, sin construir etiquetas por llamada.
+ * </p>
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    public static final String METRIC_NAME = "app.service.invocations";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.example.delogica.services.impl..*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = pjp.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(pjp, m, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            // Ruta de error: poco frecuente, se resuelve el timer contra el registro
+            timer(pjp, method, ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint pjp, Method method, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Latencia de los métodos de servicio")
+                .tag("class", pjp.getTarget().getClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.delogica.config.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Presupuesto de sentencias SQL por petición HTTP.
+ * <p>
+ * Ejemplo:
+ * <pre>
+ * app.sql.budget.default-max-statements=20
+ * app.sql.budget.endpoints.[/api/orders/{id}]=6
+ * app.sql.budget.repeated-shape-threshold=5
+ * </pre>
+ * Las claves de <code>endpoints</code> son el patrón de ruta del controlador (entre corchetes
+ * para conservar <code>/</code> y <code>{}</code>).
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sql.budget")
+public class SqlBudgetProperties {
+
+    /** Activa el recuento de sentencias por petición. */
+    private boolean enabled = true;
+
+    /** Máximo de sentencias por petición cuando el endpoint no tiene presupuesto propio. */
+    private int defaultMaxStatements = 20;
+
+    /** Presupuestos específicos por patrón de ruta. */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    /** Repeticiones de una misma forma de consulta a partir de las cuales se avisa de un posible N+1. */
+    private int repeatedShapeThreshold = 5;
+
+    public int budgetFor(String pattern) {
+        return endpoints.getOrDefault(pattern, defaultMaxStatements);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.delogica.config.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Filtro que cuenta las sentencias SQL ejecutadas durante cada petición HTTP.
+ * <p>
+ * - Añade la cabecera {@value #HEADER} con el número de sentencias ejecutadas antes de
+ * enviar la respuesta.<br>
+ * - Publica la distribución <code>app.http.sql.statements</code> por método y patrón de ruta.<br>
+ * - Registra un aviso si se supera el presupuesto del endpoint ({@link SqlBudgetProperties})
+ * o si una misma consulta se repite lo suficiente como para sospechar un N+1.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Sql-Statement-Count";
+    public static final String METRIC_NAME = "app.http.sql.statements";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    private final SqlBudgetProperties budget;
+    private final MeterRegistry registry;
+
+    public SqlStatementCountFilter(SqlBudgetProperties budget, MeterRegistry registry) {
+        this.budget = budget;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@SuppressWarnings("null") HttpServletRequest request) {
+        return !budget.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@SuppressWarnings("null") HttpServletRequest request,
+                                    @SuppressWarnings("null") HttpServletResponse response,
+                                    @SuppressWarnings("null") FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlStatementCounter.start();
+        CountHeaderResponse wrapped = new CountHeaderResponse(response);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            SqlStatementCounter.Stats stats = SqlStatementCounter.stop();
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, Integer.toString(stats.getTotal()));
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        Object bestMatch = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String pattern = bestMatch != null ? bestMatch.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder(METRIC_NAME)
+                .description("Sentencias SQL ejecutadas por petición HTTP")
+                .tag("method", method)
+                .tag("uri", pattern)
+                .register(registry)
+                .record(stats.getTotal());
+
+        int max = budget.budgetFor(pattern);
+        if (stats.getTotal() > max) {
+            Counter.builder(METRIC_NAME + ".budget.exceeded")
+                    .tag("method", method)
+                    .tag("uri", pattern)
+                    .register(registry)
+                    .increment();
+            logger.warn("Presupuesto SQL superado en {} {}: {} sentencias (máximo {})",
+                    method, pattern, stats.getTotal(), max);
+        }
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= budget.getRepeatedShapeThreshold()) {
+            logger.warn("Posible N+1 en {} {}: la misma consulta se ejecutó {} veces: {}",
+                    method, pattern, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    /**
+     * Fija la cabecera con el recuento actual justo antes de empezar a escribir el cuerpo,
+     * momento a partir del cual la respuesta puede quedar comprometida.
+     */
+    private static final class CountHeaderResponse extends HttpServletResponseWrapper {
+
+        private CountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void setCountHeader() {
+            if (!isCommitted()) {
+                setHeader(HEADER, Integer.toString(SqlStatementCounter.currentCount()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setCountHeader();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.delogica.config.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Contador de sentencias SQL por hilo.
+ * <p>
+ * Un filtro HTTP (o un test) llama a {@link #start()} al comenzar una unidad de trabajo,
+ * {@link SqlStatementInspector} registra cada sentencia preparada por Hibernate y
+ * {@link #stop()} devuelve el resumen. Además del total, agrupa las sentencias por
+ * "forma" (SQL con listas <code>IN (?, ?, ...)</code> colapsadas) para detectar
+ * patrones N+1: la misma consulta repetida muchas veces dentro de una petición.
+ * </p>
+ */
+public final class SqlStatementCounter {
+
+    /** Máximo de formas distintas que se guardan por unidad de trabajo (memoria acotada). */
+    static final int MAX_TRACKED_SHAPES = 256;
+
+    private static final Pattern IN_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {}
+
+    /**
+     * Inicia (o reinicia) el recuento en el hilo actual.
+     */
+    public static void start() {
+        CURRENT.set(new Stats());
+    }
+
+    /**
+     * Finaliza el recuento del hilo actual.
+     *
+     * @return estadísticas acumuladas o {@link Stats#EMPTY} si no había recuento activo
+     */
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats != null ? stats : Stats.EMPTY;
+    }
+
+    /**
+     * @return número de sentencias registradas hasta ahora en el hilo actual (0 si no hay recuento activo)
+     */
+    public static int currentCount() {
+        Stats stats = CURRENT.get();
+        return stats != null ? stats.total : 0;
+    }
+
+    static void record(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.add(sql);
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String collapsed = IN_LIST.matcher(sql).replaceAll("?...");
+        return WHITESPACE.matcher(collapsed).replaceAll(" ").trim();
+    }
+
+    /**
+     * Resumen de las sentencias ejecutadas en una unidad de trabajo.
+     */
+    public static final class Stats {
+
+        static final Stats EMPTY = new Stats();
+
+        private int total;
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        private void add(String sql) {
+            total++;
+            String shape = shapeOf(sql);
+            if (shapes.size() < MAX_TRACKED_SHAPES || shapes.containsKey(shape)) {
+                shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return la forma de sentencia más repetida o {@code null} si no se ejecutó ninguna
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> max = null;
+            for (Map.Entry<String, Integer> e : shapes.entrySet()) {
+                if (max == null || e.getValue() > max.getValue()) {
+                    max = e;
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.delogica.config.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * {@link StatementInspector} de Hibernate que no modifica el SQL:
+ * solo lo anota en el {@link SqlStatementCounter} del hilo actual.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.record(sql);
+        return sql;
+    }
+}
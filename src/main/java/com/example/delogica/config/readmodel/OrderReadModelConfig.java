@@ -0,0 +1,15 @@
+package com.example.delogica.config.readmodel;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración del modelo de lectura de pedidos. El relleno de los pedidos anteriores
+ * lo hace {@link OrderViewBackfillJob}, fuera del hilo de arranque.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OrderReadModelProperties.class)
+public class OrderReadModelConfig {
+}
@@ -0,0 +1,36 @@
+package com.example.delogica.config.readmodel;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración del modelo de lectura de pedidos (<code>order_view</code>).
+ * <p>
+ * El modelo se mantiene siempre en cada escritura; estas propiedades deciden si las
+ * lecturas lo usan y si se rellenan en segundo plano los pedidos que aún no tienen fila.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.read-model")
+public class OrderReadModelProperties {
+
+    /** Sirve <code>GET /api/orders</code> y <code>GET /api/orders/{id}</code> desde el modelo de lectura. */
+    private boolean enabled = false;
+
+    /**
+     * Proyecta en segundo plano los pedidos existentes que no tienen fila en el modelo de
+     * lectura (ver {@link OrderViewBackfillJob}).
+     */
+    private boolean backfillEnabled = false;
+
+    /** Espera tras el arranque, y entre reintentos si un ciclo falla. */
+    private Duration backfillInterval = Duration.ofSeconds(30);
+
+    /** Pedidos proyectados por transacción durante el relleno. */
+    private int backfillBatchSize = 500;
+}
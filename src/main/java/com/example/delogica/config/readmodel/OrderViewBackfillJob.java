@@ -0,0 +1,55 @@
+package com.example.delogica.config.readmodel;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.delogica.services.OrderViewService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Job que proyecta en segundo plano, por lotes y en transacciones separadas, los pedidos
+ * creados antes de que existiera el modelo de lectura. Recorre los pedidos por ID
+ * ascendente y recuerda el último proyectado: si un ciclo falla, el siguiente continúa
+ * desde ahí, y tras una pasada completa no vuelve a consultar, porque los pedidos nuevos
+ * se proyectan al escribirse.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "orders.read-model", name = "backfill-enabled", havingValue = "true")
+public class OrderViewBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderViewBackfillJob.class);
+
+    private final OrderViewService orderViewService;
+    private final OrderReadModelProperties properties;
+
+    /** Último pedido proyectado; solo lo usa el hilo del planificador. */
+    private long lastId = 0L;
+    private long projected = 0L;
+    private boolean completed = false;
+
+    @Scheduled(initialDelayString = "${orders.read-model.backfill-interval:PT30S}", fixedDelayString = "${orders.read-model.backfill-interval:PT30S}")
+    public void run() {
+        if (completed) {
+            return;
+        }
+        try {
+            List<Long> ids;
+            while (!(ids = orderViewService.backfill(lastId, properties.getBackfillBatchSize())).isEmpty()) {
+                projected += ids.size();
+                lastId = ids.get(ids.size() - 1);
+            }
+            completed = true;
+            logger.info("Modelo de lectura de pedidos rellenado: {} pedidos proyectados", projected);
+        } catch (RuntimeException e) {
+            // Los lotes ya confirmados se mantienen; el siguiente ciclo continúa desde lastId
+            logger.error("Error rellenando el modelo de lectura tras el pedido ID {}", lastId, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.delogica.config.reports;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.delogica.services.CustomerStatsService;
+
+/**
+ * Configuración de las estadísticas de pedidos por cliente.
+ */
+@Configuration
+public class CustomerStatsConfig {
+
+    /**
+     * Recalcula al arrancar las estadísticas de todos los clientes, para bases de datos
+     * con pedidos anteriores a <code>customer_stats</code>.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.customer-stats", name = "rebuild-on-startup", havingValue = "true")
+    public ApplicationRunner customerStatsRebuild(CustomerStatsService customerStatsService) {
+        return args -> customerStatsService.rebuild();
+    }
+}
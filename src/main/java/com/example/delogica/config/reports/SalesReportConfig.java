@@ -0,0 +1,32 @@
+package com.example.delogica.config.reports;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.delogica.services.SalesReportService;
+
+/**
+ * Configuración de los agregados de ventas.
+ */
+@Configuration
+public class SalesReportConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesReportConfig.class);
+
+    /**
+     * Recalcula al arrancar los agregados de todo el histórico, para bases de datos
+     * con pedidos anteriores a los agregados.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.sales-rollup", name = "rebuild-on-startup", havingValue = "true")
+    public ApplicationRunner salesRollupRebuild(SalesReportService salesReportService) {
+        return args -> {
+            int days = salesReportService.rebuildAll();
+            logger.info("Agregados de ventas recalculados al arrancar: {} días", days);
+        };
+    }
+}
@@ -14,6 +14,49 @@ public final class CustomerSpecifications {
      */
     private CustomerSpecifications() {}
 
+    /**
+     * Filtra los clientes cuyo email coincide con el indicado, sin distinguir mayúsculas
+     * ni minúsculas. Usa el índice de <code>email_normalized</code>.
+     * Si el valor es nulo o vacío, no aplica ningún filtro.
+     * @param email email completo del cliente
+     * @return especificación JPA para filtrar por email o null si no aplica
+     */
+    public static Specification<Customer> emailEquals(String email) {
+        return (root, cq, cb) -> {
+            if (email == null || email.isBlank()) return null;
+            return cb.equal(root.get("emailNormalized"), Customer.normalizeEmail(email));
+        };
+    }
+
+    /**
+     * Filtra los clientes cuyo email empieza por el texto indicado, sin distinguir
+     * mayúsculas ni minúsculas. Al no llevar comodín inicial, el <code>like</code> recorre
+     * solo un rango del índice de <code>email_normalized</code>.
+     * Si el valor es nulo o vacío, no aplica ningún filtro.
+     * @param prefix comienzo del email del cliente
+     * @return especificación JPA para filtrar por email o null si no aplica
+     */
+    public static Specification<Customer> emailStartsWith(String prefix) {
+        return (root, cq, cb) -> {
+            if (prefix == null || prefix.isBlank()) return null;
+            return cb.like(root.get("emailNormalized"), escapeLike(Customer.normalizeEmail(prefix)) + "%", '\\');
+        };
+    }
+
+    /**
+     * Filtra los clientes cuyo email pertenece al dominio indicado (<code>acme.com</code>,
+     * <code>@acme.com</code> o un email completo). Usa el índice de <code>email_domain</code>.
+     * Si el valor es nulo o vacío, no aplica ningún filtro.
+     * @param domain dominio del email del cliente
+     * @return especificación JPA para filtrar por dominio o null si no aplica
+     */
+    public static Specification<Customer> emailDomainEquals(String domain) {
+        return (root, cq, cb) -> {
+            if (domain == null || domain.isBlank()) return null;
+            return cb.equal(root.get("emailDomain"), Customer.emailDomain(domain));
+        };
+    }
+
     /**
      * Devuelve una especificación que filtra los clientes cuyo email
      * contiene el texto indicado, sin distinguir mayúsculas ni minúsculas.
@@ -21,13 +64,21 @@ public final class CustomerSpecifications {
      * @root representa la raíz de la consulta, es decir, la entidad Customer en sí.
      * @cq (CriteriaQuery<?>) → representa la consulta en construcción
      * @cb (CriteriaBuilder) → el constructor de criterios, usado para crear condiciones (where, like, equal, etc.)            
+     * <p>El comodín inicial impide usar índices: recorre la tabla completa.</p>
      * @param email texto a buscar dentro del email del cliente
      * @return especificación JPA para filtrar por email o null si no aplica
      */
     public static Specification<Customer> emailContains(String email) {
         return (root, cq, cb) -> {
             if (email == null || email.isBlank()) return null;
-            return cb.like(cb.lower(root.get("email")), "%" + email.toLowerCase() + "%");
+            return cb.like(root.get("emailNormalized"), "%" + escapeLike(Customer.normalizeEmail(email)) + "%", '\\');
         };
     }
+
+    /**
+     * Escapa los comodines de <code>like</code> para que el texto se busque literalmente.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.delogica.config.uniqueness;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.example.delogica.models.Customer;
+import com.example.delogica.models.Product;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Añade a {@link UniqueKeyFilters} el email o SKU de todo cliente o producto que se guarda
+ * con JPA, antes de escribirlo, venga de un servicio o de cualquier otro código. Las altas
+ * por JDBC de la importación llegan por {@link com.example.delogica.events.CustomerChangedEvent}.
+ * <p>
+ * Hibernate lo instancia como bean de Spring al crear la factoría de JPA; los filtros se
+ * resuelven en el primer uso para no depender de su orden de creación.
+ * </p>
+ */
+@Component
+public class UniqueKeyEntityListener {
+
+    private final ObjectProvider<UniqueKeyFilters> filters;
+
+    public UniqueKeyEntityListener(ObjectProvider<UniqueKeyFilters> filters) {
+        this.filters = filters;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void beforeWrite(Object entity) {
+        if (entity instanceof Customer customer) {
+            filters.getObject().addEmail(customer.getEmail());
+        } else if (entity instanceof Product product) {
+            filters.getObject().addSku(product.getSku());
+        }
+    }
+}
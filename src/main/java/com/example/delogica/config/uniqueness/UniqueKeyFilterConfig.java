@@ -0,0 +1,71 @@
+package com.example.delogica.config.uniqueness;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.delogica.repositories.CustomerRepository;
+import com.example.delogica.repositories.CustomerRepository.IdAndEmail;
+import com.example.delogica.repositories.ProductRepository;
+import com.example.delogica.repositories.ProductRepository.IdAndSku;
+
+/**
+ * Configuración de los filtros de unicidad de emails y SKUs ({@link UniqueKeyFilters}).
+ */
+@Configuration
+@EnableConfigurationProperties(UniqueKeyFilterProperties.class)
+public class UniqueKeyFilterConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueKeyFilterConfig.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    /**
+     * Carga al arrancar los filtros recorriendo clientes y productos por tramos de ID, leyendo
+     * solo la clave. Las altas durante la carga entran por el camino normal, así que cada
+     * filtro empieza a responder "no está" en cuanto termina su recorrido.
+     */
+    @Bean
+    public ApplicationRunner uniqueKeyFiltersLoader(CustomerRepository customerRepository,
+            ProductRepository productRepository, UniqueKeyFilters filters) {
+        return args -> {
+            if (!filters.isEnabled()) {
+                logger.info("Filtros de unicidad desactivados: se consulta siempre la base de datos");
+                return;
+            }
+            long start = System.currentTimeMillis();
+
+            long lastId = 0;
+            List<IdAndEmail> customers;
+            do {
+                customers = customerRepository.findEmailsAfter(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (IdAndEmail row : customers) {
+                    filters.addEmail(row.getEmailNormalized());
+                    lastId = row.getId();
+                }
+            } while (customers.size() == LOAD_PAGE_SIZE);
+            filters.emailsLoaded();
+
+            lastId = 0;
+            List<IdAndSku> products;
+            do {
+                products = productRepository.findSkusAfter(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (IdAndSku row : products) {
+                    filters.addSku(row.getSku());
+                    lastId = row.getId();
+                }
+            } while (products.size() == LOAD_PAGE_SIZE);
+            filters.skusLoaded();
+
+            logger.info("Filtros de unicidad cargados: {} emails y {} SKUs ({} KB) en {} ms",
+                    filters.emailCount(), filters.skuCount(), filters.sizeInBytes() / 1024,
+                    System.currentTimeMillis() - start);
+        };
+    }
+}
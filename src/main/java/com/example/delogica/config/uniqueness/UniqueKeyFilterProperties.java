@@ -0,0 +1,33 @@
+package com.example.delogica.config.uniqueness;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración de los filtros de Bloom de emails de cliente y SKUs de producto.
+ * <p>
+ * Memoria aproximada: <code>-n·ln(p) / ln²2</code> bits por filtro; con los valores por
+ * defecto, ~1,2 MB para emails y ~120 KB para SKUs. Pasadas las claves previstas la tasa de
+ * falsos positivos crece (más consultas a base de datos, nunca resultados erróneos) hasta el
+ * siguiente arranque, que reconstruye los filtros.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.unique-key-filter")
+public class UniqueKeyFilterProperties {
+
+    /** Con <code>false</code>, toda comprobación de unicidad consulta la base de datos. */
+    private boolean enabled = true;
+
+    /** Emails de cliente previstos. */
+    private long expectedEmails = 1_000_000;
+
+    /** SKUs de producto previstos. */
+    private long expectedSkus = 100_000;
+
+    /** Tasa de falsos positivos con las claves previstas. */
+    private double falsePositiveRate = 0.01;
+}
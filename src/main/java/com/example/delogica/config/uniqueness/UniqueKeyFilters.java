@@ -0,0 +1,128 @@
+package com.example.delogica.config.uniqueness;
+
+import java.util.Locale;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.delogica.events.CustomerChangedEvent;
+import com.example.delogica.models.Customer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filtros de Bloom de los emails de cliente y los SKUs de producto ya usados.
+ * <p>
+ * Permiten saltarse la consulta de unicidad en el caso habitual de un valor nuevo: si el
+ * filtro dice que no está, seguro que no estaba en este nodo, y solo los "quizá" llegan a
+ * la base de datos. Las restricciones <code>UNIQUE</code> siguen decidiendo: un valor que
+ * otro nodo acaba de guardar se rechaza al insertar con el mismo 409.
+ * </p>
+ * <p>
+ * Se cargan al arrancar ({@link UniqueKeyFilterConfig}); hasta entonces, o con
+ * <code>app.unique-key-filter.enabled=false</code>, todo valor es un "quizá". Las claves se
+ * añaden antes de escribirlas ({@link UniqueKeyEntityListener} y {@link CustomerChangedEvent});
+ * si la transacción no confirma se quedan (un falso positivo más), igual que los valores que
+ * dejan de usarse.
+ * </p>
+ */
+@Component
+public class UniqueKeyFilters {
+
+    private final boolean enabled;
+    private final BloomFilter emails;
+    private final BloomFilter skus;
+    private volatile boolean emailsLoaded;
+    private volatile boolean skusLoaded;
+
+    private final Counter emailAbsent;
+    private final Counter emailMaybe;
+    private final Counter skuAbsent;
+    private final Counter skuMaybe;
+
+    public UniqueKeyFilters(UniqueKeyFilterProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.emails = new BloomFilter(enabled ? properties.getExpectedEmails() : 1, properties.getFalsePositiveRate());
+        this.skus = new BloomFilter(enabled ? properties.getExpectedSkus() : 1, properties.getFalsePositiveRate());
+        this.emailAbsent = checks(meterRegistry, "email", "absent");
+        this.emailMaybe = checks(meterRegistry, "email", "maybe");
+        this.skuAbsent = checks(meterRegistry, "sku", "absent");
+        this.skuMaybe = checks(meterRegistry, "sku", "maybe");
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder("unique.key.filter.checks")
+                .description("Comprobaciones de unicidad resueltas por el filtro (absent) o enviadas a base de datos (maybe)")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * <code>false</code> si ningún cliente usa el email (sin distinguir mayúsculas);
+     * <code>true</code> si puede que sí y hay que consultarlo.
+     */
+    public boolean mightContainEmail(String email) {
+        boolean maybe = !emailsLoaded || emails.mightContain(Customer.normalizeEmail(email));
+        (maybe ? emailMaybe : emailAbsent).increment();
+        return maybe;
+    }
+
+    /**
+     * <code>false</code> si ningún producto usa el SKU (sin distinguir mayúsculas);
+     * <code>true</code> si puede que sí y hay que consultarlo.
+     */
+    public boolean mightContainSku(String sku) {
+        boolean maybe = !skusLoaded || skus.mightContain(normalizeSku(sku));
+        (maybe ? skuMaybe : skuAbsent).increment();
+        return maybe;
+    }
+
+    public void addEmail(String email) {
+        if (enabled && email != null) {
+            emails.put(Customer.normalizeEmail(email));
+        }
+    }
+
+    public void addSku(String sku) {
+        if (enabled && sku != null) {
+            skus.put(normalizeSku(sku));
+        }
+    }
+
+    /** Marca como completa la carga inicial de emails; desde aquí se responden "no está". */
+    public void emailsLoaded() {
+        emailsLoaded = enabled;
+    }
+
+    /** Marca como completa la carga inicial de SKUs; desde aquí se responden "no está". */
+    public void skusLoaded() {
+        skusLoaded = enabled;
+    }
+
+    @EventListener
+    public void on(CustomerChangedEvent event) {
+        addEmail(event.email());
+    }
+
+    long emailCount() {
+        return emails.added();
+    }
+
+    long skuCount() {
+        return skus.added();
+    }
+
+    long sizeInBytes() {
+        return emails.sizeInBytes() + skus.sizeInBytes();
+    }
+
+    private static String normalizeSku(String sku) {
+        return sku.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,8 +3,14 @@ package com.example.delogica.controllers;
 import com.example.delogica.dtos.input.AddressInputDTO;
 import com.example.delogica.dtos.input.CustomerInputDTO;
 import com.example.delogica.dtos.output.AddressOutputDTO;
+import com.example.delogica.dtos.output.CustomerDeletionJobOutputDTO;
+import com.example.delogica.dtos.output.CustomerImportOutputDTO;
 import com.example.delogica.dtos.output.CustomerOutputDTO;
+import com.example.delogica.dtos.output.CustomerStatsOutputDTO;
+import com.example.delogica.services.CustomerDeletionService;
+import com.example.delogica.services.CustomerImportService;
 import com.example.delogica.services.CustomerService;
+import com.example.delogica.services.CustomerStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -26,6 +32,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 
 @RestController
@@ -36,6 +44,9 @@ public class CustomerController {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerController.class);
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
+    private final CustomerDeletionService customerDeletionService;
+    private final CustomerStatsService customerStatsService;
 
     /**
      * Crea un nuevo cliente
@@ -95,26 +106,64 @@ public class CustomerController {
         return ResponseEntity.created(location).body(created);
     }
 
+    /**
+     * Importa clientes en bloque desde NDJSON
+     */
+    @Operation(
+        summary = "Importar clientes",
+        description = "Crea en bloque los clientes de un cuerpo NDJSON (un CustomerInput por línea) con las mismas "
+                + "validaciones y reglas de dirección por defecto que la creación individual. El cuerpo se lee "
+                + "en streaming y se guarda por tramos; los registros inválidos o con email ya registrado se "
+                + "rechazan sin detener la importación",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            content = @Content(
+                mediaType = "application/x-ndjson",
+                examples = @ExampleObject(
+                    name = "Dos clientes",
+                    value = """
+                    {"fullName":"Ana Pérez","email":"ana.perez@example.com","phone":"600123456","addresses":[{"line1":"Calle Mayor 10","city":"Madrid","postalCode":"28013","country":"ES"}]}
+                    {"fullName":"Juan López","email":"juan.lopez@example.com","addresses":[]}
+                    """
+                )
+            )
+        )
+    )
+    @ApiResponse(responseCode = "200", description = "Resumen de la importación con los registros rechazados",
+        content = @Content(schema = @Schema(implementation = CustomerImportOutputDTO.class)))
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<CustomerImportOutputDTO> importCustomers(InputStream body) throws IOException {
+        logger.info("Recibida petición POST /api/customers/import");
+        CustomerImportOutputDTO result = customerImportService.importNdjson(body);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Lista clientes paginados con filtro opcional por email
      */
     @Operation(
         summary = "Listar clientes",
-        description = "Obtiene una página de clientes, permitiendo filtrar por coincidencia parcial del email"
+        description = "Obtiene una página de clientes, permitiendo filtrar por email. Por defecto busca por "
+                + "prefijo del email (indexado); DOMAIN devuelve los clientes de un dominio en orden de ID y "
+                + "CONTAINS busca una subcadena recorriendo toda la tabla"
     )
     @ApiResponse(responseCode = "200", description = "Página de clientes",
         content = @Content(schema = @Schema(implementation = CustomerOutputDTO.class)))
     @PageableAsQueryParam
     @GetMapping
     public Page<CustomerOutputDTO> listCustomers(
-            @Parameter(description = "Filtro de búsqueda por email, coincidencia parcial", example = "example.com")
+            @Parameter(description = "Filtro de búsqueda por email, sin distinguir mayúsculas", example = "ana.perez")
             @RequestParam(required = false) String email,
+            @Parameter(description = "Modo de búsqueda: EXACT, PREFIX, DOMAIN (p. ej. acme.com) o CONTAINS (lento)", example = "PREFIX")
+            @RequestParam(defaultValue = "PREFIX") CustomerService.EmailMatch match,
+            @Parameter(description = "Incluir las direcciones de cada cliente", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeAddresses,
             @ParameterObject Pageable pageable
     ) {
-        logger.info("Listando clientes con filtro email: {}", email);
+        logger.info("Listando clientes con filtro email: {} ({})", email, match);
         Page<CustomerOutputDTO> result = (email != null && !email.isBlank())
-                ? customerService.searchCustomers(email, pageable)
-                : customerService.findAll(pageable);
+                ? customerService.searchCustomers(email, match, includeAddresses, pageable)
+                : customerService.findAll(pageable, includeAddresses);
         logger.info("Se encontraron {} clientes", result.getTotalElements());
         return result;
     }
@@ -141,6 +190,44 @@ public class CustomerController {
         return customer;
     }
 
+    /**
+     * Lista clientes por estadísticas de pedidos
+     */
+    @Operation(
+        summary = "Ranking de clientes",
+        description = "Página de clientes con pedidos ordenada por valor acumulado (por defecto, de mayor a menor). Admite sort por lifetimeValue, orderCount, lastOrderDate y customerId. Se sirve desde customer_stats sin recorrer los pedidos"
+    )
+    @ApiResponse(responseCode = "200", description = "Página de estadísticas de clientes",
+        content = @Content(schema = @Schema(implementation = CustomerStatsOutputDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Ordenación no soportada",
+        content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+    @PageableAsQueryParam
+    @GetMapping("/stats")
+    public Page<CustomerStatsOutputDTO> listCustomerStats(@ParameterObject Pageable pageable) {
+        logger.info("Listando estadísticas de clientes: {}", pageable);
+        return customerStatsService.ranking(pageable);
+    }
+
+    /**
+     * Estadísticas de pedidos de un cliente
+     */
+    @Operation(
+        summary = "Estadísticas de un cliente",
+        description = "Número de pedidos y valor acumulado (sin cancelados) y fecha del último pedido del cliente"
+    )
+    @ApiResponse(responseCode = "200", description = "Estadísticas del cliente",
+        content = @Content(schema = @Schema(implementation = CustomerStatsOutputDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Cliente no encontrado",
+        content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+    @GetMapping("/{id}/stats")
+    public CustomerStatsOutputDTO getCustomerStats(
+            @Parameter(in = ParameterIn.PATH, description = "Identificador del cliente", example = "123", required = true)
+            @PathVariable Long id
+    ) {
+        logger.info("Buscando estadísticas del cliente con ID: {}", id);
+        return customerStatsService.findByCustomer(id);
+    }
+
     /**
      * Actualiza la información de un cliente existente
      */
@@ -185,24 +272,56 @@ public class CustomerController {
     }
 
     /**
-     * Elimina un cliente existente
+     * Solicita el borrado de un cliente existente
      */
     @Operation(
         summary = "Eliminar cliente",
-        description = "Elimina el cliente indicado por ID"
+        description = "Acepta el borrado del cliente indicado por ID y lo ejecuta en segundo plano, por tramos. "
+                + "Si el cliente no tiene pedidos se borra con sus direcciones; si los tiene, se anonimizan el "
+                + "cliente y las direcciones que usan sus pedidos y se borran las demás. El progreso se consulta "
+                + "en la URL de la cabecera Location"
     )
-    @ApiResponse(responseCode = "204", description = "Cliente eliminado")
+    @ApiResponse(responseCode = "202", description = "Borrado aceptado, o el que ya estaba en curso para el cliente",
+        content = @Content(schema = @Schema(implementation = CustomerDeletionJobOutputDTO.class)))
     @ApiResponse(responseCode = "404", description = "Cliente no encontrado",
         content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteCustomer(
+    public ResponseEntity<CustomerDeletionJobOutputDTO> deleteCustomer(
             @Parameter(in = ParameterIn.PATH, description = "Identificador del cliente", example = "123", required = true)
             @PathVariable Long id
     ) {
-        logger.info("Eliminando cliente con ID: {}", id);
-        customerService.delete(id);
-        logger.info("Cliente eliminado con ID: {}", id);
+        logger.info("Solicitando borrado del cliente con ID: {}", id);
+        CustomerDeletionJobOutputDTO job = customerDeletionService.submit(id);
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/customers/deletion-jobs/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+
+        logger.info("Borrado {} aceptado para el cliente con ID: {}", job.getId(), id);
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    /**
+     * Consulta el estado de un borrado de cliente
+     */
+    @Operation(
+        summary = "Estado de un borrado de cliente",
+        description = "Devuelve el estado y el progreso de un borrado aceptado. Los borrados terminados se conservan "
+                + "durante un tiempo limitado y solo en el nodo que los aceptó"
+    )
+    @ApiResponse(responseCode = "200", description = "Estado del borrado",
+        content = @Content(schema = @Schema(implementation = CustomerDeletionJobOutputDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Borrado no encontrado",
+        content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+    @GetMapping("/deletion-jobs/{jobId}")
+    public CustomerDeletionJobOutputDTO getDeletionJob(
+            @Parameter(in = ParameterIn.PATH, description = "Identificador del borrado", required = true)
+            @PathVariable String jobId
+    ) {
+        logger.info("Consultando borrado de cliente {}", jobId);
+        return customerDeletionService.findJob(jobId);
     }
 
     /**
@@ -1,10 +1,15 @@
 package com.example.delogica.controllers;
 
+import com.example.delogica.config.cache.ResponseCache;
+import com.example.delogica.dtos.input.OrderBulkStatusInputDTO;
 import com.example.delogica.dtos.input.OrderCreateInputDTO;
 import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.dtos.output.OrderBulkStatusOutputDTO;
 import com.example.delogica.dtos.output.OrderOutputDTO;
 import com.example.delogica.dtos.output.OrderSimpleOutputDTO;
 import com.example.delogica.models.OrderStatus;
+import com.example.delogica.services.BulkOrderStatusService;
+import com.example.delogica.services.OrderExportService;
 import com.example.delogica.services.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,10 +28,13 @@ import org.springdoc.core.converters.models.PageableAsQueryParam;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 
@@ -38,9 +46,16 @@ public class OrderController {
 
         private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
         private final OrderService orderService;
+        private final ResponseCache responseCache;
+        private final OrderExportService orderExportService;
+        private final BulkOrderStatusService bulkOrderStatusService;
 
-        public OrderController(OrderService orderService) {
+        public OrderController(OrderService orderService, ResponseCache responseCache,
+                        OrderExportService orderExportService, BulkOrderStatusService bulkOrderStatusService) {
                 this.orderService = orderService;
+                this.responseCache = responseCache;
+                this.orderExportService = orderExportService;
+                this.bulkOrderStatusService = bulkOrderStatusService;
         }
 
         /**
@@ -105,6 +120,33 @@ public class OrderController {
                 return ResponseEntity.ok(ordersPage);
         }
 
+        /**
+         * Exporta pedidos en streaming (NDJSON o CSV) con los mismos filtros que la búsqueda
+         */
+        @Operation(summary = "Exportar pedidos", description = "Devuelve todos los pedidos que cumplen los filtros, archivados incluidos, sin paginar, en NDJSON (una línea JSON por pedido) o CSV. Los pedidos archivados van al final, tras los de las tablas calientes. La respuesta se envía por bloques a medida que se lee la base de datos")
+        @ApiResponse(responseCode = "200", description = "Pedidos exportados", content = {
+                        @Content(mediaType = "application/x-ndjson"),
+                        @Content(mediaType = "text/csv") })
+        @ApiResponse(responseCode = "400", description = "Formato no soportado", content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportOrders(
+                        @Parameter(description = "Formato de salida: ndjson o csv", example = "ndjson") @RequestParam(defaultValue = "ndjson") String format,
+                        @Parameter(description = "ID del cliente", example = "123") @RequestParam(required = false) Long customerId,
+                        @Parameter(description = "Fecha/hora desde (ISO-8601). Ej: 2025-10-01T00:00:00", example = "2025-10-01T00:00:00") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+                        @Parameter(description = "Fecha/hora hasta (ISO-8601). Ej: 2025-10-23T23:59:59", example = "2025-10-23T23:59:59") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+                        @Parameter(description = "Estado del pedido") @RequestParam(required = false) OrderStatus status) {
+                OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+                logger.info("Recibida petición GET /api/orders/export en {}: customerId={}, fromDate={}, toDate={}, status={}",
+                                exportFormat, customerId, fromDate, toDate, status);
+                StreamingResponseBody body = out -> orderExportService.export(out, exportFormat, customerId, fromDate,
+                                toDate, status);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"orders." + exportFormat.getExtension() + "\"")
+                                .body(body);
+        }
+
         /**
          * Obtiene los detalles de un pedido por ID
          */
@@ -112,12 +154,15 @@ public class OrderController {
         @ApiResponse(responseCode = "200", description = "Pedido encontrado", content = @Content(schema = @Schema(implementation = OrderOutputDTO.class)))
         @ApiResponse(responseCode = "404", description = "Pedido no encontrado", content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
         @GetMapping("/{id}")
-        public ResponseEntity<OrderOutputDTO> getOrderById(
-                        @Parameter(in = ParameterIn.PATH, description = "Identificador del pedido", example = "500") @PathVariable Long id) {
+        public ResponseEntity<byte[]> getOrderById(
+                        @Parameter(in = ParameterIn.PATH, description = "Identificador del pedido", example = "500") @PathVariable Long id,
+                        @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
                 logger.info("Recibida petición GET /api/orders/{} para obtener detalles del pedido", id);
-                OrderOutputDTO order = orderService.getById(id);
+                ResponseEntity<byte[]> response = responseCache.respond(ResponseCache.Kind.ORDER, id, acceptEncoding,
+                                () -> orderService.findRevision(id), () -> orderService.getById(id),
+                                order -> order.getStatus().isTerminal());
                 logger.info("Detalle pedido obtenido para ID {}", id);
-                return ResponseEntity.ok(order);
+                return response;
         }
 
         /**
@@ -153,4 +198,25 @@ public class OrderController {
                 return ResponseEntity.ok(updatedOrder);
         }
 
+        /**
+         * Cambia el estado de muchos pedidos a la vez.
+         */
+        @Operation(summary = "Cambiar estado de varios pedidos", description = """
+                        Aplica el mismo estado a una lista de pedidos con las transiciones válidas de
+                        PUT /api/orders/{id}/status. Los pedidos inexistentes o con transición no válida
+                        se rechazan sin afectar al resto; la respuesta indica el resultado de cada pedido.
+                        """, requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(schema = @Schema(implementation = OrderBulkStatusInputDTO.class), examples = {
+                        @ExampleObject(name = "Marcar como enviados", value = "{ \"ids\": [500, 501, 502], \"status\": \"SHIPPED\" }")
+        })))
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Resultado por pedido", content = @Content(schema = @Schema(implementation = OrderBulkStatusOutputDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Entrada inválida o estado no reconocido", content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+        })
+        @PutMapping("/status")
+        public OrderBulkStatusOutputDTO changeOrdersStatus(
+                        @Valid @RequestBody @Parameter(description = "Pedidos y nuevo estado", required = true) OrderBulkStatusInputDTO input) {
+                logger.info("Recibida petición PUT /api/orders/status para cambiar {} pedidos a {}",
+                                input.getIds().size(), input.getStatus());
+                return bulkOrderStatusService.changeStatus(input);
+        }
 }
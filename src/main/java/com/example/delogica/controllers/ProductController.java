@@ -1,8 +1,11 @@
 package com.example.delogica.controllers;
 
+import com.example.delogica.config.cache.ResponseCache;
 import com.example.delogica.dtos.input.ProductInputDTO;
 import com.example.delogica.dtos.output.ProductOutputDTO;
+import com.example.delogica.dtos.output.TopProductsOutputDTO;
 import com.example.delogica.services.ProductService;
+import com.example.delogica.services.TopProductsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -20,6 +23,7 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -32,6 +36,8 @@ public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
     private final ProductService productService;
+    private final ResponseCache responseCache;
+    private final TopProductsService topProductsService;
 
     /**
      * Crea un producto
@@ -99,6 +105,22 @@ public class ProductController {
         return productService.search(pageable, name, active);
     }
 
+    /**
+     * Ranking en vivo de productos más vendidos
+     */
+    @Operation(summary = "Productos más vendidos", description = "Ranking aproximado de productos por unidades vendidas en la última hora (ventana deslizante). Cada estimación es mayor o igual que el valor real y lo supera como mucho en errorBound unidades con alta probabilidad; los pedidos cancelados se descuentan")
+    @ApiResponse(responseCode = "200", description = "Ranking de productos",
+        content = @Content(schema = @Schema(implementation = TopProductsOutputDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Límite fuera de rango",
+        content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+    @GetMapping("/top")
+    public TopProductsOutputDTO top(
+            @Parameter(description = "Número de productos a devolver", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        logger.info("Ranking de productos más vendidos limit={}", limit);
+        return topProductsService.top(limit);
+    }
+
     /**
      * Obtiene el detalle de un producto por ID
      */
@@ -108,11 +130,14 @@ public class ProductController {
     @ApiResponse(responseCode = "404", description = "Producto no encontrado",
         content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
     @GetMapping("/{id}")
-    public ProductOutputDTO detail(
+    public ResponseEntity<byte[]> detail(
             @Parameter(in = ParameterIn.PATH, description = "Identificador del producto", example = "1000")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("Detalle producto id={}", id);
-        return productService.findById(id);
+        return responseCache.respond(ResponseCache.Kind.PRODUCT, id, acceptEncoding,
+                () -> productService.findRevision(id), () -> productService.findById(id), product -> false);
     }
 
     /**
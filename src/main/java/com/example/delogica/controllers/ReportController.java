@@ -0,0 +1,85 @@
+package com.example.delogica.controllers;
+
+import com.example.delogica.dtos.output.SalesByProductOutputDTO;
+import com.example.delogica.dtos.output.SalesByStatusOutputDTO;
+import com.example.delogica.services.SalesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports/sales")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Informes de ventas a partir de agregados diarios")
+public class ReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+    private final SalesReportService salesReportService;
+
+    /**
+     * Pedidos e importe por día y estado
+     */
+    @Operation(summary = "Ventas por día y estado", description = "Número de pedidos e importe por día y estado actual en el rango indicado (ambos inclusive)")
+    @ApiResponse(responseCode = "200", description = "Filas por día y estado",
+        content = @Content(array = @ArraySchema(schema = @Schema(implementation = SalesByStatusOutputDTO.class))))
+    @ApiResponse(responseCode = "400", description = "Rango de fechas inválido",
+        content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+    @GetMapping("/by-status")
+    public List<SalesByStatusOutputDTO> byStatus(
+            @Parameter(description = "Día inicial (ISO-8601)", example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Día final (ISO-8601)", example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Informe de ventas por estado {} - {}", from, to);
+        return salesReportService.byStatus(from, to);
+    }
+
+    /**
+     * Unidades e importe por producto
+     */
+    @Operation(summary = "Ventas por producto", description = "Unidades e importe por producto en el rango indicado (ambos inclusive), sin pedidos cancelados, de mayor a menor importe")
+    @ApiResponse(responseCode = "200", description = "Totales por producto",
+        content = @Content(array = @ArraySchema(schema = @Schema(implementation = SalesByProductOutputDTO.class))))
+    @ApiResponse(responseCode = "400", description = "Rango de fechas inválido",
+        content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+    @GetMapping("/by-product")
+    public List<SalesByProductOutputDTO> byProduct(
+            @Parameter(description = "Día inicial (ISO-8601)", example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Día final (ISO-8601)", example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Informe de ventas por producto {} - {}", from, to);
+        return salesReportService.byProduct(from, to);
+    }
+
+    /**
+     * Recalcula los agregados de un rango de días
+     */
+    @Operation(summary = "Recalcular agregados", description = "Recalcula los agregados de ventas del rango indicado desde las tablas de pedidos. Pensado para rellenar datos históricos")
+    @ApiResponse(responseCode = "204", description = "Agregados recalculados")
+    @ApiResponse(responseCode = "400", description = "Rango de fechas inválido",
+        content = @Content(schema = @Schema(implementation = com.example.delogica.config.errors.ErrorResponse.class)))
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild(
+            @Parameter(description = "Día inicial (ISO-8601)", example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Día final (ISO-8601)", example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Recalculando agregados de ventas {} - {}", from, to);
+        salesReportService.rebuild(from, to);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.delogica.dtos.input;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@Schema(name = "OrderBulkStatusInput", description = "Nuevo estado para un conjunto de pedidos")
+public class OrderBulkStatusInputDTO {
+
+    @NotEmpty(message = "La lista de pedidos no puede estar vacía")
+    @Size(max = 10000, message = "No se pueden cambiar más de 10000 pedidos por petición")
+    @Schema(description = "Identificadores de los pedidos", example = "[500, 501, 502]")
+    private List<@NotNull(message = "El identificador del pedido no puede ser nulo") Long> ids;
+
+    @NotNull(message = "El nuevo estado no puede ser nulo")
+    @Schema(description = "Nuevo estado de los pedidos", example = "SHIPPED")
+    private String status;
+}
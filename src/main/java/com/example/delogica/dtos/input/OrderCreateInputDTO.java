@@ -9,7 +9,7 @@ import lombok.Data;
 
 /**
  * Payload para crear un pedido con sus líneas
- * Reglas: requiere customerId, shippingAddressId y al menos un ítem
+ * Reglas: requiere customerId y al menos un ítem; sin shippingAddressId se usa la dirección por defecto del cliente
  */
 @Data
 @Schema(name = "OrderCreateInput", description = "Datos de entrada para la creación de un pedido")
@@ -19,8 +19,7 @@ public class OrderCreateInputDTO {
     @Schema(description = "Identificador del cliente", example = "123", requiredMode = Schema.RequiredMode.REQUIRED)
     private Long customerId;
 
-    @NotNull
-    @Schema(description = "Identificador de la dirección de envío (debe pertenecer al cliente)", example = "45", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Identificador de la dirección de envío (debe pertenecer al cliente); si se omite, se usa la dirección por defecto del cliente", example = "45")
     private Long shippingAddressId;
 
     @NotEmpty
@@ -0,0 +1,67 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CustomerDeletionJobOutput", description = "Estado de un borrado asíncrono de cliente")
+public class CustomerDeletionJobOutputDTO {
+
+    @Schema(description = "Estado del borrado")
+    public enum Status {
+        @Schema(description = "Aceptado, a la espera de un hilo libre")
+        PENDING,
+        @Schema(description = "En curso")
+        RUNNING,
+        @Schema(description = "Terminado")
+        COMPLETED,
+        @Schema(description = "Interrumpido por un error; lo ya hecho se conserva y puede reintentarse")
+        FAILED
+    }
+
+    @Schema(description = "Resultado de un borrado terminado")
+    public enum Outcome {
+        @Schema(description = "El cliente no tenía pedidos y se borró con sus direcciones")
+        DELETED,
+        @Schema(description = "El cliente tenía pedidos: se anonimizó junto con las direcciones que usan")
+        ANONYMIZED
+    }
+
+    @Schema(description = "Identificador del borrado", example = "1b4e28ba-2fa1-4d3b-a3f5-ef19b5a7633b")
+    private String id;
+
+    @Schema(description = "Identificador del cliente", example = "123")
+    private Long customerId;
+
+    @Schema(description = "Estado", example = "RUNNING")
+    private Status status;
+
+    @Schema(description = "Resultado, solo cuando el estado es COMPLETED", example = "ANONYMIZED")
+    private Outcome outcome;
+
+    @Schema(description = "Direcciones borradas hasta el momento", example = "12")
+    private long addressesDeleted;
+
+    @Schema(description = "Direcciones anonimizadas hasta el momento", example = "2")
+    private long addressesAnonymized;
+
+    @Schema(description = "Pedidos refrescados con los datos anonimizados hasta el momento", example = "40")
+    private long ordersRefreshed;
+
+    @Schema(description = "Momento en que se aceptó el borrado")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Momento en que empezó a ejecutarse")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Momento en que terminó, con o sin error")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Motivo del fallo, solo cuando el estado es FAILED")
+    private String error;
+}
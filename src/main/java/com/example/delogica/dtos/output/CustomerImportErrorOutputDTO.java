@@ -0,0 +1,37 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CustomerImportErrorOutput", description = "Registro rechazado en una importación masiva de clientes")
+public class CustomerImportErrorOutputDTO {
+
+    @Schema(description = "Motivo del rechazo de un registro importado")
+    public enum Reason {
+        @Schema(description = "La línea no es un objeto JSON válido")
+        INVALID_JSON,
+        @Schema(description = "El cliente no cumple las validaciones de POST /api/customers")
+        VALIDATION_ERROR,
+        @Schema(description = "El email ya existe o aparece antes en el mismo fichero")
+        DUPLICATE_EMAIL,
+        @Schema(description = "El tramo en el que iba el registro no pudo guardarse")
+        CONFLICT
+    }
+
+    @Schema(description = "Número de línea en el fichero, empezando en 1", example = "42")
+    private long line;
+
+    @Schema(description = "Email del registro, si se pudo leer", example = "maria.lopez@example.com")
+    private String email;
+
+    @Schema(description = "Motivo", example = "DUPLICATE_EMAIL")
+    private Reason reason;
+
+    @Schema(description = "Detalle del error", example = "Ya existe un cliente con ese email")
+    private String message;
+}
@@ -0,0 +1,30 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CustomerImportOutput", description = "Resultado de una importación masiva de clientes")
+public class CustomerImportOutputDTO {
+
+    @Schema(description = "Clientes creados", example = "9998")
+    private long imported;
+
+    @Schema(description = "Direcciones creadas", example = "14211")
+    private long addresses;
+
+    @Schema(description = "Registros rechazados", example = "2")
+    private long rejected;
+
+    @Schema(description = "Primeros registros rechazados, como mucho el máximo configurado")
+    private List<CustomerImportErrorOutputDTO> errors = new ArrayList<>();
+
+    @Schema(description = "Hay más rechazos que los incluidos en errors", example = "false")
+    private boolean errorsTruncated;
+}
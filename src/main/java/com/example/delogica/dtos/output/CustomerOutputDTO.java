@@ -1,5 +1,6 @@
 package com.example.delogica.dtos.output;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +22,7 @@ public class CustomerOutputDTO {
     @Schema(description = "Teléfono de contacto en formato internacional", example = "+34 600 123 456")
     private String phone;
 
-    @Schema(description = "Listado de direcciones asociadas al cliente")
+    @Schema(description = "Listado de direcciones asociadas al cliente; se omite si se piden los clientes sin direcciones")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<AddressOutputDTO> addresses = new ArrayList<>();
 }
@@ -0,0 +1,33 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CustomerStatsOutput", description = "Estadísticas de pedidos de un cliente (los pedidos cancelados no cuentan en número ni valor)")
+public class CustomerStatsOutputDTO {
+
+    @Schema(description = "Identificador del cliente", example = "123")
+    private Long customerId;
+
+    @Schema(description = "Nombre completo", example = "María López")
+    private String fullName;
+
+    @Schema(description = "Correo electrónico del cliente", example = "maria.lopez@example.com")
+    private String email;
+
+    @Schema(description = "Número de pedidos no cancelados", example = "7")
+    private Long orderCount;
+
+    @Schema(description = "Importe acumulado de los pedidos no cancelados", example = "1089.40")
+    private BigDecimal lifetimeValue;
+
+    @Schema(description = "Fecha del último pedido realizado, null si no tiene pedidos", example = "2025-10-23T10:15:30")
+    private LocalDateTime lastOrderDate;
+}
@@ -0,0 +1,28 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import com.example.delogica.models.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "OrderBulkStatusOutput", description = "Resultado de un cambio de estado masivo, con el resultado de cada pedido")
+public class OrderBulkStatusOutputDTO {
+
+    @Schema(description = "Estado aplicado", example = "SHIPPED")
+    private OrderStatus status;
+
+    @Schema(description = "Pedidos cuyo estado se cambió", example = "2")
+    private int updated;
+
+    @Schema(description = "Pedidos rechazados por transición inválida o inexistentes", example = "1")
+    private int rejected;
+
+    @Schema(description = "Resultado por pedido, en el orden de la petición y sin duplicados")
+    private List<OrderStatusResultOutputDTO> results = new ArrayList<>();
+}
@@ -0,0 +1,33 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import com.example.delogica.models.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "OrderStatusResultOutput", description = "Resultado del cambio de estado de un pedido dentro de una operación masiva")
+public class OrderStatusResultOutputDTO {
+
+    @Schema(description = "Resultado del cambio de estado de un pedido")
+    public enum Outcome {
+        @Schema(description = "Estado cambiado")
+        UPDATED,
+        @Schema(description = "El estado actual no admite la transición pedida")
+        INVALID_TRANSITION,
+        @Schema(description = "Pedido inexistente")
+        NOT_FOUND
+    }
+
+    @Schema(description = "Identificador del pedido", example = "500")
+    private Long id;
+
+    @Schema(description = "Resultado", example = "UPDATED")
+    private Outcome outcome;
+
+    @Schema(description = "Estado del pedido antes de la operación, null si no existe", example = "PAID")
+    private OrderStatus previousStatus;
+}
@@ -0,0 +1,23 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "SalesByProductOutput", description = "Unidades vendidas e importe de un producto en un rango de fechas (sin pedidos cancelados)")
+public class SalesByProductOutputDTO {
+
+    @Schema(description = "Identificador del producto", example = "1000")
+    private Long productId;
+
+    @Schema(description = "Unidades vendidas", example = "42")
+    private Long units;
+
+    @Schema(description = "Importe vendido", example = "375.90")
+    private BigDecimal revenue;
+}
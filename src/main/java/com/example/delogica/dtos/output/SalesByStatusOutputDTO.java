@@ -0,0 +1,28 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.example.delogica.models.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "SalesByStatusOutput", description = "Pedidos e importe de un día agrupados por estado actual")
+public class SalesByStatusOutputDTO {
+
+    @Schema(description = "Día del pedido", example = "2025-10-23")
+    private LocalDate date;
+
+    @Schema(description = "Estado actual de los pedidos", example = "PAID")
+    private OrderStatus status;
+
+    @Schema(description = "Número de pedidos", example = "12")
+    private Long orders;
+
+    @Schema(description = "Importe total de los pedidos", example = "1089.40")
+    private BigDecimal revenue;
+}
@@ -0,0 +1,25 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "TopProductOutput", description = "Producto del ranking con sus unidades vendidas estimadas")
+public class TopProductOutputDTO {
+
+    @Schema(description = "Identificador del producto", example = "1000")
+    private Long productId;
+
+    @Schema(description = "SKU del producto (null si ya no existe)", example = "SKU-ABC-001")
+    private String sku;
+
+    @Schema(description = "Nombre del producto (null si ya no existe)", example = "Café Molido 500g")
+    private String name;
+
+    @Schema(description = "Unidades vendidas estimadas en la ventana; nunca menor que el valor real", example = "128")
+    private Long estimatedUnits;
+}
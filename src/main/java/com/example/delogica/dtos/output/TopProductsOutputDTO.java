@@ -0,0 +1,24 @@
+package com.example.delogica.dtos.output;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(name = "TopProductsOutput", description = "Ranking aproximado de productos más vendidos en la ventana deslizante")
+public class TopProductsOutputDTO {
+
+    @Schema(description = "Inicio de la ventana", example = "2025-10-23T09:00:00")
+    private LocalDateTime windowStart;
+
+    @Schema(description = "Unidades vendidas en la ventana (N)", example = "5120")
+    private Long totalUnits;
+
+    @Schema(description = "Cota de error ε·N: cada estimación supera a la real como mucho en estas unidades (con probabilidad 1 - δ)", example = "6")
+    private Long errorBound;
+
+    @Schema(description = "Productos ordenados de más a menos unidades estimadas")
+    private List<TopProductOutputDTO> products = new ArrayList<>();
+}
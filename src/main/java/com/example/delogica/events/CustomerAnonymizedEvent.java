@@ -0,0 +1,12 @@
+package com.example.delogica.events;
+
+import java.util.List;
+
+/**
+ * Publicado por el borrado de clientes, una vez por cada tramo de pedidos de un cliente
+ * anonimizado, dentro de la transacción del tramo. Quien guarde una copia de los datos del
+ * cliente en esos pedidos debe rehacerla o descartarla.
+ *
+ * @param orderIds pedidos del tramo, en orden ascendente
+ */
+public record CustomerAnonymizedEvent(Long customerId, List<Long> orderIds) {}
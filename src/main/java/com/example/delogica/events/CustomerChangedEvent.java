@@ -0,0 +1,10 @@
+package com.example.delogica.events;
+
+/**
+ * Publicado por el servicio de clientes al crear, modificar o eliminar un cliente, también
+ * cuando solo cambian sus direcciones, dentro de la misma transacción.
+ *
+ * @param previousEmail email antes del cambio; <code>null</code> si el cliente es nuevo
+ * @param email         email tras el cambio; <code>null</code> si el cliente se eliminó
+ */
+public record CustomerChangedEvent(Long customerId, String previousEmail, String email) {}
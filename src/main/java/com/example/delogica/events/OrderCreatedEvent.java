@@ -0,0 +1,7 @@
+package com.example.delogica.events;
+
+/**
+ * Publicado por el servicio de pedidos tras persistir un pedido nuevo,
+ * dentro de la misma transacción.
+ */
+public record OrderCreatedEvent(OrderSnapshot order) {}
@@ -0,0 +1,43 @@
+package com.example.delogica.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderItem;
+import com.example.delogica.models.OrderStatus;
+
+/**
+ * Copia inmutable de los datos de un pedido en el momento de publicar un evento.
+ * <p>
+ * Los eventos viajan con esta copia y no con la entidad, de modo que los oyentes
+ * pueden usarla también fuera de la transacción sin provocar cargas perezosas.
+ * </p>
+ */
+public record OrderSnapshot(
+        Long id,
+        Long customerId,
+        LocalDateTime orderDate,
+        OrderStatus status,
+        BigDecimal total,
+        List<Line> lines) {
+
+    /**
+     * Línea del pedido: producto, cantidad y precio unitario aplicado.
+     */
+    public record Line(Long productId, int quantity, BigDecimal unitPrice) {}
+
+    public static OrderSnapshot of(Order order) {
+        List<Line> lines = order.getItems().stream()
+                .map(OrderSnapshot::line)
+                .toList();
+        Long customerId = order.getCustomer() != null ? order.getCustomer().getId() : null;
+        return new OrderSnapshot(order.getId(), customerId, order.getOrderDate(),
+                order.getStatus(), order.getTotal(), lines);
+    }
+
+    private static Line line(OrderItem item) {
+        return new Line(item.getProduct().getId(), item.getQuantity(), item.getUnitPrice());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.delogica.events;
+
+import java.util.List;
+
+/**
+ * Publicado por el cambio de estado masivo una vez por tramo, dentro de la transacción del
+ * tramo, en lugar de un {@link OrderStatusChangedEvent} por pedido. Los oyentes aplican el
+ * tramo con sentencias agregadas.
+ *
+ * @param changes cambios del tramo, en orden ascendente de ID de pedido
+ */
+public record OrderStatusBulkChangedEvent(List<OrderStatusChangedEvent> changes) {}
@@ -0,0 +1,12 @@
+package com.example.delogica.events;
+
+import com.example.delogica.models.OrderStatus;
+
+/**
+ * Publicado por el servicio de pedidos tras aplicar una transición de estado,
+ * dentro de la misma transacción.
+ *
+ * @param order          pedido con el estado ya actualizado
+ * @param previousStatus estado anterior a la transición
+ */
+public record OrderStatusChangedEvent(OrderSnapshot order, OrderStatus previousStatus) {}
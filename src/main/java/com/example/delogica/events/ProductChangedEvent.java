@@ -0,0 +1,7 @@
+package com.example.delogica.events;
+
+/**
+ * Publicado por el servicio de productos al modificar o desactivar un producto,
+ * dentro de la misma transacción.
+ */
+public record ProductChangedEvent(Long productId) {}
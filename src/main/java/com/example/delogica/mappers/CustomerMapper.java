@@ -11,16 +11,29 @@ public interface CustomerMapper {
     
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "addresses", ignore = true)
+    @Mapping(target = "emailNormalized", ignore = true)
+    @Mapping(target = "emailDomain", ignore = true)
+    @Mapping(target = "defaultAddressId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "revision", ignore = true)
     Customer toEntity(CustomerInputDTO dto);
 
     CustomerOutputDTO toOutput(Customer entity);
 
+    // Representación sin direcciones: no accede a la colección, así que no la carga
+    @Named("withoutAddresses")
+    @Mapping(target = "addresses", expression = "java(null)")
+    CustomerOutputDTO toOutputWithoutAddresses(Customer entity);
+
     
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "addresses", ignore = true)
+    @Mapping(target = "emailNormalized", ignore = true)
+    @Mapping(target = "emailDomain", ignore = true)
+    @Mapping(target = "defaultAddressId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "revision", ignore = true)
     void updateEntityFromDto(CustomerInputDTO dto, @MappingTarget Customer entity);
 }
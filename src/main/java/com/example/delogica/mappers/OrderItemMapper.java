@@ -22,6 +22,8 @@ public interface OrderItemMapper {
     
     OrderItemOutputDTO toOutput(OrderItem entity);
 
+    OrderItemOutputDTO toOutput(ArchivedOrderItem entity);
+
     @Mapping(target = "customerId", source = "customer.id")
     @Mapping(target = "shippingAddressId", source = "shippingAddress.id")
     OrderSimpleOutputDTO toSimpleOutput(Order order);
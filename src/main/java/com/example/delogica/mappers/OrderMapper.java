@@ -27,6 +27,12 @@ public interface OrderMapper {
     @Mapping(target = "items", source = "items")
     OrderOutputDTO toOutput(Order entity);
 
+    // Convierte un pedido archivado al mismo DTO de salida
+    @Mapping(target = "customer", source = "customer")
+    @Mapping(target = "shippingAddress", source = "shippingAddress")
+    @Mapping(target = "items", source = "items")
+    OrderOutputDTO toOutput(ArchivedOrder entity);
+
     List<OrderOutputDTO> toOutputList(List<Order> orders);
 
     @Mapping(target = "customerId", source = "customer.id")
@@ -13,9 +13,10 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     // 'active' se establece en @PrePersist en el modelo
     @Mapping(target = "active", ignore = true)
-    // createdAt / updatedAt gestionados por callbacks JPA
+    // createdAt / updatedAt / revision gestionados por callbacks JPA
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "revision", ignore = true)
     Product toEntity(ProductInputDTO dto);
 
     // ENTITY → OUTPUT
@@ -25,6 +26,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "revision", ignore = true)
     @Mapping(target = "active", source = "active")
     void updateEntityFromDto(ProductInputDTO dto, @MappingTarget Product entity);
 }
@@ -0,0 +1,49 @@
+package com.example.delogica.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Pedido archivado: copia de solo lectura de un pedido en estado final (SHIPPED o
+ * CANCELLED) movido desde <code>orders</code> por el job de archivado. Conserva el ID
+ * y las columnas del pedido original.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_order_archive_customer_date", columnList = "customer_id, order_date"),
+        @Index(name = "idx_order_archive_date", columnList = "order_date")
+})
+@Getter @Setter @NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Customer customer;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Address shippingAddress;
+
+    @Column(nullable = false)
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal total;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+package com.example.delogica.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Línea de un {@link ArchivedOrder}, copiada de <code>order_items</code> con su ID original.
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_orderitem_archive_order", columnList = "order_id")
+})
+@Getter @Setter @NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private ArchivedOrder order;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private Product product;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal unitPrice;
+}
@@ -1,16 +1,22 @@
 // src/main/java/com/example/shop/domain/Customer.java
 package com.example.delogica.models;
 
+import com.example.delogica.config.uniqueness.UniqueKeyEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
+@EntityListeners(UniqueKeyEntityListener.class)
 @Table(name = "customers", indexes = {
-        @Index(name = "idx_customer_email", columnList = "email", unique = true)
+        @Index(name = "idx_customer_email", columnList = "email", unique = true),
+        @Index(name = "idx_customer_email_normalized", columnList = "email_normalized"),
+        @Index(name = "idx_customer_email_domain", columnList = "email_domain, id")
 })
 @Getter
 @Setter
@@ -30,9 +36,27 @@ public class Customer {
     @Column(nullable = false, length = 160, unique = true)
     private String email;
 
+    /** Email en minúsculas y sin espacios; lo mantiene la entidad y sirve las búsquedas indexadas. */
+    @Column(name = "email_normalized", nullable = false, length = 160)
+    private String emailNormalized;
+
+    /**
+     * Dominio del email normalizado (<code>acme.com</code>); lo mantiene la entidad y sirve la
+     * búsqueda por dominio con su índice, ordenada por ID.
+     */
+    @Column(name = "email_domain", nullable = false, length = 160)
+    private String emailDomain;
+
     @Column(length = 25)
     private String phone;
 
+    /**
+     * Dirección por defecto del cliente. Es la referencia que manda: <code>addresses.is_default</code>
+     * solo la refleja en la fila correspondiente para la representación de cada dirección.
+     */
+    @Column(name = "default_address_id")
+    private Long defaultAddressId;
+
     @Builder.Default
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Address> addresses = new ArrayList<>();
@@ -43,15 +67,56 @@ public class Customer {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Revisión del cliente: sube con cada cambio del cliente y, mediante {@link #touch()}, de sus
+     * direcciones, que forman parte de su representación. La compara la caché de respuestas;
+     * no es un bloqueo optimista.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long revision;
+
     @PrePersist
     void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = createdAt;
+        emailNormalized = normalizeEmail(email);
+        emailDomain = emailDomain(email);
     }
 
     @PreUpdate
     void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision++;
+        emailNormalized = normalizeEmail(email);
+        emailDomain = emailDomain(email);
+    }
+
+    /**
+     * Forma normalizada de un email para búsquedas: sin espacios alrededor y en minúsculas.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Dominio de un email en forma normalizada; admite también <code>@acme.com</code>
+     * o solo <code>acme.com</code>.
+     */
+    public static String emailDomain(String emailOrDomain) {
+        String normalized = normalizeEmail(emailOrDomain);
+        if (normalized == null) {
+            return null;
+        }
+        return normalized.substring(normalized.lastIndexOf('@') + 1);
+    }
+
+    /**
+     * Marca el cliente como modificado aunque no cambie ninguno de sus campos, para que el
+     * cambio en sus direcciones suba su revisión.
+     */
+    public void touch() {
+        revision++;
     }
 
     public void addAddress(Address address) {
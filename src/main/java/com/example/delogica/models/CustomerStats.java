@@ -0,0 +1,33 @@
+package com.example.delogica.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estadísticas de pedidos de un cliente: número de pedidos y valor acumulado (sin
+ * cancelados) y fecha del último pedido realizado. Se mantiene en la misma transacción
+ * que las escrituras de pedidos; un cliente sin pedidos no tiene fila.
+ */
+@Entity
+@Table(name = "customer_stats", indexes = {
+        @Index(name = "idx_customer_stats_lifetime_value", columnList = "lifetime_value")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CustomerStats {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "lifetime_value", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lifetimeValue;
+
+    @Column(name = "last_order_date", nullable = false)
+    private LocalDateTime lastOrderDate;
+}
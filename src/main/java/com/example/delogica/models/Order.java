@@ -12,7 +12,8 @@ import java.util.List;
 @Entity
 @Table(name = "orders", indexes = {
         @Index(name = "idx_order_customer", columnList = "customer_id"),
-        @Index(name = "idx_order_date", columnList = "orderDate")
+        @Index(name = "idx_order_date", columnList = "orderDate"),
+        @Index(name = "idx_order_status_date", columnList = "status, orderDate")
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @EqualsAndHashCode(of = "id")
@@ -21,7 +21,11 @@ public class OrderItem {
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Order order;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    /**
+     * Perezoso: el ID del producto se lee de la clave ajena sin cargar la fila (stock,
+     * eventos, vista resumida); quien necesita sus datos lo pide en el grafo de la consulta.
+     */
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Product product;
 
     @Column(nullable = false)
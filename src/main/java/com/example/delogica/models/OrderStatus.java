@@ -15,5 +15,24 @@ public enum OrderStatus {
     SHIPPED,
 
     @Schema(description = "Pedido cancelado antes de ser completado")
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Indica si el estado es final: el pedido ya no admite transiciones.
+     */
+    public boolean isTerminal() {
+        return this == SHIPPED || this == CANCELLED;
+    }
+
+    /**
+     * Indica si se permite pasar de este estado al indicado:
+     * CREATED → PAID | CANCELLED y PAID → SHIPPED | CANCELLED.
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case CREATED -> target == PAID || target == CANCELLED;
+            case PAID -> target == SHIPPED || target == CANCELLED;
+            case SHIPPED, CANCELLED -> false;
+        };
+    }
 }
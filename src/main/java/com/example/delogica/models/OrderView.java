@@ -0,0 +1,81 @@
+package com.example.delogica.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Modelo de lectura desnormalizado de un pedido.
+ * <p>
+ * Una fila por pedido con las columnas de filtrado (cliente, estado, fecha), las líneas del
+ * pedido en JSON y el cliente renderizado, de modo que leer o buscar pedidos es una consulta
+ * indexada sin joins; los productos se resuelven desde la caché de segundo nivel. Se mantiene
+ * en la misma transacción que las escrituras del pedido y del cliente.
+ * </p>
+ */
+@Entity
+@Table(name = "order_view", indexes = {
+        @Index(name = "idx_order_view_customer_date", columnList = "customer_id, order_date"),
+        @Index(name = "idx_order_view_status_date", columnList = "status, order_date")
+})
+@Getter @Setter @NoArgsConstructor
+@EqualsAndHashCode(of = "orderId")
+public class OrderView implements Persistable<Long> {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal total;
+
+    /** Dirección de envío y líneas del pedido, con referencias por ID a dirección y productos. */
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    /**
+     * Cliente con sus direcciones, tal como lo devuelve la API. Es igual en todas las filas del
+     * cliente y se reescribe en todas cuando cambia; null en filas anteriores a esta columna.
+     */
+    @Lob
+    @Column(name = "customer_payload")
+    private String customerPayload;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /** Evita el SELECT previo de {@code merge} al insertar con id asignado. */
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -1,13 +1,20 @@
 // src/main/java/com/example/shop/domain/Product.java
 package com.example.delogica.models;
 
+import com.example.delogica.config.uniqueness.UniqueKeyEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(UniqueKeyEntityListener.class)
 @Table(name = "products", indexes = {
         @Index(name = "idx_product_sku", columnList = "sku", unique = true),
         @Index(name = "idx_product_name", columnList = "name")
@@ -43,6 +50,14 @@ public class Product {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Revisión del producto: sube con cada cambio, también con la devolución masiva de stock.
+     * La compara la caché de respuestas; no es un bloqueo optimista.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long revision;
+
     @PrePersist
     void onCreate() {
         createdAt = LocalDateTime.now();
@@ -53,5 +68,6 @@ public class Product {
     @PreUpdate
     void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision++;
     }
 }
@@ -0,0 +1,50 @@
+package com.example.delogica.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Agregado de pedidos por día y estado actual: número de pedidos e importe.
+ * Un cambio de estado mueve el pedido de una fila a otra del mismo día.
+ * <p>
+ * Cada día y estado se reparte en ranuras (<code>slot</code>) para que las altas
+ * concurrentes no esperen todas por la misma fila; el total es la suma de sus ranuras y
+ * una ranura suelta puede quedar en negativo.
+ * </p>
+ */
+@Entity
+@Table(name = "sales_daily_status")
+@IdClass(SalesDailyStatus.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class SalesDailyStatus {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+
+    @Id
+    private int slot;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private OrderStatus status;
+        private int slot;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.delogica.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.*;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.delogica.models.Address;
 
@@ -32,25 +34,52 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     List<Address> findByCustomerId(Long customerId);
 
     /**
-     * Desmarca todas las direcciones predeterminadas de un cliente, 
-     * excepto la dirección cuyo ID se desea mantener como predeterminada.
-     * <p>
-     * Se usa cuando el cliente cambia su dirección predeterminada.
-     * </p>
+     * IDs de direcciones del cliente posteriores a <code>afterId</code> que no usa ningún
+     * pedido, activo ni archivado, en orden ascendente y como mucho <code>limit</code>.
+     * <p>Los pedidos se filtran por cliente para aprovechar sus índices por
+     * <code>customer_id</code>: la dirección de envío de un pedido siempre es de su cliente.</p>
+     */
+    @Query(value = """
+            SELECT a.id FROM addresses a
+             WHERE a.customer_id = :customerId AND a.id > :afterId
+               AND NOT EXISTS (SELECT 1 FROM orders o
+                                WHERE o.customer_id = :customerId AND o.shipping_address_id = a.id)
+               AND NOT EXISTS (SELECT 1 FROM orders_archive oa
+                                WHERE oa.customer_id = :customerId AND oa.shipping_address_id = a.id)
+             ORDER BY a.id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findUnreferencedIds(Long customerId, Long afterId, int limit);
+
+    /**
+     * IDs de direcciones del cliente posteriores a <code>afterId</code>, en orden ascendente
+     * y como mucho <code>limit</code>.
+     */
+    @Query(value = """
+            SELECT a.id FROM addresses a
+             WHERE a.customer_id = :customerId AND a.id > :afterId
+             ORDER BY a.id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findIdsByCustomerIdAfter(Long customerId, Long afterId, int limit);
+
+    /**
+     * Borra las direcciones indicadas con una sola sentencia.
      *
-     * @param customerId  ID del cliente cuyas direcciones se actualizarán.
-     * @param keepId      ID de la dirección que debe permanecer como predeterminada.
-     * @return Número de registros actualizados.
+     * @return Número de direcciones borradas.
      */
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("update Address a set a.defaultAddress = false where a.customer.id = :customerId and a.id <> :keepId")
-    int clearDefaultForCustomerExcept(@Param("customerId") Long customerId, @Param("keepId") Long keepId);
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Address a where a.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
 
     /**
-     * Busca la dirección actual marcada como predeterminada para un cliente.
+     * Sustituye los datos identificativos de las direcciones indicadas, conservando ciudad
+     * y país, con una sola sentencia. Les quita también la marca de predeterminada: el cliente
+     * anonimizado deja de tener dirección predeterminada.
      *
-     * @param customerId  ID del cliente.
-     * @return Un {@link Optional} que contiene la dirección predeterminada si existe.
+     * @return Número de direcciones anonimizadas.
      */
-    Optional<Address> findByCustomerIdAndDefaultAddressTrue(Long customerId);
+    @Modifying(clearAutomatically = true)
+    @Query("update Address a set a.line1 = :line1, a.line2 = null, a.postalCode = :postalCode, a.defaultAddress = false where a.id in :ids")
+    int anonymize(Collection<Long> ids, String line1, String postalCode);
 }
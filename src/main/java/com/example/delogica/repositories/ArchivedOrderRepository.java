@@ -0,0 +1,104 @@
+package com.example.delogica.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.example.delogica.models.ArchivedOrder;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositorio de los pedidos archivados (<code>orders_archive</code> y
+ * <code>order_items_archive</code>).
+ */
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long>, JpaSpecificationExecutor<ArchivedOrder> {
+
+    /**
+     * Fechas del pedido archivado más antiguo y más reciente; ambas null si el archivo está vacío.
+     */
+    interface DateRange {
+        LocalDateTime getFirstOrderDate();
+
+        LocalDateTime getLastOrderDate();
+    }
+
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = { "items", "items.product", "customer", "shippingAddress" })
+    Optional<ArchivedOrder> findWithDetailsById(Long id);
+
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = { "items", "items.product", "customer", "shippingAddress" })
+    List<ArchivedOrder> findWithDetailsByIdIn(Collection<Long> ids);
+
+    boolean existsByCustomerId(Long customerId);
+
+    /**
+     * IDs de pedidos archivados del cliente posteriores a <code>afterId</code>, en orden
+     * ascendente (paginación por clave). Usado por el borrado de clientes para refrescar sus
+     * pedidos archivados.
+     */
+    @Query("SELECT o.id FROM ArchivedOrder o WHERE o.customer.id = :customerId AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByCustomerIdAfter(Long customerId, Long afterId, Pageable pageable);
+
+    /**
+     * Copia los pedidos indicados de <code>orders</code> al archivo.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders_archive"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO orders_archive (id, customer_id, shipping_address_id, order_date, status, total)
+            SELECT o.id, o.customer_id, o.shipping_address_id, o.order_date, o.status, o.total
+            FROM orders o
+            WHERE o.id IN (:ids)
+            """, nativeQuery = true)
+    int copyOrders(Collection<Long> ids);
+
+    /**
+     * Copia las líneas de los pedidos indicados de <code>order_items</code> al archivo.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items_archive"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_items_archive (id, order_id, product_id, quantity, unit_price)
+            SELECT i.id, i.order_id, i.product_id, i.quantity, i.unit_price
+            FROM order_items i
+            WHERE i.order_id IN (:ids)
+            """, nativeQuery = true)
+    int copyItems(Collection<Long> ids);
+
+    /**
+     * Fecha del pedido archivado más antiguo, o null si el archivo está vacío.
+     */
+    @Query("SELECT MIN(o.orderDate) FROM ArchivedOrder o")
+    LocalDateTime findFirstOrderDate();
+
+    /**
+     * Rango de fechas del archivo en una sola consulta. Usado para decidir si una búsqueda
+     * puede alcanzar pedidos archivados.
+     */
+    @Query("SELECT MIN(o.orderDate) AS firstOrderDate, MAX(o.orderDate) AS lastOrderDate FROM ArchivedOrder o")
+    DateRange findDateRange();
+
+    @Query("SELECT o.id AS id, o.status AS status FROM ArchivedOrder o WHERE o.id IN :ids")
+    List<OrderRepository.IdAndStatus> findStatusesByIdIn(Collection<Long> ids);
+
+    /**
+     * Revisión del detalle de un pedido archivado, como {@link OrderRepository#findRevisionById}.
+     */
+    @Query("""
+            SELECT concat(str(o.status), ':', str(c.revision), ':', str(coalesce(sum(p.revision), 0)))
+            FROM ArchivedOrder o JOIN o.customer c LEFT JOIN o.items i LEFT JOIN i.product p
+            WHERE o.id = :id GROUP BY o.status, c.revision
+            """)
+    Optional<String> findRevisionById(Long id);
+}
@@ -1,11 +1,16 @@
 package com.example.delogica.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import com.example.delogica.models.Customer;
 
@@ -31,6 +36,19 @@ public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSp
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Indica si otro cliente usa ya el email, sin vaciar antes el contexto de persistencia.
+     * <p>Usado tras una violación de la restricción UNIQUE de <code>email</code>: el contexto
+     * guarda aún el cambio rechazado y un vaciado automático volvería a fallar.</p>
+     *
+     * @param email       Email a verificar.
+     * @param customerId  Cliente que se estaba guardando; null en un alta.
+     * @return {@code true} si otro cliente tiene ese email.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select count(c) > 0 from Customer c where c.email = :email and (:customerId is null or c.id <> :customerId)")
+    boolean existsOtherWithEmail(String email, Long customerId);
+
     /**
      * Obtiene un cliente junto con sus direcciones asociadas.
      * <p>Usado normalmente para solicitudes GET a <code>/api/customers/{id}</code>.</p>
@@ -41,6 +59,18 @@ public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSp
     @EntityGraph(type = EntityGraphType.LOAD, attributePaths = { "addresses" })
     Optional<Customer> findWithAddressesById(Long id);
 
+    /**
+     * Carga los clientes indicados junto con sus direcciones en una sola consulta.
+     * <p>Usado para inicializar las direcciones de una página de clientes (o de los
+     * clientes de una página de pedidos) antes de mapearla, en lugar de una consulta
+     * por cliente.</p>
+     *
+     * @param ids  IDs de los clientes.
+     * @return Los clientes con sus direcciones cargadas.
+     */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = { "addresses" })
+    List<Customer> findWithAddressesByIdIn(Collection<Long> ids);
+
     /**
      * Busca un cliente aplicando un bloqueo pesimista de escritura.
      * <p>Usado para evitar conflictos durante actualizaciones concurrentes.</p>
@@ -51,4 +81,43 @@ public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSp
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select c from Customer c where c.id = :id")
     Optional<Customer> findByIdWithLock(Long id);
+
+    /**
+     * Proyección con el email normalizado de un cliente.
+     */
+    interface IdAndEmail {
+        Long getId();
+        String getEmailNormalized();
+    }
+
+    /**
+     * Recorre los emails normalizados en orden de ID a partir de <code>afterId</code>
+     * (paginación por clave). Usado para construir el índice de dominios y el filtro de emails.
+     */
+    @Query("select c.id as id, c.emailNormalized as emailNormalized from Customer c where c.id > :afterId order by c.id")
+    List<IdAndEmail> findEmailsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * IDs de los clientes cuyo email normalizado está entre los indicados, en una sola
+     * consulta por el índice de <code>email_normalized</code>. Usado por la importación
+     * masiva para detectar emails ya registrados y recuperar los IDs recién insertados.
+     */
+    @Query("select c.id as id, c.emailNormalized as emailNormalized from Customer c where c.emailNormalized in :emails")
+    List<IdAndEmail> findByEmailNormalizedIn(Collection<String> emails);
+
+    /**
+     * Apunta <code>default_address_id</code> de los clientes indicados a su dirección marcada
+     * como default (o a null si no tienen), con una sola sentencia.
+     *
+     * @return Número de clientes actualizados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customers"))
+    @Modifying
+    @Query(value = """
+            UPDATE customers c
+               SET default_address_id = (SELECT a.id FROM addresses a
+                                          WHERE a.customer_id = c.id AND a.is_default = TRUE)
+             WHERE c.id IN (:ids)
+            """, nativeQuery = true)
+    int linkDefaultAddresses(Collection<Long> ids);
 }
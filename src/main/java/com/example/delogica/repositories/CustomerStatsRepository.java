@@ -0,0 +1,94 @@
+package com.example.delogica.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.example.delogica.dtos.output.CustomerStatsOutputDTO;
+import com.example.delogica.models.CustomerStats;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositorio de las estadísticas de pedidos por cliente.
+ */
+public interface CustomerStatsRepository extends JpaRepository<CustomerStats, Long> {
+
+    /**
+     * Suma un pedido nuevo a las estadísticas del cliente, creando la fila si no existe.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_stats"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_stats (customer_id, order_count, lifetime_value, last_order_date)
+            VALUES (:customerId, 1, :amount, :orderDate)
+            ON DUPLICATE KEY UPDATE order_count = order_count + 1, lifetime_value = lifetime_value + :amount,
+                last_order_date = GREATEST(last_order_date, :orderDate)
+            """, nativeQuery = true)
+    int addOrder(Long customerId, BigDecimal amount, LocalDateTime orderDate);
+
+    /**
+     * Descuenta pedidos cancelados del número de pedidos y del valor acumulado.
+     * La fecha del último pedido no cambia.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_stats"))
+    @Modifying
+    @Query(value = """
+            UPDATE customer_stats SET order_count = order_count - :orders, lifetime_value = lifetime_value - :amount
+            WHERE customer_id = :customerId
+            """, nativeQuery = true)
+    int removeOrders(Long customerId, long orders, BigDecimal amount);
+
+    @Query("""
+            SELECT new com.example.delogica.dtos.output.CustomerStatsOutputDTO(c.id, c.fullName, c.email,
+                s.orderCount, s.lifetimeValue, s.lastOrderDate)
+            FROM Customer c LEFT JOIN CustomerStats s ON s.customerId = c.id
+            WHERE c.id = :customerId
+            """)
+    Optional<CustomerStatsOutputDTO> findByCustomerId(Long customerId);
+
+    /**
+     * Página de clientes con pedidos. La ordenación se aplica sobre las columnas de
+     * <code>customer_stats</code> (alias <code>s</code>).
+     */
+    @Query(value = """
+            SELECT new com.example.delogica.dtos.output.CustomerStatsOutputDTO(s.customerId, c.fullName, c.email,
+                s.orderCount, s.lifetimeValue, s.lastOrderDate)
+            FROM CustomerStats s JOIN Customer c ON c.id = s.customerId
+            """,
+            countQuery = "SELECT COUNT(s) FROM CustomerStats s JOIN Customer c ON c.id = s.customerId")
+    Page<CustomerStatsOutputDTO> findRanking(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CustomerStats s")
+    int deleteAllRows();
+
+    /**
+     * Recalcula las estadísticas de todos los clientes desde <code>orders</code> y
+     * <code>orders_archive</code>.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_stats"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_stats (customer_id, order_count, lifetime_value, last_order_date)
+            SELECT o.customer_id,
+                   SUM(CASE WHEN o.status <> 'CANCELLED' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN o.status <> 'CANCELLED' THEN o.total ELSE 0 END),
+                   MAX(o.order_date)
+            FROM (
+                SELECT customer_id, status, total, order_date FROM orders
+                UNION ALL
+                SELECT customer_id, status, total, order_date FROM orders_archive
+            ) o
+            GROUP BY o.customer_id
+            """, nativeQuery = true)
+    int rebuild();
+}
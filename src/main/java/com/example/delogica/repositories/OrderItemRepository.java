@@ -1,6 +1,11 @@
 package com.example.delogica.repositories;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.example.delogica.models.OrderItem;
@@ -8,4 +13,26 @@ import com.example.delogica.models.OrderItem;
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long>{
 
+    /**
+     * Proyección de una línea de pedido con el ID del producto, sin cargar el producto.
+     */
+    interface Line {
+        Long getOrderId();
+
+        Long getProductId();
+
+        Integer getQuantity();
+
+        BigDecimal getUnitPrice();
+    }
+
+    /**
+     * Líneas de los pedidos indicados, por pedido y en orden de alta, leyendo solo las
+     * columnas de <code>order_items</code>.
+     */
+    @Query("""
+            SELECT i.order.id AS orderId, i.product.id AS productId, i.quantity AS quantity, i.unitPrice AS unitPrice
+            FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id
+            """)
+    List<Line> findLinesByOrderIdIn(Collection<Long> orderIds);
 }
@@ -1,15 +1,22 @@
 package com.example.delogica.repositories;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderStatus;
 
 import jakarta.persistence.LockModeType;
 
@@ -20,6 +27,26 @@ import jakarta.persistence.LockModeType;
  */
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
+    /**
+     * Proyección con el ID y el estado de un pedido.
+     */
+    interface IdAndStatus {
+        Long getId();
+
+        OrderStatus getStatus();
+    }
+
+    /**
+     * Proyección con las columnas propias de un pedido, sin líneas ni relaciones.
+     */
+    interface Header extends IdAndStatus {
+        Long getCustomerId();
+
+        LocalDateTime getOrderDate();
+
+        BigDecimal getTotal();
+    }
+
     /**
      * Obtiene una orden junto con sus relaciones asociadas,
      * como ítems, productos, cliente y dirección de envío.
@@ -42,4 +69,147 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM Order o WHERE o.id = :id")
     Optional<Order> findByIdWithLock(Long id);
+
+    /**
+     * Bloquea un pedido y devuelve solo su estado, sin cargar la entidad en el contexto de
+     * persistencia: quien lo bloquea para cambiarlo lo lee después con el grafo que necesite.
+     *
+     * @param id  ID del pedido a bloquear.
+     * @return estado actual, o vacío si no existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> lockStatusById(Long id);
+
+    /**
+     * IDs de pedidos posteriores a <code>afterId</code> que todavía no tienen fila en el modelo
+     * de lectura <code>order_view</code>, o la tienen sin cliente renderizado, en orden ascendente (paginación por clave: cada lote
+     * empieza donde acabó el anterior en lugar de volver a recorrer los ya proyectados).
+     * Usado para el relleno inicial del modelo de lectura.
+     *
+     * @param afterId   último ID del lote anterior (0 para empezar).
+     * @param pageable  tamaño del lote.
+     * @return IDs pendientes de proyectar.
+     */
+    @Query("""
+            SELECT o.id FROM Order o
+            WHERE o.id > :afterId
+              AND NOT EXISTS (SELECT 1 FROM OrderView v WHERE v.orderId = o.id AND v.customerPayload IS NOT NULL)
+            ORDER BY o.id
+            """)
+    List<Long> findIdsWithoutViewAfter(Long afterId, Pageable pageable);
+
+    /**
+     * IDs de pedidos del cliente posteriores a <code>afterId</code>, en orden ascendente
+     * (paginación por clave). Usado por el borrado de clientes para refrescar sus pedidos.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.customer.id = :customerId AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByCustomerIdAfter(Long customerId, Long afterId, Pageable pageable);
+
+    boolean existsByCustomerId(Long customerId);
+
+    /**
+     * Fecha del pedido más antiguo, o null si no hay pedidos.
+     */
+    @Query("SELECT MIN(o.orderDate) FROM Order o")
+    LocalDateTime findFirstOrderDate();
+
+    /**
+     * Fecha del pedido más reciente, o null si no hay pedidos.
+     */
+    @Query("SELECT MAX(o.orderDate) FROM Order o")
+    LocalDateTime findLastOrderDate();
+
+    /**
+     * IDs de pedidos en los estados indicados con fecha anterior a <code>cutoff</code>,
+     * en orden ascendente. Usado por el job de archivado.
+     *
+     * @param statuses  estados archivables.
+     * @param cutoff    fecha límite (exclusiva).
+     * @param pageable  tamaño del lote.
+     * @return IDs a archivar.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.orderDate < :cutoff ORDER BY o.id")
+    List<Long> findIdsToArchive(Collection<OrderStatus> statuses, LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteItemsByOrderIds(Collection<Long> orderIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    /**
+     * Bloquea hasta un lote de pedidos en un estado con fecha anterior a <code>cutoff</code>,
+     * saltando los ya bloqueados por otra transacción (<code>FOR UPDATE SKIP LOCKED</code>),
+     * de modo que varios nodos pueden procesar lotes distintos a la vez.
+     * Usa el índice <code>idx_order_status_date</code>.
+     *
+     * <p>Consulta nativa: la sugerencia de bloqueo de JPA no genera SKIP LOCKED en todos
+     * los dialectos.</p>
+     *
+     * @param status  estado de los pedidos.
+     * @param cutoff  fecha límite (exclusiva).
+     * @param limit   tamaño del lote.
+     * @return IDs bloqueados, del más antiguo al más reciente.
+     */
+    @Query(value = """
+            SELECT o.id FROM orders o
+            WHERE o.status = :status AND o.order_date < :cutoff
+            ORDER BY o.order_date
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockIdsByStatusBefore(String status, LocalDateTime cutoff, int limit);
+
+    /**
+     * Pedidos con líneas, productos, cliente y dirección de envío en una sola consulta.
+     * Usado por los listados, que devuelven el pedido completo. Los cambios de estado
+     * masivos no lo necesitan.
+     */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = { "items", "items.product", "customer", "shippingAddress" })
+    List<Order> findWithDetailsByIdIn(Collection<Long> ids);
+
+    /**
+     * Pedidos con sus líneas, sin productos ni cliente. Usado por la proyección del modelo de
+     * lectura, que solo guarda los datos propios del pedido.
+     */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = { "items" })
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    /**
+     * Bloquea los pedidos indicados, en orden ascendente de ID, y devuelve su estado actual
+     * y sus columnas propias sin cargar las entidades.
+     *
+     * @param ids  IDs de los pedidos.
+     * @return cabecera de los pedidos existentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT o.id AS id, o.status AS status, o.customer.id AS customerId, o.orderDate AS orderDate,
+                o.total AS total
+            FROM Order o WHERE o.id IN :ids ORDER BY o.id
+            """)
+    List<Header> lockHeadersByIdIn(Collection<Long> ids);
+
+    /**
+     * Cambia el estado de los pedidos indicados con una sola sentencia. Vacía el contexto de
+     * persistencia para que las lecturas posteriores vean el nuevo estado.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status WHERE o.id IN :ids")
+    int updateStatus(Collection<Long> ids, OrderStatus status);
+
+    /**
+     * Revisión del detalle de un pedido en una sola consulta: su estado, la revisión de su cliente
+     * (que cubre sus direcciones) y la suma de las de sus productos. Cambia con cualquier cambio
+     * de lo que muestra el detalle; vacía si el pedido no está en las tablas calientes.
+     */
+    @Query("""
+            SELECT concat(str(o.status), ':', str(c.revision), ':', str(coalesce(sum(p.revision), 0)))
+            FROM Order o JOIN o.customer c LEFT JOIN o.items i LEFT JOIN i.product p
+            WHERE o.id = :id GROUP BY o.status, c.revision
+            """)
+    Optional<String> findRevisionById(Long id);
 }
@@ -0,0 +1,37 @@
+package com.example.delogica.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.models.OrderView;
+
+/**
+ * Repositorio JPA para el modelo de lectura {@link OrderView}.
+ */
+public interface OrderViewRepository extends JpaRepository<OrderView, Long>, JpaSpecificationExecutor<OrderView> {
+
+    /**
+     * Cambia el estado de las filas de los pedidos indicados con una sola sentencia, sin
+     * volver a renderizar el JSON: las lecturas toman el estado de la columna.
+     */
+    @Modifying
+    @Query("UPDATE OrderView v SET v.status = :status, v.updatedAt = :updatedAt WHERE v.orderId IN :orderIds")
+    int updateStatus(Collection<Long> orderIds, OrderStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Reescribe el cliente renderizado en todas las filas de sus pedidos con una sola sentencia.
+     */
+    @Modifying
+    @Query("UPDATE OrderView v SET v.customerPayload = :customerPayload, v.updatedAt = :updatedAt WHERE v.customerId = :customerId")
+    int updateCustomer(Long customerId, String customerPayload, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM OrderView v WHERE v.orderId IN :orderIds")
+    int deleteByOrderIds(Collection<Long> orderIds);
+}
@@ -1,15 +1,22 @@
 package com.example.delogica.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.example.delogica.models.Product;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositorio JPA para la entidad {@link Product}.
@@ -20,10 +27,13 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
     /**
      * Busca un producto por su código SKU.
+     * <p>El resultado (el ID) va a la caché de consultas y el producto a la de entidades; se
+     * invalida con cualquier escritura en <code>products</code> hecha a través de Hibernate.</p>
      *
      * @param sku  Código SKU del producto.
      * @return Un {@link Optional} con el producto si existe.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Product> findBySku(String sku);
 
     /**
@@ -44,6 +54,38 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      */
     boolean existsBySkuAndIdNot(String sku, Long id);
 
+    /**
+     * Indica si otro producto usa ya el SKU, sin vaciar antes el contexto de persistencia.
+     * <p>Usado tras una violación de la restricción UNIQUE de <code>sku</code>: el contexto
+     * guarda aún el cambio rechazado y un vaciado automático volvería a fallar.</p>
+     *
+     * @param sku        Código SKU a verificar.
+     * @param productId  Producto que se estaba guardando; null en un alta.
+     * @return {@code true} si otro producto tiene ese SKU.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT COUNT(p) > 0 FROM Product p WHERE p.sku = :sku AND (:productId IS NULL OR p.id <> :productId)")
+    boolean existsOtherWithSku(String sku, Long productId);
+
+    /**
+     * Proyección con el SKU de un producto.
+     */
+    interface IdAndSku {
+        Long getId();
+        String getSku();
+    }
+
+    /**
+     * Recorre los SKUs en orden de ID a partir de <code>afterId</code> (paginación por clave).
+     * Usado para construir el filtro de SKUs.
+     *
+     * @param afterId   Último ID ya leído.
+     * @param pageable  Tamaño del tramo.
+     * @return IDs y SKUs del tramo, en orden de ID.
+     */
+    @Query("select p.id as id, p.sku as sku from Product p where p.id > :afterId order by p.id")
+    List<IdAndSku> findSkusAfter(Long afterId, Pageable pageable);
+
     /**
      * Busca un producto aplicando un bloqueo pesimista de escritura.
      * <p>Evita conflictos durante actualizaciones concurrentes.</p>
@@ -54,4 +96,78 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select p from Product p where p.id = :id")
     Optional<Product> findByIdWithLock(Long id);
+
+    /**
+     * Bloquea (escritura pesimista) y devuelve los productos indicados ordenados por ID.
+     * <p>El orden fijo de adquisición de bloqueos evita interbloqueos entre pedidos
+     * concurrentes que comparten productos.</p>
+     *
+     * @param ids  IDs de los productos a bloquear.
+     * @return Productos bloqueados, ordenados por ID ascendente.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdInWithLock(Collection<Long> ids);
+
+    /**
+     * Bloquea (escritura pesimista) y devuelve los productos de las líneas de un pedido,
+     * ordenados por ID como {@link #findAllByIdInWithLock}.
+     * <p>Usado al cancelar un pedido antes de cargar sus líneas: así los productos entran en
+     * el contexto de persistencia ya bloqueados y con el stock vigente, y la devolución se
+     * aplica sobre entidades gestionadas.</p>
+     *
+     * @param orderId  ID del pedido.
+     * @return Productos bloqueados, ordenados por ID ascendente.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in (select i.product.id from OrderItem i where i.order.id = :orderId) order by p.id")
+    List<Product> findAllByOrderIdWithLock(Long orderId);
+
+    /**
+     * Bloquea (escritura pesimista), en orden ascendente de ID, los productos de las líneas de
+     * los pedidos indicados y devuelve solo sus IDs, sin cargar las entidades.
+     * <p>Se llama antes de {@link #restoreStockForOrders}: el UPDATE masivo no garantiza en qué
+     * orden bloquea las filas, y con este bloqueo previo el cambio de estado por tramos sigue el
+     * mismo orden que la creación y la cancelación de pedidos.</p>
+     *
+     * @param orderIds  IDs de los pedidos.
+     * @return IDs de los productos bloqueados.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select p.id from Product p
+            where p.id in (select i.product.id from OrderItem i where i.order.id in :orderIds)
+            order by p.id
+            """)
+    List<Long> lockIdsForOrders(Collection<Long> orderIds);
+
+    /**
+     * Devuelve al stock, en una sola sentencia, las unidades de todas las líneas de los
+     * pedidos indicados, sumadas por producto.
+     * <p>Declara <code>products</code> como tabla afectada para que Hibernate invalide solo
+     * la caché de productos y no todas las regiones. Aun así, una sentencia masiva invalida la
+     * región de productos entera una vez por llamada: se acepta en el cambio de estado masivo,
+     * donde un tramo toca muchos productos y cargarlos como entidades costaría más que volver
+     * a leerlos. La cancelación de un solo pedido actualiza entidades gestionadas.</p>
+     * <p>Sube también la revisión de cada producto, como haría su <code>@PreUpdate</code>.</p>
+     *
+     * @param orderIds  IDs de los pedidos cuyas unidades se devuelven.
+     * @return Número de productos actualizados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"))
+    @Modifying
+    @Query(value = """
+            UPDATE products SET stock = stock + (
+                SELECT SUM(i.quantity) FROM order_items i
+                WHERE i.order_id IN (:orderIds) AND i.product_id = products.id),
+                revision = revision + 1
+            WHERE id IN (SELECT i.product_id FROM order_items i WHERE i.order_id IN (:orderIds))
+            """, nativeQuery = true)
+    int restoreStockForOrders(Collection<Long> orderIds);
+
+    /**
+     * Revisión de un producto, sin cargar la entidad: la compara la caché de respuestas.
+     */
+    @Query("select p.revision from Product p where p.id = :id")
+    Optional<Long> findRevisionById(Long id);
 }
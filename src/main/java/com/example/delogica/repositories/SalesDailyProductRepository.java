@@ -0,0 +1,93 @@
+package com.example.delogica.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.example.delogica.dtos.output.SalesByProductOutputDTO;
+import com.example.delogica.models.SalesDailyProduct;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositorio del agregado diario de ventas por producto.
+ */
+public interface SalesDailyProductRepository extends JpaRepository<SalesDailyProduct, SalesDailyProduct.Key> {
+
+    /**
+     * Suma (o resta, con valores negativos) unidades e importe a la fila del día y producto,
+     * creándola si no existe.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_product"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_product (sales_date, product_id, units, revenue)
+            VALUES (:salesDate, :productId, :units, :revenue)
+            ON DUPLICATE KEY UPDATE units = units + :units, revenue = revenue + :revenue
+            """, nativeQuery = true)
+    int increment(LocalDate salesDate, Long productId, long units, BigDecimal revenue);
+
+    /**
+     * Suma (<code>sign</code> 1) o resta (-1) las líneas de los pedidos indicados a las filas
+     * de su día y producto con una sola sentencia, sea cual sea el número de líneas. Las
+     * filas se escriben por día y producto, el mismo orden en todas las transacciones.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_product"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_product (sales_date, product_id, units, revenue)
+            SELECT CAST(o.order_date AS DATE), i.product_id, :sign * SUM(i.quantity), :sign * SUM(i.quantity * i.unit_price)
+            FROM orders o JOIN order_items i ON i.order_id = o.id
+            WHERE o.id IN (:orderIds)
+            GROUP BY CAST(o.order_date AS DATE), i.product_id
+            ORDER BY CAST(o.order_date AS DATE), i.product_id
+            ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue)
+            """, nativeQuery = true)
+    int addOrders(Collection<Long> orderIds, int sign);
+
+    /**
+     * Totales por producto en el rango de días indicado (ambos inclusive), de mayor a menor importe.
+     */
+    @Query("""
+            SELECT new com.example.delogica.dtos.output.SalesByProductOutputDTO(s.productId, SUM(s.units), SUM(s.revenue))
+            FROM SalesDailyProduct s
+            WHERE s.salesDate BETWEEN :from AND :to
+            GROUP BY s.productId
+            ORDER BY SUM(s.revenue) DESC, s.productId
+            """)
+    List<SalesByProductOutputDTO> totalsByProduct(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM SalesDailyProduct s WHERE s.salesDate BETWEEN :from AND :to")
+    int deleteRange(LocalDate from, LocalDate to);
+
+    /**
+     * Recalcula el agregado desde las tablas de pedidos y líneas, calientes y archivadas,
+     * para los pedidos con fecha en <code>[from, toExclusive)</code>.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_product"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_product (sales_date, product_id, units, revenue)
+            SELECT CAST(l.order_date AS DATE), l.product_id, SUM(l.quantity), SUM(l.quantity * l.unit_price)
+            FROM (
+                SELECT o.order_date, i.product_id, i.quantity, i.unit_price
+                FROM orders o JOIN order_items i ON i.order_id = o.id
+                WHERE o.status <> 'CANCELLED' AND o.order_date >= :from AND o.order_date < :toExclusive
+                UNION ALL
+                SELECT o.order_date, i.product_id, i.quantity, i.unit_price
+                FROM orders_archive o JOIN order_items_archive i ON i.order_id = o.id
+                WHERE o.status <> 'CANCELLED' AND o.order_date >= :from AND o.order_date < :toExclusive
+            ) l
+            GROUP BY CAST(l.order_date AS DATE), l.product_id
+            """, nativeQuery = true)
+    int rebuild(LocalDateTime from, LocalDateTime toExclusive);
+}
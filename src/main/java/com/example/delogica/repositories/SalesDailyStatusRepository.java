@@ -0,0 +1,89 @@
+package com.example.delogica.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.example.delogica.dtos.output.SalesByStatusOutputDTO;
+import com.example.delogica.models.SalesDailyStatus;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositorio del agregado diario de pedidos por estado.
+ */
+public interface SalesDailyStatusRepository extends JpaRepository<SalesDailyStatus, SalesDailyStatus.Key> {
+
+    /**
+     * Suma (o resta, con valores negativos) pedidos e importe a la fila del día, estado y
+     * ranura, creándola si no existe.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_status"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_status (sales_date, status, slot, order_count, revenue)
+            VALUES (:salesDate, :status, :slot, :orders, :revenue)
+            ON DUPLICATE KEY UPDATE order_count = order_count + :orders, revenue = revenue + :revenue
+            """, nativeQuery = true)
+    int increment(LocalDate salesDate, String status, int slot, long orders, BigDecimal revenue);
+
+    /**
+     * Mueve un pedido de un estado a otro en la misma ranura con una sola sentencia: resta
+     * de la fila de <code>fromStatus</code> y suma a la de <code>toStatus</code>. Las
+     * transiciones siempre van a un estado posterior, así que las filas se bloquean en el
+     * mismo orden que en {@link #increment} aplicado por estado.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_status"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_status (sales_date, status, slot, order_count, revenue)
+            VALUES (:salesDate, :fromStatus, :slot, -1, -:amount), (:salesDate, :toStatus, :slot, 1, :amount)
+            ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), revenue = revenue + VALUES(revenue)
+            """, nativeQuery = true)
+    int move(LocalDate salesDate, int slot, String fromStatus, String toStatus, BigDecimal amount);
+
+    /**
+     * Totales del rango de días indicado (ambos inclusive), por día y estado, sumando las
+     * ranuras.
+     */
+    @Query("""
+            SELECT new com.example.delogica.dtos.output.SalesByStatusOutputDTO(s.salesDate, s.status, SUM(s.orderCount), SUM(s.revenue))
+            FROM SalesDailyStatus s
+            WHERE s.salesDate BETWEEN :from AND :to
+            GROUP BY s.salesDate, s.status
+            HAVING SUM(s.orderCount) <> 0
+            ORDER BY s.salesDate, s.status
+            """)
+    List<SalesByStatusOutputDTO> findRange(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM SalesDailyStatus s WHERE s.salesDate BETWEEN :from AND :to")
+    int deleteRange(LocalDate from, LocalDate to);
+
+    /**
+     * Recalcula el agregado desde <code>orders</code> y <code>orders_archive</code> para los
+     * pedidos con fecha en <code>[from, toExclusive)</code>, en la ranura 0.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_status"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_status (sales_date, status, slot, order_count, revenue)
+            SELECT CAST(o.order_date AS DATE), o.status, 0, COUNT(*), SUM(o.total)
+            FROM (
+                SELECT order_date, status, total FROM orders
+                WHERE order_date >= :from AND order_date < :toExclusive
+                UNION ALL
+                SELECT order_date, status, total FROM orders_archive
+                WHERE order_date >= :from AND order_date < :toExclusive
+            ) o
+            GROUP BY CAST(o.order_date AS DATE), o.status
+            """, nativeQuery = true)
+    int rebuild(LocalDateTime from, LocalDateTime toExclusive);
+}
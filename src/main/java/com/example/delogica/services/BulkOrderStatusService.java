@@ -0,0 +1,30 @@
+package com.example.delogica.services;
+
+import java.util.List;
+
+import com.example.delogica.dtos.input.OrderBulkStatusInputDTO;
+import com.example.delogica.dtos.output.OrderBulkStatusOutputDTO;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO;
+import com.example.delogica.models.OrderStatus;
+
+/**
+ * Cambio de estado de muchos pedidos a la vez, con las mismas reglas de transición que
+ * {@link OrderService#changeStatus}.
+ */
+public interface BulkOrderStatusService {
+
+    /**
+     * Aplica el estado a los pedidos indicados por tramos, cada uno en su propia transacción.
+     * Los pedidos inexistentes o con una transición no permitida se rechazan sin afectar
+     * al resto.
+     */
+    OrderBulkStatusOutputDTO changeStatus(OrderBulkStatusInputDTO input);
+
+    /**
+     * Aplica el estado a un tramo de pedidos en una sola transacción. Los IDs deben llegar
+     * sin duplicados y en orden ascendente, el mismo orden de bloqueo que el resto de escrituras.
+     *
+     * @return el resultado de cada pedido del tramo, en el mismo orden
+     */
+    List<OrderStatusResultOutputDTO> changeStatusChunk(List<Long> sortedIds, OrderStatus target);
+}
@@ -0,0 +1,39 @@
+package com.example.delogica.services;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Ingesta de manifiestos de transportista: marca como SHIPPED los pedidos listados, con las
+ * mismas reglas de transición que {@link OrderService#changeStatus}.
+ */
+public interface CarrierManifestService {
+
+    /**
+     * Resultado de un manifiesto.
+     *
+     * @param records    líneas con un ID válido
+     * @param duplicates líneas con un ID ya visto en el mismo manifiesto
+     * @param malformed  líneas sin un ID válido
+     * @param updated    pedidos pasados a SHIPPED
+     * @param rejected   pedidos con una transición no permitida (no estaban en PAID)
+     * @param notFound   IDs sin pedido
+     */
+    record Result(String file, long records, long duplicates, long malformed,
+                  long updated, long rejected, long notFound, Duration elapsed) {
+    }
+
+    /**
+     * Procesa un manifiesto por tramos de <code>orders.manifest.batch-size</code> pedidos,
+     * cada uno en su propia transacción. Reprocesar un manifiesto no cambia nada: sus
+     * pedidos ya están en SHIPPED y se rechazan.
+     */
+    Result ingest(Path file);
+
+    /**
+     * Procesa los manifiestos pendientes del directorio de entrada en orden de nombre y los
+     * mueve al directorio de procesados, o al de fallidos si no se pudieron leer.
+     */
+    List<Result> ingestInbox();
+}
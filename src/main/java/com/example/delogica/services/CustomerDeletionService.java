@@ -0,0 +1,22 @@
+package com.example.delogica.services;
+
+import com.example.delogica.dtos.output.CustomerDeletionJobOutputDTO;
+
+/**
+ * Borrado asíncrono de clientes por tramos.
+ */
+public interface CustomerDeletionService {
+
+    /**
+     * Acepta el borrado del cliente y lo deja en cola sin esperar a que se ejecute. Si ya
+     * hay un borrado pendiente o en curso para ese cliente, devuelve ese.
+     *
+     * @return estado inicial del borrado
+     */
+    CustomerDeletionJobOutputDTO submit(Long customerId);
+
+    /**
+     * Estado actual de un borrado aceptado en este nodo.
+     */
+    CustomerDeletionJobOutputDTO findJob(String jobId);
+}
@@ -0,0 +1,21 @@
+package com.example.delogica.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.example.delogica.dtos.output.CustomerImportOutputDTO;
+
+/**
+ * Importación masiva de clientes desde NDJSON (un {@code CustomerInput} por línea).
+ */
+public interface CustomerImportService {
+
+    /**
+     * Lee <code>in</code> línea a línea y crea los clientes válidos con sus direcciones,
+     * aplicando las mismas reglas que la creación individual. Los registros inválidos o con
+     * email repetido se rechazan sin detener la importación.
+     *
+     * @return resumen de la importación con los registros rechazados
+     */
+    CustomerImportOutputDTO importNdjson(InputStream in) throws IOException;
+}
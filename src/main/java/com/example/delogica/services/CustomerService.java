@@ -9,18 +9,29 @@ import com.example.delogica.dtos.output.AddressOutputDTO;
 import com.example.delogica.dtos.output.CustomerOutputDTO;
 
 public interface CustomerService {
-    
+
+    /**
+     * Modo de búsqueda por email.
+     * <p>
+     * EXACT y PREFIX usan el índice de <code>email_normalized</code>; DOMAIN usa el de
+     * <code>email_domain</code> y devuelve los clientes en orden de ID; CONTAINS recorre la tabla completa y es solo para casos puntuales.
+     * </p>
+     */
+    enum EmailMatch { EXACT, PREFIX, DOMAIN, CONTAINS }
+
     CustomerOutputDTO create (CustomerInputDTO input);
 
     CustomerOutputDTO findById(Long customerId);
 
     CustomerOutputDTO update (Long customerId, CustomerInputDTO input);
 
-    void delete (Long customerId);
-
-    Page<CustomerOutputDTO> findAll (Pageable pageable);
+    /**
+     * Página de clientes. Con <code>includeAddresses</code>, las direcciones de la página se
+     * cargan en una sola consulta; sin él, se omiten de la respuesta.
+     */
+    Page<CustomerOutputDTO> findAll (Pageable pageable, boolean includeAddresses);
 
-    Page<CustomerOutputDTO> searchCustomers(String email, Pageable pageable);
+    Page<CustomerOutputDTO> searchCustomers(String email, EmailMatch match, boolean includeAddresses, Pageable pageable);
 
     AddressOutputDTO createAddress(Long customerId, AddressInputDTO input);
     void setDefaultAddress(Long customerId, Long addressId);
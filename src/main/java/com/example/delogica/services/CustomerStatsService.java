@@ -0,0 +1,31 @@
+package com.example.delogica.services;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.delogica.dtos.output.CustomerStatsOutputDTO;
+
+/**
+ * Estadísticas de pedidos por cliente servidas desde <code>customer_stats</code>,
+ * sin recorrer la tabla de pedidos.
+ */
+public interface CustomerStatsService {
+
+    /** Estadísticas del cliente; a cero si todavía no tiene pedidos. */
+    CustomerStatsOutputDTO findByCustomer(Long customerId);
+
+    /**
+     * Clientes con pedidos, por defecto de mayor a menor valor acumulado. Admite ordenar por
+     * <code>lifetimeValue</code>, <code>orderCount</code>, <code>lastOrderDate</code> y
+     * <code>customerId</code>.
+     */
+    Page<CustomerStatsOutputDTO> ranking(Pageable pageable);
+
+    /**
+     * Recalcula las estadísticas de todos los clientes desde las tablas de pedidos.
+     * Pensado para el relleno inicial: no debe coincidir con escrituras de pedidos.
+     *
+     * @return número de clientes con estadísticas
+     */
+    int rebuild();
+}
@@ -0,0 +1,65 @@
+package com.example.delogica.services;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.delogica.dtos.output.OrderOutputDTO;
+import com.example.delogica.models.OrderStatus;
+
+/**
+ * Archivado de pedidos en estado final y lectura del archivo
+ * (<code>orders_archive</code> y <code>order_items_archive</code>).
+ */
+public interface OrderArchiveService {
+
+    /**
+     * Indica si una búsqueda con estos filtros puede alcanzar pedidos archivados: el archivo
+     * solo contiene pedidos SHIPPED o CANCELLED anteriores al umbral de antigüedad, y no se
+     * consulta si está vacío o el rango pedido no se solapa con el de sus fechas.
+     */
+    boolean mayContain(LocalDateTime fromDate, LocalDateTime toDate, OrderStatus status);
+
+    /** Pedido archivado, o vacío si no está en el archivo o el archivo está desactivado. */
+    Optional<OrderOutputDTO> findById(Long id);
+
+    /** Revisión del detalle de un pedido archivado, o vacía si no está en el archivo o está desactivado. */
+    Optional<String> findRevision(Long id);
+
+    /** Estado de un pedido archivado, o vacío si no está en el archivo. */
+    Optional<OrderStatus> findStatus(Long id);
+
+    /** Estado de los pedidos archivados entre los indicados; vacío si el archivo está desactivado. */
+    Map<Long, OrderStatus> findStatuses(Collection<Long> ids);
+
+    /**
+     * Combina una búsqueda sobre las tablas calientes con la misma búsqueda sobre el archivo,
+     * respetando la ordenación y la paginación pedidas. Cualquier página válida se sirve:
+     * la mezcla trabaja con las claves de ordenación y solo carga los pedidos de la página.
+     *
+     * @param hotLoader carga los pedidos calientes completos de los IDs indicados
+     */
+    Page<OrderOutputDTO> searchWithHot(Pageable pageable, Long customerId, LocalDateTime fromDate,
+            LocalDateTime toDate, OrderStatus status, Function<Collection<Long>, List<OrderOutputDTO>> hotLoader);
+
+    /**
+     * Mueve al archivo un lote de pedidos en estado final con fecha anterior a <code>cutoff</code>.
+     *
+     * @return número de pedidos archivados; 0 si no quedan pendientes
+     */
+    int archiveBatch(LocalDateTime cutoff, int batchSize);
+
+    /**
+     * Archiva, lote a lote y en transacciones separadas, todos los pedidos pendientes
+     * según la configuración.
+     *
+     * @return número de pedidos archivados
+     */
+    int archive();
+}
@@ -0,0 +1,25 @@
+package com.example.delogica.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cancelación de pedidos que siguen en CREATED pasado el tiempo máximo sin pagar.
+ */
+public interface OrderExpirationService {
+
+    /**
+     * Cancela un lote de pedidos en CREATED con fecha anterior a <code>cutoff</code> y
+     * devuelve su stock. Los pedidos bloqueados por otra transacción se saltan.
+     *
+     * @return número de pedidos cancelados; 0 si no quedan pendientes
+     */
+    int expireBatch(LocalDateTime cutoff, int batchSize);
+
+    /**
+     * Cancela, lote a lote y en transacciones separadas, los pedidos pendientes según
+     * la configuración.
+     *
+     * @return número de pedidos cancelados
+     */
+    int expire();
+}
@@ -0,0 +1,55 @@
+package com.example.delogica.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import com.example.delogica.models.OrderStatus;
+
+/**
+ * Exportación de pedidos en streaming, sin paginar ni materializar el resultado.
+ */
+public interface OrderExportService {
+
+    /**
+     * Formatos de exportación soportados.
+     */
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportación no soportado: " + value);
+            }
+        }
+    }
+
+    /**
+     * Escribe en <code>out</code> los pedidos que cumplen los filtros: primero los de las tablas
+     * calientes y después los archivados, cada grupo en orden de ID.
+     *
+     * @return número de pedidos exportados
+     */
+    long export(OutputStream out, Format format, Long customerId, LocalDateTime fromDate, LocalDateTime toDate,
+            OrderStatus status) throws IOException;
+}
@@ -1,6 +1,7 @@
 package com.example.delogica.services;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,5 +20,11 @@ public interface OrderService {
 
     OrderOutputDTO getById(Long id);
 
+    /**
+     * Revisión del detalle del pedido, caliente o archivado, o vacío si no existe: cambia con
+     * cualquier cambio de lo que devuelve {@link #getById}.
+     */
+    Optional<String> findRevision(Long id);
+
     OrderOutputDTO changeStatus(Long id, OrderStatusInputDTO status);
 }
@@ -0,0 +1,40 @@
+package com.example.delogica.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.delogica.dtos.output.OrderOutputDTO;
+import com.example.delogica.models.OrderStatus;
+
+/**
+ * Mantenimiento y consulta del modelo de lectura de pedidos (<code>order_view</code>).
+ */
+public interface OrderViewService {
+
+    /** Indica si las lecturas de pedidos deben servirse desde el modelo de lectura. */
+    boolean isReadEnabled();
+
+    /** Pedido renderizado, o vacío si todavía no tiene fila en el modelo de lectura. */
+    Optional<OrderOutputDTO> findById(Long id);
+
+    /**
+     * Búsqueda paginada sobre el modelo de lectura. Vacío si la ordenación pedida
+     * no se puede resolver con sus columnas.
+     */
+    Optional<Page<OrderOutputDTO>> search(Pageable pageable, Long customerId, LocalDateTime fromDate,
+            LocalDateTime toDate, OrderStatus status);
+
+    /**
+     * Proyecta un lote de pedidos posteriores a <code>afterId</code> que aún no tienen fila
+     * en el modelo de lectura, o la tienen sin cliente renderizado.
+     *
+     * @param afterId    último ID proyectado en el lote anterior (0 para empezar)
+     * @param batchSize  tamaño del lote
+     * @return IDs proyectados, en orden ascendente; vacío cuando no queda ninguno
+     */
+    List<Long> backfill(Long afterId, int batchSize);
+}
@@ -1,5 +1,7 @@
 package com.example.delogica.services;
 
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,6 +14,9 @@ public interface ProductService {
 
     ProductOutputDTO findById(Long productId);
 
+    /** Revisión del producto, o vacío si no existe; cambia con cualquier cambio de su detalle. */
+    Optional<Long> findRevision(Long productId);
+
     Page<ProductOutputDTO> search (Pageable pageable, String name, Boolean active);
 
     ProductOutputDTO update (Long productId, ProductInputDTO input);
@@ -0,0 +1,34 @@
+package com.example.delogica.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.delogica.dtos.output.SalesByProductOutputDTO;
+import com.example.delogica.dtos.output.SalesByStatusOutputDTO;
+
+/**
+ * Informes de ventas servidos desde los agregados diarios
+ * (<code>sales_daily_status</code> y <code>sales_daily_product</code>).
+ */
+public interface SalesReportService {
+
+    List<SalesByStatusOutputDTO> byStatus(LocalDate from, LocalDate to);
+
+    List<SalesByProductOutputDTO> byProduct(LocalDate from, LocalDate to);
+
+    /**
+     * Recalcula los agregados del rango de días (ambos inclusive) desde las tablas de pedidos,
+     * un día por transacción. Pensado para el relleno inicial o días pasados: las escrituras
+     * concurrentes sobre esos días durante el recálculo pueden no quedar reflejadas.
+     *
+     * @return número de días recalculados
+     */
+    int rebuild(LocalDate from, LocalDate to);
+
+    /**
+     * Recalcula los agregados de todo el histórico de pedidos, día a día.
+     *
+     * @return número de días recalculados
+     */
+    int rebuildAll();
+}
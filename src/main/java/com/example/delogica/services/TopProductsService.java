@@ -0,0 +1,11 @@
+package com.example.delogica.services;
+
+import com.example.delogica.dtos.output.TopProductsOutputDTO;
+
+/**
+ * Ranking en vivo de productos más vendidos en una ventana deslizante.
+ */
+public interface TopProductsService {
+
+    TopProductsOutputDTO top(int limit);
+}
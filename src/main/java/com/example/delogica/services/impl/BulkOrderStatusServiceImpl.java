@@ -0,0 +1,154 @@
+package com.example.delogica.services.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.dtos.input.OrderBulkStatusInputDTO;
+import com.example.delogica.dtos.output.OrderBulkStatusOutputDTO;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO.Outcome;
+import com.example.delogica.events.OrderSnapshot;
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.repositories.OrderItemRepository;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.repositories.OrderRepository.Header;
+import com.example.delogica.repositories.ProductRepository;
+import com.example.delogica.services.BulkOrderStatusService;
+import com.example.delogica.services.OrderArchiveService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cambio de estado masivo por tramos de {@value #CHUNK_SIZE} pedidos.
+ * <p>
+ * En cada tramo:<br>
+ * - Bloquea los pedidos en orden de ID y lee solo su estado.<br>
+ * - Valida cada transición con {@link OrderStatus#canTransitionTo}.<br>
+ * - Si se cancela, bloquea sus productos en orden de ID y devuelve el stock de todas las líneas
+ * válidas con una sola sentencia.<br>
+ * - Cambia el estado de los válidos con una sola sentencia y publica un único
+ * {@link OrderStatusBulkChangedEvent} con los cambios del tramo, sin cargar entidades: los
+ * oyentes lo aplican con sentencias agregadas en lugar de pedido a pedido.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkOrderStatusServiceImpl implements BulkOrderStatusService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkOrderStatusServiceImpl.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public OrderBulkStatusOutputDTO changeStatus(OrderBulkStatusInputDTO input) {
+        OrderStatus target;
+        try {
+            target = OrderStatus.valueOf(input.getStatus().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado inválido: " + input.getStatus());
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(input.getIds()));
+        logger.info("Cambiando a {} el estado de {} pedidos", target, ids.size());
+
+        // Tramos en orden ascendente de ID: mismo orden de bloqueo que en el resto de escrituras
+        List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+        Map<Long, OrderStatusResultOutputDTO> results = new HashMap<>();
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size()));
+            changeStatusChunk(chunk, target).forEach(result -> results.put(result.getId(), result));
+        }
+
+        OrderBulkStatusOutputDTO output = new OrderBulkStatusOutputDTO();
+        output.setStatus(target);
+        for (Long id : ids) {
+            OrderStatusResultOutputDTO result = results.get(id);
+            output.getResults().add(result);
+            if (result.getOutcome() == Outcome.UPDATED) {
+                output.setUpdated(output.getUpdated() + 1);
+            } else {
+                output.setRejected(output.getRejected() + 1);
+            }
+        }
+        logger.info("Cambio masivo a {}: {} pedidos actualizados, {} rechazados", target,
+                output.getUpdated(), output.getRejected());
+        return output;
+    }
+
+    @Override
+    public List<OrderStatusResultOutputDTO> changeStatusChunk(List<Long> sortedIds, OrderStatus target) {
+        return transactionTemplate.execute(status -> applyChunk(sortedIds, target));
+    }
+
+    private List<OrderStatusResultOutputDTO> applyChunk(List<Long> chunk, OrderStatus target) {
+        Map<Long, Header> current = new LinkedHashMap<>();
+        orderRepository.lockHeadersByIdIn(chunk).forEach(row -> current.put(row.getId(), row));
+
+        List<Long> missing = chunk.stream().filter(id -> !current.containsKey(id)).toList();
+        // Un pedido archivado está en estado final: su transición se rechaza como inválida
+        Map<Long, OrderStatus> archived = missing.isEmpty() ? Map.of() : orderArchiveService.findStatuses(missing);
+
+        List<OrderStatusResultOutputDTO> results = new ArrayList<>(chunk.size());
+        List<Long> valid = new ArrayList<>();
+        for (Long id : chunk) {
+            OrderStatus previous = current.containsKey(id) ? current.get(id).getStatus() : archived.get(id);
+            Outcome outcome;
+            if (previous == null) {
+                outcome = Outcome.NOT_FOUND;
+            } else if (current.containsKey(id) && previous.canTransitionTo(target)) {
+                outcome = Outcome.UPDATED;
+                valid.add(id);
+            } else {
+                outcome = Outcome.INVALID_TRANSITION;
+            }
+            results.add(new OrderStatusResultOutputDTO(id, outcome, previous));
+        }
+        if (valid.isEmpty()) {
+            return results;
+        }
+
+        if (target == OrderStatus.CANCELLED) {
+            // Bloquea los productos en orden de ID antes del UPDATE masivo, como el resto de escrituras
+            productRepository.lockIdsForOrders(valid);
+            // Una sentencia por tramo: invalida la región de productos de la caché una vez por tramo
+            productRepository.restoreStockForOrders(valid);
+        }
+        orderRepository.updateStatus(valid, target);
+
+        // Un solo evento por tramo, con las columnas del bloqueo y las líneas leídas sin productos
+        Map<Long, List<OrderSnapshot.Line>> lines = new HashMap<>();
+        for (OrderItemRepository.Line line : orderItemRepository.findLinesByOrderIdIn(valid)) {
+            lines.computeIfAbsent(line.getOrderId(), id -> new ArrayList<>())
+                    .add(new OrderSnapshot.Line(line.getProductId(), line.getQuantity(), line.getUnitPrice()));
+        }
+        List<OrderStatusChangedEvent> changes = new ArrayList<>(valid.size());
+        for (Long id : valid) {
+            Header order = current.get(id);
+            OrderSnapshot snapshot = new OrderSnapshot(id, order.getCustomerId(), order.getOrderDate(), target,
+                    order.getTotal(), lines.getOrDefault(id, List.of()));
+            changes.add(new OrderStatusChangedEvent(snapshot, order.getStatus()));
+        }
+        eventPublisher.publishEvent(new OrderStatusBulkChangedEvent(changes));
+        return results;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.delogica.services.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.example.delogica.config.manifest.CarrierManifestProperties;
+import com.example.delogica.config.manifest.LongHashSet;
+import com.example.delogica.config.manifest.ManifestParser;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.services.BulkOrderStatusService;
+import com.example.delogica.services.CarrierManifestService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ingesta de manifiestos de transportista.
+ * <p>
+ * - Lee el fichero proyectado en memoria con {@link ManifestParser} y descarta los IDs
+ * repetidos en un {@link LongHashSet}, sin objetos por línea.<br>
+ * - Recorre los IDs en orden ascendente por tramos con
+ * {@link BulkOrderStatusService#changeStatusChunk}: un bloqueo, un UPDATE y un solo
+ * {@link com.example.delogica.events.OrderStatusBulkChangedEvent} por tramo, que el modelo de
+ * lectura, los agregados y las estadísticas aplican con sentencias agregadas, sin cargar ni
+ * renderizar pedidos.<br>
+ * - Informa del progreso y del ritmo (pedidos/s) cada <code>progress-interval</code>.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CarrierManifestServiceImpl implements CarrierManifestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarrierManifestServiceImpl.class);
+
+    /** Tamaño medio estimado de una línea, para dimensionar el conjunto de IDs. */
+    private static final int ESTIMATED_BYTES_PER_RECORD = 12;
+
+    /**
+     * Tope del tamaño inicial del conjunto de IDs (unos 2 MB): un manifiesto grande no reserva
+     * de golpe un array enorme; el conjunto crece según se leen IDs distintos.
+     */
+    private static final int MAX_INITIAL_IDS = 1 << 16;
+
+    private final BulkOrderStatusService bulkOrderStatusService;
+    private final CarrierManifestProperties properties;
+
+    @Override
+    public Result ingest(Path file) {
+        long start = System.nanoTime();
+        String name = file.getFileName().toString();
+
+        LongHashSet ids;
+        ManifestParser.Stats stats;
+        try {
+            ids = new LongHashSet((int) Math.min(Files.size(file) / ESTIMATED_BYTES_PER_RECORD, MAX_INITIAL_IDS));
+            stats = new ManifestParser(properties.getIdWidth()).parse(file, ids::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el manifiesto " + name, e);
+        }
+        long[] sorted = ids.toSortedArray();
+        logger.info("Manifiesto {}: {} líneas leídas en {} ms ({} IDs distintos, {} erróneas)", name,
+                stats.records(), elapsedMillis(start), sorted.length, stats.malformed());
+
+        long updated = 0;
+        long rejected = 0;
+        long notFound = 0;
+        long lastReport = System.nanoTime();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < sorted.length; from += batchSize) {
+            int to = Math.min(from + batchSize, sorted.length);
+            List<Long> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(sorted[i]);
+            }
+            for (OrderStatusResultOutputDTO result : bulkOrderStatusService.changeStatusChunk(chunk, OrderStatus.SHIPPED)) {
+                switch (result.getOutcome()) {
+                    case UPDATED -> updated++;
+                    case INVALID_TRANSITION -> rejected++;
+                    case NOT_FOUND -> notFound++;
+                }
+            }
+
+            long now = System.nanoTime();
+            if (now - lastReport >= properties.getProgressInterval().toNanos()) {
+                lastReport = now;
+                logger.info("Manifiesto {}: {}/{} pedidos procesados ({}%), {} pedidos/s", name, to,
+                        sorted.length, to * 100L / sorted.length, throughput(to, start));
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        logger.info("Manifiesto {} procesado en {} ms: {} enviados, {} rechazados, {} inexistentes, {} pedidos/s",
+                name, elapsed.toMillis(), updated, rejected, notFound, throughput(sorted.length, start));
+        return new Result(name, stats.records(), stats.records() - sorted.length, stats.malformed(),
+                updated, rejected, notFound, elapsed);
+    }
+
+    @Override
+    public List<Result> ingestInbox() {
+        Path inbox = properties.getInboxDir();
+        if (!Files.isDirectory(inbox)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(inbox, properties.getFilePattern())) {
+            stream.forEach(path -> {
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo listar " + inbox, e);
+        }
+        files.sort(null);
+
+        List<Result> results = new ArrayList<>();
+        // Un fichero que falla no impide procesar los siguientes
+        for (Path file : files) {
+            Result result;
+            try {
+                result = ingest(file);
+            } catch (UncheckedIOException e) {
+                logger.error("Manifiesto {} no procesado", file.getFileName(), e);
+                move(file, properties.getFailedDir());
+                continue;
+            } catch (DataAccessException e) {
+                // Fallo de base de datos, posiblemente pasajero: el fichero se queda en la bandeja y
+                // se reintenta en la siguiente revisión (los tramos ya aplicados salen como rechazados)
+                logger.error("Manifiesto {} interrumpido por un error de base de datos; se reintentará",
+                        file.getFileName(), e);
+                continue;
+            }
+            results.add(result);
+            move(file, properties.getProcessedDir());
+        }
+        return results;
+    }
+
+    private static void move(Path file, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Files.move(file, directory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.error("No se pudo mover el manifiesto {} a {}", file.getFileName(), directory, e);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long throughput(long processed, long start) {
+        long nanos = Math.max(1, System.nanoTime() - start);
+        return processed * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.delogica.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.config.deletion.CustomerDeletionProperties;
+import com.example.delogica.config.exceptions.ResourceNotFoundException;
+import com.example.delogica.dtos.output.CustomerDeletionJobOutputDTO;
+import com.example.delogica.dtos.output.CustomerDeletionJobOutputDTO.Outcome;
+import com.example.delogica.dtos.output.CustomerDeletionJobOutputDTO.Status;
+import com.example.delogica.events.CustomerAnonymizedEvent;
+import com.example.delogica.events.CustomerChangedEvent;
+import com.example.delogica.models.Customer;
+import com.example.delogica.repositories.AddressRepository;
+import com.example.delogica.repositories.ArchivedOrderRepository;
+import com.example.delogica.repositories.CustomerRepository;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.services.CustomerDeletionService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Borra clientes en segundo plano, por tramos y con sentencias sobre conjuntos de filas.
+ * <p>
+ * La petición solo comprueba que el cliente existe y registra el borrado; un hilo propio lo
+ * ejecuta cuando se confirma la transacción de la petición, si la hay:<br>
+ * 1. Borra, por tramos, las direcciones que no usa ningún pedido.<br>
+ * 2. Anonimiza, por tramos, las que quedan (las de envío de algún pedido).<br>
+ * 3. Con el cliente bloqueado: si no tiene pedidos, lo borra; si los tiene, lo anonimiza.<br>
+ * 4. Si se anonimizó, publica un {@link CustomerAnonymizedEvent} por cada tramo de sus
+ * pedidos, calientes y archivados, para rehacer las copias de sus datos.
+ * </p>
+ * <p>
+ * Cada tramo es una transacción, así que un fallo deja hecho lo anterior y el borrado
+ * puede repetirse. El estado de los borrados se guarda en memoria del nodo que los aceptó
+ * y se descarta <code>retention</code> después de terminar.
+ * </p>
+ */
+@Service
+public class CustomerDeletionServiceImpl implements CustomerDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerDeletionServiceImpl.class);
+
+    static final String ANONYMIZED_NAME = "Cliente eliminado";
+    static final String ANONYMIZED_LINE = "Dirección anonimizada";
+    static final String ANONYMIZED_POSTAL_CODE = "00000";
+
+    private final CustomerRepository customerRepository;
+    private final AddressRepository addressRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerDeletionProperties properties;
+    private final ExecutorService executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Job> activeByCustomer = new ConcurrentHashMap<>();
+
+    public CustomerDeletionServiceImpl(CustomerRepository customerRepository, AddressRepository addressRepository,
+            OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+            ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+            CustomerDeletionProperties properties) {
+        this.customerRepository = customerRepository;
+        this.addressRepository = addressRepository;
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "customer-deletion-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            // Lo interrumpido se queda a medio tramo sin confirmar: el borrado puede repetirse
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public CustomerDeletionJobOutputDTO submit(Long customerId) {
+        if (!customerRepository.existsById(customerId)) {
+            throw ResourceNotFoundException.forId(Customer.class, customerId);
+        }
+        purgeFinished();
+
+        Job created = new Job(customerId);
+        Job active = activeByCustomer.putIfAbsent(customerId, created);
+        if (active != null) {
+            logger.info("El cliente {} ya tiene un borrado en curso: {}", customerId, active.id);
+            return active.toOutput();
+        }
+        jobs.put(created.id, created);
+        logger.info("Borrado {} aceptado para el cliente {}", created.id, customerId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Solo si la petición confirma: el hilo del borrado no vería lo que no está confirmado
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        start(created);
+                    } else {
+                        discard(created);
+                    }
+                }
+            });
+        } else {
+            start(created);
+        }
+        return created.toOutput();
+    }
+
+    @Override
+    public CustomerDeletionJobOutputDTO findJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Borrado de cliente no encontrado: " + jobId);
+        }
+        return job.toOutput();
+    }
+
+    private void start(Job job) {
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            job.fail("El servicio se está deteniendo");
+            activeByCustomer.remove(job.customerId, job);
+        }
+    }
+
+    private void discard(Job job) {
+        jobs.remove(job.id);
+        activeByCustomer.remove(job.customerId, job);
+    }
+
+    private void run(Job job) {
+        job.start();
+        logger.info("Iniciando borrado {} del cliente {}", job.id, job.customerId);
+        try {
+            deleteUnusedAddresses(job);
+            anonymizeUsedAddresses(job);
+            Outcome outcome = transactionTemplate.execute(status -> finish(job));
+            if (outcome == Outcome.ANONYMIZED) {
+                refreshOrders(job);
+            }
+            job.complete(outcome);
+            logger.info("Borrado {} del cliente {} terminado: {} ({} direcciones borradas, {} anonimizadas, "
+                    + "{} pedidos refrescados)", job.id, job.customerId, outcome, job.addressesDeleted.get(),
+                    job.addressesAnonymized.get(), job.ordersRefreshed.get());
+        } catch (RuntimeException e) {
+            logger.error("Borrado {} del cliente {} interrumpido", job.id, job.customerId, e);
+            job.fail(e.getMessage());
+        } finally {
+            activeByCustomer.remove(job.customerId, job);
+        }
+    }
+
+    private void deleteUnusedAddresses(Job job) {
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = addressRepository.findUnreferencedIds(job.customerId, from,
+                        properties.getChunkSize());
+                if (!chunk.isEmpty()) {
+                    addressRepository.deleteByIdIn(chunk);
+                }
+                return chunk;
+            });
+            if (ids.isEmpty()) {
+                return;
+            }
+            job.addressesDeleted.addAndGet(ids.size());
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void anonymizeUsedAddresses(Job job) {
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = addressRepository.findIdsByCustomerIdAfter(job.customerId, from,
+                        properties.getChunkSize());
+                if (!chunk.isEmpty()) {
+                    addressRepository.anonymize(chunk, ANONYMIZED_LINE, ANONYMIZED_POSTAL_CODE);
+                }
+                return chunk;
+            });
+            if (ids.isEmpty()) {
+                return;
+            }
+            job.addressesAnonymized.addAndGet(ids.size());
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private Outcome finish(Job job) {
+        Long customerId = job.customerId;
+        Customer customer = customerRepository.findByIdWithLock(customerId)
+                .orElseThrow(() -> ResourceNotFoundException.forId(Customer.class, customerId));
+        String previousEmail = customer.getEmail();
+
+        if (!orderRepository.existsByCustomerId(customerId) && !archivedOrderRepository.existsByCustomerId(customerId)) {
+            customerRepository.delete(customer);
+            eventPublisher.publishEvent(new CustomerChangedEvent(customerId, previousEmail, null));
+            return Outcome.DELETED;
+        }
+
+        customer.setFullName(ANONYMIZED_NAME);
+        customer.setEmail(anonymizedEmail(customerId));
+        customer.setPhone(null);
+        customer.setDefaultAddressId(null);
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, previousEmail, customer.getEmail()));
+        return Outcome.ANONYMIZED;
+    }
+
+    private void refreshOrders(Job job) {
+        refreshOrders(job, (afterId, page) -> orderRepository.findIdsByCustomerIdAfter(job.customerId, afterId, page));
+        // Los pedidos archivados también se sirven (y se cachean) con los datos del cliente
+        refreshOrders(job,
+                (afterId, page) -> archivedOrderRepository.findIdsByCustomerIdAfter(job.customerId, afterId, page));
+    }
+
+    /**
+     * Publica un {@link CustomerAnonymizedEvent} por cada tramo de IDs que devuelve
+     * <code>findIdsAfter</code>, recorridos por clave.
+     */
+    private void refreshOrders(Job job, BiFunction<Long, Pageable, List<Long>> findIdsAfter) {
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = findIdsAfter.apply(from, PageRequest.of(0, properties.getChunkSize()));
+                if (!chunk.isEmpty()) {
+                    eventPublisher.publishEvent(new CustomerAnonymizedEvent(job.customerId, chunk));
+                }
+                return chunk;
+            });
+            if (ids.isEmpty()) {
+                return;
+            }
+            job.ordersRefreshed.addAndGet(ids.size());
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    static String anonymizedEmail(Long customerId) {
+        return "deleted-" + customerId + "@anonymized.invalid";
+    }
+
+    private void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    /** Estado mutable de un borrado; lo escribe su hilo y lo leen las consultas. */
+    private static final class Job {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Long customerId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong addressesDeleted = new AtomicLong();
+        private final AtomicLong addressesAnonymized = new AtomicLong();
+        private final AtomicLong ordersRefreshed = new AtomicLong();
+        private volatile Status status = Status.PENDING;
+        private volatile Outcome outcome;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(Long customerId) {
+            this.customerId = customerId;
+        }
+
+        private void start() {
+            startedAt = LocalDateTime.now();
+            status = Status.RUNNING;
+        }
+
+        private void complete(Outcome outcome) {
+            this.outcome = outcome;
+            finishedAt = LocalDateTime.now();
+            status = Status.COMPLETED;
+        }
+
+        private void fail(String error) {
+            this.error = error;
+            finishedAt = LocalDateTime.now();
+            status = Status.FAILED;
+        }
+
+        private CustomerDeletionJobOutputDTO toOutput() {
+            return new CustomerDeletionJobOutputDTO(id, customerId, status, outcome, addressesDeleted.get(),
+                    addressesAnonymized.get(), ordersRefreshed.get(), submittedAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.delogica.services.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.config.uniqueness.UniqueKeyFilters;
+import com.example.delogica.dtos.input.AddressInputDTO;
+import com.example.delogica.dtos.input.CustomerInputDTO;
+import com.example.delogica.dtos.output.CustomerImportErrorOutputDTO;
+import com.example.delogica.dtos.output.CustomerImportErrorOutputDTO.Reason;
+import com.example.delogica.dtos.output.CustomerImportOutputDTO;
+import com.example.delogica.events.CustomerChangedEvent;
+import com.example.delogica.models.Customer;
+import com.example.delogica.repositories.CustomerRepository;
+import com.example.delogica.repositories.CustomerRepository.IdAndEmail;
+import com.example.delogica.services.CustomerImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importa clientes por tramos de {@code chunkSize} registros.
+ * <p>
+ * Solo se retienen en memoria el tramo en curso y los primeros {@code maxErrors} rechazos,
+ * así que el consumo no depende del tamaño del fichero. En cada tramo, dentro de su propia
+ * transacción:<br>
+ * - Descarta emails repetidos en el tramo y los ya registrados, con una sola consulta
+ * <code>IN</code> sobre el email normalizado limitada a los que {@link UniqueKeyFilters} no
+ * descarta (ninguna si los descarta todos).<br>
+ * - Inserta clientes y direcciones con lotes JDBC (las claves IDENTITY impiden que Hibernate
+ * agrupe inserciones) y recupera los IDs nuevos con otra consulta <code>IN</code>.<br>
+ * - Fija la dirección default con las reglas de la creación individual y enlaza el puntero
+ * de todos los clientes del tramo con una sola sentencia.<br>
+ * - Publica un {@link CustomerChangedEvent} por cliente, como una creación individual.
+ * </p>
+ * <p>
+ * Si el tramo choca con la restricción UNIQUE de <code>email</code> (un alta de otro nodo que
+ * el filtro no conoce), se deshace y se repite registro a registro, consultando cada email.
+ * </p>
+ */
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerImportServiceImpl.class);
+
+    private static final String INSERT_CUSTOMER = "INSERT INTO customers "
+            + "(full_name, email, email_normalized, email_domain, phone, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ADDRESS = "INSERT INTO addresses "
+            + "(customer_id, line1, line2, city, postal_code, country, is_default) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ObjectReader reader;
+    private final Validator validator;
+    private final CustomerRepository customerRepository;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public CustomerImportServiceImpl(ObjectMapper objectMapper, Validator validator,
+            CustomerRepository customerRepository, UniqueKeyFilters uniqueKeyFilters, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+            @Value("${app.customer-import.chunk-size:500}") int chunkSize,
+            @Value("${app.customer-import.max-errors:1000}") int maxErrors) {
+        this.reader = objectMapper.readerFor(CustomerInputDTO.class);
+        this.validator = validator;
+        this.customerRepository = customerRepository;
+        this.uniqueKeyFilters = uniqueKeyFilters;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /** Registro válido pendiente de insertar, con su número de línea para el informe. */
+    private record Row(long line, CustomerInputDTO input, String emailNormalized) {
+    }
+
+    @Override
+    public CustomerImportOutputDTO importNdjson(InputStream in) throws IOException {
+        logger.info("Importando clientes en tramos de {}", chunkSize);
+        long start = System.nanoTime();
+
+        CustomerImportOutputDTO output = new CustomerImportOutputDTO();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Row row = parse(lineNumber, line, output);
+            if (row == null) {
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, output);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, output);
+        }
+
+        logger.info("Importación terminada en {} ms: {} clientes, {} direcciones, {} rechazados",
+                (System.nanoTime() - start) / 1_000_000, output.getImported(), output.getAddresses(),
+                output.getRejected());
+        return output;
+    }
+
+    private Row parse(long lineNumber, String line, CustomerImportOutputDTO output) {
+        CustomerInputDTO input;
+        try {
+            input = reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            reject(output, lineNumber, null, Reason.INVALID_JSON, e.getOriginalMessage());
+            return null;
+        }
+        if (input == null) {
+            reject(output, lineNumber, null, Reason.INVALID_JSON, "Se esperaba un objeto JSON");
+            return null;
+        }
+
+        Set<ConstraintViolation<CustomerInputDTO>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; "));
+            reject(output, lineNumber, input.getEmail(), Reason.VALIDATION_ERROR, message);
+            return null;
+        }
+        return new Row(lineNumber, input, Customer.normalizeEmail(input.getEmail()));
+    }
+
+    private void importChunk(List<Row> chunk, CustomerImportOutputDTO output) {
+        // Repetidos dentro del propio tramo: gana el primero
+        Map<String, Row> byEmail = new LinkedHashMap<>();
+        for (Row row : chunk) {
+            if (byEmail.putIfAbsent(row.emailNormalized(), row) != null) {
+                reject(output, row.line(), row.input().getEmail(), Reason.DUPLICATE_EMAIL,
+                        "Email repetido en la importación");
+            }
+        }
+
+        List<Row> rows = new ArrayList<>(byEmail.values());
+        List<Row> existing = new ArrayList<>();
+        long[] addresses = new long[1];
+        List<Row> inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> {
+                existing.clear();
+                // Solo se consultan los emails que el filtro no descarta
+                List<String> maybeExisting = byEmail.keySet().stream()
+                        .filter(uniqueKeyFilters::mightContainEmail)
+                        .toList();
+                Set<String> registered = new HashSet<>();
+                if (!maybeExisting.isEmpty()) {
+                    customerRepository.findByEmailNormalizedIn(maybeExisting)
+                            .forEach(customer -> registered.add(customer.getEmailNormalized()));
+                }
+                List<Row> pending = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    (registered.contains(row.emailNormalized()) ? existing : pending).add(row);
+                }
+                if (!pending.isEmpty()) {
+                    addresses[0] = insert(pending);
+                }
+                return pending;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Un alta concurrente o de otro nodo, que el filtro de este aún no conoce, choca con
+            // la restricción UNIQUE: el tramo se deshace y se repite registro a registro
+            logger.warn("Email ya registrado en el tramo que empieza en la línea {}; se importa registro a registro",
+                    chunk.get(0).line());
+            importRowByRow(rows, output);
+            return;
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo importar el tramo que empieza en la línea {}: {}", chunk.get(0).line(),
+                    e.getMostSpecificCause().getMessage());
+            rejectExisting(output, existing);
+            for (Row row : rows) {
+                if (!existing.contains(row)) {
+                    reject(output, row.line(), row.input().getEmail(), Reason.CONFLICT, "No se pudo guardar el tramo");
+                }
+            }
+            return;
+        }
+
+        rejectExisting(output, existing);
+        output.setImported(output.getImported() + inserted.size());
+        output.setAddresses(output.getAddresses() + addresses[0]);
+        logger.debug("Tramo importado: {} clientes, {} direcciones, {} ya existentes", inserted.size(),
+                addresses[0], existing.size());
+    }
+
+    /**
+     * Importa cada registro en su propia transacción, comprobando su email en base de datos
+     * sin pasar por el filtro. Solo se usa cuando un tramo choca con un email ya registrado.
+     */
+    private void importRowByRow(List<Row> rows, CustomerImportOutputDTO output) {
+        List<Row> existing = new ArrayList<>();
+        for (Row row : rows) {
+            try {
+                Long addresses = transactionTemplate.execute(status -> {
+                    if (!customerRepository.findByEmailNormalizedIn(List.of(row.emailNormalized())).isEmpty()) {
+                        return null;
+                    }
+                    return insert(List.of(row));
+                });
+                if (addresses == null) {
+                    existing.add(row);
+                } else {
+                    output.setImported(output.getImported() + 1);
+                    output.setAddresses(output.getAddresses() + addresses);
+                }
+            } catch (DataIntegrityViolationException e) {
+                existing.add(row);
+            } catch (DataAccessException e) {
+                logger.warn("No se pudo importar la línea {}: {}", row.line(), e.getMostSpecificCause().getMessage());
+                reject(output, row.line(), row.input().getEmail(), Reason.CONFLICT, "No se pudo guardar el registro");
+            }
+        }
+        rejectExisting(output, existing);
+    }
+
+    /**
+     * Inserta los clientes del tramo y sus direcciones.
+     *
+     * @return número de direcciones insertadas
+     */
+    private long insert(List<Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_CUSTOMER, rows, rows.size(), (ps, row) -> {
+            CustomerInputDTO input = row.input();
+            ps.setString(1, input.getFullName());
+            ps.setString(2, input.getEmail());
+            ps.setString(3, row.emailNormalized());
+            ps.setString(4, Customer.emailDomain(row.emailNormalized()));
+            ps.setString(5, input.getPhone());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        Map<String, Long> ids = new HashMap<>();
+        for (IdAndEmail customer : customerRepository.findByEmailNormalizedIn(
+                rows.stream().map(Row::emailNormalized).toList())) {
+            ids.put(customer.getEmailNormalized(), customer.getId());
+        }
+
+        List<Object[]> addressRows = new ArrayList<>();
+        for (Row row : rows) {
+            List<AddressInputDTO> addresses = row.input().getAddresses();
+            int defaultIndex = CustomerServiceImpl.defaultAddressIndex(addresses);
+            Long customerId = ids.get(row.emailNormalized());
+            for (int i = 0; i < addresses.size(); i++) {
+                AddressInputDTO address = addresses.get(i);
+                addressRows.add(new Object[] { customerId, address.getLine1(), address.getLine2(),
+                        address.getCity(), address.getPostalCode(), address.getCountry(), i == defaultIndex });
+            }
+        }
+        if (!addressRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ADDRESS, addressRows);
+            customerRepository.linkDefaultAddresses(ids.values());
+        }
+
+        for (Row row : rows) {
+            eventPublisher.publishEvent(
+                    new CustomerChangedEvent(ids.get(row.emailNormalized()), null, row.input().getEmail()));
+        }
+        return addressRows.size();
+    }
+
+    private void rejectExisting(CustomerImportOutputDTO output, List<Row> existing) {
+        for (Row row : existing) {
+            reject(output, row.line(), row.input().getEmail(), Reason.DUPLICATE_EMAIL,
+                    "Ya existe un cliente con ese email");
+        }
+    }
+
+    private void reject(CustomerImportOutputDTO output, long line, String email, Reason reason, String message) {
+        output.setRejected(output.getRejected() + 1);
+        if (output.getErrors().size() < maxErrors) {
+            output.getErrors().add(new CustomerImportErrorOutputDTO(line, email, reason, message));
+        } else {
+            output.setErrorsTruncated(true);
+        }
+    }
+}
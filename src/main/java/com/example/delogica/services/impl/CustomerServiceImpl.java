@@ -1,13 +1,19 @@
 package com.example.delogica.services.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,11 +21,13 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.delogica.config.exceptions.DefaultAddressChangeNotAllowedException;
 import com.example.delogica.config.exceptions.EmailAlreadyInUseException;
 import com.example.delogica.config.exceptions.ResourceNotFoundException;
+import com.example.delogica.config.uniqueness.UniqueKeyFilters;
 import com.example.delogica.config.specifications.CustomerSpecifications;
 import com.example.delogica.dtos.input.AddressInputDTO;
 import com.example.delogica.dtos.input.CustomerInputDTO;
 import com.example.delogica.dtos.output.AddressOutputDTO;
 import com.example.delogica.dtos.output.CustomerOutputDTO;
+import com.example.delogica.events.CustomerChangedEvent;
 import com.example.delogica.mappers.AddressMapper;
 import com.example.delogica.mappers.CustomerMapper;
 import com.example.delogica.models.Address;
@@ -40,6 +48,9 @@ public class CustomerServiceImpl implements CustomerService {
     private final AddressRepository addressRepository;
     private final AddressMapper addressMapper;
 
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final ApplicationEventPublisher eventPublisher;
+
     private static final Logger logger = LoggerFactory.getLogger(CustomerServiceImpl.class);
 
     @Override
@@ -47,12 +58,15 @@ public class CustomerServiceImpl implements CustomerService {
     public CustomerOutputDTO create(CustomerInputDTO input) {
         logger.info("Creando cliente con email: {}", input.getEmail());
 
-        // Verificar que el email no esté en uso
-        customerRepository.findByEmail(input.getEmail())
-                .ifPresent(c -> {
-                    logger.warn("Email ya en uso: {}", input.getEmail());
-                    throw new EmailAlreadyInUseException(input.getEmail());
-                });
+        // Verificar que el email no esté en uso; si el filtro lo descarta no hace falta
+        // consultarlo (la restricción UNIQUE rechaza igualmente un alta concurrente)
+        if (uniqueKeyFilters.mightContainEmail(input.getEmail())) {
+            customerRepository.findByEmail(input.getEmail())
+                    .ifPresent(c -> {
+                        logger.warn("Email ya en uso: {}", input.getEmail());
+                        throw new EmailAlreadyInUseException(input.getEmail());
+                    });
+        }
 
         // Mapear cliente sin direcciones (mapper ignora direcciones)
         Customer customerEntity = customerMapper.toEntity(input);
@@ -60,31 +74,14 @@ public class CustomerServiceImpl implements CustomerService {
         // Procesar las direcciones manualmente
         if (input.getAddresses() != null && !input.getAddresses().isEmpty()) {
             List<Address> addressesToAdd = new ArrayList<>();
-
-            // Buscar índice de la primera dirección marcada como default en el input
-            int firstDefaultIndex = -1;
-            for (int i = 0; i < input.getAddresses().size(); i++) {
-                AddressInputDTO addressDto = input.getAddresses().get(i);
-                if (Boolean.TRUE.equals(addressDto.getDefaultAddress())) {
-                    firstDefaultIndex = i;
-                    break;
-                }
-            }
+            int defaultIndex = defaultAddressIndex(input.getAddresses());
 
             // Mapear y asignar customer y defaultAddress
             for (int i = 0; i < input.getAddresses().size(); i++) {
                 AddressInputDTO addressDto = input.getAddresses().get(i);
                 Address addressEntity = addressMapper.toEntity(addressDto);
                 addressEntity.setCustomer(customerEntity);
-
-                if (firstDefaultIndex == -1) {
-                    // No hay default en el input, marcar la primera dirección como default
-                    addressEntity.setDefaultAddress(i == 0);
-                } else {
-                    // Solo la primera dirección con default=true se mantiene así
-                    addressEntity.setDefaultAddress(i == firstDefaultIndex);
-                }
-
+                addressEntity.setDefaultAddress(i == defaultIndex);
                 addressesToAdd.add(addressEntity);
             }
 
@@ -92,13 +89,55 @@ public class CustomerServiceImpl implements CustomerService {
             customerEntity.setAddresses(addressesToAdd);
         }
 
-        // Guardar cliente junto con las direcciones (en cascada)
-        Customer savedCustomer = customerRepository.save(customerEntity);
+        // Guardar cliente junto con las direcciones (en cascada). El filtro de cada nodo solo
+        // conoce sus propias altas: la restricción UNIQUE decide en último término
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.saveAndFlush(customerEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflict(e, input.getEmail(), null);
+        }
+
+        // Con las direcciones ya persistidas, el puntero del cliente apunta a la default
+        savedCustomer.getAddresses().stream()
+                .filter(a -> Boolean.TRUE.equals(a.getDefaultAddress()))
+                .findFirst()
+                .ifPresent(a -> savedCustomer.setDefaultAddressId(a.getId()));
+        eventPublisher.publishEvent(new CustomerChangedEvent(savedCustomer.getId(), null, savedCustomer.getEmail()));
 
         logger.info("Cliente creado correctamente: {}", savedCustomer.getId());
         return customerMapper.toOutput(savedCustomer);
     }
 
+    /**
+     * Traduce una violación de integridad al guardar un cliente: si otro cliente tiene ya el
+     * email (un alta concurrente o de otro nodo que el filtro no conocía), la convierte en
+     * {@link EmailAlreadyInUseException}; si no, la devuelve tal cual.
+     */
+    private RuntimeException emailConflict(DataIntegrityViolationException e, String email, Long customerId) {
+        if (email != null && customerRepository.existsOtherWithEmail(email, customerId)) {
+            logger.warn("Email ya en uso (restricción UNIQUE): {}", email);
+            return new EmailAlreadyInUseException(email);
+        }
+        return e;
+    }
+
+    /**
+     * Posición de la dirección que queda como default al crear un cliente: la primera marcada
+     * con default=true o, si ninguna lo está, la primera. -1 si no hay direcciones.
+     */
+    static int defaultAddressIndex(List<AddressInputDTO> addresses) {
+        if (addresses == null || addresses.isEmpty()) {
+            return -1;
+        }
+        for (int i = 0; i < addresses.size(); i++) {
+            if (Boolean.TRUE.equals(addresses.get(i).getDefaultAddress())) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CustomerOutputDTO findById(Long customerId) {
@@ -107,28 +146,44 @@ public class CustomerServiceImpl implements CustomerService {
         return customerMapper.toOutput(findCustomer);
     }
 
-    @Override
-    @Transactional
-    public void delete(Long customerId) {
-        logger.info("Eliminando cliente con id: {}", customerId);
-        Customer findCustomer = customerRepository.findByIdWithLock(customerId)
-                .orElseThrow(() -> ResourceNotFoundException.forId(Customer.class, customerId));
-        customerRepository.delete(findCustomer);
-        logger.info("Cliente eliminado con id: {}", customerId);
-    }
-
     @Override
     @Transactional(readOnly = true)
-    public Page<CustomerOutputDTO> findAll(Pageable pageable) {
+    public Page<CustomerOutputDTO> findAll(Pageable pageable, boolean includeAddresses) {
         Page<Customer> page = customerRepository.findAll(pageable);
-        return page.map(customerMapper::toOutput);
+        return toOutputPage(page, includeAddresses);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<CustomerOutputDTO> searchCustomers(String email, Pageable pageable) {
-        Specification<Customer> spec = CustomerSpecifications.emailContains(email);
+    public Page<CustomerOutputDTO> searchCustomers(String email, EmailMatch match, boolean includeAddresses,
+            Pageable pageable) {
+        Specification<Customer> spec = switch (match) {
+            case EXACT -> CustomerSpecifications.emailEquals(email);
+            case PREFIX -> CustomerSpecifications.emailStartsWith(email);
+            case DOMAIN -> CustomerSpecifications.emailDomainEquals(email);
+            default -> CustomerSpecifications.emailContains(email);
+        };
+        if (match == EmailMatch.DOMAIN) {
+            // En orden de ID: el índice (email_domain, id) sirve la página sin ordenar aparte
+            pageable = pageable.isPaged()
+                    ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"))
+                    : Pageable.unpaged(Sort.by("id"));
+        }
         Page<Customer> page = customerRepository.findAll(spec, pageable);
+        return toOutputPage(page, includeAddresses);
+    }
+
+    /**
+     * Mapea una página de clientes. Con direcciones, las de toda la página se cargan en una
+     * sola consulta antes de mapear; sin ellas, la colección ni se consulta.
+     */
+    private Page<CustomerOutputDTO> toOutputPage(Page<Customer> page, boolean includeAddresses) {
+        if (!includeAddresses) {
+            return page.map(customerMapper::toOutputWithoutAddresses);
+        }
+        if (page.hasContent()) {
+            customerRepository.findWithAddressesByIdIn(page.map(Customer::getId).getContent());
+        }
         return page.map(customerMapper::toOutput);
     }
 
@@ -138,8 +193,8 @@ public class CustomerServiceImpl implements CustomerService {
         logger.info("Creando dirección para cliente {} (defaultAddress en payload: {})",
                 customerId, input.getDefaultAddress());
 
-        // 1) Cargar cliente
-        Customer customer = customerRepository.findById(customerId)
+        // 1) Cargar cliente (bloqueado: dos altas simultáneas no pueden ser ambas la primera)
+        Customer customer = customerRepository.findByIdWithLock(customerId)
                 .orElseThrow(() -> ResourceNotFoundException.forId(Customer.class, customerId));
 
         // 2) No permitir pedir default desde aquí
@@ -149,9 +204,8 @@ public class CustomerServiceImpl implements CustomerService {
                     "No se permite cambiar la dirección por defecto desde esta operación.");
         }
 
-        // 3) Comprobar si ya existe una default en BD (NO dependas de
-        // customer.getAddresses())
-        boolean existsDefault = addressRepository.findByCustomerIdAndDefaultAddressTrue(customerId).isPresent();
+        // 3) Si ya existe una default lo dice el puntero del cliente, sin consultar direcciones
+        boolean existsDefault = customer.getDefaultAddressId() != null;
 
         // 4) Mapear y fijar el flag default correctamente
         Address newAddress = addressMapper.toEntity(input);
@@ -159,6 +213,11 @@ public class CustomerServiceImpl implements CustomerService {
         newAddress.setDefaultAddress(!existsDefault); // primera dirección -> true, si no -> false
 
         Address saved = addressRepository.save(newAddress);
+        if (!existsDefault) {
+            customer.setDefaultAddressId(saved.getId());
+        }
+        customer.touch();
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, customer.getEmail(), customer.getEmail()));
         logger.info("Dirección {} creada para cliente {} (default: {})", saved.getId(), customerId,
                 saved.getDefaultAddress());
 
@@ -174,7 +233,8 @@ public class CustomerServiceImpl implements CustomerService {
                 .orElseThrow(() -> ResourceNotFoundException.forId(Customer.class, customerId));
 
         if (input.getEmail() != null && !input.getEmail().equalsIgnoreCase(customer.getEmail())) {
-            boolean emailExists = customerRepository.existsByEmail(input.getEmail());
+            boolean emailExists = uniqueKeyFilters.mightContainEmail(input.getEmail())
+                    && customerRepository.existsByEmail(input.getEmail());
             if (emailExists) {
                 logger.warn("Intento de usar email duplicado {} en PUT /customers", input.getEmail());
                 throw new EmailAlreadyInUseException(input.getEmail());
@@ -182,86 +242,132 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         // Actualiza campos simples del cliente
+        String previousEmail = customer.getEmail();
         customerMapper.updateEntityFromDto(input, customer);
 
         // Si vienen direcciones en el DTO, procesamos merge
         if (input.getAddresses() != null) {
+            mergeAddresses(customer, input.getAddresses());
+        }
 
-            // 1) ID de la default actual en BD (si existe)
-            Long currentDefaultId = addressRepository.findByCustomerIdAndDefaultAddressTrue(customerId)
-                    .map(Address::getId)
-                    .orElse(null);
+        Customer saved;
+        try {
+            saved = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflict(e, input.getEmail(), customerId);
+        }
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, previousEmail, saved.getEmail()));
+        logger.info("Cliente {} actualizado correctamente", customerId);
+        return customerMapper.toOutput(saved);
+    }
+
+    /**
+     * Fusiona las direcciones del cliente con las del DTO.
+     * <p>
+     * Carga una sola vez todas las direcciones del cliente indexadas por ID y compara con el
+     * DTO: las existentes se actualizan en memoria (solo las que cambian generan UPDATE),
+     * las nuevas se añaden y las que no vienen se eliminan. Las actualizaciones y los
+     * borrados se envían agrupados al hacer flush, así que el número de viajes a la base de
+     * datos no crece con el número de direcciones.
+     * </p>
+     * No se permite cambiar la dirección por defecto desde aquí.
+     */
+    private void mergeAddresses(Customer customer, List<AddressInputDTO> dtos) {
+        // 1) Direcciones actuales indexadas por ID, en una sola consulta
+        Map<Long, Address> current = new LinkedHashMap<>();
+        for (Address address : addressRepository.findByCustomerId(customer.getId())) {
+            current.put(address.getId(), address);
+        }
 
-            // 2) Validación: no se puede cambiar la default desde aquí
-            for (AddressInputDTO dto : input.getAddresses()) {
+        // 2) Validación: IDs del cliente y sin cambios de default
+        for (AddressInputDTO dto : dtos) {
 
-                // a) Si el DTO trae defaultAddress=true en una nueva -> prohibido
-                if (dto.getId() == null && Boolean.TRUE.equals(dto.getDefaultAddress())) {
+            // a) Si el DTO trae defaultAddress=true en una nueva -> prohibido
+            if (dto.getId() == null) {
+                if (Boolean.TRUE.equals(dto.getDefaultAddress())) {
                     logger.warn("Intento de crear nueva dirección como default en PUT /customers");
                     throw new DefaultAddressChangeNotAllowedException(
                             "No se permite cambiar la dirección por defecto desde esta operación.");
                 }
+                continue;
+            }
 
-                // b) Si es una existente y su flag default en el DTO difiere del estado real ->
-                // prohibido
-                if (dto.getId() != null && dto.getDefaultAddress() != null) {
-                    Address existing = addressRepository.findByIdAndCustomerId(dto.getId(), customerId)
-                            .orElseThrow(() -> ResourceNotFoundException.forId(Address.class, dto.getId()));
-
-                    boolean dtoDefault = Boolean.TRUE.equals(dto.getDefaultAddress());
-                    boolean dbDefault = Boolean.TRUE.equals(existing.getDefaultAddress());
-
-                    if (dtoDefault != dbDefault) {
-                        logger.warn("Intento de modificar defaultAddress en PUT /customers (addrId={}, dto={}, db={})",
-                                dto.getId(), dtoDefault, dbDefault);
-                        throw new DefaultAddressChangeNotAllowedException(
-                                "No se permite cambiar la dirección por defecto desde esta operación.");
-                    }
-                }
+            Address existing = current.get(dto.getId());
+            if (existing == null) {
+                throw ResourceNotFoundException.forId(Address.class, dto.getId());
             }
 
-            // 3) Reconstruir la colección preservando la default
-            List<Address> rebuilt = new ArrayList<>();
-            for (AddressInputDTO dto : input.getAddresses()) {
-                if (dto.getId() != null) {
-                    Address existing = addressRepository.findByIdAndCustomerId(dto.getId(), customerId)
-                            .orElseThrow(() -> ResourceNotFoundException.forId(Address.class, dto.getId()));
-
-                    // Actualiza campos (sin tocar default)
-                    addressMapper.updateEntityFromDto(dto, existing);
-                    existing.setCustomer(customer);
-                    existing.setDefaultAddress(Boolean.TRUE.equals(existing.getDefaultAddress())); // explícito
-
-                    rebuilt.add(existing);
-
-                } else {
-                    // Nueva dirección SIEMPRE entra con default=false aquí
-                    Address created = addressMapper.toEntity(dto);
-                    created.setCustomer(customer);
-                    created.setDefaultAddress(false);
-                    rebuilt.add(created);
+            // b) Si es una existente y su flag default en el DTO difiere del estado real -> prohibido
+            if (dto.getDefaultAddress() != null) {
+                boolean dtoDefault = Boolean.TRUE.equals(dto.getDefaultAddress());
+                boolean dbDefault = existing.getId().equals(customer.getDefaultAddressId());
+
+                if (dtoDefault != dbDefault) {
+                    logger.warn("Intento de modificar defaultAddress en PUT /customers (addrId={}, dto={}, db={})",
+                            dto.getId(), dtoDefault, dbDefault);
+                    throw new DefaultAddressChangeNotAllowedException(
+                            "No se permite cambiar la dirección por defecto desde esta operación.");
                 }
             }
+        }
 
-            // 4) Si no hay default en BD (caso borde: cliente sin direcciones antes) =>
-            // fuerza una
-            boolean rebuiltHasDefault = rebuilt.stream().anyMatch(Address::getDefaultAddress);
-            if (currentDefaultId == null && !rebuiltHasDefault && !rebuilt.isEmpty()) {
-                logger.info("No había default previa; se fuerza la primera como default en el update.");
-                rebuilt.get(0).setDefaultAddress(true);
+        // 3) Diferencias: actualiza existentes y prepara nuevas (nunca default)
+        List<Address> merged = new ArrayList<>(dtos.size());
+        List<Address> created = new ArrayList<>();
+        for (AddressInputDTO dto : dtos) {
+            if (dto.getId() != null) {
+                // Actualiza campos (el mapper no toca default); sin cambios no hay UPDATE
+                Address existing = current.remove(dto.getId());
+                if (existing == null) {
+                    // ID repetido en el DTO: ya fusionado
+                    continue;
+                }
+                addressMapper.updateEntityFromDto(dto, existing);
+                merged.add(existing);
+            } else {
+                Address address = addressMapper.toEntity(dto);
+                address.setDefaultAddress(false);
+                created.add(address);
+                merged.add(address);
             }
+        }
 
-            // 5) Reemplazar colección del agregado
-            List<Address> old = new ArrayList<>(customer.getAddresses());
-            for (Address a : old)
-                customer.removeAddress(a);
-            for (Address a : rebuilt)
-                customer.addAddress(a);
+        // 4) Las que no vienen en el DTO se eliminan; la colección del agregado se alinea con
+        // el resultado, que es lo que se devuelve
+        List<Address> removed = new ArrayList<>(current.values());
+        if (!removed.isEmpty()) {
+            customer.getAddresses().removeAll(removed);
+            addressRepository.deleteAll(removed);
+        }
+        for (Address address : merged) {
+            if (address.getId() != null && !customer.getAddresses().contains(address)) {
+                customer.addAddress(address);
+            }
+        }
+        created.forEach(customer::addAddress);
+
+        // 5) Si la default no sigue entre las que quedan (cliente sin direcciones antes o se quitó
+        // la default) => el puntero pasa a la primera, o a null si no queda ninguna
+        Long defaultId = customer.getDefaultAddressId();
+        boolean hasDefault = defaultId != null && merged.stream().anyMatch(a -> defaultId.equals(a.getId()));
+        if (!hasDefault) {
+            if (merged.isEmpty()) {
+                customer.setDefaultAddressId(null);
+            } else {
+                logger.info("No queda dirección default; se fuerza la primera como default en el update.");
+                Address first = merged.get(0);
+                first.setDefaultAddress(true);
+                if (first.getId() == null) {
+                    // Nueva: se inserta ya para conocer su ID
+                    addressRepository.save(first);
+                }
+                customer.setDefaultAddressId(first.getId());
+            }
         }
 
-        Customer saved = customerRepository.save(customer);
-        logger.info("Cliente {} actualizado correctamente", customerId);
-        return customerMapper.toOutput(saved);
+        customer.touch();
+        logger.debug("Direcciones del cliente {}: {} conservadas, {} nuevas, {} eliminadas", customer.getId(),
+                merged.size() - created.size(), created.size(), removed.size());
     }
 
     @Override
@@ -272,14 +378,23 @@ public class CustomerServiceImpl implements CustomerService {
         Address target = addressRepository.findByIdAndCustomerId(addressId, customerId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Dirección no encontrada para el cliente con id: " + customerId));
+        Customer customer = customerRepository.findByIdWithLock(customerId)
+                .orElseThrow(() -> ResourceNotFoundException.forId(Customer.class, customerId));
 
-        // Desmarcar todas menos la target
-        addressRepository.clearDefaultForCustomerExcept(customerId, addressId);
+        Long previousId = customer.getDefaultAddressId();
+        if (addressId.equals(previousId)) {
+            logger.debug("La dirección {} ya era la default del cliente {}", addressId, customerId);
+            return;
+        }
 
-        if (Boolean.FALSE.equals(target.getDefaultAddress())) {
-            target.setDefaultAddress(true);
-            addressRepository.save(target);
+        // El cambio es el puntero del cliente; el indicador solo se refleja en la fila anterior
+        // y en la nueva, sin recorrer el resto de direcciones
+        customer.setDefaultAddressId(addressId);
+        if (previousId != null) {
+            addressRepository.findById(previousId).ifPresent(previous -> previous.setDefaultAddress(false));
         }
+        target.setDefaultAddress(true);
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, customer.getEmail(), customer.getEmail()));
 
         logger.info("Default establecida correctamente: cliente={}, address={}", customerId, addressId);
     }
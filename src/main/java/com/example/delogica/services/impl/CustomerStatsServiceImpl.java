@@ -0,0 +1,141 @@
+package com.example.delogica.services.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.delogica.config.exceptions.ResourceNotFoundException;
+import com.example.delogica.dtos.output.CustomerStatsOutputDTO;
+import com.example.delogica.events.OrderCreatedEvent;
+import com.example.delogica.events.OrderSnapshot;
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.models.Customer;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.repositories.CustomerStatsRepository;
+import com.example.delogica.services.CustomerStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Mantiene <code>customer_stats</code> a partir de los eventos de pedido, en la misma
+ * transacción que la escritura y con actualizaciones atómicas que no leen la fila antes.
+ * <p>
+ * - Crear un pedido suma uno al número de pedidos, su total al valor acumulado y
+ * adelanta la fecha del último pedido si es más reciente.<br>
+ * - Cancelar un pedido lo descuenta del número de pedidos y del valor acumulado; una
+ * cancelación masiva lo hace con una sentencia por cliente.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerStatsServiceImpl implements CustomerStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerStatsServiceImpl.class);
+
+    private static final Set<String> SORT_PROPERTIES = Set.of("lifetimeValue", "orderCount", "lastOrderDate", "customerId");
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc("lifetimeValue"));
+
+    private final CustomerStatsRepository statsRepository;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderCreatedEvent event) {
+        OrderSnapshot order = event.order();
+        if (order.customerId() != null) {
+            statsRepository.addOrder(order.customerId(), order.total(), order.orderDate());
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderStatusChangedEvent event) {
+        removeCancelled(List.of(event));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderStatusBulkChangedEvent event) {
+        removeCancelled(event.changes());
+    }
+
+    /**
+     * Descuenta los pedidos cancelados con una sentencia por cliente, en orden de ID.
+     */
+    private void removeCancelled(List<OrderStatusChangedEvent> changes) {
+        Map<Long, long[]> counts = new TreeMap<>();
+        Map<Long, BigDecimal> amounts = new HashMap<>();
+        for (OrderStatusChangedEvent change : changes) {
+            OrderSnapshot order = change.order();
+            if (order.customerId() != null && order.status() == OrderStatus.CANCELLED
+                    && change.previousStatus() != OrderStatus.CANCELLED) {
+                counts.computeIfAbsent(order.customerId(), id -> new long[1])[0]++;
+                amounts.merge(order.customerId(), order.total(), BigDecimal::add);
+            }
+        }
+        counts.forEach((customerId, count) -> statsRepository.removeOrders(customerId, count[0], amounts.get(customerId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerStatsOutputDTO findByCustomer(Long customerId) {
+        CustomerStatsOutputDTO stats = statsRepository.findByCustomerId(customerId)
+                .orElseThrow(() -> ResourceNotFoundException.forId(Customer.class, customerId));
+        if (stats.getOrderCount() == null) {
+            stats.setOrderCount(0L);
+            stats.setLifetimeValue(BigDecimal.ZERO);
+        }
+        return stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CustomerStatsOutputDTO> ranking(Pageable pageable) {
+        return statsRepository.findRanking(withStableSort(pageable));
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        statsRepository.deleteAllRows();
+        int rows = statsRepository.rebuild();
+        logger.info("Estadísticas de clientes recalculadas: {} clientes", rows);
+        return rows;
+    }
+
+    /**
+     * Valida la ordenación pedida, aplica la ordenación por defecto y desempata por
+     * cliente para que la paginación sea estable.
+     */
+    private static Pageable withStableSort(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Ordenación no soportada: " + order.getProperty());
+            }
+            orders.add(order);
+        }
+        Sort sort = orders.isEmpty() ? DEFAULT_SORT : Sort.by(orders);
+        if (sort.getOrderFor("customerId") == null) {
+            sort = sort.and(Sort.by("customerId"));
+        }
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+}
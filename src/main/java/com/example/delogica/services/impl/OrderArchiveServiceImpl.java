@@ -0,0 +1,321 @@
+package com.example.delogica.services.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.config.archive.OrderArchiveProperties;
+import com.example.delogica.config.specifications.ArchivedOrderSpecifications;
+import com.example.delogica.config.specifications.OrderSpecifications;
+import com.example.delogica.dtos.output.OrderOutputDTO;
+import com.example.delogica.mappers.OrderMapper;
+import com.example.delogica.models.ArchivedOrder;
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.repositories.ArchivedOrderRepository;
+import com.example.delogica.repositories.CustomerRepository;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.repositories.OrderViewRepository;
+import com.example.delogica.services.OrderArchiveService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Mueve los pedidos en estado final de <code>orders</code>/<code>order_items</code> al
+ * archivo y los sirve desde ahí cuando una lectura lo requiere.
+ * <p>
+ * - Cada lote copia pedidos y líneas con <code>INSERT ... SELECT</code> y los borra de las
+ * tablas calientes (y de <code>order_view</code>) en la misma transacción.<br>
+ * - Las búsquedas consultan el archivo solo si no está vacío y su rango de fechas alcanza el
+ * filtro. Las que abarcan ambos niveles piden a cada uno las claves de ordenación de sus
+ * primeras <code>offset + size</code> filas, las mezclan en memoria y cargan solo los pedidos
+ * de la página resultante.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveServiceImpl.class);
+
+    private static final Set<OrderStatus> ARCHIVABLE = EnumSet.of(OrderStatus.SHIPPED, OrderStatus.CANCELLED);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderMapper orderMapper;
+    private final OrderArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean mayContain(LocalDateTime fromDate, LocalDateTime toDate, OrderStatus status) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if (status != null && !ARCHIVABLE.contains(status)) {
+            return false;
+        }
+        if (fromDate != null && !fromDate.isBefore(LocalDateTime.now().minus(properties.getOlderThan()))) {
+            return false;
+        }
+        // Una consulta sobre el índice de fecha: archivo vacío o fuera del rango pedido
+        ArchivedOrderRepository.DateRange range = archivedOrderRepository.findDateRange();
+        if (range == null || range.getLastOrderDate() == null) {
+            return false;
+        }
+        return (fromDate == null || !fromDate.isAfter(range.getLastOrderDate()))
+                && (toDate == null || !toDate.isBefore(range.getFirstOrderDate()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderOutputDTO> findById(Long id) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        return archivedOrderRepository.findWithDetailsById(id).map(order -> {
+            // Direcciones del cliente con una consulta explícita, como en los listados
+            if (!Hibernate.isInitialized(order.getCustomer().getAddresses())) {
+                customerRepository.findWithAddressesByIdIn(List.of(order.getCustomer().getId()));
+            }
+            return orderMapper.toOutput(order);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findRevision(Long id) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        return archivedOrderRepository.findRevisionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderStatus> findStatus(Long id) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        return archivedOrderRepository.findById(id).map(ArchivedOrder::getStatus);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, OrderStatus> findStatuses(Collection<Long> ids) {
+        Map<Long, OrderStatus> statuses = new HashMap<>();
+        if (properties.isEnabled() && !ids.isEmpty()) {
+            archivedOrderRepository.findStatusesByIdIn(ids)
+                    .forEach(row -> statuses.put(row.getId(), row.getStatus()));
+        }
+        return statuses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrderOutputDTO> searchWithHot(Pageable pageable, Long customerId, LocalDateTime fromDate,
+            LocalDateTime toDate, OrderStatus status, Function<Collection<Long>, List<OrderOutputDTO>> hotLoader) {
+        Comparator<MergeKey> comparator = comparator(pageable.getSort());
+
+        Specification<Order> hotSpec = Specification.allOf(
+                OrderSpecifications.hasCustomerId(customerId),
+                OrderSpecifications.fromDate(fromDate),
+                OrderSpecifications.toDate(toDate),
+                OrderSpecifications.hasStatus(status));
+        Specification<ArchivedOrder> archivedSpec = Specification.allOf(
+                ArchivedOrderSpecifications.hasCustomerId(customerId),
+                ArchivedOrderSpecifications.fromDate(fromDate),
+                ArchivedOrderSpecifications.toDate(toDate),
+                ArchivedOrderSpecifications.hasStatus(status));
+
+        // Cada nivel aporta solo las claves de ordenación de sus primeras offset + size filas;
+        // los pedidos completos se cargan después únicamente para la página resultante
+        Integer limit = pageable.isPaged() ? Math.toIntExact(pageable.getOffset() + pageable.getPageSize()) : null;
+        List<MergeKey> hot = keys(Order.class, hotSpec, pageable.getSort(), limit, false);
+        List<MergeKey> archived = keys(ArchivedOrder.class, archivedSpec, pageable.getSort(), limit, true);
+        List<MergeKey> merged = merge(hot, archived, comparator);
+
+        long hotTotal = pageable.isPaged() ? orderRepository.count(hotSpec) : hot.size();
+        long archivedTotal = pageable.isPaged() ? archivedOrderRepository.count(archivedSpec) : archived.size();
+        logger.debug("Búsqueda combinada: {} pedidos calientes y {} archivados", hotTotal, archivedTotal);
+
+        List<MergeKey> slice = merged;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), merged.size());
+            int to = Math.min(from + pageable.getPageSize(), merged.size());
+            slice = merged.subList(from, to);
+        }
+        return new PageImpl<>(load(slice, hotLoader), pageable, hotTotal + archivedTotal);
+    }
+
+    @Override
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = orderRepository.findIdsToArchive(ARCHIVABLE, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedOrderRepository.copyOrders(ids);
+        archivedOrderRepository.copyItems(ids);
+        orderViewRepository.deleteByOrderIds(ids);
+        orderRepository.deleteItemsByOrderIds(ids);
+        orderRepository.deleteByIds(ids);
+        return ids.size();
+    }
+
+    @Override
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getOlderThan());
+        int total = 0;
+        Integer batch;
+        // Una transacción por lote: no retiene bloqueos sobre todo el rango archivado
+        while ((batch = transactionTemplate.execute(status -> archiveBatch(cutoff, properties.getBatchSize()))) != null
+                && batch > 0) {
+            total += batch;
+        }
+        logger.info("Pedidos archivados anteriores a {}: {}", cutoff, total);
+        return total;
+    }
+
+    /**
+     * Claves de ordenación de un nivel: ID, fecha, total y estado de las primeras
+     * <code>limit</code> filas (todas si es null) con la ordenación pedida.
+     */
+    private <T> List<MergeKey> keys(Class<T> type, Specification<T> spec, Sort sort, Integer limit,
+            boolean archived) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        query.multiselect(root.get("id"), root.get("orderDate"), root.get("total"), root.get("status"));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit != null) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList().stream()
+                .map(row -> new MergeKey(row.get(0, Long.class), row.get(1, LocalDateTime.class),
+                        row.get(2, BigDecimal.class), row.get(3, OrderStatus.class), archived))
+                .toList();
+    }
+
+    /**
+     * Pedidos completos de las claves indicadas, en el mismo orden: los calientes con
+     * <code>hotLoader</code> y los archivados con líneas, productos, cliente y dirección en una
+     * consulta y las direcciones de sus clientes en otra.
+     */
+    private List<OrderOutputDTO> load(List<MergeKey> keys, Function<Collection<Long>, List<OrderOutputDTO>> hotLoader) {
+        List<Long> hotIds = keys.stream().filter(key -> !key.archived()).map(MergeKey::id).toList();
+        List<Long> archivedIds = keys.stream().filter(MergeKey::archived).map(MergeKey::id).toList();
+
+        Map<Long, OrderOutputDTO> hot = new HashMap<>();
+        if (!hotIds.isEmpty()) {
+            hotLoader.apply(hotIds).forEach(dto -> hot.put(dto.getId(), dto));
+        }
+        Map<Long, OrderOutputDTO> archived = new HashMap<>();
+        if (!archivedIds.isEmpty()) {
+            List<ArchivedOrder> orders = archivedOrderRepository.findWithDetailsByIdIn(archivedIds);
+            customerRepository.findWithAddressesByIdIn(
+                    orders.stream().map(order -> order.getCustomer().getId()).distinct().toList());
+            orders.forEach(order -> archived.put(order.getId(), orderMapper.toOutput(order)));
+        }
+
+        List<OrderOutputDTO> result = new ArrayList<>(keys.size());
+        for (MergeKey key : keys) {
+            // Un pedido archivado o borrado entre ambas consultas se omite
+            OrderOutputDTO dto = (key.archived() ? archived : hot).get(key.id());
+            if (dto != null) {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Columnas de ordenación de un pedido de cualquiera de los dos niveles.
+     */
+    private record MergeKey(Long id, LocalDateTime orderDate, BigDecimal total, OrderStatus status,
+            boolean archived) {}
+
+    /**
+     * Mezcla dos listas ya ordenadas. Ante empate (o sin ordenación) van primero los
+     * pedidos calientes.
+     */
+    private static List<MergeKey> merge(List<MergeKey> hot, List<MergeKey> archived,
+            Comparator<MergeKey> comparator) {
+        List<MergeKey> merged = new ArrayList<>(hot.size() + archived.size());
+        int i = 0;
+        int j = 0;
+        while (i < hot.size() && j < archived.size()) {
+            if (comparator.compare(archived.get(j), hot.get(i)) < 0) {
+                merged.add(archived.get(j++));
+            } else {
+                merged.add(hot.get(i++));
+            }
+        }
+        merged.addAll(hot.subList(i, hot.size()));
+        merged.addAll(archived.subList(j, archived.size()));
+        return merged;
+    }
+
+    /**
+     * Comparador equivalente a la ordenación de la consulta, para las propiedades del
+     * pedido que admite la búsqueda combinada.
+     */
+    private static Comparator<MergeKey> comparator(Sort sort) {
+        Comparator<MergeKey> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<MergeKey> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(MergeKey::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "orderDate" -> Comparator.comparing(MergeKey::orderDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "total" -> Comparator.comparing(MergeKey::total, Comparator.nullsFirst(Comparator.naturalOrder()));
+                // El estado se guarda como texto: la base de datos lo ordena por nombre
+                case "status" -> Comparator.comparing((MergeKey key) -> key.status().name());
+                default -> throw new IllegalArgumentException(
+                        "Ordenación no soportada al incluir pedidos archivados: " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(order.isAscending() ? next : next.reversed());
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.delogica.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.config.expiration.OrderExpirationProperties;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO.Outcome;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.services.BulkOrderStatusService;
+import com.example.delogica.services.OrderExpirationService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cancela por lotes los pedidos sin pagar.
+ * <p>
+ * Cada lote bloquea sus pedidos con <code>FOR UPDATE SKIP LOCKED</code> y los cancela como
+ * un tramo de {@link BulkOrderStatusService#changeStatusChunk}: devuelve el stock de todas sus
+ * líneas y cambia el estado con una sentencia cada uno, y publica un solo evento para el
+ * lote, sin cargar pedidos, productos ni clientes.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderExpirationServiceImpl implements OrderExpirationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpirationServiceImpl.class);
+
+    private final OrderRepository orderRepository;
+    private final BulkOrderStatusService bulkOrderStatusService;
+    private final OrderExpirationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional
+    public int expireBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = orderRepository.lockIdsByStatusBefore(OrderStatus.CREATED.name(), cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Ya bloqueados: el tramo los vuelve a bloquear en orden de ID dentro de esta transacción
+        List<Long> sorted = ids.stream().sorted().toList();
+        int expired = 0;
+        for (OrderStatusResultOutputDTO result : bulkOrderStatusService.changeStatusChunk(sorted, OrderStatus.CANCELLED)) {
+            if (result.getOutcome() == Outcome.UPDATED) {
+                expired++;
+            }
+        }
+        logger.debug("Lote de pedidos expirados: {}", sorted);
+        return expired;
+    }
+
+    @Override
+    public int expire() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTtl());
+        int total = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            Integer batch = transactionTemplate.execute(status -> expireBatch(cutoff, properties.getBatchSize()));
+            if (batch == null || batch == 0) {
+                break;
+            }
+            total += batch;
+        }
+        if (total > 0) {
+            logger.info("Pedidos sin pagar cancelados (anteriores a {}): {}", cutoff, total);
+        }
+        return total;
+    }
+}
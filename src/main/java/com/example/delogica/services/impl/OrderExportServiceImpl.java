@@ -0,0 +1,195 @@
+package com.example.delogica.services.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.delogica.config.specifications.ArchivedOrderSpecifications;
+import com.example.delogica.config.specifications.OrderSpecifications;
+import com.example.delogica.models.ArchivedOrder;
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.services.OrderArchiveService;
+import com.example.delogica.services.OrderExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Exporta pedidos recorriendo el resultado con un cursor de solo avance.
+ * <p>
+ * Cada {@code chunkSize} filas se vacía la salida al cliente y se limpia el contexto de
+ * persistencia, de modo que la memoria usada no depende del número de pedidos exportados.
+ * En MySQL el cursor solo trae {@code fetchSize} filas por viaje si la URL de conexión
+ * lleva <code>useCursorFetch=true</code>; sin ello el driver carga el resultado completo.
+ * </p>
+ * <p>
+ * Si los filtros pueden alcanzar el archivo ({@link OrderArchiveService#mayContain}), tras los
+ * pedidos calientes se recorren con otro cursor los de <code>orders_archive</code>.
+ * </p>
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportServiceImpl.class);
+
+    private static final String CSV_HEADER = "id,customerId,shippingAddressId,orderDate,status,total\n";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final OrderArchiveService orderArchiveService;
+    private final int fetchSize;
+    private final int chunkSize;
+
+    public OrderExportServiceImpl(ObjectMapper objectMapper, OrderArchiveService orderArchiveService,
+            @Value("${app.export.fetch-size:500}") int fetchSize,
+            @Value("${app.export.chunk-size:500}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.orderArchiveService = orderArchiveService;
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, Format format, Long customerId, LocalDateTime fromDate,
+            LocalDateTime toDate, OrderStatus status) throws IOException {
+        logger.info("Exportando pedidos en {}: customerId={}, fromDate={}, toDate={}, status={}",
+                format, customerId, fromDate, toDate, status);
+
+        Specification<Order> spec = Specification.allOf(
+                OrderSpecifications.hasCustomerId(customerId),
+                OrderSpecifications.fromDate(fromDate),
+                OrderSpecifications.toDate(toDate),
+                OrderSpecifications.hasStatus(status));
+        // Antes de abrir el primer cursor: la comprobación lanza su propia consulta
+        boolean includeArchive = orderArchiveService.mayContain(fromDate, toDate, status);
+        Stream<Row> rows = stream(Order.class, spec).map(Row::of);
+
+        if (includeArchive) {
+            Specification<ArchivedOrder> archivedSpec = Specification.allOf(
+                    ArchivedOrderSpecifications.hasCustomerId(customerId),
+                    ArchivedOrderSpecifications.fromDate(fromDate),
+                    ArchivedOrderSpecifications.toDate(toDate),
+                    ArchivedOrderSpecifications.hasStatus(status));
+            // El cursor del archivo se abre al agotar el de las tablas calientes: el driver de
+            // MySQL no admite dos resultados en streaming abiertos a la vez en una conexión
+            rows = Stream.concat(rows,
+                    Stream.of(archivedSpec).flatMap(archived -> stream(ArchivedOrder.class, archived).map(Row::of)));
+        }
+
+        long count;
+        try (Stream<Row> orders = rows) {
+            count = switch (format) {
+                case NDJSON -> writeNdjson(orders, out);
+                case CSV -> writeCsv(orders, out);
+            };
+        }
+
+        logger.info("Exportación terminada: {} pedidos", count);
+        return count;
+    }
+
+    private <T> Stream<T> stream(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(type);
+        Root<T> root = cq.from(type);
+        Predicate predicate = spec.toPredicate(root, cq, cb);
+        if (predicate != null) {
+            cq.where(predicate);
+        }
+        cq.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(cq)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long writeNdjson(Stream<Row> orders, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        for (Row order : (Iterable<Row>) orders::iterator) {
+            json.writeStartObject();
+            json.writeNumberField("id", order.id());
+            json.writeNumberField("customerId", order.customerId());
+            json.writeNumberField("shippingAddressId", order.shippingAddressId());
+            json.writeStringField("orderDate", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(order.orderDate()));
+            json.writeStringField("status", order.status().name());
+            json.writeNumberField("total", order.total());
+            json.writeEndObject();
+            json.writeRaw('\n');
+            if (++count % chunkSize == 0) {
+                json.flush();
+                entityManager.clear();
+            }
+        }
+        json.close();
+        return count;
+    }
+
+    private long writeCsv(Stream<Row> orders, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write(CSV_HEADER);
+        long count = 0;
+        for (Row order : (Iterable<Row>) orders::iterator) {
+            csv.write(order.id().toString());
+            csv.write(',');
+            csv.write(order.customerId().toString());
+            csv.write(',');
+            csv.write(order.shippingAddressId().toString());
+            csv.write(',');
+            csv.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(order.orderDate()));
+            csv.write(',');
+            csv.write(order.status().name());
+            csv.write(',');
+            csv.write(order.total().toPlainString());
+            csv.write('\n');
+            if (++count % chunkSize == 0) {
+                csv.flush();
+                entityManager.clear();
+            }
+        }
+        csv.flush();
+        return count;
+    }
+
+    /** Columnas exportadas de un pedido, caliente o archivado. */
+    private record Row(Long id, Long customerId, Long shippingAddressId, LocalDateTime orderDate,
+            OrderStatus status, BigDecimal total) {
+
+        static Row of(Order order) {
+            return new Row(order.getId(), order.getCustomer().getId(), order.getShippingAddress().getId(),
+                    order.getOrderDate(), order.getStatus(), order.getTotal());
+        }
+
+        static Row of(ArchivedOrder order) {
+            return new Row(order.getId(), order.getCustomer().getId(), order.getShippingAddress().getId(),
+                    order.getOrderDate(), order.getStatus(), order.getTotal());
+        }
+    }
+}
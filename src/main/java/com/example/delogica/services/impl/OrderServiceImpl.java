@@ -3,12 +3,21 @@ package com.example.delogica.services.impl;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -22,6 +31,9 @@ import com.example.delogica.dtos.input.OrderItemInputDTO;
 import com.example.delogica.dtos.input.OrderStatusInputDTO;
 import com.example.delogica.dtos.output.OrderOutputDTO;
 import com.example.delogica.dtos.output.OrderSimpleOutputDTO;
+import com.example.delogica.events.OrderCreatedEvent;
+import com.example.delogica.events.OrderSnapshot;
+import com.example.delogica.events.OrderStatusChangedEvent;
 import com.example.delogica.mappers.OrderMapper;
 import com.example.delogica.models.Address;
 import com.example.delogica.models.Customer;
@@ -33,7 +45,9 @@ import com.example.delogica.repositories.AddressRepository;
 import com.example.delogica.repositories.CustomerRepository;
 import com.example.delogica.repositories.OrderRepository;
 import com.example.delogica.repositories.ProductRepository;
+import com.example.delogica.services.OrderArchiveService;
 import com.example.delogica.services.OrderService;
+import com.example.delogica.services.OrderViewService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -48,6 +62,9 @@ public class OrderServiceImpl implements OrderService {
     private final CustomerRepository customerRepository;
     private final AddressRepository addressRepository;
     private final OrderMapper orderMapper;
+    private final OrderViewService orderViewService;
+    private final OrderArchiveService orderArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
@@ -59,8 +76,15 @@ public class OrderServiceImpl implements OrderService {
         // Validar cliente y dirección
         Customer customer = customerRepository.findById(input.getCustomerId())
                 .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado"));
-        Address shippingAddress = addressRepository.findById(input.getShippingAddressId())
-                .orElseThrow(() -> ResourceNotFoundException.forId(Address.class, input.getShippingAddressId()));
+        // Sin dirección explícita se envía a la default del cliente (su puntero, sin buscarla)
+        Long shippingAddressId = input.getShippingAddressId() != null
+                ? input.getShippingAddressId()
+                : customer.getDefaultAddressId();
+        if (shippingAddressId == null) {
+            throw new IllegalArgumentException("El cliente no tiene dirección por defecto; indica shippingAddressId");
+        }
+        Address shippingAddress = addressRepository.findById(shippingAddressId)
+                .orElseThrow(() -> ResourceNotFoundException.forId(Address.class, shippingAddressId));
 
         if (!Objects.equals(
                 shippingAddress.getCustomer() != null ? shippingAddress.getCustomer().getId() : null,
@@ -80,17 +104,25 @@ public class OrderServiceImpl implements OrderService {
         order.setStatus(OrderStatus.CREATED);
 
         List<OrderItem> orderItems = new ArrayList<>();
-        BigDecimal total = BigDecimal.ZERO;
+
+        // Bloquear los productos en orden de ID antes de leer el stock: evita sobreventa
+        // y actualizaciones perdidas con pedidos concurrentes sobre los mismos productos
+        Map<Long, Product> lockedProducts = lockProducts(input.getItems());
+        Map<Long, Integer> requestedByProduct = new HashMap<>();
 
         for (OrderItemInputDTO itemDTO : input.getItems()) {
-            Product product = productRepository.findById(itemDTO.getProductId())
-                    .orElseThrow(() -> ResourceNotFoundException.forId(Product.class, itemDTO.getProductId()));
+            Product product = lockedProducts.get(itemDTO.getProductId());
+            if (product == null) {
+                throw ResourceNotFoundException.forId(Product.class, itemDTO.getProductId());
+            }
 
             if (!product.isActive()) {
                 throw new IllegalArgumentException("Producto inactivo: " + product.getName());
             }
 
-            if (product.getStock() < itemDTO.getQuantity()) {
+            // Varias líneas del mismo producto suman contra el mismo stock
+            int requested = requestedByProduct.merge(product.getId(), itemDTO.getQuantity(), Integer::sum);
+            if (product.getStock() < requested) {
                 throw new IllegalArgumentException("Stock insuficiente para producto: " + product.getName());
             }
 
@@ -103,12 +135,10 @@ public class OrderServiceImpl implements OrderService {
             orderItem.setUnitPrice(unitPrice);
 
             orderItems.add(orderItem);
-
-            total = total.add(unitPrice.multiply(BigDecimal.valueOf(itemDTO.getQuantity())));
         }
 
         order.setItems(orderItems);
-        order.setTotal(total);
+        order.setTotal(calculateTotal(orderItems));
 
         // Guardar pedido (items se guardan en cascada)
         orderRepository.save(order);
@@ -120,6 +150,9 @@ public class OrderServiceImpl implements OrderService {
             productRepository.save(product);
         }
 
+        // Oyentes síncronos (modelo de lectura): se ejecutan dentro de esta transacción
+        eventPublisher.publishEvent(new OrderCreatedEvent(OrderSnapshot.of(order)));
+
         // Mapear y devolver DTO salida
         return orderMapper.toSimpleOutput(order);
 
@@ -132,6 +165,41 @@ public class OrderServiceImpl implements OrderService {
         logger.info("Buscando pedidos con filtros: customerId={}, fromDate={}, toDate={}, status={}",
                 customerId, fromDate, toDate, status);
 
+        if (orderArchiveService.mayContain(fromDate, toDate, status)) {
+            Page<OrderOutputDTO> result = orderArchiveService.searchWithHot(pageable, customerId, fromDate, toDate,
+                    status, this::loadHot);
+            logger.info("Pedidos encontrados (incluido archivo): {}", result.getTotalElements());
+            return result;
+        }
+
+        return searchHot(pageable, customerId, fromDate, toDate, status);
+    }
+
+    /**
+     * Pedidos no archivados completos de los IDs indicados, con líneas, productos, cliente y
+     * dirección en una consulta y las direcciones de sus clientes en otra.
+     */
+    private List<OrderOutputDTO> loadHot(Collection<Long> ids) {
+        List<Order> orders = orderRepository.findWithDetailsByIdIn(ids);
+        customerRepository.findWithAddressesByIdIn(
+                orders.stream().map(order -> order.getCustomer().getId()).distinct().toList());
+        return orders.stream().map(orderMapper::toOutput).toList();
+    }
+
+    /**
+     * Búsqueda sobre los pedidos no archivados: modelo de lectura si está activo y admite
+     * la ordenación, tablas de pedidos en otro caso.
+     */
+    private Page<OrderOutputDTO> searchHot(Pageable pageable, Long customerId, LocalDateTime fromDate,
+            LocalDateTime toDate, OrderStatus status) {
+        if (orderViewService.isReadEnabled()) {
+            Optional<Page<OrderOutputDTO>> fromView = orderViewService.search(pageable, customerId, fromDate, toDate, status);
+            if (fromView.isPresent()) {
+                logger.info("Pedidos encontrados (modelo de lectura): {}", fromView.get().getTotalElements());
+                return fromView.get();
+            }
+        }
+
         Specification<Order> spec = null;
 
         if (customerId != null) {
@@ -159,6 +227,13 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Page<Order> page = orderRepository.findAll(spec, pageable);
+        if (page.hasContent()) {
+            // Carga líneas, productos, cliente y dirección de la página en una sola consulta y
+            // las direcciones de sus clientes en otra, en lugar de varias consultas por pedido
+            List<Order> orders = orderRepository.findWithDetailsByIdIn(page.map(Order::getId).getContent());
+            customerRepository.findWithAddressesByIdIn(
+                    orders.stream().map(order -> order.getCustomer().getId()).distinct().toList());
+        }
 
         logger.info("Pedidos encontrados: {}", page.getTotalElements());
 
@@ -170,12 +245,33 @@ public class OrderServiceImpl implements OrderService {
     public OrderOutputDTO getById(Long id) {
         logger.info("Obteniendo pedido por ID: {}", id);
 
-        Order order = orderRepository.findWithDetailsById(id)
-                .orElseThrow(() -> ResourceNotFoundException.forId(Order.class, id));
+        if (orderViewService.isReadEnabled()) {
+            Optional<OrderOutputDTO> fromView = orderViewService.findById(id);
+            if (fromView.isPresent()) {
+                return fromView.get();
+            }
+            logger.debug("Pedido ID {} sin fila en el modelo de lectura, se lee de las tablas", id);
+        }
+
+        Optional<Order> order = orderRepository.findWithDetailsById(id);
+        if (order.isEmpty()) {
+            // Los pedidos archivados solo se buscan cuando no están en las tablas calientes
+            OrderOutputDTO archived = orderArchiveService.findById(id)
+                    .orElseThrow(() -> ResourceNotFoundException.forId(Order.class, id));
+            logger.info("Pedido encontrado en el archivo: ID {}", id);
+            return archived;
+        }
 
         logger.info("Pedido encontrado: ID {}", id);
 
-        return orderMapper.toOutput(order);
+        return toOutput(order.get());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findRevision(Long id) {
+        Optional<String> revision = orderRepository.findRevisionById(id);
+        return revision.isPresent() ? revision : orderArchiveService.findRevision(id);
     }
 
     @Override
@@ -190,51 +286,117 @@ public class OrderServiceImpl implements OrderService {
 
         logger.info("Cambiando estado del pedido ID {} a {}", id, newStatus);
 
-        Order order = orderRepository.findByIdWithLock(id)
-                .orElseThrow(() -> ResourceNotFoundException.forId(Order.class, id));
+        OrderStatus currentStatus = orderRepository.lockStatusById(id).orElse(null);
+        if (currentStatus == null) {
+            // Un pedido archivado está en estado final: ninguna transición es válida
+            OrderStatus archivedStatus = orderArchiveService.findStatus(id)
+                    .orElseThrow(() -> ResourceNotFoundException.forId(Order.class, id));
+            logger.warn("Intento de transición sobre pedido archivado ID {}: {} -> {}", id, archivedStatus, newStatus);
+            throw new IllegalStateException("Transición de estado inválida: " + archivedStatus + " -> " + newStatus);
+        }
 
-        OrderStatus currentStatus = order.getStatus();
         logger.debug("Estado actual: {}", currentStatus);
 
-        boolean validTransition = false;
-
-        switch (currentStatus) {
-            case CREATED:
-                if (newStatus == OrderStatus.PAID || newStatus == OrderStatus.CANCELLED)
-                    validTransition = true;
-                break;
-            case PAID:
-                if (newStatus == OrderStatus.SHIPPED)
-                    validTransition = true;
-                else if (newStatus == OrderStatus.CANCELLED && currentStatus != OrderStatus.SHIPPED)
-                    validTransition = true;
-                break;
-            case SHIPPED:
-            case CANCELLED:
-                validTransition = false;
-                break;
-        }
+        boolean validTransition = currentStatus.canTransitionTo(newStatus);
 
         if (!validTransition) {
             logger.warn("Intento de transición inválida: {} -> {}", currentStatus, newStatus);
             throw new IllegalStateException("Transición de estado inválida: " + currentStatus + " -> " + newStatus);
         }
 
+        // Al cancelar, bloquea los productos de las líneas antes de cargarlas: el stock que se
+        // incrementa es el vigente y no el leído antes del bloqueo
+        Map<Long, Product> lockedProducts = newStatus == OrderStatus.CANCELLED
+                ? lockOrderProducts(id)
+                : Map.of();
+
+        // Con el pedido ya bloqueado, lo carga en una consulta con líneas, productos, cliente y
+        // dirección: la respuesta devuelve el pedido completo
+        Order order = orderRepository.findWithDetailsById(id)
+                .orElseThrow(() -> ResourceNotFoundException.forId(Order.class, id));
+
         if (newStatus == OrderStatus.CANCELLED) {
             logger.info("Devolviendo stock de productos para el pedido cancelado ID {}", id);
-            order.getItems().forEach(item -> {
-                Product product = item.getProduct();
-                int devolver = item.getQuantity();
-                product.setStock(product.getStock() + devolver);
-                logger.debug("Producto {} stock +{} (nuevo stock: {})", product.getSku(), devolver, product.getStock());
-            });
+            restoreStock(order.getItems(), lockedProducts);
         }
 
         order.setStatus(newStatus);
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(OrderSnapshot.of(order), currentStatus));
 
         logger.info("Estado del pedido ID {} cambiado exitosamente a {}", id, newStatus);
 
+        return toOutput(order);
+    }
+
+    /**
+     * Mapea un pedido cargado con {@link OrderRepository#findWithDetailsById}: si las
+     * direcciones de su cliente no están ya en el contexto de persistencia, se cargan con una
+     * consulta explícita, como en los listados, en lugar de inicializar la colección al mapear.
+     */
+    private OrderOutputDTO toOutput(Order order) {
+        if (!Hibernate.isInitialized(order.getCustomer().getAddresses())) {
+            customerRepository.findWithAddressesByIdIn(List.of(order.getCustomer().getId()));
+        }
         return orderMapper.toOutput(order);
     }
+
+    /**
+     * Bloquea los productos referenciados por las líneas, en orden ascendente de ID.
+     */
+    private Map<Long, Product> lockProducts(List<OrderItemInputDTO> items) {
+        Set<Long> ids = new TreeSet<>();
+        for (OrderItemInputDTO item : items) {
+            ids.add(item.getProductId());
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllByIdInWithLock(ids)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
+    /**
+     * Bloquea los productos de las líneas de un pedido, en orden ascendente de ID.
+     */
+    private Map<Long, Product> lockOrderProducts(Long orderId) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllByOrderIdWithLock(orderId)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
+    /**
+     * Devuelve al stock las unidades de las líneas, agrupadas por producto, sobre los
+     * productos ya bloqueados.
+     * <p>Modifica las entidades gestionadas en lugar de lanzar un UPDATE masivo: Hibernate
+     * actualiza cada fila y su entrada en la caché de segundo nivel, mientras que una sentencia
+     * masiva invalida la región de productos entera en cada cancelación.</p>
+     */
+    private void restoreStock(List<OrderItem> items, Map<Long, Product> lockedProducts) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        quantities.forEach((productId, quantity) -> {
+            Product product = lockedProducts.get(productId);
+            product.setStock(product.getStock() + quantity);
+            logger.debug("Producto {} stock +{}", productId, quantity);
+        });
+    }
+
+    /**
+     * Calcula el total de un pedido como la suma de precio unitario por cantidad de cada línea.
+     *
+     * @param items líneas del pedido con precio unitario ya fijado
+     * @return total del pedido
+     */
+    public static BigDecimal calculateTotal(List<OrderItem> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            total = total.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return total;
+    }
 }
@@ -0,0 +1,407 @@
+package com.example.delogica.services.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.delogica.config.exceptions.ResourceNotFoundException;
+import com.example.delogica.config.readmodel.OrderReadModelProperties;
+import com.example.delogica.config.specifications.OrderViewSpecifications;
+import com.example.delogica.dtos.output.AddressOutputDTO;
+import com.example.delogica.dtos.output.CustomerOutputDTO;
+import com.example.delogica.dtos.output.OrderItemOutputDTO;
+import com.example.delogica.dtos.output.OrderOutputDTO;
+import com.example.delogica.dtos.output.ProductOutputDTO;
+import com.example.delogica.events.CustomerAnonymizedEvent;
+import com.example.delogica.events.CustomerChangedEvent;
+import com.example.delogica.events.OrderCreatedEvent;
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.mappers.AddressMapper;
+import com.example.delogica.mappers.CustomerMapper;
+import com.example.delogica.mappers.ProductMapper;
+import com.example.delogica.models.Customer;
+import com.example.delogica.models.Order;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.models.OrderView;
+import com.example.delogica.models.Product;
+import com.example.delogica.repositories.AddressRepository;
+import com.example.delogica.repositories.CustomerRepository;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.repositories.OrderViewRepository;
+import com.example.delogica.repositories.ProductRepository;
+import com.example.delogica.services.OrderViewService;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Mantiene <code>order_view</code> escuchando los eventos de pedido de forma síncrona,
+ * por lo que cada fila se escribe en la misma transacción que el pedido: si falla la
+ * proyección, se deshace también la escritura.
+ * <p>
+ * - <code>payload</code> guarda los datos propios del pedido (líneas con cantidad y precio, y
+ * las referencias por ID a la dirección y los productos); el estado se toma de su columna.<br>
+ * - <code>customer_payload</code> guarda el cliente renderizado con sus direcciones, entre las
+ * que está la de envío. Con cada {@link CustomerChangedEvent} se reescribe en todas las filas
+ * del cliente con una sola sentencia.<br>
+ * - Los productos se resuelven al servir desde la caché de segundo nivel: su stock cambia con
+ * cada pedido y reescribir las filas que los incluyen no tendría límite.<br>
+ * Así, servir un pedido es leer su fila; solo los productos que no estén en caché y los
+ * clientes de filas anteriores a <code>customer_payload</code> requieren otra consulta.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderViewServiceImpl implements OrderViewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderViewServiceImpl.class);
+
+    /** Propiedades de ordenación de la API traducidas a columnas del modelo de lectura. */
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "id", "orderId",
+            "customer.id", "customerId",
+            "orderDate", "orderDate",
+            "status", "status",
+            "total", "total");
+
+    /**
+     * Contenido de <code>payload</code>. Es un subconjunto de {@link OrderOutputDTO}, así que
+     * las filas escritas antes con la respuesta completa se siguen leyendo: los demás campos
+     * se ignoran.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Payload(Ref shippingAddress, List<Line> items) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Line(Long id, Ref product, Integer quantity, BigDecimal unitPrice) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Ref(Long id) {}
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final OrderViewRepository orderViewRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final AddressRepository addressRepository;
+    private final ProductRepository productRepository;
+    private final CustomerMapper customerMapper;
+    private final AddressMapper addressMapper;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final OrderReadModelProperties properties;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderCreatedEvent event) {
+        Order order = load(event.order().id());
+        OrderView view = new OrderView();
+        view.setOrderId(order.getId());
+        render(order, view);
+        view.setCustomerPayload(writeCustomer(order.getCustomer()));
+        orderViewRepository.save(view);
+    }
+
+    /**
+     * Reescribe el cliente renderizado en todas sus filas con una sola sentencia. Un cliente
+     * nuevo aún no tiene pedidos y uno eliminado ya no tiene filas.
+     */
+    @EventListener(condition = "#event.previousEmail() != null and #event.email() != null")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(CustomerChangedEvent event) {
+        // El cliente ya está en el contexto de persistencia de la transacción que lo modificó
+        Customer customer = entityManager.find(Customer.class, event.customerId());
+        if (customer != null) {
+            orderViewRepository.updateCustomer(customer.getId(), writeCustomer(customer), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Solo cambia la columna de estado: el resto del JSON no depende del estado y las lecturas
+     * toman el estado de la columna. Un pedido sin fila la recibirá del relleno.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderStatusChangedEvent event) {
+        orderViewRepository.updateStatus(List.of(event.order().id()), event.order().status(), LocalDateTime.now());
+    }
+
+    /**
+     * Cambia el estado de todas las filas del tramo con una sola sentencia.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderStatusBulkChangedEvent event) {
+        Map<OrderStatus, List<Long>> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatusChangedEvent change : event.changes()) {
+            byStatus.computeIfAbsent(change.order().status(), status -> new ArrayList<>()).add(change.order().id());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        byStatus.forEach((status, orderIds) -> orderViewRepository.updateStatus(orderIds, status, now));
+    }
+
+    /**
+     * Rehace las filas ya proyectadas de los pedidos del tramo. El cliente anonimizado ya se
+     * reescribió con su {@link CustomerChangedEvent}, pero las filas escritas con la respuesta
+     * completa en <code>payload</code> también lo contienen, y así dejan de guardarlo.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(CustomerAnonymizedEvent event) {
+        Map<Long, OrderView> views = orderViewRepository.findAllById(event.orderIds()).stream()
+                .collect(Collectors.toMap(OrderView::getOrderId, Function.identity()));
+        if (views.isEmpty()) {
+            return;
+        }
+        for (Order order : orderRepository.findWithItemsByIdIn(views.keySet())) {
+            render(order, views.get(order.getId()));
+        }
+    }
+
+    @Override
+    public boolean isReadEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderOutputDTO> findById(Long id) {
+        return orderViewRepository.findById(id).map(view -> toOutput(List.of(view)).get(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Page<OrderOutputDTO>> search(Pageable pageable, Long customerId, LocalDateTime fromDate,
+            LocalDateTime toDate, OrderStatus status) {
+        Sort sort = translate(pageable.getSort());
+        if (sort == null) {
+            return Optional.empty();
+        }
+        Pageable viewPageable = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+
+        Specification<OrderView> spec = Specification.allOf(
+                OrderViewSpecifications.hasCustomerId(customerId),
+                OrderViewSpecifications.fromDate(fromDate),
+                OrderViewSpecifications.toDate(toDate),
+                OrderViewSpecifications.hasStatus(status));
+
+        Page<OrderView> page = orderViewRepository.findAll(spec, viewPageable);
+        return Optional.of(new PageImpl<>(toOutput(page.getContent()), page.getPageable(), page.getTotalElements()));
+    }
+
+    @Override
+    @Transactional
+    public List<Long> backfill(Long afterId, int batchSize) {
+        List<Long> ids = orderRepository.findIdsWithoutViewAfter(afterId, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        Map<Long, OrderView> existing = orderViewRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(OrderView::getOrderId, Function.identity()));
+        List<Order> orders = orderRepository.findWithItemsByIdIn(ids);
+        Map<Long, String> customers = new HashMap<>();
+        for (Customer customer : customerRepository.findWithAddressesByIdIn(
+                orders.stream().map(order -> order.getCustomer().getId()).collect(Collectors.toSet()))) {
+            customers.put(customer.getId(), writeCustomer(customer));
+        }
+        for (Order order : orders) {
+            OrderView view = existing.get(order.getId());
+            if (view == null) {
+                view = new OrderView();
+                view.setOrderId(order.getId());
+            }
+            render(order, view);
+            view.setCustomerPayload(customers.get(order.getCustomer().getId()));
+            orderViewRepository.save(view);
+        }
+        return ids;
+    }
+
+    /**
+     * El pedido ya está en el contexto de persistencia de la transacción en curso,
+     * así que esta búsqueda no llega a la base de datos.
+     */
+    private Order load(Long id) {
+        return orderRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.forId(Order.class, id));
+    }
+
+    /**
+     * Escribe las columnas y el JSON con los datos propios del pedido. De cliente, dirección
+     * y productos solo lee el ID, que no inicializa sus proxies.
+     */
+    private void render(Order order, OrderView view) {
+        view.setCustomerId(order.getCustomer().getId());
+        view.setStatus(order.getStatus());
+        view.setOrderDate(order.getOrderDate());
+        view.setTotal(order.getTotal());
+        view.setUpdatedAt(LocalDateTime.now());
+        List<Line> lines = order.getItems().stream()
+                .map(item -> new Line(item.getId(), new Ref(item.getProduct().getId()), item.getQuantity(),
+                        item.getUnitPrice()))
+                .toList();
+        try {
+            view.setPayload(objectMapper.writeValueAsString(
+                    new Payload(new Ref(order.getShippingAddress().getId()), lines)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el pedido ID " + order.getId(), e);
+        }
+    }
+
+    /**
+     * Compone las respuestas de las filas indicadas. Los clientes salen de las filas, salvo los
+     * de filas anteriores a <code>customer_payload</code>, que se leen con una consulta; los
+     * productos, de la caché de segundo nivel, consultando solo los que falten.
+     */
+    private List<OrderOutputDTO> toOutput(List<OrderView> views) {
+        if (views.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Payload> payloads = new HashMap<>();
+        Map<Long, CustomerOutputDTO> customers = new HashMap<>();
+        Set<Long> missingCustomerIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (OrderView view : views) {
+            Payload payload = read(view);
+            payloads.put(view.getOrderId(), payload);
+            if (view.getCustomerPayload() != null) {
+                customers.computeIfAbsent(view.getCustomerId(), customerId -> readCustomer(view));
+            } else {
+                missingCustomerIds.add(view.getCustomerId());
+            }
+            payload.items().forEach(line -> productIds.add(line.product().id()));
+        }
+        missingCustomerIds.removeAll(customers.keySet());
+        if (!missingCustomerIds.isEmpty()) {
+            customerRepository.findWithAddressesByIdIn(missingCustomerIds)
+                    .forEach(customer -> customers.put(customer.getId(), customerMapper.toOutput(customer)));
+        }
+
+        Map<Long, AddressOutputDTO> addresses = new HashMap<>();
+        customers.values().forEach(customer -> customer.getAddresses()
+                .forEach(address -> addresses.put(address.getId(), address)));
+        Set<Long> otherAddressIds = payloads.values().stream()
+                .map(payload -> payload.shippingAddress().id())
+                .filter(id -> !addresses.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!otherAddressIds.isEmpty()) {
+            addressRepository.findAllById(otherAddressIds)
+                    .forEach(address -> addresses.put(address.getId(), addressMapper.toOutput(address)));
+        }
+
+        Map<Long, ProductOutputDTO> products = new HashMap<>();
+        for (Product product : entityManager.unwrap(Session.class).byMultipleIds(Product.class)
+                // sin modo de caché explícito la carga múltiple no consulta la caché de segundo nivel
+                .with(CacheMode.NORMAL)
+                .multiLoad(List.copyOf(productIds))) {
+            if (product != null) {
+                products.put(product.getId(), productMapper.toOutput(product));
+            }
+        }
+
+        List<OrderOutputDTO> result = new ArrayList<>(views.size());
+        for (OrderView view : views) {
+            Payload payload = payloads.get(view.getOrderId());
+            OrderOutputDTO dto = new OrderOutputDTO();
+            dto.setId(view.getOrderId());
+            dto.setCustomer(customers.get(view.getCustomerId()));
+            dto.setShippingAddress(addresses.get(payload.shippingAddress().id()));
+            dto.setOrderDate(view.getOrderDate());
+            dto.setStatus(view.getStatus());
+            dto.setTotal(view.getTotal());
+            for (Line line : payload.items()) {
+                OrderItemOutputDTO item = new OrderItemOutputDTO();
+                item.setId(line.id());
+                item.setProduct(products.get(line.product().id()));
+                item.setQuantity(line.quantity());
+                item.setUnitPrice(line.unitPrice());
+                dto.getItems().add(item);
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Cliente con sus direcciones en JSON. Usa la colección ya cargada si la hay; si no, la
+     * inicializa con una consulta.
+     */
+    private String writeCustomer(Customer customer) {
+        if (!Hibernate.isInitialized(customer.getAddresses())) {
+            customerRepository.findWithAddressesByIdIn(List.of(customer.getId()));
+        }
+        try {
+            return objectMapper.writeValueAsString(customerMapper.toOutput(customer));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el cliente ID " + customer.getId(), e);
+        }
+    }
+
+    private CustomerOutputDTO readCustomer(OrderView view) {
+        try {
+            return objectMapper.readValue(view.getCustomerPayload(), CustomerOutputDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Modelo de lectura corrupto para el pedido ID " + view.getOrderId(), e);
+        }
+    }
+
+    private Payload read(OrderView view) {
+        try {
+            return objectMapper.readValue(view.getPayload(), Payload.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Modelo de lectura corrupto para el pedido ID " + view.getOrderId(), e);
+        }
+    }
+
+    /**
+     * Traduce la ordenación pedida a columnas de <code>order_view</code>.
+     *
+     * @return ordenación traducida o null si alguna propiedad no tiene columna equivalente
+     */
+    private Sort translate(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String property = SORT_PROPERTIES.get(order.getProperty());
+            if (property == null) {
+                logger.debug("Ordenación por '{}' no disponible en el modelo de lectura", order.getProperty());
+                return null;
+            }
+            orders.add(order.withProperty(property));
+        }
+        return Sort.by(orders);
+    }
+}
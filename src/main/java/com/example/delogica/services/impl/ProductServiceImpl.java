@@ -1,8 +1,12 @@
 package com.example.delogica.services.impl;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -12,8 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.delogica.config.exceptions.ResourceNotFoundException;
 import com.example.delogica.config.exceptions.SkuAlreadyInUseException;
 import com.example.delogica.config.specifications.ProductSpecifications;
+import com.example.delogica.config.uniqueness.UniqueKeyFilters;
 import com.example.delogica.dtos.input.ProductInputDTO;
 import com.example.delogica.dtos.output.ProductOutputDTO;
+import com.example.delogica.events.ProductChangedEvent;
 import com.example.delogica.mappers.ProductMapper;
 import com.example.delogica.models.Product;
 import com.example.delogica.repositories.ProductRepository;
@@ -29,23 +35,44 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public ProductOutputDTO create(ProductInputDTO input) {
         logger.info("Creando producto con SKU: {}", input.getSku());
 
-        if (productRepository.existsBySku(input.getSku())) {
+        // Solo los SKUs que el filtro no descarta se consultan en base de datos
+        if (uniqueKeyFilters.mightContainSku(input.getSku()) && productRepository.existsBySku(input.getSku())) {
             logger.warn("Intento de crear producto con SKU ya usado: {}", input.getSku());
             throw new SkuAlreadyInUseException(input.getSku());
         }
 
-        Product saved = productRepository.save(productMapper.toEntity(input));
+        // El filtro de cada nodo solo conoce sus propias altas: la restricción UNIQUE decide
+        Product saved;
+        try {
+            saved = productRepository.saveAndFlush(productMapper.toEntity(input));
+        } catch (DataIntegrityViolationException e) {
+            throw skuConflict(e, input.getSku(), null);
+        }
 
         logger.info("Producto creado correctamente con SKU: {}", input.getSku());
         return productMapper.toOutput(saved);
     }
 
+    /**
+     * Traduce una violación de integridad al guardar un producto: si otro producto tiene ya
+     * el SKU, la convierte en {@link SkuAlreadyInUseException}; si no, la devuelve tal cual.
+     */
+    private RuntimeException skuConflict(DataIntegrityViolationException e, String sku, Long productId) {
+        if (sku != null && productRepository.existsOtherWithSku(sku, productId)) {
+            logger.warn("SKU ya usado (restricción UNIQUE): {}", sku);
+            return new SkuAlreadyInUseException(sku);
+        }
+        return e;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ProductOutputDTO findById(Long productId) {
@@ -61,6 +88,12 @@ public class ProductServiceImpl implements ProductService {
         return productMapper.toOutput(found);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findRevision(Long productId) {
+        return productRepository.findRevisionById(productId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProductOutputDTO> search(Pageable pageable, String name, Boolean active) {
@@ -100,6 +133,7 @@ public class ProductServiceImpl implements ProductService {
         if (input.getSku() != null) {
             // solo validar exclusión si cambia realmente
             if (!input.getSku().equals(db.getSku())
+                    && uniqueKeyFilters.mightContainSku(input.getSku())
                     && productRepository.existsBySkuAndIdNot(input.getSku(), productId)) {
                 logger.warn("Intento de actualizar producto con SKU ya usado: {}", input.getSku());
                 throw new SkuAlreadyInUseException(input.getSku());
@@ -110,7 +144,13 @@ public class ProductServiceImpl implements ProductService {
 
         productMapper.updateEntityFromDto(input, db);
 
-        Product saved = productRepository.save(db);
+        Product saved;
+        try {
+            saved = productRepository.saveAndFlush(db);
+        } catch (DataIntegrityViolationException e) {
+            throw skuConflict(e, input.getSku(), productId);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
 
         logger.info("Producto actualizado correctamente con ID: {}", productId);
         return productMapper.toOutput(saved);
@@ -129,6 +169,7 @@ public class ProductServiceImpl implements ProductService {
 
         db.setActive(false);
         productRepository.save(db);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
 
         logger.info("Producto desactivado correctamente con ID: {}", productId);
     }
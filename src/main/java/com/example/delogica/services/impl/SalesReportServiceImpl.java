@@ -0,0 +1,229 @@
+package com.example.delogica.services.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.dtos.output.SalesByProductOutputDTO;
+import com.example.delogica.dtos.output.SalesByStatusOutputDTO;
+import com.example.delogica.events.OrderCreatedEvent;
+import com.example.delogica.events.OrderSnapshot;
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.repositories.ArchivedOrderRepository;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.repositories.SalesDailyProductRepository;
+import com.example.delogica.repositories.SalesDailyStatusRepository;
+import com.example.delogica.services.SalesReportService;
+
+/**
+ * Mantiene los agregados diarios de ventas a partir de los eventos de pedido, en la misma
+ * transacción que la escritura, con incrementos atómicos (<code>INSERT ... ON DUPLICATE KEY
+ * UPDATE</code>) que no leen la fila antes de actualizarla.
+ * <p>
+ * - Por día y estado: crear suma el pedido a CREATED; un cambio de estado lo resta del
+ * estado anterior y lo suma al nuevo con una sola sentencia. Cada día y estado se reparte
+ * en <code>app.sales-rollup.status-slots</code> ranuras elegidas por ID de pedido, así que
+ * las altas concurrentes no se serializan sobre la fila (hoy, CREATED).<br>
+ * - Por día y producto: crear suma unidades e importe de las líneas; cancelar los resta.
+ * Una sola sentencia por pedido (o por tramo) agrega las líneas desde <code>order_items</code>.<br>
+ * - Un cambio de estado masivo suma primero las diferencias del tramo y aplica un solo
+ * incremento por fila, en la ranura del primer pedido del tramo.<br>
+ * Las filas se actualizan en orden (producto por ID, estado por ordinal) para que dos
+ * transacciones no se bloqueen mutuamente.
+ * </p>
+ */
+@Service
+public class SalesReportServiceImpl implements SalesReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesReportServiceImpl.class);
+
+    private final SalesDailyStatusRepository statusRepository;
+    private final SalesDailyProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int statusSlots;
+
+    public SalesReportServiceImpl(SalesDailyStatusRepository statusRepository,
+            SalesDailyProductRepository productRepository,
+            OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.sales-rollup.status-slots:16}") int statusSlots) {
+        this.statusRepository = statusRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.statusSlots = Math.max(1, statusSlots);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderCreatedEvent event) {
+        OrderSnapshot order = event.order();
+        productRepository.addOrders(List.of(order.id()), 1);
+        statusRepository.increment(order.orderDate().toLocalDate(), OrderStatus.CREATED.name(), slot(order.id()), 1,
+                order.total());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderStatusChangedEvent event) {
+        OrderSnapshot order = event.order();
+        if (order.status() == OrderStatus.CANCELLED) {
+            productRepository.addOrders(List.of(order.id()), -1);
+        }
+        statusRepository.move(order.orderDate().toLocalDate(), slot(order.id()), event.previousStatus().name(),
+                order.status().name(), order.total());
+    }
+
+    /**
+     * Aplica los cambios del tramo sumando antes sus diferencias, de modo que cada fila de
+     * día y estado recibe un solo incremento, y las líneas de los pedidos cancelados se
+     * restan con una sola sentencia.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderStatusBulkChangedEvent event) {
+        List<OrderStatusChangedEvent> changes = event.changes();
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<DayKey, Delta> statuses = new TreeMap<>();
+        List<Long> cancelled = new ArrayList<>();
+        for (OrderStatusChangedEvent change : changes) {
+            OrderSnapshot order = change.order();
+            LocalDate day = order.orderDate().toLocalDate();
+            statuses.computeIfAbsent(new DayKey(day, change.previousStatus().ordinal()), key -> new Delta())
+                    .add(-1, order.total().negate());
+            statuses.computeIfAbsent(new DayKey(day, order.status().ordinal()), key -> new Delta())
+                    .add(1, order.total());
+            if (order.status() == OrderStatus.CANCELLED) {
+                cancelled.add(order.id());
+            }
+        }
+        if (!cancelled.isEmpty()) {
+            productRepository.addOrders(cancelled, -1);
+        }
+        int slot = slot(changes.get(0).order().id());
+        OrderStatus[] values = OrderStatus.values();
+        statuses.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                statusRepository.increment(key.day(), values[(int) key.key()].name(), slot, delta.count, delta.amount);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesByStatusOutputDTO> byStatus(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return statusRepository.findRange(from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesByProductOutputDTO> byProduct(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return productRepository.totalsByProduct(from, to);
+    }
+
+    /**
+     * Recalcula día a día, cada día en su propia transacción: un rango largo no retiene
+     * bloqueos sobre todos sus días ni deshace lo ya recalculado si falla al final.
+     */
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate current = day;
+            transactionTemplate.executeWithoutResult(status -> rebuildDay(current));
+            days++;
+        }
+        logger.info("Agregados de ventas recalculados {} - {}: {} días", from, to, days);
+        return days;
+    }
+
+    @Override
+    public int rebuildAll() {
+        LocalDateTime first = orderRepository.findFirstOrderDate();
+        LocalDateTime last = orderRepository.findLastOrderDate();
+        // Los pedidos archivados también se recalculan: pueden adelantar el primer día
+        LocalDateTime firstArchived = archivedOrderRepository.findFirstOrderDate();
+        if (firstArchived != null && (first == null || firstArchived.isBefore(first))) {
+            first = firstArchived;
+        }
+        if (first == null) {
+            return 0;
+        }
+        if (last == null) {
+            last = LocalDateTime.now();
+        }
+        return rebuild(first.toLocalDate(), last.toLocalDate());
+    }
+
+    private void rebuildDay(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        statusRepository.deleteRange(day, day);
+        productRepository.deleteRange(day, day);
+        int statusRows = statusRepository.rebuild(start, end);
+        int productRows = productRepository.rebuild(start, end);
+        logger.debug("Agregados de ventas del {}: {} filas por estado, {} por producto", day, statusRows, productRows);
+    }
+
+    /** Ranura de un pedido en <code>sales_daily_status</code>. */
+    private int slot(Long orderId) {
+        return (int) Math.floorMod(orderId, (long) statusSlots);
+    }
+
+    /**
+     * Fila de un agregado diario por día y estado (ordinal). Se ordena por día y clave, el
+     * mismo orden de actualización en todas las transacciones.
+     */
+    private record DayKey(LocalDate day, long key) implements Comparable<DayKey> {
+        @Override
+        public int compareTo(DayKey other) {
+            int byDay = day.compareTo(other.day);
+            return byDay != 0 ? byDay : Long.compare(key, other.key);
+        }
+    }
+
+    /** Diferencia acumulada de pedidos (o unidades) e importe sobre una fila. */
+    private static final class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        void add(long count, BigDecimal amount) {
+            this.count += count;
+            this.amount = this.amount.add(amount);
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Rango de fechas inválido: " + from + " - " + to);
+        }
+    }
+}
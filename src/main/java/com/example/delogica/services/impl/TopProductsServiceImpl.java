@@ -0,0 +1,103 @@
+package com.example.delogica.services.impl;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.delogica.config.analytics.SlidingTopK;
+import com.example.delogica.config.analytics.TopProductsProperties;
+import com.example.delogica.dtos.output.TopProductOutputDTO;
+import com.example.delogica.dtos.output.TopProductsOutputDTO;
+import com.example.delogica.events.OrderCreatedEvent;
+import com.example.delogica.events.OrderSnapshot;
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.models.Product;
+import com.example.delogica.repositories.ProductRepository;
+import com.example.delogica.services.TopProductsService;
+
+/**
+ * Alimenta {@link SlidingTopK} con las unidades de cada pedido confirmado y las retira al
+ * cancelarlo. Se escucha tras el commit para no contar pedidos que acaban deshaciéndose.
+ * El ranking es local a cada instancia de la aplicación y se pierde al reiniciar.
+ */
+@Service
+public class TopProductsServiceImpl implements TopProductsService {
+
+    private final SlidingTopK sketch;
+    private final TopProductsProperties properties;
+    private final ProductRepository productRepository;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    public TopProductsServiceImpl(SlidingTopK sketch, TopProductsProperties properties,
+            ProductRepository productRepository) {
+        this.sketch = sketch;
+        this.properties = properties;
+        this.productRepository = productRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(OrderCreatedEvent event) {
+        record(event.order(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(OrderStatusChangedEvent event) {
+        if (event.order().status() == OrderStatus.CANCELLED) {
+            record(event.order(), -1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(OrderStatusBulkChangedEvent event) {
+        event.changes().forEach(this::on);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TopProductsOutputDTO top(int limit) {
+        if (limit < 1 || limit > properties.getMaxLimit()) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + properties.getMaxLimit());
+        }
+        SlidingTopK.Result result = sketch.top(limit, clock.millis());
+
+        List<Long> ids = result.entries().stream().map(SlidingTopK.Entry::key).toList();
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            products.put(product.getId(), product);
+        }
+
+        List<TopProductOutputDTO> rows = new ArrayList<>(result.entries().size());
+        for (SlidingTopK.Entry entry : result.entries()) {
+            Product product = products.get(entry.key());
+            rows.add(new TopProductOutputDTO(entry.key(),
+                    product != null ? product.getSku() : null,
+                    product != null ? product.getName() : null,
+                    entry.estimate()));
+        }
+
+        TopProductsOutputDTO out = new TopProductsOutputDTO();
+        out.setWindowStart(LocalDateTime.ofInstant(Instant.ofEpochMilli(result.windowStartMillis()), clock.getZone()));
+        out.setTotalUnits(result.total());
+        out.setErrorBound(result.errorBound());
+        out.setProducts(rows);
+        return out;
+    }
+
+    private void record(OrderSnapshot order, int sign) {
+        // Las unidades cuentan en el intervalo de creación del pedido, también al restarlas
+        long time = order.orderDate().atZone(clock.getZone()).toInstant().toEpochMilli();
+        for (OrderSnapshot.Line line : order.lines()) {
+            sketch.add(line.productId(), (long) sign * line.quantity(), time);
+        }
+    }
+}
@@ -4,8 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+// Sin JWT_SECRET en el entorno: con la clave vacía JwtUtil usa su clave de pruebas
 @ActiveProfiles("test")
-@SpringBootTest
+@SpringBootTest(properties = "security.jwt.secret=")
 class ApiCommerceApplicationTests {
 
 	@Test
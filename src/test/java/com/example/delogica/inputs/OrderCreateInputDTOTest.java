@@ -70,13 +70,14 @@ public class OrderCreateInputDTOTest {
     }
 
     @Test
-    void whenShippingAddressIdNull_thenViolation() {
+    void whenShippingAddressIdNull_thenNoViolation() {
+        // Opcional: sin ella el pedido va a la dirección por defecto del cliente
         OrderCreateInputDTO dto = new OrderCreateInputDTO();
         dto.setCustomerId(1L);
         dto.setItems(new ArrayList<>());
 
         Set<ConstraintViolation<OrderCreateInputDTO>> violations = validator.validate(dto);
         assertFalse(violations.isEmpty());
-        assertTrue(violations.stream().anyMatch(v -> v.getPropertyPath().toString().equals("shippingAddressId")));
+        assertTrue(violations.stream().noneMatch(v -> v.getPropertyPath().toString().equals("shippingAddressId")));
     }
 }
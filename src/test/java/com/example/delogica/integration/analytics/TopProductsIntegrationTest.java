@@ -0,0 +1,113 @@
+package com.example.delogica.integration.analytics;
+
+import com.example.delogica.dtos.input.OrderCreateInputDTO;
+import com.example.delogica.dtos.input.OrderItemInputDTO;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.dtos.output.OrderSimpleOutputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test de integración del ranking <code>GET /api/products/top</code>.
+ * <p>
+ * Sin {@code @Transactional}: el ranking se alimenta tras el commit de cada pedido.
+ * </p>
+ */
+class TopProductsIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private OrderService orderService;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Address address;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Top Test");
+        customer.setEmail("top+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Ranking 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        product = new Product();
+        product.setSku("TOP-" + suffix);
+        product.setName("Producto estrella");
+        product.setPrice(new BigDecimal("1.00"));
+        product.setStock(100_000);
+        product.setActive(true);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM order_view WHERE customer_id = ?", customer.getId());
+        orderRepository.deleteAll(orderRepository.findAll(
+                (root, cq, cb) -> cb.equal(root.get("customer").get("id"), customer.getId())));
+        productRepository.delete(product);
+        addressRepository.delete(address);
+        customerRepository.delete(customer);
+    }
+
+    @Test
+    void createdAndCancelledOrders_updateRanking() throws Exception {
+        createOrder(5_000);
+        OrderSimpleOutputDTO cancelled = createOrder(2_000);
+        OrderStatusInputDTO cancel = new OrderStatusInputDTO();
+        cancel.setStatus("CANCELLED");
+        orderService.changeStatus(cancelled.getId(), cancel);
+
+        // Con un volumen muy superior al resto de tests, el producto encabeza el ranking
+        mockMvc.perform(authGet("/api/products/top").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products[0].productId").value(product.getId()))
+            .andExpect(jsonPath("$.products[0].name").value("Producto estrella"))
+            .andExpect(jsonPath("$.products[0].estimatedUnits").value(5_000))
+            .andExpect(jsonPath("$.errorBound").exists());
+    }
+
+    @Test
+    void limitOutOfRange_returnsBadRequest() throws Exception {
+        mockMvc.perform(authGet("/api/products/top").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private OrderSimpleOutputDTO createOrder(int quantity) {
+        OrderItemInputDTO item = new OrderItemInputDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+
+        OrderCreateInputDTO input = new OrderCreateInputDTO();
+        input.setCustomerId(customer.getId());
+        input.setShippingAddressId(address.getId());
+        input.setItems(List.of(item));
+        return orderService.create(input);
+    }
+}
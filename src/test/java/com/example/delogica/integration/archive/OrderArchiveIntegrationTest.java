@@ -0,0 +1,217 @@
+package com.example.delogica.integration.archive;
+
+import static com.example.delogica.integration.common.SqlStatementCountMatchers.sqlStatementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.delogica.config.archive.OrderArchiveProperties;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.OrderArchiveService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Tests de integración del archivado de pedidos: movimiento por lotes de pedidos en
+ * estado final y lectura transparente desde el archivo.
+ */
+@ActiveProfiles("testing")
+@Transactional
+public class OrderArchiveIntegrationTest extends AbstractIntegrationTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ArchivedOrderRepository archivedOrderRepository;
+    @Autowired private OrderArchiveService orderArchiveService;
+    @Autowired private OrderArchiveProperties archiveProperties;
+
+    private Customer customer;
+    private Address address;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        archiveProperties.setEnabled(true);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Archive Test");
+        customer.setEmail("archive+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Archivo 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        product = new Product();
+        product.setSku("SKU-" + suffix);
+        product.setName("Producto Archivo");
+        product.setPrice(new BigDecimal("5.00"));
+        product.setStock(100);
+        product.setActive(true);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void restore() {
+        archiveProperties.setEnabled(false);
+    }
+
+    @Test
+    void archiveBatch_movesOnlyOldTerminalOrders() throws Exception {
+        Long shipped = saveOrder(LocalDateTime.of(1999, 5, 1, 10, 0), OrderStatus.SHIPPED, 2);
+        Long paid = saveOrder(LocalDateTime.of(1999, 5, 2, 10, 0), OrderStatus.PAID, 1);
+        Long recent = saveOrder(LocalDateTime.now(), OrderStatus.CANCELLED, 1);
+
+        int archived = orderArchiveService.archiveBatch(CUTOFF, 100);
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(orderRepository.existsById(shipped)).isFalse();
+        assertThat(archivedOrderRepository.existsById(shipped)).isTrue();
+        assertThat(orderRepository.existsById(paid)).isTrue();
+        assertThat(orderRepository.existsById(recent)).isTrue();
+
+        mockMvc.perform(authGet("/api/orders/{id}", shipped))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(shipped))
+            .andExpect(jsonPath("$.status").value("SHIPPED"))
+            .andExpect(jsonPath("$.customer.id").value(customer.getId()))
+            .andExpect(jsonPath("$.items[0].quantity").value(2))
+            .andExpect(jsonPath("$.items[0].product.id").value(product.getId()));
+    }
+
+    @Test
+    void search_mergesHotAndArchivedOrders() throws Exception {
+        Long oldest = saveOrder(LocalDateTime.of(1999, 1, 10, 10, 0), OrderStatus.CANCELLED, 1);
+        Long old = saveOrder(LocalDateTime.of(1999, 2, 10, 10, 0), OrderStatus.SHIPPED, 1);
+        Long pending = saveOrder(LocalDateTime.of(1999, 3, 10, 10, 0), OrderStatus.PAID, 1);
+        Long recent = saveOrder(LocalDateTime.now(), OrderStatus.CREATED, 1);
+        orderArchiveService.archiveBatch(CUTOFF, 100);
+
+        mockMvc.perform(authGet("/api/orders")
+                .param("customerId", customer.getId().toString())
+                .param("sort", "orderDate,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(4))
+            .andExpect(jsonPath("$.content[0].id").value(recent))
+            .andExpect(jsonPath("$.content[1].id").value(pending))
+            .andExpect(jsonPath("$.content[2].id").value(old))
+            .andExpect(jsonPath("$.content[3].id").value(oldest));
+
+        mockMvc.perform(authGet("/api/orders")
+                .param("customerId", customer.getId().toString())
+                .param("sort", "orderDate,asc")
+                .param("page", "1")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(pending))
+            .andExpect(jsonPath("$.content[1].id").value(recent));
+
+        // Un rango reciente o un estado no final no consultan el archivo
+        mockMvc.perform(authGet("/api/orders")
+                .param("customerId", customer.getId().toString())
+                .param("status", "PAID"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void search_emptyArchive_readsOnlyHotTables() throws Exception {
+        Long recent = saveOrder(LocalDateTime.now(), OrderStatus.CREATED, 1);
+
+        // Con el archivo vacío, un listado sin fechas no combina niveles
+        mockMvc.perform(authGet("/api/orders")
+                .param("customerId", customer.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(recent))
+            .andExpect(sqlStatementsAtMost(4));
+    }
+
+    @Test
+    void search_rangeAfterLastArchivedOrder_readsOnlyHotTables() throws Exception {
+        saveOrder(LocalDateTime.of(1999, 1, 10, 10, 0), OrderStatus.SHIPPED, 1);
+        Long pending = saveOrder(LocalDateTime.of(1999, 3, 10, 10, 0), OrderStatus.PAID, 1);
+        orderArchiveService.archiveBatch(CUTOFF, 100);
+
+        mockMvc.perform(authGet("/api/orders")
+                .param("customerId", customer.getId().toString())
+                .param("fromDate", "1999-02-01T00:00:00"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(pending))
+            .andExpect(sqlStatementsAtMost(4));
+    }
+
+    @Test
+    void search_deepPage_returnsEmptyPageWithTotal() throws Exception {
+        saveOrder(LocalDateTime.of(1999, 1, 10, 10, 0), OrderStatus.CANCELLED, 1);
+        saveOrder(LocalDateTime.now(), OrderStatus.CREATED, 1);
+        orderArchiveService.archiveBatch(CUTOFF, 100);
+
+        mockMvc.perform(authGet("/api/orders")
+                .param("customerId", customer.getId().toString())
+                .param("sort", "orderDate,desc")
+                .param("page", "1000")
+                .param("size", "50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(0))
+            .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void changeStatus_archivedOrder_returnsBadRequest() throws Exception {
+        Long shipped = saveOrder(LocalDateTime.of(1999, 5, 1, 10, 0), OrderStatus.SHIPPED, 1);
+        orderArchiveService.archiveBatch(CUTOFF, 100);
+
+        OrderStatusInputDTO statusDTO = new OrderStatusInputDTO();
+        statusDTO.setStatus("CANCELLED");
+
+        mockMvc.perform(authPut("/api/orders/{id}/status", shipped)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(statusDTO)))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Long saveOrder(LocalDateTime date, OrderStatus status, int quantity) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(status);
+        order.setOrderDate(date);
+        order.setTotal(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        order.setItems(List.of(item));
+        return orderRepository.saveAndFlush(order).getId();
+    }
+}
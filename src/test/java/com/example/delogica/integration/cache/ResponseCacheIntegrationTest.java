@@ -0,0 +1,223 @@
+package com.example.delogica.integration.cache;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.delogica.config.cache.ResponseCache;
+import com.example.delogica.dtos.input.AddressInputDTO;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.dtos.input.ProductInputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Tests de integración de la caché de respuestas de detalle:
+ * aciertos con una sola consulta de revisión e invalidación al modificar el recurso o los
+ * datos que incluye.
+ */
+@ActiveProfiles("testing")
+@Transactional
+public class ResponseCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private EntityManager entityManager;
+
+    private Customer customer;
+    private Product product;
+    private Order order;
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Cache Test");
+        customer.setEmail("cache.test+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        Address address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Caché 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        product = new Product();
+        product.setSku("SKU-" + suffix);
+        product.setName("Producto Caché");
+        product.setPrice(new BigDecimal("5.00"));
+        product.setStock(10);
+        product.setActive(true);
+        product = productRepository.save(product);
+
+        order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(OrderStatus.PAID);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotal(new BigDecimal("5.00"));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(1);
+        item.setUnitPrice(new BigDecimal("5.00"));
+        order.getItems().add(item);
+        order = orderRepository.save(order);
+    }
+
+    private ProductInputDTO renamed(String name) {
+        ProductInputDTO input = new ProductInputDTO();
+        input.setSku(product.getSku());
+        input.setName(name);
+        input.setPrice(new BigDecimal("5.00"));
+        input.setStock(10);
+        input.setActive(true);
+        return input;
+    }
+
+    @Test
+    void productDetail_secondCallIsServedFromCache() throws Exception {
+        mockMvc.perform(authGet("/api/products/{id}", product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResponseCache.HEADER, "MISS"));
+
+        mockMvc.perform(authGet("/api/products/{id}", product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResponseCache.HEADER, "HIT"))
+            .andExpect(header().string("X-Sql-Statement-Count", "1"))
+            .andExpect(jsonPath("$.name").value("Producto Caché"));
+    }
+
+    @Test
+    void productUpdate_evictsCachedDetail() throws Exception {
+        mockMvc.perform(authGet("/api/products/{id}", product.getId()))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(authPut("/api/products/{id}", product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(renamed("Producto Renombrado"))))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(authGet("/api/products/{id}", product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResponseCache.HEADER, "MISS"))
+            .andExpect(jsonPath("$.name").value("Producto Renombrado"));
+    }
+
+    @Test
+    void orderStatusChange_evictsCachedDetail() throws Exception {
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("PAID"));
+
+        OrderStatusInputDTO statusDTO = new OrderStatusInputDTO();
+        statusDTO.setStatus("SHIPPED");
+        mockMvc.perform(authPut("/api/orders/{id}/status", order.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(statusDTO)))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResponseCache.HEADER, "MISS"))
+            .andExpect(jsonPath("$.status").value("SHIPPED"));
+
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(header().string(ResponseCache.HEADER, "HIT"));
+    }
+
+    @Test
+    void productUpdate_changesCachedOrderDetail() throws Exception {
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].product.name").value("Producto Caché"));
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(header().string(ResponseCache.HEADER, "HIT"));
+
+        mockMvc.perform(authPut("/api/products/{id}", product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(renamed("Producto Renombrado"))))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResponseCache.HEADER, "MISS"))
+            .andExpect(jsonPath("$.items[0].product.name").value("Producto Renombrado"));
+    }
+
+    @Test
+    void addressCreation_changesCachedOrderDetail() throws Exception {
+        // Cada petición con un contexto de persistencia limpio, como fuera de la transacción del test
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customer.addresses.length()").value(1));
+
+        AddressInputDTO address = new AddressInputDTO();
+        address.setLine1("Calle Nueva 2");
+        address.setCity("Madrid");
+        address.setPostalCode("28002");
+        address.setCountry("España");
+        mockMvc.perform(authPost("/api/customers/{id}/addresses", customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(address)))
+            .andExpect(status().isCreated());
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResponseCache.HEADER, "MISS"))
+            .andExpect(jsonPath("$.customer.addresses.length()").value(2));
+    }
+
+    @Test
+    void writeFromAnotherNode_isDetectedByRevision() throws Exception {
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customer.fullName").value("Cache Test"));
+
+        // Escritura sin eventos en este nodo, como la de otra instancia
+        Customer stored = customerRepository.findById(customer.getId()).orElseThrow();
+        stored.setFullName("Cache Test Renombrado");
+        customerRepository.saveAndFlush(stored);
+
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResponseCache.HEADER, "MISS"))
+            .andExpect(jsonPath("$.customer.fullName").value("Cache Test Renombrado"));
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(header().string(ResponseCache.HEADER, "HIT"));
+    }
+
+    @Test
+    void missingOrder_isNotCached() throws Exception {
+        mockMvc.perform(authGet("/api/orders/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(authGet("/api/orders/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.delogica.integration.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.dtos.input.OrderCreateInputDTO;
+import com.example.delogica.dtos.input.OrderItemInputDTO;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.Address;
+import com.example.delogica.models.Customer;
+import com.example.delogica.models.Product;
+import com.example.delogica.repositories.AddressRepository;
+import com.example.delogica.repositories.CustomerRepository;
+import com.example.delogica.repositories.CustomerStatsRepository;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.repositories.ProductRepository;
+import com.example.delogica.services.OrderService;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Tests de integración de la caché de segundo nivel de Hibernate para {@link Product}:
+ * aciertos por ID y por SKU, invalidación al modificar y escrituras que no vacían la región.
+ * <p>
+ * Sin {@code @Transactional}: cada llamada al repositorio abre su propia sesión, así que
+ * las lecturas repetidas no se resuelven en la caché de primer nivel.
+ * </p>
+ */
+class SecondLevelCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ProductRepository productRepository;
+    @Autowired private CustomerStatsRepository customerStatsRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private OrderService orderService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        product = new Product();
+        product.setSku("L2-" + UUID.randomUUID().toString().substring(0, 8));
+        product.setName("Producto L2");
+        product.setPrice(new BigDecimal("7.50"));
+        product.setStock(10);
+        product.setActive(true);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteById(product.getId());
+    }
+
+    // ========== 1) Lectura por ID servida desde la caché ==========
+    @Test
+    void findById_secondReadHitsCache() {
+        productRepository.findById(product.getId()).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, product.getId()));
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long loads = statistics.getEntityLoadCount();
+        Product cached = productRepository.findById(product.getId()).orElseThrow();
+
+        assertEquals("Producto L2", cached.getName());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hits);
+        assertEquals(loads, statistics.getEntityLoadCount());
+    }
+
+    // ========== 2) findBySku desde la caché de consultas, invalidada al modificar ==========
+    @Test
+    void findBySku_usesQueryCache_andSeesUpdates() throws Exception {
+        productRepository.findBySku(product.getSku()).orElseThrow();
+        long queryHits = statistics.getQueryCacheHitCount();
+        productRepository.findBySku(product.getSku()).orElseThrow();
+        assertTrue(statistics.getQueryCacheHitCount() > queryHits);
+
+        mockMvc.perform(authPut("/api/products/{id}", product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"sku":"%s","name":"Renombrado","price":8.00,"stock":4,"active":true}
+                    """.formatted(product.getSku())))
+            .andExpect(status().isOk());
+
+        Product updated = productRepository.findBySku(product.getSku()).orElseThrow();
+        assertEquals("Renombrado", updated.getName());
+        assertEquals(4, updated.getStock());
+    }
+
+    // ========== 3) Las sentencias nativas sobre otras tablas no vacían la región ==========
+    @Test
+    void nativeWriteOnOtherTable_keepsProductsCached() {
+        productRepository.findById(product.getId()).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, product.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            customerStatsRepository.addOrder(-1L, BigDecimal.ONE, LocalDateTime.now());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, product.getId()));
+    }
+
+    // ========== 4) Cancelar un pedido actualiza su producto sin vaciar la región ==========
+    @Test
+    void cancelOrder_restoresStockAndKeepsOtherProductsCached() {
+        Product other = new Product();
+        other.setSku("L2-" + UUID.randomUUID().toString().substring(0, 8));
+        other.setName("Otro producto L2");
+        other.setPrice(new BigDecimal("3.00"));
+        other.setStock(5);
+        other.setActive(true);
+        other = productRepository.save(other);
+
+        Customer customer = new Customer();
+        customer.setFullName("Cliente L2");
+        customer.setEmail("l2+" + UUID.randomUUID().toString().substring(0, 8) + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        Address address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Caché 2");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        Long orderId = null;
+        try {
+            OrderItemInputDTO item = new OrderItemInputDTO();
+            item.setProductId(product.getId());
+            item.setQuantity(2);
+            OrderCreateInputDTO input = new OrderCreateInputDTO();
+            input.setCustomerId(customer.getId());
+            input.setShippingAddressId(address.getId());
+            input.setItems(List.of(item));
+            orderId = orderService.create(input).getId();
+
+            productRepository.findById(other.getId()).orElseThrow();
+            assertTrue(entityManagerFactory.getCache().contains(Product.class, other.getId()));
+
+            OrderStatusInputDTO cancel = new OrderStatusInputDTO();
+            cancel.setStatus("CANCELLED");
+            orderService.changeStatus(orderId, cancel);
+
+            assertTrue(entityManagerFactory.getCache().contains(Product.class, other.getId()));
+            assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+        } finally {
+            jdbcTemplate.update("DELETE FROM order_view WHERE customer_id = ?", customer.getId());
+            if (orderId != null) {
+                orderRepository.deleteById(orderId);
+            }
+            productRepository.deleteById(other.getId());
+            addressRepository.delete(address);
+            customerRepository.delete(customer);
+        }
+    }
+
+    // ========== 5) La región de productos usa su configuración de hibernate-cache.conf ==========
+    @Test
+    void productRegion_usesConfiguredSettings() {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+
+        CaffeineConfiguration<?, ?> configuration = regionFactory.getCacheManager()
+                .getCache(Product.class.getName())
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertEquals(OptionalLong.of(20000), configuration.getMaximumSize());
+    }
+}
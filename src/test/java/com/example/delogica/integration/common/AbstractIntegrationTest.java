@@ -4,6 +4,7 @@ import com.example.delogica.ApiCommerceApplication;
 import com.example.delogica.security.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -15,9 +16,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 /**
  * Clase base para todos los tests de integración.
  * Genera un JWT válido con JwtUtil, sin tocar la base de datos.
+ * Mantiene activas las métricas (registro Prometheus) para poder verificarlas.
  */
 @SpringBootTest(classes = ApiCommerceApplication.class)
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @ActiveProfiles("testing")
 public abstract class AbstractIntegrationTest {
 
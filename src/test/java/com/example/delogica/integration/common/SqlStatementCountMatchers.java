@@ -0,0 +1,30 @@
+package com.example.delogica.integration.common;
+
+import com.example.delogica.config.metrics.SqlStatementCountFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Matchers de MockMvc sobre la cabecera {@value SqlStatementCountFilter#HEADER}.
+ * Permiten fijar en los tests de integración el máximo de sentencias SQL por endpoint
+ * y detectar regresiones de tipo N+1.
+ */
+public final class SqlStatementCountMatchers {
+
+    private SqlStatementCountMatchers() {}
+
+    /**
+     * Comprueba que la petición no ejecutó más de {@code max} sentencias SQL.
+     */
+    public static ResultMatcher sqlStatementsAtMost(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertNotNull(header, "Falta la cabecera " + SqlStatementCountFilter.HEADER);
+            int count = Integer.parseInt(header);
+            assertTrue(count <= max,
+                    "Se esperaban como máximo " + max + " sentencias SQL, pero se ejecutaron " + count);
+        };
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.delogica.integration.concurrency;
+
+import com.example.delogica.dtos.input.OrderCreateInputDTO;
+import com.example.delogica.dtos.input.OrderItemInputDTO;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.dtos.output.OrderSimpleOutputDTO;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO.Outcome;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.BulkOrderStatusService;
+import com.example.delogica.services.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de estrés de concurrencia sobre el stock.
+ * <p>
+ * Lanza cientos de creaciones, cancelaciones y cancelaciones masivas (la ruta por tramos del
+ * cambio de estado masivo y de la caducidad de pedidos) en paralelo contra unos pocos
+ * productos compartidos, sobre la base de datos real (sin {@code @Transactional}: cada
+ * llamada confirma su propia transacción). Comprueba que no hay sobreventa y que el stock
+ * final cuadra exactamente con los pedidos no cancelados, e informa de pedidos/s y del
+ * tiempo acumulado en cada adquisición de bloqueos de producto.
+ * </p>
+ * Cualquier cambio en la estrategia de bloqueo de {@code OrderServiceImpl} debe seguir pasando este test.
+ */
+class OrderStockConcurrencyIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStockConcurrencyIntegrationTest.class);
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 400;
+    private static final int PRODUCTS = 3;
+    private static final int INITIAL_STOCK = 150;
+    private static final double CANCEL_RATIO = 0.3;
+    private static final double BULK_CANCEL_RATIO = 0.1;
+    private static final int BULK_CANCEL_SIZE = 3;
+
+    @Autowired private OrderService orderService;
+    @Autowired private BulkOrderStatusService bulkOrderStatusService;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Customer customer;
+    private Address address;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Stress Test");
+        customer.setEmail("stress+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Concurrencia 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setSku("STRESS-" + suffix + "-" + i);
+            product.setName("Producto stress " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            product.setStock(INITIAL_STOCK);
+            product.setActive(true);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM order_view WHERE customer_id = ?", customer.getId());
+        orderRepository.deleteAll(orderRepository.findAll(
+                (root, cq, cb) -> cb.equal(root.get("customer").get("id"), customer.getId())));
+        productRepository.deleteAllById(productIds);
+        addressRepository.delete(address);
+        customerRepository.delete(customer);
+    }
+
+    @Test
+    void concurrentCreateAndCancel_neverOversellsAndStockReconciles() throws Exception {
+        // Creación, cancelación de un pedido y cancelación por tramos
+        List<RepositoryTimer> timers = List.of(
+                new RepositoryTimer("findAllByIdInWithLock"),
+                new RepositoryTimer("findAllByOrderIdWithLock"),
+                new RepositoryTimer("lockIdsForOrders"));
+
+        ConcurrentLinkedQueue<Long> cancellable = new ConcurrentLinkedQueue<>();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejectedForStock = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger bulkCancelled = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int op = 0; op < OPERATIONS; op++) {
+            long seed = op;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                try {
+                    start.await();
+                    try {
+                        OrderSimpleOutputDTO order = orderService.create(randomOrder(random));
+                        created.incrementAndGet();
+                        cancellable.add(order.getId());
+                    } catch (IllegalArgumentException e) {
+                        if (e.getMessage() == null || !e.getMessage().startsWith("Stock insuficiente")) {
+                            throw e;
+                        }
+                        rejectedForStock.incrementAndGet();
+                    }
+                    // Cancela un pedido cualquiera (propio o de otro hilo) y devuelve su stock
+                    if (random.nextDouble() < CANCEL_RATIO) {
+                        Long orderId = cancellable.poll();
+                        if (orderId != null) {
+                            OrderStatusInputDTO status = new OrderStatusInputDTO();
+                            status.setStatus("CANCELLED");
+                            orderService.changeStatus(orderId, status);
+                            cancelled.incrementAndGet();
+                        }
+                    }
+                    // Cancela varios pedidos en un tramo, como el cambio masivo y la caducidad
+                    if (random.nextDouble() < BULK_CANCEL_RATIO) {
+                        List<Long> chunk = new ArrayList<>();
+                        Long orderId;
+                        while (chunk.size() < BULK_CANCEL_SIZE && (orderId = cancellable.poll()) != null) {
+                            chunk.add(orderId);
+                        }
+                        if (!chunk.isEmpty()) {
+                            Collections.sort(chunk);
+                            for (OrderStatusResultOutputDTO result
+                                    : bulkOrderStatusService.changeStatusChunk(chunk, OrderStatus.CANCELLED)) {
+                                assertEquals(Outcome.UPDATED, result.getOutcome());
+                                cancelled.incrementAndGet();
+                                bulkCancelled.incrementAndGet();
+                            }
+                        }
+                    }
+                } catch (Throwable t) {
+                    unexpected.add(t);
+                }
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(2, TimeUnit.MINUTES);
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        pool.shutdown();
+
+        assertTrue(unexpected.isEmpty(), () -> "Errores inesperados: " + unexpected.stream()
+                .map(t -> t.getClass().getSimpleName() + ": " + t.getMessage()).distinct().toList());
+        assertTrue(created.get() > 0, "Debe crearse algún pedido");
+        assertTrue(rejectedForStock.get() > 0, "La demanda debe superar el stock para probar la sobreventa");
+        assertTrue(bulkCancelled.get() > 0, "Debe cancelarse algún pedido por tramos");
+
+        // Reconciliación exacta: stock final = inicial - unidades en pedidos no cancelados
+        for (Long productId : productIds) {
+            int stock = productRepository.findById(productId).orElseThrow().getStock();
+            Integer sold = jdbcTemplate.queryForObject(
+                    "select coalesce(sum(i.quantity), 0) from order_items i join orders o on o.id = i.order_id "
+                            + "where i.product_id = ? and o.status <> 'CANCELLED'", Integer.class, productId);
+            assertTrue(stock >= 0, "Sobreventa en producto " + productId + ": stock " + stock);
+            assertEquals(INITIAL_STOCK - sold, stock, "Stock descuadrado en producto " + productId);
+        }
+        Long cancelledInDb = jdbcTemplate.queryForObject(
+                "select count(*) from orders where customer_id = ? and status = 'CANCELLED'", Long.class, customer.getId());
+        assertEquals(cancelled.get(), cancelledInDb.intValue());
+
+        logger.info("Estrés de stock: {} hilos, {} operaciones en {} s -> {} pedidos/s "
+                        + "(creados={}, sin stock={}, cancelados={}, de ellos por tramos={})",
+                THREADS, OPERATIONS, String.format("%.2f", elapsedSeconds),
+                String.format("%.1f", created.get() / elapsedSeconds),
+                created.get(), rejectedForStock.get(), cancelled.get(), bulkCancelled.get());
+        for (RepositoryTimer timer : timers) {
+            timer.report();
+        }
+    }
+
+    /**
+     * Tiempo acumulado en un método de {@link ProductRepository} durante el test, a partir de
+     * la métrica de invocaciones de repositorio.
+     */
+    private final class RepositoryTimer {
+
+        private final String method;
+        private final double secondsBefore;
+        private final long callsBefore;
+
+        RepositoryTimer(String method) {
+            this.method = method;
+            Timer timer = timer();
+            this.secondsBefore = timer == null ? 0 : timer.totalTime(TimeUnit.SECONDS);
+            this.callsBefore = timer == null ? 0 : timer.count();
+        }
+
+        private Timer timer() {
+            return meterRegistry.find("spring.data.repository.invocations")
+                    .tag("repository", "ProductRepository")
+                    .tag("method", method)
+                    .timer();
+        }
+
+        void report() {
+            Timer timer = timer();
+            assertNotNull(timer, "Debe registrarse la métrica de " + method);
+            double seconds = timer.totalTime(TimeUnit.SECONDS) - secondsBefore;
+            long calls = timer.count() - callsBefore;
+            assertTrue(calls > 0, "Debe invocarse " + method);
+            logger.info("Bloqueo de productos ({}): {} llamadas, {} ms en total, {} ms de media", method, calls,
+                    String.format("%.1f", seconds * 1000), String.format("%.2f", seconds * 1000 / calls));
+        }
+    }
+
+    private OrderCreateInputDTO randomOrder(Random random) {
+        OrderCreateInputDTO input = new OrderCreateInputDTO();
+        input.setCustomerId(customer.getId());
+        input.setShippingAddressId(address.getId());
+        List<OrderItemInputDTO> items = new ArrayList<>();
+        int lines = 1 + random.nextInt(PRODUCTS);
+        for (int i = 0; i < lines; i++) {
+            OrderItemInputDTO item = new OrderItemInputDTO();
+            item.setProductId(productIds.get(random.nextInt(PRODUCTS)));
+            item.setQuantity(1 + random.nextInt(3));
+            items.add(item);
+        }
+        input.setItems(items);
+        return input;
+    }
+}
@@ -5,15 +5,19 @@ import com.example.delogica.models.Address;
 import com.example.delogica.models.Customer;
 import com.example.delogica.repositories.AddressRepository;
 import com.example.delogica.repositories.CustomerRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.UUID;
 
+import static com.example.delogica.integration.common.SqlStatementCountMatchers.sqlStatementsAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @Transactional
@@ -21,6 +25,8 @@ public class CustomerControllerIntegrationTest extends AbstractIntegrationTest {
 
     @Autowired private CustomerRepository customerRepository;
     @Autowired private AddressRepository addressRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
 
     private String uniqueSuffix;
     private Customer existingCustomer;
@@ -77,7 +83,11 @@ public class CustomerControllerIntegrationTest extends AbstractIntegrationTest {
         a.setPostalCode(postal);
         a.setCountry(country);
         a.setDefaultAddress(isDefault);
-        return addressRepository.saveAndFlush(a);
+        Address saved = addressRepository.saveAndFlush(a);
+        if (isDefault) {
+            existingCustomer.setDefaultAddressId(saved.getId());
+        }
+        return saved;
     }
 
     @BeforeEach
@@ -141,6 +151,21 @@ public class CustomerControllerIntegrationTest extends AbstractIntegrationTest {
             });
     }
 
+    @Test
+    void createCustomer_emailUnknownToFilter_returns409WithoutSql() throws Exception {
+        // Alta hecha por otro nodo: no pasa por el filtro de este
+        String email = "otro.nodo." + uniqueSuffix + "@t.es";
+        jdbcTemplate.update("INSERT INTO customers (full_name, email, email_normalized, email_domain, created_at, updated_at)"
+                + " VALUES ('Otro Nodo', ?, ?, 't.es', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", email, email);
+
+        mockMvc.perform(authPost("/api/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("Otro", email, "600111222")))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("CONFLICT"))
+            .andExpect(jsonPath("$.message").value("El email '" + email + "' ya está en uso."));
+    }
+
     @Test
     void createCustomer_phone8Digits_returns400() throws Exception {
         String payload = customerJson("Tel Corto " + uniqueSuffix,
@@ -211,6 +236,123 @@ public class CustomerControllerIntegrationTest extends AbstractIntegrationTest {
             .andExpect(jsonPath("$.content[0].email").value(existingCustomer.getEmail()));
     }
 
+    @Test
+    void listCustomers_emailPrefix_isCaseInsensitiveAndLiteral() throws Exception {
+        String email = "Pf_" + uniqueSuffix + "@Ac-" + uniqueSuffix + ".es";
+        mockMvc.perform(authPost("/api/customers").contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("Prefijo " + uniqueSuffix, email, "601000010")))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "PF_" + uniqueSuffix))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.content[0].email").value(email));
+
+        // "%" no actúa como comodín; y sin modo CONTAINS no se busca en mitad del email
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "Pf%" + uniqueSuffix))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "ac-" + uniqueSuffix))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(0));
+
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "ac-" + uniqueSuffix).param("match", "CONTAINS"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1));
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", email.toUpperCase()).param("match", "EXACT"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void listCustomers_emailDomain_pagesByIdAndFollowsUpdates() throws Exception {
+        String domain = "dominio-" + uniqueSuffix + ".es";
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(authPost("/api/customers").contentType(MediaType.APPLICATION_JSON)
+                    .content(customerJson("Dominio " + i, "c" + i + "@" + domain.toUpperCase(), "60100002" + i)))
+                .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "@" + domain).param("match", "DOMAIN")
+                .param("page", "1").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(3))
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].email").value("c3@" + domain.toUpperCase()));
+
+        Customer moved = customerRepository.findByEmail("c1@" + domain.toUpperCase()).orElseThrow();
+        mockMvc.perform(authPut("/api/customers/{id}", moved.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("Dominio 1", "c1@otro-" + uniqueSuffix + ".es", "601000021")))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", domain).param("match", "DOMAIN"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(2))
+            .andExpect(jsonPath("$.content[0].email").value("c2@" + domain.toUpperCase()));
+
+        // La búsqueda lee la columna indexada: ve también clientes escritos sin pasar por el servicio
+        Customer direct = new Customer();
+        direct.setFullName("Dominio 4");
+        direct.setEmail("c4@" + domain);
+        customerRepository.saveAndFlush(direct);
+
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", domain).param("match", "DOMAIN"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(3))
+            .andExpect(jsonPath("$.content[2].email").value("c4@" + domain));
+    }
+
+    @Test
+    void listCustomers_loadsAddressesOfWholePageInOneQuery() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            Customer customer = new Customer();
+            customer.setFullName("Lote " + i);
+            customer.setEmail("lote" + i + "." + uniqueSuffix + "@t.es");
+            for (int a = 0; a < 2; a++) {
+                Address address = new Address();
+                address.setLine1("Calle " + a);
+                address.setCity("Madrid");
+                address.setPostalCode("28001");
+                address.setCountry("España");
+                address.setDefaultAddress(a == 0);
+                customer.addAddress(address);
+            }
+            customerRepository.save(customer);
+        }
+        customerRepository.flush();
+        entityManager.clear();
+
+        // página + direcciones de toda la página, sin depender del número de clientes
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "lote").param("match", "PREFIX"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(4))
+            .andExpect(jsonPath("$.content[3].addresses.length()").value(2))
+            .andExpect(sqlStatementsAtMost(2));
+
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "lote").param("includeAddresses", "false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(4))
+            .andExpect(jsonPath("$.content[0].addresses").doesNotExist())
+            .andExpect(sqlStatementsAtMost(1));
+    }
+
+    @Test
+    void listCustomers_unknownMatchMode_returns400() throws Exception {
+        mockMvc.perform(authGet("/api/customers")
+                .param("email", "x").param("match", "FUZZY"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void listCustomers_pagination_page1_size1_returnsOneElement() throws Exception {
         String p1 = customerJson("Pag Uno " + uniqueSuffix, "pag1." + uniqueSuffix + "@t.es", "601000001");
@@ -276,11 +418,21 @@ public class CustomerControllerIntegrationTest extends AbstractIntegrationTest {
     // DELETE CUSTOMER
     // ---------------------------------------------------------------------
     @Test
-    void deleteCustomer_existing_returns204_andRemovesIt() throws Exception {
+    void deleteCustomer_existing_returns202_withPendingJob() throws Exception {
+        // Transacción del test sin confirmar => el borrado queda aceptado pero no se ejecuta
         mockMvc.perform(authDelete("/api/customers/" + existingCustomer.getId()))
-            .andExpect(status().isNoContent());
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", containsString("/api/customers/deletion-jobs/")))
+            .andExpect(jsonPath("$.customerId").value(existingCustomer.getId()))
+            .andExpect(jsonPath("$.status").value("PENDING"));
 
-        assertThat(customerRepository.findById(existingCustomer.getId())).isEmpty();
+        assertThat(customerRepository.findById(existingCustomer.getId())).isPresent();
+    }
+
+    @Test
+    void deleteCustomer_notFound_returns404() throws Exception {
+        mockMvc.perform(authDelete("/api/customers/99999999"))
+            .andExpect(status().isNotFound());
     }
 
     // ---------------------------------------------------------------------
@@ -13,8 +13,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static com.example.delogica.integration.common.SqlStatementCountMatchers.sqlStatementsAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -72,7 +74,11 @@ class CustomerDefaultAddressIntegrationTest extends AbstractIntegrationTest {
         address.setPostalCode(postal);
         address.setCountry(country);
         address.setDefaultAddress(isDefault);
-        return addressRepository.save(address);
+        Address saved = addressRepository.save(address);
+        if (isDefault) {
+            customer.setDefaultAddressId(saved.getId());
+        }
+        return saved;
     }
 
     // ========== 1) Primera dirección creada → debe ser default automáticamente ==========
@@ -89,6 +95,8 @@ class CustomerDefaultAddressIntegrationTest extends AbstractIntegrationTest {
         var addrs = addressRepository.findByCustomerId(customer.getId());
         assertThat(addrs).hasSize(1);
         assertThat(addrs.get(0).getDefaultAddress()).isTrue();
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getDefaultAddressId())
+            .isEqualTo(addrs.get(0).getId());
     }
 
     // ========== 2) Crear segunda dirección y marcarla por endpoint ==========
@@ -183,9 +191,12 @@ class CustomerDefaultAddressIntegrationTest extends AbstractIntegrationTest {
         Address a1 = createAddress("Calle A", "Madrid", "28001", "España", true);
         Address a2 = createAddress("Calle B", "Madrid", "28002", "España", false);
 
+        // dirección destino + cliente bloqueado + anterior default por ID, sin recorrer el resto,
+        // y el UPDATE del cliente renderizado en order_view
         mockMvc.perform(authPut("/api/customers/{id}/addresses/{addressId}/default",
                 customer.getId(), a2.getId()))
-            .andExpect(status().isNoContent());
+            .andExpect(status().isNoContent())
+            .andExpect(sqlStatementsAtMost(4));
 
         addressRepository.flush();
 
@@ -194,5 +205,43 @@ class CustomerDefaultAddressIntegrationTest extends AbstractIntegrationTest {
 
         assertThat(r1.getDefaultAddress()).isFalse();
         assertThat(r2.getDefaultAddress()).isTrue();
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getDefaultAddressId())
+            .isEqualTo(a2.getId());
+    }
+
+    // ========== 6) PUT con muchas direcciones: actualiza, borra y añade sin consultas por dirección ==========
+    @Test
+    void updateCustomer_mergesManyAddresses_withConstantQueries() throws Exception {
+        List<Address> existing = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            existing.add(createAddress("Calle " + i, "Madrid", "28001", "España", i == 0));
+        }
+
+        // se conservan las 4 primeras (3 con cambios), se quitan las demás y se añade una nueva
+        StringBuilder addresses = new StringBuilder("[");
+        for (int i = 0; i < 4; i++) {
+            String line1 = i == 0 ? "Calle 0" : "Calle " + i + " bis";
+            addresses.append("""
+                { "id": %d, "line1": "%s", "city":"Madrid", "postalCode":"28001", "country":"España", "defaultAddress": %s },
+                """.formatted(existing.get(i).getId(), line1, i == 0));
+        }
+        addresses.append(addressJson("Calle Nueva", "Toledo", "45001", "España", false)).append("]");
+
+        mockMvc.perform(authPut("/api/customers/{id}", customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateCustomerJson("Ana García", customer.getEmail(), customer.getPhone(), addresses.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.addresses.length()").value(5))
+            // incluye el UPDATE del cliente que sube su revisión al cambiar sus direcciones
+            // y el del cliente renderizado en order_view
+            .andExpect(sqlStatementsAtMost(8));
+
+        addressRepository.flush();
+        List<Address> all = addressRepository.findByCustomerId(customer.getId());
+        assertThat(all).hasSize(5);
+        assertThat(all).extracting(Address::getLine1)
+            .containsExactlyInAnyOrder("Calle 0", "Calle 1 bis", "Calle 2 bis", "Calle 3 bis", "Calle Nueva");
+        assertThat(all.stream().filter(Address::getDefaultAddress).map(Address::getId).toList())
+            .containsExactly(existing.get(0).getId());
     }
 }
@@ -0,0 +1,64 @@
+package com.example.delogica.integration.controllers;
+
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración del endpoint de métricas en formato Prometheus, protegido con la
+ * credencial básica del scraper (<code>app.metrics.scrape.*</code>).
+ */
+class MetricsEndpointIntegrationTest extends AbstractIntegrationTest {
+
+    @Test
+    void prometheus_exposesHttpServiceRepositoryPoolAndTransactionMetrics() throws Exception {
+        mockMvc.perform(authGet("/api/products"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "test-scrape")))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+            .andExpect(content().string(containsString("app_service_invocations_seconds_count{")))
+            .andExpect(content().string(containsString("method=\"search\"")))
+            .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+            .andExpect(content().string(containsString("app_transaction_duration_seconds_count{")))
+            .andExpect(content().string(containsString("hikaricp_connections_active")))
+            .andExpect(content().string(containsString("hibernate_")));
+    }
+
+    @Test
+    void prometheus_anonymous_returns401() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_userToken_returns401() throws Exception {
+        // Los tokens de usuario se obtienen sin contraseña: no dan acceso a las métricas
+        mockMvc.perform(authGet("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_wrongScrapePassword_returns401() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "otra")))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void health_isPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
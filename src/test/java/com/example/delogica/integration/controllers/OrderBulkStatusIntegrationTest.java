@@ -0,0 +1,159 @@
+package com.example.delogica.integration.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.delogica.dtos.input.OrderBulkStatusInputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Tests de integración de PUT /api/orders/status (cambio de estado masivo).
+ */
+@ActiveProfiles("testing")
+@Transactional
+public class OrderBulkStatusIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Address address;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Bulk Test");
+        customer.setEmail("bulk+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Almacén 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        product = new Product();
+        product.setSku("SKU-" + suffix);
+        product.setName("Producto Masivo");
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(50);
+        product.setActive(true);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void ship_reportsOutcomePerOrder() throws Exception {
+        Long paid = saveOrder(OrderStatus.PAID, 1);
+        Long created = saveOrder(OrderStatus.CREATED, 1);
+        Long shipped = saveOrder(OrderStatus.SHIPPED, 1);
+
+        mockMvc.perform(authPut("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(List.of(paid, created, 999999999L, shipped, paid), "shipped")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("SHIPPED"))
+            .andExpect(jsonPath("$.updated").value(1))
+            .andExpect(jsonPath("$.rejected").value(3))
+            .andExpect(jsonPath("$.results.length()").value(4))
+            .andExpect(jsonPath("$.results[0].id").value(paid))
+            .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+            .andExpect(jsonPath("$.results[0].previousStatus").value("PAID"))
+            .andExpect(jsonPath("$.results[1].outcome").value("INVALID_TRANSITION"))
+            .andExpect(jsonPath("$.results[1].previousStatus").value("CREATED"))
+            .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"))
+            .andExpect(jsonPath("$.results[3].outcome").value("INVALID_TRANSITION"));
+
+        assertThat(statusOf(paid)).isEqualTo("SHIPPED");
+        assertThat(statusOf(created)).isEqualTo("CREATED");
+
+        mockMvc.perform(authGet("/api/orders/{id}", paid))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("SHIPPED"));
+    }
+
+    @Test
+    void cancel_restoresStockOfAllCancelledOrders() throws Exception {
+        Long first = saveOrder(OrderStatus.CREATED, 2);
+        Long second = saveOrder(OrderStatus.PAID, 3);
+        Long shipped = saveOrder(OrderStatus.SHIPPED, 4);
+
+        mockMvc.perform(authPut("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(List.of(first, second, shipped), "CANCELLED")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(2))
+            .andExpect(jsonPath("$.rejected").value(1));
+
+        assertThat(statusOf(first)).isEqualTo("CANCELLED");
+        assertThat(statusOf(second)).isEqualTo("CANCELLED");
+        assertThat(jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class,
+                product.getId())).isEqualTo(50 + 2 + 3);
+    }
+
+    @Test
+    void invalidInput_returnsBadRequest() throws Exception {
+        mockMvc.perform(authPut("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(List.of(), "SHIPPED")))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(authPut("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(List.of(1L), "LOST")))
+            .andExpect(status().isBadRequest());
+    }
+
+    private String body(List<Long> ids, String status) throws Exception {
+        OrderBulkStatusInputDTO input = new OrderBulkStatusInputDTO();
+        input.setIds(ids);
+        input.setStatus(status);
+        return objectMapper.writeValueAsString(input);
+    }
+
+    private Long saveOrder(OrderStatus status, int quantity) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(status);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotal(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        order.setItems(List.of(item));
+        return orderRepository.saveAndFlush(order).getId();
+    }
+
+    private String statusOf(Long orderId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, orderId);
+    }
+}
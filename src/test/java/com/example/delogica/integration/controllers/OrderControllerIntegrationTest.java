@@ -7,7 +7,9 @@ import com.example.delogica.integration.common.AbstractIntegrationTest;
 import com.example.delogica.models.*;
 import com.example.delogica.repositories.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +21,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static com.example.delogica.integration.common.SqlStatementCountMatchers.sqlStatementsAtMost;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -34,6 +38,7 @@ public class OrderControllerIntegrationTest extends AbstractIntegrationTest {
     @Autowired private AddressRepository addressRepository;
     @Autowired private ProductRepository productRepository;
     @Autowired private OrderRepository orderRepository;
+    @Autowired private EntityManager entityManager;
 
     private Customer customer;
     private Address address;
@@ -59,6 +64,8 @@ public class OrderControllerIntegrationTest extends AbstractIntegrationTest {
         address.setCountry("España");
         address.setDefaultAddress(true);
         address = addressRepository.save(address);
+        customer.setDefaultAddressId(address.getId());
+        customer = customerRepository.saveAndFlush(customer);
 
         // --- Product ---
         product = new Product();
@@ -90,7 +97,27 @@ public class OrderControllerIntegrationTest extends AbstractIntegrationTest {
                 .content(objectMapper.writeValueAsString(input)))
             .andExpect(status().isCreated())
             .andExpect(jsonPath("$.id").exists())
-            .andExpect(jsonPath("$.total").value(200));
+            .andExpect(jsonPath("$.total").value(200))
+            // bloqueo de productos, pedido, línea, estadísticas del cliente y una sentencia por agregado diario
+            .andExpect(sqlStatementsAtMost(6));
+    }
+
+    @Test
+    void createOrder_withoutShippingAddress_usesCustomerDefault() throws Exception {
+        OrderItemInputDTO item = new OrderItemInputDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(1);
+
+        OrderCreateInputDTO input = new OrderCreateInputDTO();
+        input.setCustomerId(customer.getId());
+        input.setItems(List.of(item));
+
+        mockMvc.perform(authPost("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.shippingAddressId").value(address.getId()))
+            .andExpect(sqlStatementsAtMost(6));
     }
 
     // ------------------------------
@@ -117,7 +144,35 @@ public class OrderControllerIntegrationTest extends AbstractIntegrationTest {
         mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id").value(order.getId()))
-            .andExpect(jsonPath("$.total").value(300));
+            .andExpect(jsonPath("$.total").value(300))
+            .andExpect(sqlStatementsAtMost(3));
+    }
+
+    @Test
+    void getOrderById_freshContext_loadsCustomerAddressesExplicitly() throws Exception {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(OrderStatus.CREATED);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotal(BigDecimal.valueOf(300));
+
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(3);
+        item.setUnitPrice(product.getPrice());
+
+        order.setItems(List.of(item));
+        order = orderRepository.saveAndFlush(order);
+        entityManager.clear();
+
+        // Revisión para la caché de respuestas, pedido con sus relaciones en una consulta y
+        // direcciones del cliente en otra
+        mockMvc.perform(authGet("/api/orders/{id}", order.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customer.addresses[0].id").value(address.getId()))
+            .andExpect(sqlStatementsAtMost(3));
     }
 
     // ------------------------------
@@ -140,7 +195,78 @@ public class OrderControllerIntegrationTest extends AbstractIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(statusDTO)))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.status").value("PAID"));
+            .andExpect(jsonPath("$.status").value("PAID"))
+            // bloqueo, pedido, order_view y el movimiento entre agregados por estado en una sentencia
+            .andExpect(sqlStatementsAtMost(4));
+    }
+
+    // ------------------------------
+    // CHANGE STATUS - CANCEL
+    // ------------------------------
+    @Test
+    void changeStatus_cancel_restoresStockAndReturnsProducts() throws Exception {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(OrderStatus.CREATED);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotal(BigDecimal.valueOf(200));
+
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(2);
+        item.setUnitPrice(product.getPrice());
+
+        order.setItems(List.of(item));
+        order = orderRepository.saveAndFlush(order);
+        entityManager.clear();
+
+        OrderStatusInputDTO statusDTO = new OrderStatusInputDTO();
+        statusDTO.setStatus("CANCELLED");
+
+        mockMvc.perform(authPut("/api/orders/{id}/status", order.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(statusDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("CANCELLED"))
+            .andExpect(jsonPath("$.items[0].product.name").value("Producto Test"))
+            // bloqueo del pedido y de sus productos + pedido completo en una consulta + stock, estado y agregados
+            .andExpect(sqlStatementsAtMost(8));
+
+        // El stock se devuelve sobre la entidad bloqueada: se escribe al confirmar, aquí al vaciar
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(12, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    // ------------------------------
+    // LAZY PRODUCT
+    // ------------------------------
+    @Test
+    void loadingOrderItems_doesNotLoadProducts() {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(OrderStatus.CREATED);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotal(BigDecimal.valueOf(100));
+
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(1);
+        item.setUnitPrice(product.getPrice());
+
+        order.setItems(List.of(item));
+        order = orderRepository.saveAndFlush(order);
+        entityManager.clear();
+
+        OrderItem loaded = orderRepository.findById(order.getId()).orElseThrow().getItems().get(0);
+
+        assertFalse(Hibernate.isInitialized(loaded.getProduct()));
+        assertEquals(product.getId(), loaded.getProduct().getId());
+        assertFalse(Hibernate.isInitialized(loaded.getProduct()));
     }
 
     // ------------------------------
@@ -191,6 +317,52 @@ public class OrderControllerIntegrationTest extends AbstractIntegrationTest {
                 .param("customerId", customer.getId().toString())
                 .param("status", "CREATED"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.content[0].id").value(order.getId()));
+            .andExpect(jsonPath("$.content[0].id").value(order.getId()))
+            .andExpect(sqlStatementsAtMost(4));
+    }
+
+    // ------------------------------
+    // SEARCH ORDERS - N+1
+    // ------------------------------
+    @Test
+    void searchOrders_queryCountDoesNotGrowWithPageSize() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Customer other = new Customer();
+            other.setFullName("Cliente Página " + i);
+            other.setEmail("pagina" + i + "." + UUID.randomUUID().toString().substring(0, 8) + "@delogica.example");
+            Address otherAddress = new Address();
+            otherAddress.setLine1("Calle Página " + i);
+            otherAddress.setCity("Madrid");
+            otherAddress.setPostalCode("28001");
+            otherAddress.setCountry("España");
+            otherAddress.setDefaultAddress(true);
+            other.addAddress(otherAddress);
+            other = customerRepository.save(other);
+
+            Order order = new Order();
+            order.setCustomer(other);
+            order.setShippingAddress(otherAddress);
+            order.setStatus(OrderStatus.PAID);
+            order.setOrderDate(LocalDateTime.now());
+            order.setTotal(product.getPrice());
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setUnitPrice(product.getPrice());
+            order.setItems(List.of(item));
+            orderRepository.save(order);
+        }
+        orderRepository.flush();
+        entityManager.clear();
+
+        // página + detalle de los pedidos + direcciones de sus clientes
+        mockMvc.perform(authGet("/api/orders")
+                .param("status", "PAID")
+                .param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(5))
+            .andExpect(jsonPath("$.content[4].customer.addresses.length()").value(1))
+            .andExpect(sqlStatementsAtMost(4));
     }
 }
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import jakarta.transaction.Transactional;
@@ -26,6 +27,9 @@ class ProductControllerIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Product activeProduct;
     @SuppressWarnings("unused")
     private Product inactiveProduct;
@@ -111,6 +115,21 @@ class ProductControllerIntegrationTest extends AbstractIntegrationTest {
             .andExpect(status().isConflict());
     }
 
+    @Test
+    void createProduct_skuUnknownToFilter_returns409WithoutSql() throws Exception {
+        // Alta hecha por otro nodo: no pasa por el filtro de este
+        jdbcTemplate.update("INSERT INTO products (sku, name, price, stock, active, created_at, updated_at)"
+                + " VALUES ('SKU-OTRO-NODO', 'Otro nodo', 1.00, 1, TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+
+        mockMvc.perform(authPost("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(productJson("Otro nombre", "SKU-OTRO-NODO", "desc", "10.00", 5, true)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("CONFLICT"))
+            .andExpect(jsonPath("$.message").value(Matchers.containsString("SKU-OTRO-NODO")))
+            .andExpect(jsonPath("$.message").value(Matchers.not(Matchers.containsString("SQL"))));
+    }
+
     @Test
     void detail_existing_returns200_andBody() throws Exception {
         mockMvc.perform(authGet("/api/products/{id}", activeProduct.getId()))
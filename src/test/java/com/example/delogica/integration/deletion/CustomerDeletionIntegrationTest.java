@@ -0,0 +1,199 @@
+package com.example.delogica.integration.deletion;
+
+import com.example.delogica.config.archive.OrderArchiveProperties;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.OrderArchiveService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de <code>DELETE /api/customers/{id}</code> y
+ * <code>GET /api/customers/deletion-jobs/{jobId}</code>.
+ * <p>
+ * Sin {@code @Transactional}: el borrado se ejecuta en otro hilo con sus propias
+ * transacciones, que no verían datos sin confirmar del test.
+ * </p>
+ */
+class CustomerDeletionIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ArchivedOrderRepository archivedOrderRepository;
+    @Autowired private OrderArchiveService orderArchiveService;
+    @Autowired private OrderArchiveProperties archiveProperties;
+
+    private Customer customer;
+    private final List<Order> orders = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        customer = new Customer();
+        customer.setFullName("Borrado Test");
+        customer.setEmail("del+" + suffix + "@delogica.example");
+        customer.setPhone("600123456");
+        customer = customerRepository.save(customer);
+    }
+
+    @AfterEach
+    void cleanup() {
+        archiveProperties.setEnabled(false);
+        archivedOrderRepository.deleteAllById(orders.stream().map(Order::getId).toList());
+        orderRepository.deleteAll(orders);
+        addressRepository.deleteAll(addressRepository.findByCustomerId(customer.getId()));
+        customerRepository.findById(customer.getId()).ifPresent(customerRepository::delete);
+    }
+
+    // ---------- helpers ----------
+    private Address address(String line1, boolean defaultAddress) {
+        Address address = new Address();
+        address.setCustomer(customer);
+        address.setLine1(line1);
+        address.setLine2("Piso 2");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(defaultAddress);
+        address = addressRepository.save(address);
+        if (defaultAddress) {
+            customer.setDefaultAddressId(address.getId());
+            customer = customerRepository.save(customer);
+        }
+        return address;
+    }
+
+    private Order order(Address shippingAddress) {
+        return order(shippingAddress, OrderStatus.PAID, LocalDateTime.of(2025, 10, 1, 10, 0));
+    }
+
+    private Order order(Address shippingAddress, OrderStatus status, LocalDateTime orderDate) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(shippingAddress);
+        order.setStatus(status);
+        order.setOrderDate(orderDate);
+        order.setTotal(new BigDecimal("10.50"));
+        order = orderRepository.save(order);
+        orders.add(order);
+        return order;
+    }
+
+    /** Lanza el borrado y consulta su estado hasta que termina. */
+    private JsonNode deleteAndWait() throws Exception {
+        String accepted = mockMvc.perform(authDelete("/api/customers/{id}", customer.getId()))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(accepted).get("id").asText();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(authGet("/api/customers/deletion-jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED")) {
+                return job;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "El borrado no terminó a tiempo: " + status);
+            Thread.sleep(50);
+        }
+    }
+
+    // ========== 1) Sin pedidos: se borra el cliente con sus direcciones ==========
+    @Test
+    void delete_customerWithoutOrders_deletesCustomerAndAddresses() throws Exception {
+        address("Calle Uno 1", true);
+        address("Calle Dos 2", false);
+
+        JsonNode job = deleteAndWait();
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals("DELETED", job.get("outcome").asText());
+        assertEquals(2, job.get("addressesDeleted").asLong());
+        assertEquals(0, job.get("addressesAnonymized").asLong());
+        assertTrue(customerRepository.findById(customer.getId()).isEmpty());
+        assertTrue(addressRepository.findByCustomerId(customer.getId()).isEmpty());
+    }
+
+    // ========== 2) Con pedidos: se anonimiza y se conservan los pedidos ==========
+    @Test
+    void delete_customerWithOrders_anonymizesCustomerAndUsedAddresses() throws Exception {
+        Address used = address("Calle Usada 1", true);
+        address("Calle Libre 2", false);
+        order(used);
+
+        JsonNode job = deleteAndWait();
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals("ANONYMIZED", job.get("outcome").asText());
+        assertEquals(1, job.get("addressesDeleted").asLong());
+        assertEquals(1, job.get("addressesAnonymized").asLong());
+        assertEquals(1, job.get("ordersRefreshed").asLong());
+
+        Customer anonymized = customerRepository.findById(customer.getId()).orElseThrow();
+        assertEquals("Cliente eliminado", anonymized.getFullName());
+        assertEquals("deleted-" + customer.getId() + "@anonymized.invalid", anonymized.getEmail());
+        assertNull(anonymized.getPhone());
+        assertNull(anonymized.getDefaultAddressId());
+
+        List<Address> remaining = addressRepository.findByCustomerId(customer.getId());
+        assertEquals(1, remaining.size());
+        assertEquals(used.getId(), remaining.get(0).getId());
+        assertEquals("Dirección anonimizada", remaining.get(0).getLine1());
+        assertNull(remaining.get(0).getLine2());
+        assertFalse(remaining.get(0).getDefaultAddress());
+        assertTrue(orderRepository.existsById(orders.get(0).getId()));
+    }
+
+    // ========== 3) Pedidos archivados: se refrescan también sus copias ==========
+    @Test
+    void delete_customerWithArchivedOrder_refreshesArchivedOrder() throws Exception {
+        archiveProperties.setEnabled(true);
+        Address used = address("Calle Archivo 1", true);
+        Long archived = order(used, OrderStatus.SHIPPED, LocalDateTime.of(1999, 5, 1, 10, 0)).getId();
+        orderArchiveService.archiveBatch(LocalDateTime.of(2000, 1, 1, 0, 0), 100);
+        assertTrue(archivedOrderRepository.existsById(archived));
+
+        // La respuesta del pedido archivado queda en la caché con los datos del cliente
+        mockMvc.perform(authGet("/api/orders/{id}", archived))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customer.fullName").value("Borrado Test"));
+
+        JsonNode job = deleteAndWait();
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals("ANONYMIZED", job.get("outcome").asText());
+        assertEquals(1, job.get("ordersRefreshed").asLong());
+
+        mockMvc.perform(authGet("/api/orders/{id}", archived))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customer.fullName").value("Cliente eliminado"))
+            .andExpect(jsonPath("$.customer.phone").doesNotExist());
+    }
+
+    // ========== 4) Borrado desconocido ==========
+    @Test
+    void getDeletionJob_unknown_returns404() throws Exception {
+        mockMvc.perform(authGet("/api/customers/deletion-jobs/{jobId}", "no-existe"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.delogica.integration.expiration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.OrderExpirationService;
+
+/**
+ * Tests de integración de la expiración de pedidos sin pagar.
+ * <p>
+ * Sin {@code @Transactional}: cada lote confirma su propia transacción y el test de
+ * bloqueo necesita una segunda transacción concurrente en otro hilo.
+ * </p>
+ */
+@RecordApplicationEvents
+class OrderExpirationIntegrationTest extends AbstractIntegrationTest {
+
+    private static final LocalDate OLD_DAY = LocalDate.of(1998, 6, 1);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderExpirationService orderExpirationService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEvents events;
+
+    private Customer customer;
+    private Address address;
+    private Product first;
+    private Product second;
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Expiration Test");
+        customer.setEmail("expiration+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Caducidad 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        first = saveProduct("EXP-A-" + suffix);
+        second = saveProduct("EXP-B-" + suffix);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM order_view WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM sales_daily_status WHERE sales_date = ?", OLD_DAY);
+        jdbcTemplate.update("DELETE FROM sales_daily_product WHERE sales_date = ?", OLD_DAY);
+        orderRepository.deleteAll(orderRepository.findAll(
+                (root, cq, cb) -> cb.equal(root.get("customer").get("id"), customer.getId())));
+        productRepository.deleteAllById(List.of(first.getId(), second.getId()));
+        addressRepository.delete(address);
+        customerRepository.delete(customer);
+    }
+
+    @Test
+    void expireBatch_cancelsOldCreatedOrdersAndRestoresStock() {
+        Long old = saveOrder(OLD_DAY.atTime(10, 0), OrderStatus.CREATED, 2, 3);
+        Long older = saveOrder(OLD_DAY.atTime(9, 0), OrderStatus.CREATED, 1, 0);
+        Long paid = saveOrder(OLD_DAY.atTime(11, 0), OrderStatus.PAID, 4, 4);
+        Long recent = saveOrder(LocalDateTime.now(), OrderStatus.CREATED, 5, 5);
+
+        int expired = orderExpirationService.expireBatch(CUTOFF, 10);
+
+        assertEquals(2, expired);
+        assertEquals(OrderStatus.CANCELLED, status(old));
+        assertEquals(OrderStatus.CANCELLED, status(older));
+        assertEquals(OrderStatus.PAID, status(paid));
+        assertEquals(OrderStatus.CREATED, status(recent));
+        // Solo vuelven las unidades de los dos pedidos expirados, sumadas por producto
+        assertEquals(100 + 2 + 1, stock(first));
+        assertEquals(100 + 3, stock(second));
+        // Un solo evento para el lote, con las líneas de cada pedido
+        List<OrderStatusBulkChangedEvent> batches = events.stream(OrderStatusBulkChangedEvent.class).toList();
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).changes().stream().mapToInt(change -> change.order().lines().size()).sum());
+        assertEquals(0, events.stream(OrderStatusChangedEvent.class).count());
+
+        assertEquals(0, orderExpirationService.expireBatch(CUTOFF, 10));
+    }
+
+    @Test
+    void expireBatch_skipsOrdersLockedByAnotherTransaction() throws Exception {
+        Long locked = saveOrder(OLD_DAY.atTime(8, 0), OrderStatus.CREATED, 1, 1);
+        Long free = saveOrder(OLD_DAY.atTime(9, 0), OrderStatus.CREATED, 1, 1);
+
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(tx -> {
+                    orderRepository.findByIdWithLock(locked).orElseThrow();
+                    lockHeld.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+
+        try {
+            assertTrue(lockHeld.await(30, TimeUnit.SECONDS));
+            int expired = orderExpirationService.expireBatch(CUTOFF, 10);
+
+            assertEquals(1, expired);
+            assertEquals(OrderStatus.CANCELLED, status(free));
+        } finally {
+            release.countDown();
+            holder.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(OrderStatus.CREATED, status(locked));
+    }
+
+    private Product saveProduct(String sku) {
+        Product product = new Product();
+        product.setSku(sku);
+        product.setName("Producto " + sku);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(100);
+        product.setActive(true);
+        return productRepository.save(product);
+    }
+
+    private Long saveOrder(LocalDateTime date, OrderStatus status, int firstQuantity, int secondQuantity) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(status);
+        order.setOrderDate(date);
+        order.setTotal(new BigDecimal("10.00").multiply(BigDecimal.valueOf(firstQuantity + secondQuantity)));
+        order.setItems(new ArrayList<>());
+        addItem(order, first, firstQuantity);
+        addItem(order, second, secondQuantity);
+        return orderRepository.save(order).getId();
+    }
+
+    private void addItem(Order order, Product product, int quantity) {
+        if (quantity == 0) {
+            return;
+        }
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        order.getItems().add(item);
+    }
+
+    private OrderStatus status(Long orderId) {
+        return OrderStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT status FROM orders WHERE id = ?", String.class, orderId));
+    }
+
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.delogica.integration.export;
+
+import com.example.delogica.config.archive.OrderArchiveProperties;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.OrderArchiveService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de <code>GET /api/orders/export</code>.
+ * <p>
+ * Sin {@code @Transactional}: el cuerpo se escribe en otro hilo con su propia
+ * transacción, que no vería datos sin confirmar del test.
+ * </p>
+ */
+class OrderExportIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ArchivedOrderRepository archivedOrderRepository;
+    @Autowired private OrderArchiveService orderArchiveService;
+    @Autowired private OrderArchiveProperties archiveProperties;
+
+    private Customer customer;
+    private Address address;
+    private final List<Order> orders = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Export Test");
+        customer.setEmail("export+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Exportación 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        OrderStatus[] statuses = { OrderStatus.CREATED, OrderStatus.PAID, OrderStatus.CREATED };
+        for (int i = 0; i < statuses.length; i++) {
+            Order order = new Order();
+            order.setCustomer(customer);
+            order.setShippingAddress(address);
+            order.setStatus(statuses[i]);
+            order.setOrderDate(LocalDateTime.of(2025, 10, 1, 10, 0).plusDays(i));
+            order.setTotal(new BigDecimal("10.50").add(BigDecimal.valueOf(i)));
+            orders.add(orderRepository.save(order));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        archiveProperties.setEnabled(false);
+        archivedOrderRepository.deleteAllById(orders.stream().map(Order::getId).toList());
+        orderRepository.deleteAll(orders);
+        addressRepository.delete(address);
+        customerRepository.delete(customer);
+    }
+
+    @Test
+    void exportNdjson_streamsOneLinePerOrder() throws Exception {
+        MvcResult started = mockMvc.perform(authGet("/api/orders/export")
+                .param("customerId", customer.getId().toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode row = objectMapper.readTree(lines[i]);
+            assertEquals(orders.get(i).getId(), row.get("id").asLong());
+            assertEquals(customer.getId(), row.get("customerId").asLong());
+            assertEquals(orders.get(i).getStatus().name(), row.get("status").asText());
+        }
+    }
+
+    @Test
+    void exportCsv_appliesStatusFilter() throws Exception {
+        MvcResult started = mockMvc.perform(authGet("/api/orders/export")
+                .param("format", "csv")
+                .param("customerId", customer.getId().toString())
+                .param("status", "CREATED"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals("id,customerId,shippingAddressId,orderDate,status,total", lines[0]);
+        assertEquals(3, lines.length);
+        assertEquals(orders.get(0).getId() + "," + customer.getId() + "," + address.getId()
+                + ",2025-10-01T10:00:00,CREATED,10.50", lines[1]);
+        assertTrue(lines[2].startsWith(orders.get(2).getId() + ","));
+    }
+
+    @Test
+    void exportNdjson_includesArchivedOrdersAfterHotOnes() throws Exception {
+        archiveProperties.setEnabled(true);
+        Order old = new Order();
+        old.setCustomer(customer);
+        old.setShippingAddress(address);
+        old.setStatus(OrderStatus.SHIPPED);
+        old.setOrderDate(LocalDateTime.of(1999, 5, 1, 10, 0));
+        old.setTotal(new BigDecimal("99.00"));
+        old = orderRepository.save(old);
+        orders.add(old);
+        orderArchiveService.archiveBatch(LocalDateTime.of(2000, 1, 1, 0, 0), 100);
+        assertTrue(archivedOrderRepository.existsById(old.getId()));
+        assertFalse(orderRepository.existsById(old.getId()));
+
+        MvcResult started = mockMvc.perform(authGet("/api/orders/export")
+                .param("customerId", customer.getId().toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        JsonNode archived = objectMapper.readTree(lines[3]);
+        assertEquals(old.getId(), archived.get("id").asLong());
+        assertEquals("SHIPPED", archived.get("status").asText());
+        assertEquals("1999-05-01T10:00:00", archived.get("orderDate").asText());
+
+        // Un rango que empieza después del archivo no lo consulta
+        started = mockMvc.perform(authGet("/api/orders/export")
+                .param("customerId", customer.getId().toString())
+                .param("fromDate", "2025-01-01T00:00:00"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        assertEquals(3, body.split("\n").length);
+    }
+
+    @Test
+    void exportUnknownFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(authGet("/api/orders/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.delogica.integration.imports;
+
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.Address;
+import com.example.delogica.models.Customer;
+import com.example.delogica.repositories.AddressRepository;
+import com.example.delogica.repositories.CustomerRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.delogica.integration.common.SqlStatementCountMatchers.sqlStatementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de <code>POST /api/customers/import</code>.
+ */
+@ActiveProfiles("testing")
+@Transactional
+class CustomerImportIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // ---------- helpers ----------
+    private String email(String local) {
+        return local + suffix + "@imp.es"; // corto para @Size(max=30)
+    }
+
+    private static String address(String line1, Boolean defaultAddress) {
+        return """
+            {"line1":"%s","city":"Madrid","postalCode":"28001","country":"ES","defaultAddress":%s}"""
+                .formatted(line1, defaultAddress);
+    }
+
+    private static String customer(String fullName, String email, String... addresses) {
+        return """
+            {"fullName":"%s","email":"%s","phone":"600123456","addresses":[%s]}"""
+                .formatted(fullName, email, String.join(",", addresses));
+    }
+
+    private Customer findByEmail(String email) {
+        return customerRepository.findByEmail(email).orElseThrow();
+    }
+
+    private Address addressWithLine(Long customerId, String line1) {
+        return addressRepository.findByCustomerId(customerId).stream()
+                .filter(a -> line1.equals(a.getLine1()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // ========== 1) Importa los válidos con las reglas de default y rechaza el resto ==========
+    @Test
+    void import_createsValidCustomers_andReportsRejectedLines() throws Exception {
+        Customer registered = new Customer();
+        registered.setFullName("Ya Registrado");
+        registered.setEmail(email("reg"));
+        customerRepository.save(registered);
+
+        String body = String.join("\n",
+                customer("Ana", email("ana"), address("Ana 1", null), address("Ana 2", true)),
+                customer("Bea", email("bea"), address("Bea 1", null), address("Bea 2", false)),
+                customer("Carla", email("carla")),
+                "{no es json",
+                customer("Dani", "no-es-un-email"),
+                "",
+                customer("Ana Otra", email("ANA")),
+                customer("Registrado", email("reg")));
+
+        mockMvc.perform(authPost("/api/customers/import")
+                .contentType(NDJSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(3))
+            .andExpect(jsonPath("$.addresses").value(4))
+            .andExpect(jsonPath("$.rejected").value(4))
+            .andExpect(jsonPath("$.errorsTruncated").value(false))
+            .andExpect(jsonPath("$.errors[0].line").value(4))
+            .andExpect(jsonPath("$.errors[0].reason").value("INVALID_JSON"))
+            .andExpect(jsonPath("$.errors[1].line").value(5))
+            .andExpect(jsonPath("$.errors[1].reason").value("VALIDATION_ERROR"))
+            .andExpect(jsonPath("$.errors[2].line").value(7))
+            .andExpect(jsonPath("$.errors[2].reason").value("DUPLICATE_EMAIL"))
+            .andExpect(jsonPath("$.errors[3].line").value(8))
+            .andExpect(jsonPath("$.errors[3].reason").value("DUPLICATE_EMAIL"));
+
+        // La primera marcada como default gana; sin ninguna marcada, la primera
+        Customer ana = findByEmail(email("ana"));
+        assertThat(ana.getEmailNormalized()).isEqualTo(email("ana"));
+        Address ana2 = addressWithLine(ana.getId(), "Ana 2");
+        assertThat(ana2.getDefaultAddress()).isTrue();
+        assertThat(addressWithLine(ana.getId(), "Ana 1").getDefaultAddress()).isFalse();
+        assertThat(ana.getDefaultAddressId()).isEqualTo(ana2.getId());
+
+        Customer bea = findByEmail(email("bea"));
+        assertThat(bea.getDefaultAddressId()).isEqualTo(addressWithLine(bea.getId(), "Bea 1").getId());
+
+        Customer carla = findByEmail(email("carla"));
+        assertThat(addressRepository.findByCustomerId(carla.getId())).isEmpty();
+        assertThat(carla.getDefaultAddressId()).isNull();
+    }
+
+    // ========== 2) Las sentencias por tramo no crecen con el número de registros ==========
+    @Test
+    void import_queryCountDoesNotGrowWithRecords() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            body.append(customer("Cliente " + i, email("c" + i + "-"),
+                    address("Calle " + i, null), address("Plaza " + i, null))).append('\n');
+        }
+
+        // consulta de emails + lote de clientes + IDs + lote de direcciones + puntero default
+        mockMvc.perform(authPost("/api/customers/import")
+                .contentType(NDJSON)
+                .content(body.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(40))
+            .andExpect(jsonPath("$.addresses").value(80))
+            .andExpect(jsonPath("$.rejected").value(0))
+            .andExpect(sqlStatementsAtMost(5));
+
+        List<Address> addresses = addressRepository.findByCustomerId(findByEmail(email("c39-")).getId());
+        assertThat(addresses).hasSize(2);
+    }
+
+    // ========== 3) Un email que el filtro no conoce: el tramo se repite registro a registro ==========
+    // Sin transacción de test: el tramo fallido debe deshacerse en su propia transacción
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void import_emailUnknownToFilter_fallsBackToRowByRow() throws Exception {
+        // Alta hecha por otro nodo: no pasa por el filtro de este
+        jdbcTemplate.update("INSERT INTO customers (full_name, email, email_normalized, email_domain, created_at, updated_at)"
+                + " VALUES ('Otro Nodo', ?, ?, 'imp.es', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", email("nodo"), email("nodo"));
+        try {
+            String body = String.join("\n",
+                    customer("Ana", email("ana"), address("Ana 1", null)),
+                    customer("Otro", email("nodo")),
+                    customer("Bea", email("bea")));
+
+            mockMvc.perform(authPost("/api/customers/import")
+                    .contentType(NDJSON)
+                    .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.addresses").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].reason").value("DUPLICATE_EMAIL"));
+
+            assertThat(addressRepository.findByCustomerId(findByEmail(email("ana")).getId())).hasSize(1);
+            assertThat(findByEmail(email("bea")).getEmailDomain()).isEqualTo("imp.es");
+        } finally {
+            for (String local : List.of("ana", "nodo", "bea")) {
+                jdbcTemplate.update("DELETE FROM addresses WHERE customer_id IN (SELECT id FROM customers WHERE email = ?)",
+                        email(local));
+                jdbcTemplate.update("DELETE FROM customers WHERE email = ?", email(local));
+            }
+        }
+    }
+}
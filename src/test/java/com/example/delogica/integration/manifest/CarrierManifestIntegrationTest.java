@@ -0,0 +1,152 @@
+package com.example.delogica.integration.manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.example.delogica.config.manifest.CarrierManifestProperties;
+import com.example.delogica.events.OrderStatusBulkChangedEvent;
+import com.example.delogica.events.OrderStatusChangedEvent;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.CarrierManifestService;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Tests de integración de la ingesta de manifiestos de transportista.
+ */
+@ActiveProfiles("testing")
+@Transactional
+@RecordApplicationEvents
+public class CarrierManifestIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private CarrierManifestService carrierManifestService;
+    @Autowired private CarrierManifestProperties properties;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEvents events;
+
+    @TempDir
+    Path dir;
+
+    private Path originalInbox;
+    private Path originalProcessed;
+    private int originalBatchSize;
+
+    private Customer customer;
+    private Address address;
+
+    @BeforeEach
+    void setup() {
+        originalInbox = properties.getInboxDir();
+        originalProcessed = properties.getProcessedDir();
+        originalBatchSize = properties.getBatchSize();
+        properties.setInboxDir(dir.resolve("inbox"));
+        properties.setProcessedDir(dir.resolve("processed"));
+        // Tramos pequeños para recorrer varios en el test
+        properties.setBatchSize(2);
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        customer = new Customer();
+        customer.setFullName("Manifest Test");
+        customer.setEmail("manifest+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Reparto 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+    }
+
+    @AfterEach
+    void restore() {
+        properties.setInboxDir(originalInbox);
+        properties.setProcessedDir(originalProcessed);
+        properties.setBatchSize(originalBatchSize);
+    }
+
+    @Test
+    void ingestInbox_shipsPaidOrdersAndMovesManifest() throws Exception {
+        Long paid1 = saveOrder(OrderStatus.PAID);
+        Long paid2 = saveOrder(OrderStatus.PAID);
+        Long paid3 = saveOrder(OrderStatus.PAID);
+        Long created = saveOrder(OrderStatus.CREATED);
+        Long untouched = saveOrder(OrderStatus.PAID);
+
+        Path inbox = Files.createDirectories(properties.getInboxDir());
+        Files.writeString(inbox.resolve("seur-20240501.csv"), String.join("\n",
+                "order_id,tracking",
+                paid3 + ",T3",
+                paid1 + ",T1",
+                created + ",T4",
+                paid1 + ",T1",
+                "999999999,T9",
+                paid2 + ",T2",
+                ""));
+        Files.writeString(inbox.resolve("ignored.json"), "[]");
+
+        List<CarrierManifestService.Result> results = carrierManifestService.ingestInbox();
+
+        assertThat(results).hasSize(1);
+        CarrierManifestService.Result result = results.get(0);
+        assertThat(result.file()).isEqualTo("seur-20240501.csv");
+        assertThat(result.records()).isEqualTo(6);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.updated()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.notFound()).isEqualTo(1);
+
+        assertThat(statusOf(paid1)).isEqualTo("SHIPPED");
+        assertThat(statusOf(paid2)).isEqualTo("SHIPPED");
+        assertThat(statusOf(paid3)).isEqualTo("SHIPPED");
+        assertThat(statusOf(created)).isEqualTo("CREATED");
+        assertThat(statusOf(untouched)).isEqualTo("PAID");
+
+        // Un evento por tramo con pedidos enviados (2 + 1), ninguno por pedido
+        assertThat(events.stream(OrderStatusBulkChangedEvent.class))
+            .extracting(event -> event.changes().size())
+            .containsExactly(2, 1);
+        assertThat(events.stream(OrderStatusChangedEvent.class)).isEmpty();
+
+        assertThat(inbox.resolve("seur-20240501.csv")).doesNotExist();
+        assertThat(properties.getProcessedDir().resolve("seur-20240501.csv")).exists();
+        assertThat(inbox.resolve("ignored.json")).exists();
+    }
+
+    private Long saveOrder(OrderStatus status) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(status);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotal(BigDecimal.TEN);
+        return orderRepository.saveAndFlush(order).getId();
+    }
+
+    private String statusOf(Long orderId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, orderId);
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.delogica.integration.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static com.example.delogica.integration.common.SqlStatementCountMatchers.sqlStatementsAtMost;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.delogica.dtos.input.AddressInputDTO;
+import com.example.delogica.dtos.input.CustomerInputDTO;
+import com.example.delogica.dtos.input.OrderBulkStatusInputDTO;
+import com.example.delogica.dtos.input.OrderCreateInputDTO;
+import com.example.delogica.dtos.input.OrderItemInputDTO;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.dtos.input.ProductInputDTO;
+import com.example.delogica.dtos.output.OrderOutputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.OrderService;
+import com.example.delogica.services.OrderViewService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+
+/**
+ * Tests de integración del modelo de lectura <code>order_view</code>:
+ * se mantiene al crear pedidos y al cambiar su estado, y las lecturas
+ * desde él devuelven lo mismo que las tablas normalizadas.
+ */
+@ActiveProfiles("testing")
+@TestPropertySource(properties = "orders.read-model.enabled=true")
+@Transactional
+public class OrderViewIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManager entityManager;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderViewRepository orderViewRepository;
+    @Autowired private OrderViewService orderViewService;
+    @Autowired private OrderService orderService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Address address;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Vista Test");
+        customer.setEmail("vista.test+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Vista 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        product = new Product();
+        product.setSku("SKU-" + suffix);
+        product.setName("Producto Vista");
+        product.setPrice(new BigDecimal("12.50"));
+        product.setStock(10);
+        product.setActive(true);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void createOrder_writesViewRow() throws Exception {
+        Long orderId = createOrder(2);
+
+        OrderView view = orderViewRepository.findById(orderId).orElseThrow();
+        assertThat(view.getCustomerId()).isEqualTo(customer.getId());
+        assertThat(view.getStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(view.getTotal()).isEqualByComparingTo("25.00");
+
+        OrderOutputDTO fromView = orderViewService.findById(orderId).orElseThrow();
+        assertThat(fromView.getItems()).hasSize(1);
+        assertThat(fromView.getItems().get(0).getProduct().getId()).isEqualTo(product.getId());
+        assertThat(fromView.getShippingAddress().getId()).isEqualTo(address.getId());
+    }
+
+    @Test
+    void changeStatus_updatesViewRow() throws Exception {
+        Long orderId = createOrder(1);
+
+        OrderStatusInputDTO statusDTO = new OrderStatusInputDTO();
+        statusDTO.setStatus("PAID");
+        mockMvc.perform(authPut("/api/orders/{id}/status", orderId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(statusDTO)))
+            .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(orderViewRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(orderViewService.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.PAID);
+    }
+
+    @Test
+    void bulkCancel_updatesViewRollupsAndStatsPerChunk() throws Exception {
+        Long first = createOrder(1);
+        Long second = createOrder(2);
+        LocalDate today = LocalDate.now();
+        long createdBefore = dailyOrders(today, "CREATED");
+        long cancelledBefore = dailyOrders(today, "CANCELLED");
+        entityManager.flush();
+
+        OrderBulkStatusInputDTO input = new OrderBulkStatusInputDTO();
+        input.setIds(List.of(first, second));
+        input.setStatus("CANCELLED");
+        mockMvc.perform(authPut("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(2))
+            // bloqueo de pedidos y de productos, stock, estado, líneas, vista, dos filas por
+            // estado, producto y cliente
+            .andExpect(sqlStatementsAtMost(10));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(orderViewRepository.findById(first).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderViewRepository.findById(second).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        mockMvc.perform(authGet("/api/orders/{id}", second))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("CANCELLED"))
+            .andExpect(jsonPath("$.items[0].quantity").value(2));
+
+        assertThat(dailyOrders(today, "CREATED")).isEqualTo(createdBefore - 2);
+        assertThat(dailyOrders(today, "CANCELLED")).isEqualTo(cancelledBefore + 2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT units FROM sales_daily_product WHERE sales_date = ? AND product_id = ?",
+                Long.class, today, product.getId())).isZero();
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT order_count, lifetime_value FROM customer_stats WHERE customer_id = ?", customer.getId()))
+            .satisfies(row -> {
+                assertThat(((Number) row.get("order_count")).longValue()).isZero();
+                assertThat((BigDecimal) row.get("lifetime_value")).isEqualByComparingTo("0");
+            });
+    }
+
+    @Test
+    void search_filtersOnViewColumns() throws Exception {
+        Long first = createOrder(1);
+        Long second = createOrder(1);
+
+        Optional<Page<OrderOutputDTO>> page = orderViewService.search(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")),
+                customer.getId(), null, null, OrderStatus.CREATED);
+
+        assertThat(page).isPresent();
+        assertThat(page.get().getContent()).extracting(OrderOutputDTO::getId).containsExactly(second, first);
+    }
+
+    @Test
+    void search_withUnsupportedSort_returnsEmpty() {
+        Optional<Page<OrderOutputDTO>> page = orderViewService.search(
+                PageRequest.of(0, 10, Sort.by("shippingAddress.city")), customer.getId(), null, null, null);
+
+        assertThat(page).isEmpty();
+    }
+
+    @Test
+    void backfill_projectsOrdersWithoutViewRow() {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(OrderStatus.CREATED);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotal(new BigDecimal("12.50"));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(1);
+        item.setUnitPrice(product.getPrice());
+        order.setItems(List.of(item));
+        order = orderRepository.save(order);
+
+        Long lastId = 0L;
+        List<Long> batch;
+        while (!(batch = orderViewService.backfill(lastId, 100)).isEmpty()) {
+            assertThat(batch.get(0)).isGreaterThan(lastId);
+            lastId = batch.get(batch.size() - 1);
+        }
+
+        assertThat(orderViewRepository.findById(order.getId())).isPresent();
+        assertThat(orderViewService.findById(order.getId()).orElseThrow().getItems())
+            .singleElement()
+            .satisfies(line -> assertThat(line.getProduct().getId()).isEqualTo(product.getId()));
+    }
+
+    @Test
+    void customerChange_rewritesCustomerInEveryRow() throws Exception {
+        Long first = createOrder(1);
+        Long second = createOrder(1);
+
+        CustomerInputDTO input = new CustomerInputDTO();
+        input.setFullName("Vista Renombrada");
+        input.setEmail("vista." + customer.getId() + "@delogica.es");
+        AddressInputDTO shipping = new AddressInputDTO();
+        shipping.setId(address.getId());
+        shipping.setLine1("Calle Vista 1");
+        shipping.setCity("Sevilla");
+        shipping.setPostalCode("41001");
+        shipping.setCountry("España");
+        input.setAddresses(List.of(shipping));
+        mockMvc.perform(authPut("/api/customers/{id}", customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+            .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Long orderId : List.of(first, second)) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT customer_payload FROM order_view WHERE order_id = ?", String.class, orderId))
+                .contains("Vista Renombrada")
+                .contains("Sevilla");
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT payload FROM order_view WHERE order_id = ?", String.class, first))
+            .doesNotContain(customer.getEmail())
+            .doesNotContain("Calle Vista");
+        mockMvc.perform(authGet("/api/orders/{id}", first))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customer.fullName").value("Vista Renombrada"))
+            .andExpect(jsonPath("$.shippingAddress.city").value("Sevilla"))
+            .andExpect(jsonPath("$.items[0].product.name").value("Producto Vista"))
+            .andExpect(jsonPath("$.items[0].unitPrice").value(12.50))
+            // revisión de la caché de respuestas, fila de la vista y producto: dentro de la
+            // transacción del test la entrada del producto en la caché de segundo nivel sigue
+            // bloqueada desde el alta (ver findById_readsProductsFromSecondLevelCache)
+            .andExpect(sqlStatementsAtMost(3));
+    }
+
+    @Test
+    void productChange_isServedFromView() throws Exception {
+        Long orderId = createOrder(1);
+
+        ProductInputDTO input = new ProductInputDTO();
+        input.setSku(product.getSku());
+        input.setName("Producto Renombrado");
+        input.setPrice(new BigDecimal("15.00"));
+        input.setStock(20);
+        input.setActive(true);
+        mockMvc.perform(authPut("/api/products/{id}", product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+            .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(authGet("/api/orders/{id}", orderId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].product.name").value("Producto Renombrado"))
+            .andExpect(jsonPath("$.items[0].product.stock").value(20))
+            .andExpect(jsonPath("$.items[0].unitPrice").value(12.50));
+    }
+
+    @Test
+    void findById_readsRowsWrittenWithTheFullResponse() throws Exception {
+        Long orderId = createOrder(1);
+        entityManager.flush();
+        Long itemId = orderRepository.findWithItemsByIdIn(List.of(orderId)).get(0).getItems().get(0).getId();
+        String legacy = """
+                {"id":%d,"customer":{"id":%d,"fullName":"Nombre Antiguo","email":"antiguo@delogica.example"},
+                 "shippingAddress":{"id":%d,"city":"Antigua"},"status":"CREATED","total":12.50,
+                 "items":[{"id":%d,"product":{"id":%d,"name":"Antiguo"},"quantity":1,"unitPrice":12.50}]}
+                """.formatted(orderId, customer.getId(), address.getId(), itemId, product.getId());
+        jdbcTemplate.update("UPDATE order_view SET payload = ?, customer_payload = NULL WHERE order_id = ?",
+                legacy, orderId);
+        entityManager.clear();
+
+        OrderOutputDTO fromView = orderViewService.findById(orderId).orElseThrow();
+        assertThat(fromView.getCustomer().getFullName()).isEqualTo("Vista Test");
+        assertThat(fromView.getShippingAddress().getCity()).isEqualTo("Madrid");
+        assertThat(fromView.getItems()).singleElement()
+            .satisfies(line -> assertThat(line.getProduct().getName()).isEqualTo("Producto Vista"));
+
+        // El relleno rehace las filas sin cliente renderizado
+        Long lastId = 0L;
+        List<Long> batch;
+        while (!(batch = orderViewService.backfill(lastId, 100)).isEmpty()) {
+            lastId = batch.get(batch.size() - 1);
+        }
+        entityManager.flush();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT customer_payload FROM order_view WHERE order_id = ?", String.class, orderId))
+            .contains("Vista Test");
+        assertThat(jdbcTemplate.queryForObject("SELECT payload FROM order_view WHERE order_id = ?", String.class, orderId))
+            .doesNotContain("Nombre Antiguo");
+    }
+
+    private long dailyOrders(LocalDate day, String status) {
+        Long orders = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(order_count), 0) FROM sales_daily_status WHERE sales_date = ? AND status = ?",
+                Long.class, day, status);
+        return orders;
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void findById_readsProductsFromSecondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long orderId = null;
+        try {
+            OrderItemInputDTO item = new OrderItemInputDTO();
+            item.setProductId(product.getId());
+            item.setQuantity(1);
+            OrderCreateInputDTO input = new OrderCreateInputDTO();
+            input.setCustomerId(customer.getId());
+            input.setShippingAddressId(address.getId());
+            input.setItems(List.of(item));
+            orderId = orderService.create(input).getId();
+
+            orderViewService.findById(orderId).orElseThrow();
+            assertThat(entityManagerFactory.getCache().contains(Product.class, product.getId())).isTrue();
+
+            long hits = statistics.getSecondLevelCacheHitCount();
+            long queries = statistics.getPrepareStatementCount();
+            OrderOutputDTO fromView = orderViewService.findById(orderId).orElseThrow();
+
+            assertThat(fromView.getItems()).singleElement()
+                .satisfies(line -> assertThat(line.getProduct().getName()).isEqualTo("Producto Vista"));
+            assertThat(fromView.getCustomer().getFullName()).isEqualTo("Vista Test");
+            // solo la fila de la vista: cliente y dirección salen de customer_payload y el producto
+            // de la caché de segundo nivel
+            assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries + 1);
+        } finally {
+            jdbcTemplate.update("DELETE FROM order_view WHERE customer_id = ?", customer.getId());
+            if (orderId != null) {
+                orderRepository.deleteById(orderId);
+            }
+            productRepository.deleteById(product.getId());
+            addressRepository.delete(address);
+            customerRepository.delete(customer);
+        }
+    }
+
+    private Long createOrder(int quantity) throws Exception {
+        OrderItemInputDTO item = new OrderItemInputDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+
+        OrderCreateInputDTO input = new OrderCreateInputDTO();
+        input.setCustomerId(customer.getId());
+        input.setShippingAddressId(address.getId());
+        input.setItems(List.of(item));
+
+        String body = mockMvc.perform(authPost("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("id").asLong();
+    }
+}
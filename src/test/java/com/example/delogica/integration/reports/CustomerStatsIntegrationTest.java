@@ -0,0 +1,185 @@
+package com.example.delogica.integration.reports;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.delogica.dtos.input.OrderCreateInputDTO;
+import com.example.delogica.dtos.input.OrderItemInputDTO;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.CustomerStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Tests de integración de las estadísticas por cliente: mantenimiento incremental al
+ * crear y cancelar pedidos, ranking por valor acumulado y recálculo desde los pedidos.
+ */
+@ActiveProfiles("testing")
+@Transactional
+public class CustomerStatsIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private CustomerStatsService customerStatsService;
+
+    private Product product;
+    private String suffix;
+
+    @BeforeEach
+    void setup() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        product = new Product();
+        product.setSku("SKU-" + suffix);
+        product.setName("Producto Estadísticas");
+        product.setPrice(new BigDecimal("50000.00"));
+        product.setStock(100);
+        product.setActive(true);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void createAndCancel_updateStatsIncrementally() throws Exception {
+        Customer customer = newCustomer("stats");
+        Address address = newAddress(customer);
+
+        Long kept = createOrder(customer, address, 2);
+        Long cancelled = createOrder(customer, address, 1);
+        changeStatus(kept, "PAID");
+        changeStatus(cancelled, "CANCELLED");
+
+        mockMvc.perform(authGet("/api/customers/{id}/stats", customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customerId").value(customer.getId()))
+            .andExpect(jsonPath("$.orderCount").value(1))
+            .andExpect(jsonPath("$.lifetimeValue").value(100000.0))
+            .andExpect(jsonPath("$.lastOrderDate").exists());
+    }
+
+    @Test
+    void customerWithoutOrders_returnsZeroStats() throws Exception {
+        Customer customer = newCustomer("empty");
+
+        mockMvc.perform(authGet("/api/customers/{id}/stats", customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orderCount").value(0))
+            .andExpect(jsonPath("$.lifetimeValue").value(0))
+            .andExpect(jsonPath("$.lastOrderDate").doesNotExist());
+
+        mockMvc.perform(authGet("/api/customers/{id}/stats", 999999999L))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void ranking_sortsByLifetimeValue() throws Exception {
+        Customer small = newCustomer("small");
+        Customer big = newCustomer("big");
+        createOrder(small, newAddress(small), 1);
+        createOrder(big, newAddress(big), 3);
+
+        mockMvc.perform(authGet("/api/customers/stats")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].customerId").value(big.getId()))
+            .andExpect(jsonPath("$.content[0].email").value(big.getEmail()))
+            .andExpect(jsonPath("$.content[1].customerId").value(small.getId()));
+
+        mockMvc.perform(authGet("/api/customers/stats")
+                .param("sort", "email,asc"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rebuild_recomputesFromOrders() throws Exception {
+        Customer customer = newCustomer("rebuild");
+        Address address = newAddress(customer);
+        saveOrder(customer, address, LocalDateTime.of(1999, 3, 14, 9, 30), OrderStatus.SHIPPED, 2);
+        saveOrder(customer, address, LocalDateTime.of(1999, 4, 1, 18, 0), OrderStatus.CANCELLED, 1);
+
+        customerStatsService.rebuild();
+
+        mockMvc.perform(authGet("/api/customers/{id}/stats", customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orderCount").value(1))
+            .andExpect(jsonPath("$.lifetimeValue").value(100000.0))
+            .andExpect(jsonPath("$.lastOrderDate").value("1999-04-01T18:00:00"));
+    }
+
+    private Customer newCustomer(String name) {
+        Customer customer = new Customer();
+        customer.setFullName("Stats " + name);
+        customer.setEmail(name + "+" + suffix + "@delogica.example");
+        return customerRepository.save(customer);
+    }
+
+    private Address newAddress(Customer customer) {
+        Address address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Estadística 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        return addressRepository.save(address);
+    }
+
+    private void saveOrder(Customer customer, Address address, LocalDateTime date, OrderStatus status, int quantity) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(status);
+        order.setOrderDate(date);
+        order.setTotal(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        order.setItems(List.of(item));
+        orderRepository.saveAndFlush(order);
+    }
+
+    private Long createOrder(Customer customer, Address address, int quantity) throws Exception {
+        OrderItemInputDTO item = new OrderItemInputDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+
+        OrderCreateInputDTO input = new OrderCreateInputDTO();
+        input.setCustomerId(customer.getId());
+        input.setShippingAddressId(address.getId());
+        input.setItems(List.of(item));
+
+        String body = mockMvc.perform(authPost("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private void changeStatus(Long orderId, String status) throws Exception {
+        OrderStatusInputDTO statusDTO = new OrderStatusInputDTO();
+        statusDTO.setStatus(status);
+        mockMvc.perform(authPut("/api/orders/{id}/status", orderId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(statusDTO)))
+            .andExpect(status().isOk());
+    }
+}
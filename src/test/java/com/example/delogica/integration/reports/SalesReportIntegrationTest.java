@@ -0,0 +1,227 @@
+package com.example.delogica.integration.reports;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.delogica.dtos.input.OrderCreateInputDTO;
+import com.example.delogica.dtos.input.OrderItemInputDTO;
+import com.example.delogica.dtos.input.OrderStatusInputDTO;
+import com.example.delogica.dtos.output.SalesByStatusOutputDTO;
+import com.example.delogica.integration.common.AbstractIntegrationTest;
+import com.example.delogica.models.*;
+import com.example.delogica.repositories.*;
+import com.example.delogica.services.SalesReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Tests de integración de los agregados diarios de ventas: mantenimiento incremental
+ * al crear, pagar y cancelar pedidos, y recálculo desde las tablas de pedidos.
+ */
+@ActiveProfiles("testing")
+@Transactional
+public class SalesReportIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private SalesReportService salesReportService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Address address;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        customer = new Customer();
+        customer.setFullName("Report Test");
+        customer.setEmail("report+" + suffix + "@delogica.example");
+        customer = customerRepository.save(customer);
+
+        address = new Address();
+        address.setCustomer(customer);
+        address.setLine1("Calle Informe 1");
+        address.setCity("Madrid");
+        address.setPostalCode("28001");
+        address.setCountry("España");
+        address.setDefaultAddress(true);
+        address = addressRepository.save(address);
+
+        product = new Product();
+        product.setSku("SKU-" + suffix);
+        product.setName("Producto Informe");
+        product.setPrice(new BigDecimal("4.00"));
+        product.setStock(100);
+        product.setActive(true);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void createPayAndCancel_updateRollupsIncrementally() throws Exception {
+        LocalDate today = LocalDate.now();
+        BigDecimal paidBefore = revenue(today, OrderStatus.PAID);
+        BigDecimal cancelledBefore = revenue(today, OrderStatus.CANCELLED);
+
+        Long paid = createOrder(3);
+        Long cancelled = createOrder(2);
+        changeStatus(paid, "PAID");
+        changeStatus(cancelled, "CANCELLED");
+
+        mockMvc.perform(authGet("/api/reports/sales/by-product")
+                .param("from", today.toString())
+                .param("to", today.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.productId == " + product.getId() + ")].units").value(3))
+            .andExpect(jsonPath("$[?(@.productId == " + product.getId() + ")].revenue").value(12.0));
+
+        assertThat(revenue(today, OrderStatus.PAID).subtract(paidBefore)).isEqualByComparingTo("12.00");
+        assertThat(revenue(today, OrderStatus.CANCELLED).subtract(cancelledBefore)).isEqualByComparingTo("8.00");
+    }
+
+    @Test
+    void rebuild_recomputesFromOrders() throws Exception {
+        LocalDate day = LocalDate.of(1999, 3, 14);
+        saveOrder(day.atTime(9, 30), OrderStatus.SHIPPED, 2);
+        saveOrder(day.atTime(18, 0), OrderStatus.CANCELLED, 5);
+
+        mockMvc.perform(authPost("/api/reports/sales/rebuild")
+                .param("from", day.toString())
+                .param("to", day.toString()))
+            .andExpect(status().isNoContent());
+
+        mockMvc.perform(authGet("/api/reports/sales/by-status")
+                .param("from", day.toString())
+                .param("to", day.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].status").value("CANCELLED"))
+            .andExpect(jsonPath("$[0].revenue").value(20.0))
+            .andExpect(jsonPath("$[1].status").value("SHIPPED"))
+            .andExpect(jsonPath("$[1].orders").value(1));
+
+        mockMvc.perform(authGet("/api/reports/sales/by-product")
+                .param("from", day.toString())
+                .param("to", day.toString()))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].units").value(2));
+    }
+
+    @Test
+    void concurrentCreates_spreadOverSlots_andReportSumsThem() throws Exception {
+        LocalDate today = LocalDate.now();
+        long createdBefore = orders(today, OrderStatus.CREATED);
+
+        Long first = createOrder(1);
+        Long second = createOrder(1);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT slot FROM sales_daily_status WHERE sales_date = ? AND status = 'CREATED' AND order_count <> 0",
+                Integer.class, today))
+            .contains((int) (first % 16), (int) (second % 16));
+        assertThat(orders(today, OrderStatus.CREATED)).isEqualTo(createdBefore + 2);
+    }
+
+    @Test
+    void rebuild_overSeveralDays_recomputesEachDay() throws Exception {
+        LocalDate first = LocalDate.of(1999, 5, 1);
+        LocalDate third = first.plusDays(2);
+        saveOrder(first.atTime(10, 0), OrderStatus.PAID, 1);
+        saveOrder(third.atTime(10, 0), OrderStatus.PAID, 3);
+
+        mockMvc.perform(authPost("/api/reports/sales/rebuild")
+                .param("from", first.toString())
+                .param("to", third.toString()))
+            .andExpect(status().isNoContent());
+
+        assertThat(salesReportService.byStatus(first, third))
+            .extracting(SalesByStatusOutputDTO::getDate, SalesByStatusOutputDTO::getOrders)
+            .containsExactly(tuple(first, 1L), tuple(third, 1L));
+    }
+
+    @Test
+    void invalidRange_returnsBadRequest() throws Exception {
+        mockMvc.perform(authGet("/api/reports/sales/by-status")
+                .param("from", "2025-10-31")
+                .param("to", "2025-10-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private long orders(LocalDate day, OrderStatus status) {
+        return salesReportService.byStatus(day, day).stream()
+                .filter(row -> row.getStatus() == status)
+                .mapToLong(SalesByStatusOutputDTO::getOrders)
+                .sum();
+    }
+
+    private BigDecimal revenue(LocalDate day, OrderStatus status) {
+        List<SalesByStatusOutputDTO> rows = salesReportService.byStatus(day, day);
+        return rows.stream()
+                .filter(row -> row.getStatus() == status)
+                .map(SalesByStatusOutputDTO::getRevenue)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private void saveOrder(LocalDateTime date, OrderStatus status, int quantity) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setShippingAddress(address);
+        order.setStatus(status);
+        order.setOrderDate(date);
+        order.setTotal(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        order.setItems(List.of(item));
+        orderRepository.saveAndFlush(order);
+    }
+
+    private Long createOrder(int quantity) throws Exception {
+        OrderItemInputDTO item = new OrderItemInputDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+
+        OrderCreateInputDTO input = new OrderCreateInputDTO();
+        input.setCustomerId(customer.getId());
+        input.setShippingAddressId(address.getId());
+        input.setItems(List.of(item));
+
+        String body = mockMvc.perform(authPost("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private void changeStatus(Long orderId, String status) throws Exception {
+        OrderStatusInputDTO statusDTO = new OrderStatusInputDTO();
+        statusDTO.setStatus(status);
+        mockMvc.perform(authPut("/api/orders/{id}/status", orderId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(statusDTO)))
+            .andExpect(status().isOk());
+    }
+}
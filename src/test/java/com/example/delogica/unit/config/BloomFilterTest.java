@@ -0,0 +1,43 @@
+package com.example.delogica.unit.config;
+
+import com.example.delogica.config.uniqueness.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void addedKeys_areAlwaysReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("cliente" + i + "@acme.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("cliente" + i + "@acme.com"));
+        }
+        assertEquals(10_000, filter.added());
+    }
+
+    @Test
+    void falsePositiveRate_staysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("SKU-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("OTRO-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "Demasiados falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void emptyFilter_reportsNothing() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        assertFalse(filter.mightContain("nadie@acme.com"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.delogica.unit.config;
+
+import com.example.delogica.config.manifest.LongHashSet;
+import com.example.delogica.config.manifest.ManifestParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManifestParserTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void csv_readsFirstFieldAndSkipsHeader() throws Exception {
+        Path file = write("order_id,carrier,tracking\r\n"
+                + "101,SEUR,AB1\r\n"
+                + "  102;SEUR;AB2\n"
+                + "\n"
+                + ",SEUR,AB3\n"
+                + "10x,SEUR,AB4\n"
+                + "103\tSEUR\n"
+                + "104");
+
+        List<Long> ids = new ArrayList<>();
+        ManifestParser.Stats stats = new ManifestParser(0).parse(file, ids::add);
+
+        assertEquals(List.of(101L, 102L, 103L, 104L), ids);
+        assertEquals(4, stats.records());
+        assertEquals(2, stats.malformed());
+    }
+
+    @Test
+    void fixedWidth_readsPaddedIdColumns() throws Exception {
+        Path file = write("000000201SHIPPED 2024-05-01\n"
+                + "      202SHIPPED 2024-05-01\n"
+                + "203      SHIPPED 2024-05-01\n"
+                + "20 4     SHIPPED 2024-05-01\n"
+                + "         SHIPPED 2024-05-01\n");
+
+        List<Long> ids = new ArrayList<>();
+        ManifestParser.Stats stats = new ManifestParser(9).parse(file, ids::add);
+
+        assertEquals(List.of(201L, 202L, 203L), ids);
+        assertEquals(2, stats.malformed());
+    }
+
+    @Test
+    void longHashSet_deduplicatesAndSorts() {
+        LongHashSet set = new LongHashSet(4);
+        Random random = new Random(7);
+        TreeSet<Long> truth = new TreeSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(20_000);
+            assertEquals(truth.add(key), set.add(key));
+        }
+
+        assertEquals(truth.size(), set.size());
+        assertEquals(truth.contains(0L), set.contains(0));
+        assertArrayEquals(truth.stream().mapToLong(Long::longValue).toArray(), set.toSortedArray());
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(dir.resolve("manifest.csv"), content);
+    }
+}
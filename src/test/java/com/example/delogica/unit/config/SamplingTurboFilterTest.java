@@ -0,0 +1,76 @@
+package com.example.delogica.unit.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.example.delogica.config.logging.SamplingTurboFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setLoggers("com.example.delogica.services.impl, com.example.delogica.controllers.OrderController");
+        filter.setRate(3);
+        filter.start();
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "msg {}", null, null);
+    }
+
+    @Test
+    void sampledLogger_letsOneOfEveryRateInfoEventsThrough() {
+        Logger logger = context.getLogger("com.example.delogica.services.impl.OrderServiceImpl");
+
+        int passed = 0;
+        for (int i = 0; i < 9; i++) {
+            if (decide(logger, Level.INFO) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+
+        assertEquals(3, passed);
+    }
+
+    @Test
+    void warnAndError_areNeverSampled() {
+        Logger logger = context.getLogger("com.example.delogica.controllers.OrderController");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR));
+        }
+    }
+
+    @Test
+    void loggerOutsideConfiguredPrefixes_isNotSampled() {
+        Logger other = context.getLogger("com.example.delogica.controllers.OrderControllerAdvice");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO));
+        }
+    }
+
+    @Test
+    void infoDisabledByLevel_doesNotConsumeSamplingQuota() {
+        Logger logger = context.getLogger("com.example.delogica.services.impl.ProductServiceImpl");
+        logger.setLevel(Level.WARN);
+        decide(logger, Level.INFO);
+        decide(logger, Level.INFO);
+
+        logger.setLevel(Level.INFO);
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.delogica.unit.config;
+
+import com.example.delogica.config.analytics.SlidingTopK;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingTopKTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private final SlidingTopK topK = new SlidingTopK(HOUR, 12, 0.001, 0.01, 64);
+
+    @Test
+    void heavyHitters_areReturnedWithinErrorBound() {
+        long now = 10 * HOUR;
+        Random random = new Random(42);
+        Map<Long, Long> truth = new HashMap<>();
+
+        // 5 productos pesados y una cola larga de 5.000 productos con pocas ventas
+        for (int i = 0; i < 20_000; i++) {
+            long key = i % 4 == 0 ? 1 + random.nextInt(5) : 100 + random.nextInt(5_000);
+            long time = now - random.nextInt((int) (50 * MINUTE));
+            topK.add(key, 1, time);
+            truth.merge(key, 1L, Long::sum);
+        }
+
+        SlidingTopK.Result result = topK.top(5, now);
+        List<Long> keys = result.entries().stream().map(SlidingTopK.Entry::key).toList();
+
+        assertEquals(20_000, result.total());
+        assertTrue(keys.containsAll(List.of(1L, 2L, 3L, 4L, 5L)), "Top 5 inesperado: " + keys);
+        for (SlidingTopK.Entry entry : result.entries()) {
+            long actual = truth.get(entry.key());
+            assertTrue(entry.estimate() >= actual);
+            assertTrue(entry.estimate() - actual <= result.errorBound());
+        }
+    }
+
+    @Test
+    void cancellation_subtractsFromBucketOfCreation() {
+        long created = 5 * HOUR + 10 * MINUTE;
+        topK.add(7L, 10, created);
+        topK.add(8L, 4, created);
+
+        topK.add(7L, -8, created);
+
+        SlidingTopK.Result result = topK.top(2, created + 20 * MINUTE);
+        assertEquals(8L, result.entries().get(0).key());
+        assertEquals(2L, result.entries().get(1).estimate());
+        assertEquals(6, result.total());
+    }
+
+    @Test
+    void expiredBuckets_leaveTheWindow() {
+        long start = 3 * HOUR;
+        topK.add(1L, 100, start);
+        topK.add(2L, 1, start + 50 * MINUTE);
+
+        SlidingTopK.Result later = topK.top(10, start + 70 * MINUTE);
+
+        assertEquals(1, later.entries().size());
+        assertEquals(2L, later.entries().get(0).key());
+
+        // Una cancelación de un pedido fuera de la ventana no afecta al intervalo que reutiliza su hueco
+        topK.add(3L, 5, start + HOUR);
+        topK.add(1L, -100, start);
+        assertEquals(5L, topK.top(10, start + HOUR).entries().get(0).estimate());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.delogica.unit.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.example.delogica.config.manifest.CarrierManifestProperties;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO;
+import com.example.delogica.dtos.output.OrderStatusResultOutputDTO.Outcome;
+import com.example.delogica.models.OrderStatus;
+import com.example.delogica.services.BulkOrderStatusService;
+import com.example.delogica.services.CarrierManifestService;
+import com.example.delogica.services.impl.CarrierManifestServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class CarrierManifestServiceImplTest {
+
+    @Mock
+    BulkOrderStatusService bulkOrderStatusService;
+
+    @TempDir
+    Path dir;
+
+    CarrierManifestProperties properties;
+    CarrierManifestServiceImpl manifestService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CarrierManifestProperties();
+        properties.setInboxDir(dir.resolve("inbox"));
+        properties.setProcessedDir(dir.resolve("processed"));
+        properties.setFailedDir(dir.resolve("failed"));
+        manifestService = new CarrierManifestServiceImpl(bulkOrderStatusService, properties);
+    }
+
+    @Test
+    void testIngestInbox_whenDatabaseFailsOnOneFile_processesTheNextAndKeepsTheFailedOne() throws Exception {
+        Path inbox = Files.createDirectories(properties.getInboxDir());
+        Files.writeString(inbox.resolve("a.csv"), "order_id,tracking\n1,T1\n");
+        Files.writeString(inbox.resolve("b.csv"), "order_id,tracking\n2,T2\n");
+        when(bulkOrderStatusService.changeStatusChunk(List.of(1L), OrderStatus.SHIPPED))
+                .thenThrow(new DataAccessResourceFailureException("Conexión perdida"));
+        when(bulkOrderStatusService.changeStatusChunk(List.of(2L), OrderStatus.SHIPPED))
+                .thenReturn(List.of(new OrderStatusResultOutputDTO(2L, Outcome.UPDATED, OrderStatus.PAID)));
+
+        List<CarrierManifestService.Result> results = manifestService.ingestInbox();
+
+        assertEquals(1, results.size());
+        assertEquals("b.csv", results.get(0).file());
+        assertEquals(1, results.get(0).updated());
+        // El fichero con error de base de datos se reintenta en la siguiente revisión
+        assertTrue(Files.exists(inbox.resolve("a.csv")));
+        assertTrue(Files.exists(properties.getProcessedDir().resolve("b.csv")));
+    }
+}
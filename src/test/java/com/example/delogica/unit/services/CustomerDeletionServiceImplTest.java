@@ -0,0 +1,92 @@
+package com.example.delogica.unit.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.delogica.config.deletion.CustomerDeletionProperties;
+import com.example.delogica.config.exceptions.ResourceNotFoundException;
+import com.example.delogica.dtos.output.CustomerDeletionJobOutputDTO;
+import com.example.delogica.dtos.output.CustomerDeletionJobOutputDTO.Status;
+import com.example.delogica.repositories.AddressRepository;
+import com.example.delogica.repositories.ArchivedOrderRepository;
+import com.example.delogica.repositories.CustomerRepository;
+import com.example.delogica.repositories.OrderRepository;
+import com.example.delogica.services.impl.CustomerDeletionServiceImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerDeletionServiceImplTest {
+
+    @Mock
+    CustomerRepository customerRepository;
+    @Mock
+    AddressRepository addressRepository;
+    @Mock
+    OrderRepository orderRepository;
+    @Mock
+    ArchivedOrderRepository archivedOrderRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    CustomerDeletionServiceImpl deletionService;
+
+    @BeforeEach
+    void setUp() {
+        deletionService = new CustomerDeletionServiceImpl(customerRepository, addressRepository, orderRepository,
+                archivedOrderRepository, eventPublisher, transactionTemplate, new CustomerDeletionProperties());
+        // Como dentro de una petición transaccional: el borrado espera a la confirmación
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // ---------- submit ----------
+    @Test
+    void testSubmit_whenCustomerNotFound_throwsException() {
+        when(customerRepository.existsById(1L)).thenReturn(false);
+        assertThrows(ResourceNotFoundException.class, () -> deletionService.submit(1L));
+    }
+
+    @Test
+    void testSubmit_whenCustomerExists_returnsPendingJob_andWaitsForCommit() {
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        CustomerDeletionJobOutputDTO job = deletionService.submit(1L);
+
+        assertEquals(1L, job.getCustomerId());
+        assertEquals(Status.PENDING, job.getStatus());
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        verifyNoInteractions(addressRepository, transactionTemplate);
+    }
+
+    @Test
+    void testSubmit_whenAlreadyPending_returnsSameJob() {
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        CustomerDeletionJobOutputDTO first = deletionService.submit(1L);
+        CustomerDeletionJobOutputDTO second = deletionService.submit(1L);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(first.getId(), deletionService.findJob(first.getId()).getId());
+    }
+
+    // ---------- findJob ----------
+    @Test
+    void testFindJob_whenUnknown_throwsException() {
+        assertThrows(ResourceNotFoundException.class, () -> deletionService.findJob("no-existe"));
+    }
+}
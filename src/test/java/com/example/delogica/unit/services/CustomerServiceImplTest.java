@@ -11,6 +11,7 @@ import java.util.Optional;
 
 import com.example.delogica.config.exceptions.EmailAlreadyInUseException;
 import com.example.delogica.config.exceptions.ResourceNotFoundException;
+import com.example.delogica.config.uniqueness.UniqueKeyFilters;
 import com.example.delogica.dtos.input.AddressInputDTO;
 import com.example.delogica.dtos.input.CustomerInputDTO;
 import com.example.delogica.dtos.output.CustomerOutputDTO;
@@ -27,6 +28,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceImplTest {
@@ -39,6 +42,10 @@ class CustomerServiceImplTest {
     AddressRepository addressRepository;
     @Mock
     AddressMapper addressMapper;
+    @Mock
+    UniqueKeyFilters uniqueKeyFilters;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     CustomerServiceImpl customerService;
@@ -76,10 +83,46 @@ class CustomerServiceImplTest {
         CustomerInputDTO in = new CustomerInputDTO();
         in.setEmail("test@acme.com");
 
+        when(uniqueKeyFilters.mightContainEmail("test@acme.com")).thenReturn(true);
         when(customerRepository.findByEmail("test@acme.com")).thenReturn(Optional.of(new Customer()));
 
         assertThrows(EmailAlreadyInUseException.class, () -> customerService.create(in));
-        verify(customerRepository, never()).save(any());
+        verify(customerRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testCreate_whenUniqueConstraintFails_mapsToEmailAlreadyInUse() {
+        CustomerInputDTO in = new CustomerInputDTO();
+        in.setEmail("other-node@acme.com");
+        Customer entity = new Customer();
+
+        // Otro nodo dio de alta el email: el filtro local no lo conoce
+        when(uniqueKeyFilters.mightContainEmail("other-node@acme.com")).thenReturn(false);
+        when(customerMapper.toEntity(in)).thenReturn(entity);
+        when(customerRepository.saveAndFlush(entity))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: SQL ..."));
+        when(customerRepository.existsOtherWithEmail("other-node@acme.com", null)).thenReturn(true);
+
+        assertThrows(EmailAlreadyInUseException.class, () -> customerService.create(in));
+    }
+
+    @Test
+    void testCreate_whenFilterRulesOutEmail_skipsDatabaseCheck() {
+        CustomerInputDTO in = new CustomerInputDTO();
+        in.setEmail("new@acme.com");
+        Customer entity = new Customer();
+        Customer saved = new Customer();
+        saved.setId(11L);
+
+        when(uniqueKeyFilters.mightContainEmail("new@acme.com")).thenReturn(false);
+        when(customerMapper.toEntity(in)).thenReturn(entity);
+        when(customerRepository.saveAndFlush(entity)).thenReturn(saved);
+        when(customerMapper.toOutput(saved)).thenReturn(new CustomerOutputDTO());
+
+        customerService.create(in);
+
+        verify(customerRepository, never()).findByEmail(any());
+        verify(customerRepository).saveAndFlush(entity);
     }
 
     @Test
@@ -119,9 +162,10 @@ class CustomerServiceImplTest {
         out.setId(10L);
 
         // stubs necesarios y solo los necesarios
+        when(uniqueKeyFilters.mightContainEmail("ok@acme.com")).thenReturn(true);
         when(customerRepository.findByEmail("ok@acme.com")).thenReturn(java.util.Optional.empty());
         when(customerMapper.toEntity(in)).thenReturn(entity);
-        when(customerRepository.save(entity)).thenReturn(saved);
+        when(customerRepository.saveAndFlush(entity)).thenReturn(saved);
         when(customerMapper.toOutput(saved)).thenReturn(out);
 
         // act
@@ -130,7 +174,7 @@ class CustomerServiceImplTest {
         // assert
         assertNotNull(result);
         assertEquals(10L, result.getId());
-        verify(customerRepository).save(entity);
+        verify(customerRepository).saveAndFlush(entity);
 
         // opcional: verificar que quedó una única default
         long defaults = saved.getAddresses().stream().filter(Address::getDefaultAddress).count();
@@ -149,6 +193,7 @@ class CustomerServiceImplTest {
         ad1.setDefaultAddress(true);
         ad1.setCustomer(existing);
         existing.setAddresses(new ArrayList<>(List.of(ad1)));
+        existing.setDefaultAddressId(100L);
 
         // DTO la elimina (no incluye ad1) y añade una nueva sin default
         CustomerInputDTO in = new CustomerInputDTO();
@@ -169,36 +214,22 @@ class CustomerServiceImplTest {
         out.setId(id);
 
         when(customerRepository.findByIdWithLock(id)).thenReturn(Optional.of(existing));
-        when(addressRepository.findByCustomerIdAndDefaultAddressTrue(id)).thenReturn(Optional.empty());
+        when(addressRepository.findByCustomerId(id)).thenReturn(List.of(ad1));
         when(addressMapper.toEntity(newDto)).thenReturn(newEntity);
-        when(customerRepository.save(any(Customer.class))).thenReturn(saved);
+        when(addressRepository.save(newEntity)).thenAnswer(inv -> {
+            newEntity.setId(300L);
+            return newEntity;
+        });
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(saved);
         when(customerMapper.toOutput(saved)).thenReturn(out);
 
         CustomerOutputDTO result = customerService.update(id, in);
 
         assertNotNull(result);
         assertTrue(saved.getAddresses().get(0).getDefaultAddress());
-        verify(customerRepository).save(any(Customer.class));
-    }
-
-    // ---------- delete ----------
-    @Test
-    void testDelete_whenCustomerExists_deletesCustomer() {
-        Long id = 1L;
-        Customer c = new Customer();
-        c.setId(id);
-
-        when(customerRepository.findByIdWithLock(id)).thenReturn(Optional.of(c));
-        doNothing().when(customerRepository).delete(c);
-
-        assertDoesNotThrow(() -> customerService.delete(id));
-        verify(customerRepository).delete(c);
-    }
-
-    @Test
-    void testDelete_whenCustomerNotFound_throwsException() {
-        when(customerRepository.findByIdWithLock(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> customerService.delete(1L));
+        assertEquals(300L, existing.getDefaultAddressId());
+        verify(addressRepository).deleteAll(List.of(ad1));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -216,6 +247,7 @@ class CustomerServiceImplTest {
         ad2.setDefaultAddress(false);
         ad2.setCustomer(existing);
         existing.setAddresses(new ArrayList<>(List.of(ad1, ad2)));
+        existing.setDefaultAddressId(100L);
 
         CustomerInputDTO in = new CustomerInputDTO();
         in.setEmail("nuevo@acme.com");
@@ -241,9 +273,7 @@ class CustomerServiceImplTest {
         out.setId(id);
 
         when(customerRepository.findByIdWithLock(id)).thenReturn(Optional.of(existing));
-        when(addressRepository.findByCustomerIdAndDefaultAddressTrue(id)).thenReturn(Optional.of(ad1));
-        when(addressRepository.findByIdAndCustomerId(100L, id)).thenReturn(Optional.of(ad1));
-        when(addressRepository.findByIdAndCustomerId(200L, id)).thenReturn(Optional.of(ad2));
+        when(addressRepository.findByCustomerId(id)).thenReturn(List.of(ad1, ad2));
 
         doAnswer(inv -> {
             existing.setEmail(in.getEmail());
@@ -261,7 +291,7 @@ class CustomerServiceImplTest {
         })
                 .when(addressMapper).updateEntityFromDto(eq(ad2dto), eq(ad2));
 
-        when(customerRepository.save(existing)).thenReturn(saved);
+        when(customerRepository.saveAndFlush(existing)).thenReturn(saved);
         when(customerMapper.toOutput(saved)).thenReturn(out);
 
         CustomerOutputDTO result = customerService.update(id, in);
@@ -270,7 +300,12 @@ class CustomerServiceImplTest {
         assertEquals(id, result.getId());
         assertTrue(ad1.getDefaultAddress());
         assertFalse(ad2.getDefaultAddress());
-        verify(customerRepository).save(existing);
+        assertEquals(100L, existing.getDefaultAddressId());
+        // Una sola lectura de direcciones, sin consultas por dirección ni borrados
+        verify(addressRepository).findByCustomerId(id);
+        verify(addressRepository, never()).findByIdAndCustomerId(any(), any());
+        verify(addressRepository, never()).deleteAll(any());
+        verify(customerRepository).saveAndFlush(existing);
     }
 
     @Test
@@ -288,6 +323,7 @@ class CustomerServiceImplTest {
         a2.setCustomer(existing);
         a2.setDefaultAddress(true); // BD: true
         existing.setAddresses(new ArrayList<>(List.of(a1, a2)));
+        existing.setDefaultAddressId(1L); // la que manda es a1
 
         CustomerInputDTO in = new CustomerInputDTO();
         AddressInputDTO a1dto = new AddressInputDTO();
@@ -299,13 +335,12 @@ class CustomerServiceImplTest {
         in.setAddresses(List.of(a1dto, a2dto));
 
         when(customerRepository.findByIdWithLock(id)).thenReturn(Optional.of(existing));
-        when(addressRepository.findByCustomerIdAndDefaultAddressTrue(id)).thenReturn(Optional.of(a1));
-        when(addressRepository.findByIdAndCustomerId(1L, id)).thenReturn(Optional.of(a1));
-        // No stubs extra: la excepción se lanza al validar a1
+        when(addressRepository.findByCustomerId(id)).thenReturn(List.of(a1, a2));
+        // La excepción se lanza al validar a1
 
         assertThrows(com.example.delogica.config.exceptions.DefaultAddressChangeNotAllowedException.class,
                 () -> customerService.update(id, in));
-        verify(customerRepository, never()).save(any());
+        verify(customerRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -328,8 +363,7 @@ class CustomerServiceImplTest {
         savedAddr.setId(10L);
         savedAddr.setDefaultAddress(true);
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(cust));
-        when(addressRepository.findByCustomerIdAndDefaultAddressTrue(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findByIdWithLock(customerId)).thenReturn(Optional.of(cust));
         when(addressMapper.toEntity(dto)).thenReturn(newAddr);
         when(addressRepository.save(newAddr)).thenReturn(savedAddr); // 👈 clave
         when(addressMapper.toOutput(savedAddr)).thenReturn(new com.example.delogica.dtos.output.AddressOutputDTO());
@@ -338,6 +372,7 @@ class CustomerServiceImplTest {
 
         assertNotNull(result);
         assertTrue(savedAddr.getDefaultAddress());
+        assertEquals(10L, cust.getDefaultAddressId());
         verify(addressRepository).save(newAddr);
         verify(customerRepository, never()).save(any());
     }
@@ -358,16 +393,18 @@ class CustomerServiceImplTest {
         a2.setDefaultAddress(false);
         a2.setCustomer(cust);
         cust.setAddresses(new ArrayList<>(List.of(a1, a2)));
+        cust.setDefaultAddressId(100L);
 
         when(addressRepository.findByIdAndCustomerId(200L, customerId)).thenReturn(Optional.of(a2));
-        when(addressRepository.clearDefaultForCustomerExcept(customerId, toDefaultId)).thenReturn(1); // devuelve int
-        when(addressRepository.save(a2)).thenReturn(a2);
+        when(customerRepository.findByIdWithLock(customerId)).thenReturn(Optional.of(cust));
+        when(addressRepository.findById(100L)).thenReturn(Optional.of(a1));
 
         assertDoesNotThrow(() -> customerService.setDefaultAddress(customerId, toDefaultId));
 
+        assertEquals(toDefaultId, cust.getDefaultAddressId()); // el puntero manda
         assertTrue(a2.getDefaultAddress()); // target queda a true
-        verify(addressRepository).clearDefaultForCustomerExcept(customerId, toDefaultId);
-        verify(addressRepository).save(a2);
+        assertFalse(a1.getDefaultAddress()); // la anterior se desmarca por su ID
+        verify(addressRepository, never()).findByCustomerId(any());
         verify(customerRepository, never()).save(any());
     }
 
@@ -18,11 +18,14 @@ import com.example.delogica.dtos.output.OrderSimpleOutputDTO;
 import com.example.delogica.mappers.OrderMapper;
 import com.example.delogica.models.*;
 import com.example.delogica.repositories.*;
+import com.example.delogica.services.OrderArchiveService;
+import com.example.delogica.services.OrderViewService;
 import com.example.delogica.services.impl.OrderServiceImpl;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -38,6 +41,12 @@ public class OrderServiceImplTest {
     private AddressRepository addressRepository;
     @Mock
     private OrderMapper orderMapper;
+    @Mock
+    private OrderViewService orderViewService;
+    @Mock
+    private OrderArchiveService orderArchiveService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -79,7 +88,7 @@ public class OrderServiceImplTest {
 
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
         when(addressRepository.findById(addressId)).thenReturn(Optional.of(address));
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.findAllByIdInWithLock(any())).thenReturn(List.of(product));
 
         // Mapper output DTO mock
         OrderSimpleOutputDTO expectedOutput = new OrderSimpleOutputDTO();
@@ -200,7 +209,7 @@ public class OrderServiceImplTest {
 
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
         when(addressRepository.findById(addressId)).thenReturn(Optional.of(address));
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.findAllByIdInWithLock(any())).thenReturn(List.of(product));
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> orderService.create(input));
         assertTrue(ex.getMessage().contains("Producto inactivo"));
@@ -233,7 +242,7 @@ public class OrderServiceImplTest {
 
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
         when(addressRepository.findById(addressId)).thenReturn(Optional.of(address));
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.findAllByIdInWithLock(any())).thenReturn(List.of(product));
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> orderService.create(input));
         assertTrue(ex.getMessage().contains("Stock insuficiente"));
@@ -274,6 +283,7 @@ public class OrderServiceImplTest {
     public void getById_existingOrder_returnsDTO() {
         Long orderId = 1L;
         Order order = new Order();
+        order.setCustomer(new Customer());
 
         when(orderRepository.findWithDetailsById(orderId)).thenReturn(Optional.of(order));
         OrderOutputDTO outputDTO = new OrderOutputDTO();
@@ -284,6 +294,50 @@ public class OrderServiceImplTest {
         assertEquals(outputDTO, result);
     }
 
+    @Test
+    public void getById_readModelEnabled_servesFromView() {
+        Long orderId = 1L;
+        OrderOutputDTO outputDTO = new OrderOutputDTO();
+
+        when(orderViewService.isReadEnabled()).thenReturn(true);
+        when(orderViewService.findById(orderId)).thenReturn(Optional.of(outputDTO));
+
+        OrderOutputDTO result = orderService.getById(orderId);
+
+        assertEquals(outputDTO, result);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    public void getById_readModelEnabledWithoutRow_fallsBackToTables() {
+        Long orderId = 1L;
+        Order order = new Order();
+        order.setCustomer(new Customer());
+
+        when(orderViewService.isReadEnabled()).thenReturn(true);
+        when(orderViewService.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findWithDetailsById(orderId)).thenReturn(Optional.of(order));
+        OrderOutputDTO outputDTO = new OrderOutputDTO();
+        when(orderMapper.toOutput(order)).thenReturn(outputDTO);
+
+        OrderOutputDTO result = orderService.getById(orderId);
+
+        assertEquals(outputDTO, result);
+    }
+
+    @Test
+    public void getById_archivedOrder_servesFromArchive() {
+        Long orderId = 1L;
+        OrderOutputDTO outputDTO = new OrderOutputDTO();
+
+        when(orderRepository.findWithDetailsById(orderId)).thenReturn(Optional.empty());
+        when(orderArchiveService.findById(orderId)).thenReturn(Optional.of(outputDTO));
+
+        OrderOutputDTO result = orderService.getById(orderId);
+
+        assertEquals(outputDTO, result);
+    }
+
     @Test
     public void getById_notFound_throwsException() {
         Long orderId = 1L;
@@ -298,9 +352,11 @@ public class OrderServiceImplTest {
 public void changeStatus_validTransition_changesStatus() {
     Long orderId = 1L;
     Order order = new Order();
+    order.setCustomer(new Customer());
     order.setStatus(OrderStatus.CREATED);
 
-    when(orderRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
+    when(orderRepository.lockStatusById(orderId)).thenReturn(Optional.of(OrderStatus.CREATED));
+    when(orderRepository.findWithDetailsById(orderId)).thenReturn(Optional.of(order));
     when(orderRepository.save(order)).thenReturn(order);
 
     OrderOutputDTO outputDTO = new OrderOutputDTO();
@@ -320,10 +376,7 @@ public void changeStatus_validTransition_changesStatus() {
    @Test
 public void changeStatus_invalidTransition_throwsException() {
     Long orderId = 1L;
-    Order order = new Order();
-    order.setStatus(OrderStatus.SHIPPED);
-
-    when(orderRepository.findByIdWithLock(orderId)).thenReturn(Optional.of(order));
+    when(orderRepository.lockStatusById(orderId)).thenReturn(Optional.of(OrderStatus.SHIPPED));
 
     OrderStatusInputDTO inputDTO = new OrderStatusInputDTO();
     inputDTO.setStatus(OrderStatus.CREATED.name());
@@ -338,7 +391,7 @@ public void changeStatus_invalidTransition_throwsException() {
 public void changeStatus_orderNotFound_throwsException() {
     Long orderId = 1L;
 
-    when(orderRepository.findByIdWithLock(orderId)).thenReturn(Optional.empty());
+    when(orderRepository.lockStatusById(orderId)).thenReturn(Optional.empty());
 
     OrderStatusInputDTO inputDTO = new OrderStatusInputDTO();
     inputDTO.setStatus(OrderStatus.PAID.name());
@@ -20,6 +20,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -28,8 +30,10 @@ import org.springframework.data.jpa.domain.Specification;
 
 import com.example.delogica.config.exceptions.ResourceNotFoundException;
 import com.example.delogica.config.exceptions.SkuAlreadyInUseException;
+import com.example.delogica.config.uniqueness.UniqueKeyFilters;
 import com.example.delogica.dtos.input.ProductInputDTO;
 import com.example.delogica.dtos.output.ProductOutputDTO;
+import com.example.delogica.events.ProductChangedEvent;
 import com.example.delogica.mappers.ProductMapper;
 import com.example.delogica.models.Product;
 import com.example.delogica.repositories.ProductRepository;
@@ -44,6 +48,12 @@ class ProductServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private UniqueKeyFilters uniqueKeyFilters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -57,9 +67,10 @@ class ProductServiceImplTest {
         Product savedEntity = new Product();
         ProductOutputDTO outputDTO = new ProductOutputDTO();
 
+        when(uniqueKeyFilters.mightContainSku("SKU123")).thenReturn(true);
         when(productRepository.existsBySku("SKU123")).thenReturn(false);
         when(productMapper.toEntity(input)).thenReturn(entity);
-        when(productRepository.save(entity)).thenReturn(savedEntity);
+        when(productRepository.saveAndFlush(entity)).thenReturn(savedEntity);
         when(productMapper.toOutput(savedEntity)).thenReturn(outputDTO);
 
         ProductOutputDTO result = productService.create(input);
@@ -67,21 +78,58 @@ class ProductServiceImplTest {
         assertNotNull(result);
         verify(productRepository).existsBySku("SKU123");
         verify(productMapper).toEntity(input);
-        verify(productRepository).save(entity);
+        verify(productRepository).saveAndFlush(entity);
         verify(productMapper).toOutput(savedEntity);
     }
 
+    @Test
+    void create_whenFilterRulesOutSku_skipsDatabaseCheck() {
+        ProductInputDTO input = new ProductInputDTO();
+        input.setSku("SKU-NEW");
+
+        Product entity = new Product();
+        Product savedEntity = new Product();
+        savedEntity.setSku("SKU-NEW");
+
+        when(uniqueKeyFilters.mightContainSku("SKU-NEW")).thenReturn(false);
+        when(productMapper.toEntity(input)).thenReturn(entity);
+        when(productRepository.saveAndFlush(entity)).thenReturn(savedEntity);
+        when(productMapper.toOutput(savedEntity)).thenReturn(new ProductOutputDTO());
+
+        productService.create(input);
+
+        verify(productRepository, never()).existsBySku(any());
+        verify(productRepository).saveAndFlush(entity);
+    }
+
+    @Test
+    void create_whenUniqueConstraintFails_mapsToSkuAlreadyInUse() {
+        ProductInputDTO input = new ProductInputDTO();
+        input.setSku("SKU-OTHER-NODE");
+        Product entity = new Product();
+
+        // Otro nodo dio de alta el SKU: el filtro local no lo conoce
+        when(uniqueKeyFilters.mightContainSku("SKU-OTHER-NODE")).thenReturn(false);
+        when(productMapper.toEntity(input)).thenReturn(entity);
+        when(productRepository.saveAndFlush(entity))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: SQL ..."));
+        when(productRepository.existsOtherWithSku("SKU-OTHER-NODE", null)).thenReturn(true);
+
+        assertThrows(SkuAlreadyInUseException.class, () -> productService.create(input));
+    }
+
     @Test
     void create_withDuplicateSku_throwsException() {
         ProductInputDTO input = new ProductInputDTO();
         input.setSku("SKU123");
 
+        when(uniqueKeyFilters.mightContainSku("SKU123")).thenReturn(true);
         when(productRepository.existsBySku("SKU123")).thenReturn(true);
 
         assertThrows(SkuAlreadyInUseException.class, () -> productService.create(input));
 
         verify(productRepository).existsBySku("SKU123");
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
     }
 
     // ------------- TEST FINDBYID() ---------------
@@ -121,6 +169,7 @@ class ProductServiceImplTest {
         existingProduct.setSku("old-sku");
 
         when(productRepository.findByIdWithLock(productId)).thenReturn(Optional.of(existingProduct));
+        when(uniqueKeyFilters.mightContainSku("new-sku")).thenReturn(true);
         when(productRepository.existsBySkuAndIdNot("new-sku", productId)).thenReturn(false);
         doAnswer(invocation -> {
             ProductInputDTO dto = invocation.getArgument(0);
@@ -128,13 +177,13 @@ class ProductServiceImplTest {
             entity.setSku(dto.getSku()); // simular updateEntityFromDto
             return null;
         }).when(productMapper).updateEntityFromDto(any(), any());
-        when(productRepository.save(existingProduct)).thenReturn(existingProduct);
+        when(productRepository.saveAndFlush(existingProduct)).thenReturn(existingProduct);
         when(productMapper.toOutput(existingProduct)).thenReturn(new ProductOutputDTO());
 
         ProductOutputDTO result = productService.update(productId, input);
 
         assertNotNull(result);
-        verify(productRepository).save(existingProduct);
+        verify(productRepository).saveAndFlush(existingProduct);
         assertEquals("new-sku", existingProduct.getSku());
     }
 
@@ -149,10 +198,11 @@ class ProductServiceImplTest {
         existingProduct.setSku("old-sku");
 
         when(productRepository.findByIdWithLock(productId)).thenReturn(Optional.of(existingProduct));
+        when(uniqueKeyFilters.mightContainSku("duplicate-sku")).thenReturn(true);
         when(productRepository.existsBySkuAndIdNot("duplicate-sku", productId)).thenReturn(true);
 
         assertThrows(SkuAlreadyInUseException.class, () -> productService.update(productId, input));
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -179,6 +229,7 @@ class ProductServiceImplTest {
 
         assertFalse(product.isActive());
         verify(productRepository).save(product);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(productId));
     }
 
     @Test